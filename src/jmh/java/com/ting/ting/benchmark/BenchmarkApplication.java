@@ -0,0 +1,138 @@
+package com.ting.ting.benchmark;
+
+import com.ting.ting.TingApplication;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * 벤치마크 JVM 하나에서 한 번만 띄우는 TingApplication
+ * 인메모리 H2 위에 JPA 계층을 올리고 BenchmarkDataSet 을 채운 뒤, 벤치마크가 공유한다.
+ * 데이터 규모는 -Dbench.groups-per-gender, -Dbench.solo-users-per-gender 로 조절한다.
+ */
+public final class BenchmarkApplication {
+
+    private static BenchmarkApplication instance;
+
+    private final ConfigurableApplicationContext context;
+    private final MachineLearningServerStub machineLearningServer;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final Statistics statistics;
+    private final BenchmarkDataSet dataSet;
+
+    private BenchmarkApplication(ConfigurableApplicationContext context, MachineLearningServerStub machineLearningServer) {
+        this.context = context;
+        this.machineLearningServer = machineLearningServer;
+
+        EntityManagerFactory entityManagerFactory = context.getBean(EntityManagerFactory.class);
+        this.entityManager = SharedEntityManagerCreator.createSharedEntityManager(entityManagerFactory);
+        this.transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        int groupsPerGender = Integer.getInteger("bench.groups-per-gender", 200);
+        int soloUsersPerGender = Integer.getInteger("bench.solo-users-per-gender", 1000);
+        this.dataSet = transactionTemplate.execute(status -> BenchmarkDataSet.seed(entityManager, groupsPerGender, soloUsersPerGender));
+    }
+
+    public static synchronized BenchmarkApplication start() {
+        if (instance == null) {
+            MachineLearningServerStub machineLearningServer = MachineLearningServerStub.start();
+            ConfigurableApplicationContext context = new SpringApplicationBuilder(TingApplication.class)
+                    .run(arguments(machineLearningServer.getUrl()).toArray(String[]::new));
+            instance = new BenchmarkApplication(context, machineLearningServer);
+        }
+        return instance;
+    }
+
+    public static synchronized void stop() {
+        if (instance != null) {
+            instance.context.close();
+            instance.machineLearningServer.close();
+            instance = null;
+        }
+    }
+
+    /**
+     * 서비스는 @Component 와 AppConfig 의 @Bean 으로 두 번 등록되므로 AppConfig 의 빈 이름으로 찾는다.
+     */
+    public <T> T getBean(String name, Class<T> type) {
+        return context.getBean(name, type);
+    }
+
+    public BenchmarkDataSet getDataSet() {
+        return dataSet;
+    }
+
+    public Statistics getStatistics() {
+        return statistics;
+    }
+
+    /**
+     * 2차 캐시에서 주어진 엔티티를 모두 지운다. 캐시 미스 상태를 측정할 때 쓴다.
+     */
+    public void evictSecondLevelCache(Class<?> entityType) {
+        context.getBean(EntityManagerFactory.class).getCache().evict(entityType);
+    }
+
+    /**
+     * 현재 스레드를 주어진 유저로 인증한다. (AbstractService#getCurrentUserId 가 읽는 값)
+     */
+    public void authenticate(Long userId) {
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(userId.toString(), null, List.of()));
+    }
+
+    /**
+     * 쓰기 작업을 트랜잭션 안에서 실행하고 flush 까지 마친 뒤 롤백한다.
+     * 매 호출이 같은 데이터 위에서 같은 SQL 을 실행하므로 반복 측정이 가능하다.
+     */
+    public void executeAndRollback(Consumer<EntityManager> action) {
+        transactionTemplate.executeWithoutResult(status -> {
+            action.accept(entityManager);
+            entityManager.flush();
+            status.setRollbackOnly();
+        });
+    }
+
+    private static List<String> arguments(String machineLearningServerUrl) {
+        return List.of(
+                "--server.port=0",
+                "--spring.datasource.url=jdbc:h2:mem:benchmark;NON_KEYWORDS=USER;DATABASE_TO_UPPER=false;DB_CLOSE_DELAY=-1",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.sql.init.mode=never",
+                "--spring.jpa.hibernate.ddl-auto=create",
+                "--spring.jpa.show-sql=false",
+                "--spring.jpa.properties.hibernate.format_sql=false",
+                "--spring.jpa.properties.hibernate.generate_statistics=true",
+                "--logging.level.root=WARN",
+                "--logging.level.org.hibernate.engine.internal.StatisticalLoggingSessionEventListener=OFF",
+                "--cloud.aws.s3.bucket=benchmark",
+                "--cloud.aws.credentials.accessKey=benchmark",
+                "--cloud.aws.credentials.secretKey=benchmark",
+                "--kakao.client-id=benchmark",
+                "--kakao.grant-type=benchmark",
+                "--kakao.redirect-url=benchmark",
+                "--kakao.token-url=benchmark",
+                "--kakao.user-info-url=benchmark",
+                "--kakao.logout-url=benchmark",
+                "--jwt.secret=benchmark-secret-which-is-long-enough-for-hs256",
+                "--machine-learning.server-url=" + machineLearningServerUrl,
+                "--group.recommendation.rebuild-initial-delay=3600000",
+                "--group.recommendation.refresh-interval=3600000",
+                "--blind.recommendation.rebuild-initial-delay=3600000",
+                "--blind.recommendation.refresh-interval=3600000"
+        );
+    }
+}
@@ -0,0 +1,244 @@
+package com.ting.ting.benchmark;
+
+import com.ting.ting.domain.*;
+import com.ting.ting.domain.constant.Gender;
+import com.ting.ting.domain.constant.MBTI;
+import com.ting.ting.domain.constant.MemberRole;
+import com.ting.ting.domain.constant.RequestStatus;
+
+import javax.persistence.EntityManager;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 벤치마크용 합성 데이터
+ * 성별마다 groupsPerGender 개의 팀(팀장 1명, 멤버 2명)과 팀이 없는 soloUsersPerGender 명의 유저를 만들고
+ * 찜, 가입 요청, 과팅 요청, 소개팅 요청/찜/매칭을 결정적인 규칙으로 채운다.
+ * 벤치마크 대상이 되는 유저와 요청의 id 는 필드로 노출한다.
+ */
+public final class BenchmarkDataSet {
+
+    static final int MIN_GROUPS_PER_GENDER = 30;
+    static final int MIN_SOLO_USERS_PER_GENDER = 120;
+
+    private static final int MEMBERS_PER_GROUP = 3;
+    private static final int MEMBER_SIZE_LIMIT = 6;
+    private static final int BLIND_MATCHED_PAIRS = 50;
+    private static final String[] MAJORS = {"컴퓨터공학과", "경영학과", "전자공학과", "국어국문학과", "수학과", "건축학과", "디자인학과"};
+
+    /** 남자 팀 0번의 팀장. 조회 벤치마크의 현재 유저이자 가입/과팅 요청을 수락하는 팀장 */
+    public final Long heroUserId;
+    public final Long heroGroupId;
+    /** heroUser 가 이미 찜한 남자 팀 */
+    public final Long heroLikedGroupId;
+    /** heroUser 가 찜도 가입 요청도 하지 않은 남자 팀 */
+    public final Long heroUnrelatedGroupId;
+    /** heroGroup 으로 온 가입 요청 */
+    public final Long memberJoinRequestId;
+    /** 여자 팀 1번이 heroGroup 에 보낸 과팅 요청 */
+    public final Long groupDateRequestId;
+    /** 소개팅 요청 한도에 여유가 있는 남자 유저와 아직 요청하지 않은 여자 유저 */
+    public final Long blindRequesterId;
+    public final Long blindTargetId;
+
+    private BenchmarkDataSet(Long heroUserId, Long heroGroupId, Long heroLikedGroupId, Long heroUnrelatedGroupId, Long memberJoinRequestId, Long groupDateRequestId, Long blindRequesterId, Long blindTargetId) {
+        this.heroUserId = heroUserId;
+        this.heroGroupId = heroGroupId;
+        this.heroLikedGroupId = heroLikedGroupId;
+        this.heroUnrelatedGroupId = heroUnrelatedGroupId;
+        this.memberJoinRequestId = memberJoinRequestId;
+        this.groupDateRequestId = groupDateRequestId;
+        this.blindRequesterId = blindRequesterId;
+        this.blindTargetId = blindTargetId;
+    }
+
+    /**
+     * 트랜잭션 안에서 호출해야 한다.
+     */
+    public static BenchmarkDataSet seed(EntityManager em, int groupsPerGender, int soloUsersPerGender) {
+        int groupCount = Math.max(groupsPerGender, MIN_GROUPS_PER_GENDER);
+        int soloCount = Math.max(soloUsersPerGender, MIN_SOLO_USERS_PER_GENDER);
+
+        Map<Gender, List<Group>> groups = new EnumMap<>(Gender.class);
+        Map<Gender, List<List<GroupMember>>> memberRecords = new EnumMap<>(Gender.class);
+        Map<Gender, List<User>> soloUsers = new EnumMap<>(Gender.class);
+
+        for (Gender gender : Gender.values()) {
+            List<Group> groupsOfGender = new ArrayList<>(groupCount);
+            List<List<GroupMember>> memberRecordsOfGender = new ArrayList<>(groupCount);
+            for (int g = 0; g < groupCount; g++) {
+                Group group = Group.of(String.format("%s-group-%05d", gender.name().charAt(0), g), gender, "벤치마크대학교", MEMBER_SIZE_LIMIT, "benchmark");
+                group.setIdealPhoto(idealPhotoUrl("group-" + gender.name() + "-" + g));
+                em.persist(group);
+
+                List<GroupMember> records = new ArrayList<>(MEMBERS_PER_GROUP);
+                Map<String, Integer> memberCountByMajor = new HashMap<>();
+                for (int m = 0; m < MEMBERS_PER_GROUP; m++) {
+                    User user = persistUser(em, gender, "member", g * MEMBERS_PER_GROUP + m);
+                    GroupMember record = GroupMember.of(group, user, m == 0 ? MemberRole.LEADER : MemberRole.MEMBER);
+                    em.persist(record);
+                    records.add(record);
+                    memberCountByMajor.merge(user.getMajor(), 1, Integer::sum);
+                    group.addMember(user);
+                }
+                memberCountByMajor.forEach((major, count) -> {
+                    em.persist(GroupMemberMajorCount.of(group, major));
+                    em.createQuery("update GroupMemberMajorCount c set c.memberCount = :memberCount where c.group = :group and c.major = :major")
+                            .setParameter("memberCount", count)
+                            .setParameter("group", group)
+                            .setParameter("major", major)
+                            .executeUpdate();
+                });
+                groupsOfGender.add(group);
+                memberRecordsOfGender.add(records);
+            }
+
+            List<User> solos = new ArrayList<>(soloCount);
+            for (int s = 0; s < soloCount; s++) {
+                solos.add(persistUser(em, gender, "solo", s));
+            }
+
+            groups.put(gender, groupsOfGender);
+            memberRecords.put(gender, memberRecordsOfGender);
+            soloUsers.put(gender, solos);
+        }
+
+        List<Group> menGroups = groups.get(Gender.MEN);
+        List<Group> womenGroups = groups.get(Gender.WOMEN);
+        List<User> menSolos = soloUsers.get(Gender.MEN);
+        List<User> womenSolos = soloUsers.get(Gender.WOMEN);
+        Group heroGroup = menGroups.get(0);
+        User hero = memberRecords.get(Gender.MEN).get(0).get(0).getMember();
+
+        // 같은 성별 팀 가입 요청과 찜
+        GroupMemberRequest memberJoinRequest = null;
+        for (Gender gender : Gender.values()) {
+            List<Group> groupsOfGender = groups.get(gender);
+            List<User> solos = soloUsers.get(gender);
+            for (int i = 0; i < solos.size(); i++) {
+                User solo = solos.get(i);
+                GroupMemberRequest request = GroupMemberRequest.of(groupsOfGender.get(i % groupCount), solo);
+                em.persist(request);
+                em.persist(GroupMemberRequest.of(groupsOfGender.get((i + 1) % groupCount), solo));
+                em.persist(GroupLikeToJoin.of(solo, groupsOfGender.get((i + 2) % groupCount)));
+                em.persist(GroupLikeToJoin.of(solo, groupsOfGender.get((i + 3) % groupCount)));
+
+                if (gender == Gender.MEN && i == 0) {
+                    memberJoinRequest = request;
+                }
+            }
+        }
+        for (int g = 1; g <= 10; g++) {
+            em.persist(GroupLikeToJoin.of(hero, menGroups.get(g)));
+        }
+        for (int g = 11; g <= 15; g++) {
+            em.persist(GroupMemberRequest.of(menGroups.get(g), hero));
+        }
+
+        // 다른 성별 팀 찜과 과팅 요청
+        for (Gender gender : Gender.values()) {
+            List<Group> oppositeGroups = groups.get(gender.getOpposite());
+            List<List<GroupMember>> recordsOfGender = memberRecords.get(gender);
+            for (int g = 0; g < groupCount; g++) {
+                List<GroupMember> records = recordsOfGender.get(g);
+                for (int m = 0; m < records.size(); m++) {
+                    em.persist(GroupLikeToDate.of(records.get(m), oppositeGroups.get((g + m) % groupCount)));
+                    em.persist(GroupLikeToDate.of(records.get(m), oppositeGroups.get((g + m + 1) % groupCount)));
+                }
+            }
+        }
+        em.flush();     // id 를 미리 받는 엔티티는 flush 전까지 insert 되지 않는다.
+        em.createNativeQuery("insert into group_like_to_date_count (from_group_id, to_group_id, like_count, created_at, updated_at) " +
+                "select gm.group_id, l.to_group_id, count(*), now(), now() from group_like_to_date l join group_member gm on gm.id = l.from_group_member_id " +
+                "group by gm.group_id, l.to_group_id").executeUpdate();
+        GroupDateRequest groupDateRequest = null;
+        for (int w = 0; w < groupCount; w++) {
+            em.persist(GroupDateRequest.of(womenGroups.get(w), menGroups.get((w + 1) % groupCount)));
+            if (w >= 1 && w <= 20 && (w + 1) % groupCount != 0) {
+                GroupDateRequest toHeroGroup = GroupDateRequest.of(womenGroups.get(w), heroGroup);
+                em.persist(toHeroGroup);
+                if (w == 1) {
+                    groupDateRequest = toHeroGroup;
+                }
+            }
+        }
+        for (int g = 0; g < groupCount; g++) {
+            em.persist(GroupDateRequest.of(menGroups.get(g), womenGroups.get((g + 2) % groupCount)));
+        }
+
+        // 소개팅 찜, 요청, 매칭
+        for (int i = 0; i < soloCount; i++) {
+            User man = menSolos.get(i);
+            User woman = womenSolos.get(i);
+            for (int k = 0; k < 5; k++) {
+                persistBlindLike(em, man, womenSolos.get((i + k) % soloCount));
+            }
+            for (int k = 0; k < 3; k++) {
+                persistBlindRequest(em, man, womenSolos.get((i + 5 + k) % soloCount), RequestStatus.PENDING);
+            }
+            for (int k = 0; k < 3; k++) {
+                persistBlindLike(em, woman, menSolos.get((i + 9 + k) % soloCount));
+            }
+            persistBlindRequest(em, woman, menSolos.get((i + 20) % soloCount), RequestStatus.PENDING);
+        }
+        for (int i = 0; i < BLIND_MATCHED_PAIRS; i++) {
+            BlindRequest accepted = persistBlindRequest(em, menSolos.get(i), womenSolos.get((i + 30) % soloCount), RequestStatus.ACCEPTED);
+            em.persist(BlindDate.from(accepted));
+        }
+        for (int k = 0; k < 10; k++) {
+            persistBlindLike(em, hero, womenSolos.get(k));
+        }
+        for (int k = 40; k < 43; k++) {
+            persistBlindRequest(em, hero, womenSolos.get(k), RequestStatus.PENDING);
+        }
+
+        em.flush();
+        em.createNativeQuery("insert into blind_quota (user_id, pending_request_count, blind_date_count, created_at, updated_at) " +
+                "select u.id, (select count(*) from blind_request r where r.from_user_id = u.id and r.request_status = 'PENDING'), " +
+                "(select count(*) from blind_date d where d.men_user_id = u.id or d.women_user_id = u.id), now(), now() from \"user\" u").executeUpdate();
+
+        User blindRequester = menSolos.get(soloCount - 1);
+        User blindTarget = womenSolos.get((soloCount - 1 + 100) % soloCount);
+
+        em.flush();
+        em.clear();
+
+        return new BenchmarkDataSet(hero.getId(), heroGroup.getId(), menGroups.get(1).getId(), menGroups.get(20).getId(), memberJoinRequest.getId(), groupDateRequest.getId(), blindRequester.getId(), blindTarget.getId());
+    }
+
+    private static User persistUser(EntityManager em, Gender gender, String kind, int index) {
+        String username = String.format("%s-%s-%05d", gender.name().toLowerCase(), kind, index);
+        User user = User.of(username, username + "@social.ting", username + "@benchmark.ac.kr", "벤치마크대학교", MAJORS[index % MAJORS.length], gender,
+                LocalDate.of(1995 + index % 8, 1 + index % 12, 1 + index % 28));
+        user.setMbti(MBTI.values()[index % MBTI.values().length]);
+        user.setHeight(160f + index % 30);
+        user.setWeight(50f + index % 30);
+        user.setIdealPhoto(idealPhotoUrl(username));
+        em.persist(user);
+        return user;
+    }
+
+    private static void persistBlindLike(EntityManager em, User fromUser, User toUser) {
+        BlindLike like = new BlindLike();
+        like.setFromUser(fromUser);
+        like.setToUser(toUser);
+        em.persist(like);
+    }
+
+    private static BlindRequest persistBlindRequest(EntityManager em, User fromUser, User toUser, RequestStatus status) {
+        BlindRequest request = new BlindRequest();
+        request.setFromUser(fromUser);
+        request.setToUser(toUser);
+        request.setStatus(status);
+        em.persist(request);
+        return request;
+    }
+
+    private static String idealPhotoUrl(String key) {
+        return "https://benchmark.ting/ideal-photo/" + key + ".png";
+    }
+}
@@ -0,0 +1,72 @@
+package com.ting.ting.benchmark;
+
+import com.ting.ting.domain.Group;
+import com.ting.ting.repository.GroupRepository;
+import com.ting.ting.service.GroupLikeService;
+import com.ting.ting.service.GroupMemberService;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 검증만 필요한 경로에서 팀 엔티티 대신 GroupSummary 와 참조 프록시를 쓸 때의 비용
+ * StatementCounter 의 statements 는 SQL 수, entityLoads 는 영속성 컨텍스트에 올라간 엔티티(읽은 행) 수이다.
+ * 멤버 수를 바꾸는 벌크 업데이트마다 Group 2차 캐시 영역 전체가 무효화되므로 warmSecondLevelCache=false 가 쓰기가 잦을 때의 상태이다.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class GroupLookupBenchmark {
+
+    @Param({"true", "false"})
+    public boolean warmSecondLevelCache;
+
+    private BenchmarkApplication application;
+    private BenchmarkDataSet dataSet;
+    private GroupRepository groupRepository;
+    private GroupLikeService groupLikeService;
+    private GroupMemberService groupMemberService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        application = BenchmarkApplication.start();
+        dataSet = application.getDataSet();
+        groupRepository = application.getBean("groupRepository", GroupRepository.class);
+        groupLikeService = application.getBean("groupLikeService", GroupLikeService.class);
+        groupMemberService = application.getBean("groupMemberService", GroupMemberService.class);
+        application.authenticate(dataSet.heroUserId);
+    }
+
+    @Setup(Level.Invocation)
+    public void evictSecondLevelCache() {
+        if (!warmSecondLevelCache) {
+            application.evictSecondLevelCache(Group.class);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        BenchmarkApplication.stop();
+    }
+
+    @Benchmark
+    public void findById(StatementCounter counter, Blackhole blackhole) {
+        application.executeAndRollback(em -> blackhole.consume(groupRepository.findById(dataSet.heroUnrelatedGroupId)));
+    }
+
+    @Benchmark
+    public void findSummaryById(StatementCounter counter, Blackhole blackhole) {
+        application.executeAndRollback(em -> blackhole.consume(groupRepository.findSummaryById(dataSet.heroUnrelatedGroupId)));
+    }
+
+    @Benchmark
+    public void createSameGenderGroupLike(StatementCounter counter) {
+        application.executeAndRollback(em -> groupLikeService.createSameGenderGroupLike(dataSet.heroUnrelatedGroupId));
+    }
+
+    @Benchmark
+    public void saveJoinRequest(StatementCounter counter) {
+        application.executeAndRollback(em -> groupMemberService.saveJoinRequest(dataSet.heroUnrelatedGroupId));
+    }
+}
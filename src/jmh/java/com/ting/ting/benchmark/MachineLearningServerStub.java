@@ -0,0 +1,51 @@
+package com.ting.ting.benchmark;
+
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * IdealPhotoManager 가 호출하는 ML 서버(/mixTwoImages) 대역
+ * 네트워크 지연 없이 고정된 응답을 돌려주어 서비스 코드의 비용만 측정되도록 한다.
+ */
+public class MachineLearningServerStub implements AutoCloseable {
+
+    private static final byte[] MIXED_IMAGE_RESPONSE =
+            "{\"imageID\":\"mixed\",\"imageURL\":\"https://benchmark.ting/ideal-photo/mixed.png\"}".getBytes(StandardCharsets.UTF_8);
+
+    private final HttpServer server;
+
+    private MachineLearningServerStub(HttpServer server) {
+        this.server = server;
+    }
+
+    public static MachineLearningServerStub start() {
+        try {
+            HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+            server.createContext("/mixTwoImages", exchange -> {
+                exchange.getResponseHeaders().add("Content-Type", "application/json");
+                exchange.sendResponseHeaders(200, MIXED_IMAGE_RESPONSE.length);
+                try (OutputStream body = exchange.getResponseBody()) {
+                    body.write(MIXED_IMAGE_RESPONSE);
+                }
+            });
+            server.start();
+            return new MachineLearningServerStub(server);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public String getUrl() {
+        return "http://localhost:" + server.getAddress().getPort();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+}
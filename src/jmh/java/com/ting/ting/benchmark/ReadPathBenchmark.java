@@ -0,0 +1,76 @@
+package com.ting.ting.benchmark;
+
+import com.ting.ting.dto.response.BlindUserWithRequestStatusAndLikeStatusResponse;
+import com.ting.ting.dto.response.DateableGroupResponse;
+import com.ting.ting.dto.response.JoinableGroupResponse;
+import com.ting.ting.service.BlindService;
+import com.ting.ting.service.GroupDateService;
+import com.ting.ting.service.GroupLikeService;
+import com.ting.ting.service.GroupService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 목록 조회 API 의 서비스 계층 비용
+ * 모든 조회는 BenchmarkDataSet 의 heroUser(남자 팀 0번 팀장) 기준 첫 페이지(20개)이다.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ReadPathBenchmark {
+
+    private static final Pageable FIRST_PAGE = PageRequest.of(0, 20);
+
+    private BlindService blindService;
+    private GroupService groupService;
+    private GroupLikeService groupLikeService;
+    private GroupDateService groupDateService;
+    private Long heroGroupId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        BenchmarkApplication application = BenchmarkApplication.start();
+        blindService = application.getBean("blindService", BlindService.class);
+        groupService = application.getBean("groupService", GroupService.class);
+        groupLikeService = application.getBean("groupLikeService", GroupLikeService.class);
+        groupDateService = application.getBean("groupDateService", GroupDateService.class);
+
+        BenchmarkDataSet dataSet = application.getDataSet();
+        heroGroupId = dataSet.heroGroupId;
+        application.authenticate(dataSet.heroUserId);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        BenchmarkApplication.stop();
+    }
+
+    @Benchmark
+    public Page<BlindUserWithRequestStatusAndLikeStatusResponse> blindUsersInfo(StatementCounter counter) {
+        return blindService.blindUsersInfo(FIRST_PAGE);
+    }
+
+    @Benchmark
+    public Page<JoinableGroupResponse> findJoinableSameGenderGroupList(StatementCounter counter) {
+        return groupService.findJoinableSameGenderGroupList(FIRST_PAGE);
+    }
+
+    @Benchmark
+    public Page<DateableGroupResponse> findDateableOppositeGenderGroupList(StatementCounter counter) {
+        return groupService.findDateableOppositeGenderGroupList(heroGroupId, FIRST_PAGE);
+    }
+
+    @Benchmark
+    public Page<DateableGroupResponse> findGroupLikeToDateList(StatementCounter counter) {
+        return groupLikeService.findGroupLikeToDateList(heroGroupId, FIRST_PAGE);
+    }
+
+    @Benchmark
+    public Page<DateableGroupResponse> findGroupDateRequests(StatementCounter counter) {
+        return groupDateService.findGroupDateRequests(heroGroupId, FIRST_PAGE);
+    }
+}
@@ -0,0 +1,70 @@
+package com.ting.ting.benchmark;
+
+import com.ting.ting.exception.ErrorCode;
+import com.ting.ting.exception.TingApplicationException;
+import com.ting.ting.service.BlindService;
+import com.ting.ting.service.GroupLikeService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 검증에 실패해 예외로 끝나는 요청의 서비스 계층 비용
+ * 예상된 오류는 스택 트레이스 없이 던져지고, 상세 메시지는 읽지 않으면 만들어지지 않는다.
+ * 모든 오류에 스택 트레이스를 남기던 이전 방식은 FullStackTrace 에서 같은 메서드로 측정한다.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class RejectionPathBenchmark {
+
+    private BenchmarkApplication application;
+    private BenchmarkDataSet dataSet;
+    private GroupLikeService groupLikeService;
+    private BlindService blindService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        application = BenchmarkApplication.start();
+        dataSet = application.getDataSet();
+        groupLikeService = application.getBean("groupLikeService", GroupLikeService.class);
+        blindService = application.getBean("blindService", BlindService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        BenchmarkApplication.stop();
+    }
+
+    /**
+     * 이미 찜한 팀을 다시 찜한다. (DUPLICATED_REQUEST)
+     */
+    @Benchmark
+    public ErrorCode createSameGenderGroupLikeDuplicated() {
+        application.authenticate(dataSet.heroUserId);
+        try {
+            groupLikeService.createSameGenderGroupLike(dataSet.heroLikedGroupId);
+        } catch (TingApplicationException e) {
+            return e.getErrorCode();
+        }
+        throw new IllegalStateException("createSameGenderGroupLike must be rejected");
+    }
+
+    /**
+     * 같은 성별의 유저에게 소개팅 요청을 보낸다. (GENDER_NOT_MATCH)
+     */
+    @Benchmark
+    public ErrorCode createJoinRequestGenderNotMatch() {
+        application.authenticate(dataSet.blindRequesterId);
+        try {
+            blindService.createJoinRequest(dataSet.heroUserId);
+        } catch (TingApplicationException e) {
+            return e.getErrorCode();
+        }
+        throw new IllegalStateException("createJoinRequest must be rejected");
+    }
+
+    @Fork(jvmArgsAppend = "-Dting.exception.full-stack-trace=true")
+    public static class FullStackTrace extends RejectionPathBenchmark {
+    }
+}
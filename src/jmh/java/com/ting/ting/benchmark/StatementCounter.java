@@ -0,0 +1,47 @@
+package com.ting.ting.benchmark;
+
+import org.hibernate.stat.Statistics;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * 벤치마크 호출마다 실행된 SQL 문 수를 Hibernate Statistics 로 센다.
+ * statements 와 operations 는 같은 방식(반복 합계)으로 보고되므로 statements / operations 가 호출당 SQL 수이다.
+ * Statistics 는 전역 값이므로 단일 스레드 벤치마크에서만 정확하다.
+ */
+@State(Scope.Thread)
+@AuxCounters(AuxCounters.Type.EVENTS)
+public class StatementCounter {
+
+    public long statements;
+    public long entityLoads;
+    public long operations;
+
+    private Statistics statistics;
+    private long statementsBefore;
+    private long entityLoadsBefore;
+
+    @Setup(Level.Trial)
+    public void setUpStatistics() {
+        statistics = BenchmarkApplication.start().getStatistics();
+    }
+
+    @Setup(Level.Iteration)
+    public void reset() {
+        statements = 0;
+        entityLoads = 0;
+        operations = 0;
+    }
+
+    @Setup(Level.Invocation)
+    public void before() {
+        statementsBefore = statistics.getPrepareStatementCount();
+        entityLoadsBefore = statistics.getEntityLoadCount();
+    }
+
+    @TearDown(Level.Invocation)
+    public void after() {
+        statements += statistics.getPrepareStatementCount() - statementsBefore;
+        entityLoads += statistics.getEntityLoadCount() - entityLoadsBefore;
+        operations++;
+    }
+}
@@ -0,0 +1,57 @@
+package com.ting.ting.benchmark;
+
+import com.ting.ting.service.BlindService;
+import com.ting.ting.service.GroupDateService;
+import com.ting.ting.service.GroupMemberService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 요청 생성/수락 API 의 서비스 계층 비용
+ * 각 호출은 BenchmarkApplication#executeAndRollback 안에서 flush 까지 실행한 뒤 롤백되어, 매번 같은 데이터 위에서 측정된다.
+ * (롤백되므로 커밋 이후에 반영되는 캐시 갱신 비용은 포함되지 않는다.)
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class WritePathBenchmark {
+
+    private BenchmarkApplication application;
+    private BenchmarkDataSet dataSet;
+    private BlindService blindService;
+    private GroupMemberService groupMemberService;
+    private GroupDateService groupDateService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        application = BenchmarkApplication.start();
+        dataSet = application.getDataSet();
+        blindService = application.getBean("blindService", BlindService.class);
+        groupMemberService = application.getBean("groupMemberService", GroupMemberService.class);
+        groupDateService = application.getBean("groupDateService", GroupDateService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        BenchmarkApplication.stop();
+    }
+
+    @Benchmark
+    public void createJoinRequest(StatementCounter counter) {
+        application.authenticate(dataSet.blindRequesterId);
+        application.executeAndRollback(em -> blindService.createJoinRequest(dataSet.blindTargetId));
+    }
+
+    @Benchmark
+    public void acceptMemberJoinRequest(StatementCounter counter) {
+        application.authenticate(dataSet.heroUserId);
+        application.executeAndRollback(em -> groupMemberService.acceptMemberJoinRequest(dataSet.memberJoinRequestId));
+    }
+
+    @Benchmark
+    public void acceptGroupDateRequest(StatementCounter counter) {
+        application.authenticate(dataSet.heroUserId);
+        application.executeAndRollback(em -> groupDateService.acceptGroupDateRequest(dataSet.groupDateRequestId));
+    }
+}
@@ -0,0 +1,85 @@
+package com.ting.ting.configuration.filter;
+
+import com.ting.ting.util.JwtTokenUtil;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JwtTokenFilter 의 토큰 처리 비용 비교
+ * legacy: 검증(validateToken)과 id 추출(getIdByToken)에서 매번 키와 파서를 만들어 두 번 파싱하던 기존 방식
+ * parseOnce: 재사용하는 파서로 한 번만 검증 (검증 캐시 없음)
+ * parseOnceCached: 검증 캐시까지 사용하는 현재 방식
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class JwtTokenFilterBenchmark {
+
+    private static final String SECRET = "benchmark-secret-which-is-long-enough-for-hs256";
+
+    @Param({"1024"})
+    private int distinctTokens;
+
+    private String[] tokens;
+    private int cursor;
+
+    private JwtTokenUtil uncachedTokenUtil;
+    private JwtTokenUtil cachedTokenUtil;
+
+    @Setup
+    public void setUp() {
+        uncachedTokenUtil = new JwtTokenUtil(SECRET, 0);
+        cachedTokenUtil = new JwtTokenUtil(SECRET, 10_000);
+
+        tokens = new String[distinctTokens];
+        for (int i = 0; i < distinctTokens; i++) {
+            tokens[i] = uncachedTokenUtil.createTokenById((long) i + 1);
+        }
+    }
+
+    @Benchmark
+    public Long legacy() {
+        String token = nextToken();
+        legacyValidateToken(token);
+        return legacyGetIdByToken(token);
+    }
+
+    @Benchmark
+    public Long parseOnce() {
+        return uncachedTokenUtil.verifyToken(nextToken()).getUserId();
+    }
+
+    @Benchmark
+    public Long parseOnceCached() {
+        return cachedTokenUtil.verifyToken(nextToken()).getUserId();
+    }
+
+    private String nextToken() {
+        String token = tokens[cursor];
+        cursor = (cursor + 1) % tokens.length;
+        return token;
+    }
+
+    private static void legacyValidateToken(String token) {
+        Jwts.parserBuilder().setSigningKey(legacyKey()).build().parseClaimsJws(token).getBody();
+    }
+
+    private static Long legacyGetIdByToken(String token) {
+        Claims body = Jwts.parserBuilder()
+                .setSigningKey(legacyKey())
+                .build()
+                .parseClaimsJws(token)
+                .getBody();
+        return body.get("id", Long.class);
+    }
+
+    private static Key legacyKey() {
+        return Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8));
+    }
+}
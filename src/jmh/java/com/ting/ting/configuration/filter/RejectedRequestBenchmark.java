@@ -0,0 +1,72 @@
+package com.ting.ting.configuration.filter;
+
+import com.ting.ting.dto.response.Response;
+import com.ting.ting.exception.ErrorCode;
+import com.ting.ting.exception.ErrorResponseWriter;
+import com.ting.ting.exception.ServiceType;
+import com.ting.ting.exception.TingApplicationException;
+import com.ting.ting.util.JwtTokenUtil;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import javax.servlet.ServletException;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Authorization 헤더 없이 들어온 요청을 JwtTokenFilter 가 거절하는 처리량 비교 (로그 출력은 제외)
+ * legacy: 요청마다 TingApplicationException 과 Response 를 다시 만들고 Response#toStream 으로 JSON 을 이어 붙여 getWriter() 로 쓰던 기존 방식
+ * preRendered: ErrorResponseWriter 가 미리 만든 바이트를 getOutputStream() 으로 쓰는 현재 방식
+ * preRenderedWithDetail: error-response.include-detail=true 로 상세 메시지를 이스케이프해서 쓰는 경우
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class RejectedRequestBenchmark {
+
+    private static final String SECRET = "benchmark-secret-which-is-long-enough-for-hs256";
+
+    private JwtTokenFilter filter;
+    private JwtTokenFilter filterWithDetail;
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+
+    @Setup
+    public void setUp() {
+        JwtTokenUtil jwtTokenUtil = new JwtTokenUtil(SECRET, 0);
+        filter = new JwtTokenFilter(null, jwtTokenUtil, new ErrorResponseWriter(false));
+        filterWithDetail = new JwtTokenFilter(null, jwtTokenUtil, new ErrorResponseWriter(true));
+        request = new MockHttpServletRequest("GET", "/groups");
+        response = new MockHttpServletResponse();
+    }
+
+    @Benchmark
+    public int legacy() throws IOException {
+        response.reset();
+        try {
+            throw new TingApplicationException(ErrorCode.INVALID_ACCESS_TOKEN, ServiceType.AUTHENTICATION, "Header is null or invalid");
+        } catch (TingApplicationException e) {
+            TingApplicationException error = new TingApplicationException(ErrorCode.INVALID_ACCESS_TOKEN, ServiceType.AUTHENTICATION, e.getMessage());
+            Response<?> body = new Response<>(error);
+            response.setStatus(error.getErrorCode().getHttpStatus());
+            response.getWriter().write(body.toStream());
+        }
+        return response.getContentAsByteArray().length;
+    }
+
+    @Benchmark
+    public int preRendered() throws ServletException, IOException {
+        response.reset();
+        filter.doFilterInternal(request, response, new MockFilterChain());
+        return response.getContentAsByteArray().length;
+    }
+
+    @Benchmark
+    public int preRenderedWithDetail() throws ServletException, IOException {
+        response.reset();
+        filterWithDetail.doFilterInternal(request, response, new MockFilterChain());
+        return response.getContentAsByteArray().length;
+    }
+}
@@ -0,0 +1,37 @@
+package com.ting.ting.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.ting.ting.dto.idealPhoto.MixedImageResponse;
+
+import java.util.Optional;
+
+/**
+ * 최대 크기로 제한되는 in-process 저장소
+ * 합성 결과는 바뀌지 않으므로 TTL 없이 오래 쓰이지 않은 항목부터 밀어낸다.
+ */
+public class CaffeineMixedImageCacheStore implements MixedImageCacheStore {
+
+    private final Cache<MixedImageKey, MixedImageResponse> cache;
+
+    public CaffeineMixedImageCacheStore(long maximumSize) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .build();
+    }
+
+    @Override
+    public Optional<MixedImageResponse> get(MixedImageKey key) {
+        return Optional.ofNullable(cache.getIfPresent(key));
+    }
+
+    @Override
+    public void put(MixedImageKey key, MixedImageResponse image) {
+        cache.put(key, image);
+    }
+
+    @Override
+    public long size() {
+        return cache.estimatedSize();
+    }
+}
@@ -0,0 +1,43 @@
+package com.ting.ting.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.ting.ting.dto.UserDto;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * 최대 크기와 TTL 로 제한되는 in-process 저장소
+ */
+public class CaffeinePrincipalCacheStore implements PrincipalCacheStore {
+
+    private final Cache<Long, UserDto> cache;
+
+    public CaffeinePrincipalCacheStore(long maximumSize, Duration timeToLive) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(timeToLive)
+                .build();
+    }
+
+    @Override
+    public Optional<UserDto> get(Long userId) {
+        return Optional.ofNullable(cache.getIfPresent(userId));
+    }
+
+    @Override
+    public void put(Long userId, UserDto user) {
+        cache.put(userId, user);
+    }
+
+    @Override
+    public void evict(Long userId) {
+        cache.invalidate(userId);
+    }
+
+    @Override
+    public long size() {
+        return cache.estimatedSize();
+    }
+}
@@ -0,0 +1,30 @@
+package com.ting.ting.cache;
+
+import com.ting.ting.domain.Group;
+import com.ting.ting.domain.event.GroupMembershipChangedEvent;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.persistence.EntityManagerFactory;
+
+/**
+ * 엔티티 변경만으로는 갱신되지 않는 2차 캐시 항목을 커밋 이후 비운다.
+ */
+@Component
+public class EntityCacheEvictor {
+
+    private static final String GROUP_MEMBERS_ROLE = Group.class.getName() + ".groupMembers";
+
+    private final Cache cache;
+
+    public EntityCacheEvictor(EntityManagerFactory entityManagerFactory) {
+        this.cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onGroupMembershipChanged(GroupMembershipChangedEvent event) {
+        cache.evictCollectionData(GROUP_MEMBERS_ROLE, event.getGroupId());
+    }
+}
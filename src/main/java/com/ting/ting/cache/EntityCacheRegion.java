@@ -0,0 +1,19 @@
+package com.ting.ting.cache;
+
+import java.util.List;
+
+/**
+ * Hibernate 2차 캐시 영역 이름
+ * 영역은 CacheConfig 에서 미리 만들어 두고, 엔티티와 컬렉션의 @Cache(region = ...) 에서 사용한다.
+ */
+public final class EntityCacheRegion {
+
+    public static final String USER = "user";
+    public static final String GROUP = "group";
+    public static final String GROUP_MEMBER = "group-member";
+    public static final String GROUP_MEMBERS_OF_GROUP = "group.group-members";
+
+    public static final List<String> ALL = List.of(USER, GROUP, GROUP_MEMBER, GROUP_MEMBERS_OF_GROUP);
+
+    private EntityCacheRegion() {}
+}
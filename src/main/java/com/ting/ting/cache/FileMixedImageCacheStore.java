@@ -0,0 +1,93 @@
+package com.ting.ting.cache;
+
+import com.ting.ting.dto.idealPhoto.MixedImageResponse;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 메모리 저장소 뒤에 디스크 저장소를 두는 2단 저장소
+ * 서버를 재시작해도 이미 합성한 사진을 다시 요청하지 않도록, 키의 SHA-256 값을 파일 이름으로 합성 결과를 남긴다.
+ * 디스크 입출력 오류는 캐시 미스로 처리한다.
+ */
+@Slf4j
+public class FileMixedImageCacheStore implements MixedImageCacheStore {
+
+    private final MixedImageCacheStore memory;
+    private final Path directory;
+
+    public FileMixedImageCacheStore(MixedImageCacheStore memory, Path directory) {
+        this.memory = memory;
+        this.directory = directory;
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public Optional<MixedImageResponse> get(MixedImageKey key) {
+        Optional<MixedImageResponse> cached = memory.get(key);
+        if (cached.isPresent()) {
+            return cached;
+        }
+
+        try {
+            List<String> lines = Files.readAllLines(pathOf(key), StandardCharsets.UTF_8);
+            if (lines.size() < 3 || !lines.get(0).equals(key.toString())) {
+                return Optional.empty();
+            }
+            MixedImageResponse image = new MixedImageResponse(lines.get(1), lines.get(2));
+            memory.put(key, image);
+            return Optional.of(image);
+        } catch (NoSuchFileException e) {
+            return Optional.empty();
+        } catch (IOException e) {
+            log.warn("Failed to read mixed image cache entry {}: {}", key, e.toString());
+            return Optional.empty();
+        }
+    }
+
+    @Override
+    public void put(MixedImageKey key, MixedImageResponse image) {
+        memory.put(key, image);
+
+        Path path = pathOf(key);
+        try {
+            Path temp = Files.createTempFile(directory, path.getFileName().toString(), ".tmp");
+            Files.write(temp, List.of(key.toString(), String.valueOf(image.getImageID()), image.getImageURL()), StandardCharsets.UTF_8);
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.warn("Failed to write mixed image cache entry {}: {}", key, e.toString());
+        }
+    }
+
+    @Override
+    public long size() {
+        return memory.size();
+    }
+
+    private Path pathOf(MixedImageKey key) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(key.toString().getBytes(StandardCharsets.UTF_8));
+            StringBuilder name = new StringBuilder(digest.length * 2);
+            for (byte b : digest) {
+                name.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+            }
+            return directory.resolve(name.toString());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.ting.ting.cache;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * 정렬된 long 배열 기반의 불변 id 집합
+ * 조회는 박싱 없이 이진 탐색으로 처리하고, 변경은 새 배열을 만드는 copy-on-write 방식이다.
+ */
+public final class LongIdSet {
+
+    public static final LongIdSet EMPTY = new LongIdSet(new long[0]);
+
+    private final long[] ids;
+
+    private LongIdSet(long[] ids) {
+        this.ids = ids;
+    }
+
+    public static LongIdSet of(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return EMPTY;
+        }
+        return new LongIdSet(ids.stream().mapToLong(Long::longValue).sorted().distinct().toArray());
+    }
+
+    public boolean contains(long id) {
+        return Arrays.binarySearch(ids, id) >= 0;
+    }
+
+    public LongIdSet with(long id) {
+        int index = Arrays.binarySearch(ids, id);
+        if (index >= 0) {
+            return this;
+        }
+
+        int insertAt = -index - 1;
+        long[] copied = new long[ids.length + 1];
+        System.arraycopy(ids, 0, copied, 0, insertAt);
+        copied[insertAt] = id;
+        System.arraycopy(ids, insertAt, copied, insertAt + 1, ids.length - insertAt);
+        return new LongIdSet(copied);
+    }
+
+    public LongIdSet without(long id) {
+        int index = Arrays.binarySearch(ids, id);
+        if (index < 0) {
+            return this;
+        }
+
+        long[] copied = new long[ids.length - 1];
+        System.arraycopy(ids, 0, copied, 0, index);
+        System.arraycopy(ids, index + 1, copied, index, ids.length - index - 1);
+        return new LongIdSet(copied);
+    }
+
+    public int size() {
+        return ids.length;
+    }
+
+    public boolean isEmpty() {
+        return ids.length == 0;
+    }
+}
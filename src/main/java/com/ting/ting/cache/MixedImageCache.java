@@ -0,0 +1,114 @@
+package com.ting.ting.cache;
+
+import com.ting.ting.dto.idealPhoto.MixedImageResponse;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * IdealPhotoManager 에서 사용하는 합성 사진 캐시
+ * 캐시에 없는 경우에만 ML 서버를 호출하고, 같은 키에 대한 동시 요청은 먼저 들어온 호출 하나의 결과를 함께 기다린다.
+ */
+@Component
+@RequiredArgsConstructor
+public class MixedImageCache implements MeterBinder {
+
+    private static final String METRIC_NAME = "cache.mixed.image";
+
+    private final MixedImageCacheStore mixedImageCacheStore;
+
+    private final ConcurrentMap<MixedImageKey, CompletableFuture<MixedImageResponse>> inFlight = new ConcurrentHashMap<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+
+    public MixedImageResponse getOrMix(MixedImageKey key, Supplier<MixedImageResponse> mixer) {
+        Optional<MixedImageResponse> cached = mixedImageCacheStore.get(key);
+        if (cached.isPresent()) {
+            hits.increment();
+            return cached.get();
+        }
+
+        CompletableFuture<MixedImageResponse> mixing = new CompletableFuture<>();
+        CompletableFuture<MixedImageResponse> running = inFlight.putIfAbsent(key, mixing);
+        if (running != null) {
+            coalesced.increment();
+            return join(running);
+        }
+
+        misses.increment();
+        try {
+            MixedImageResponse image = mixer.get();
+            if (image != null && image.getImageURL() != null) {
+                mixedImageCacheStore.put(key, image);
+            }
+            mixing.complete(image);
+            return image;
+        } catch (RuntimeException e) {
+            mixing.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, mixing);
+        }
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    /**
+     * 진행 중인 같은 키의 합성을 기다린 요청 수
+     */
+    public long getCoalescedCount() {
+        return coalesced.sum();
+    }
+
+    public double getHitRatio() {
+        long hitCount = getHitCount() + getCoalescedCount();
+        long requestCount = hitCount + getMissCount();
+        return requestCount == 0 ? 0 : (double) hitCount / requestCount;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder(METRIC_NAME + ".requests", this, MixedImageCache::getHitCount)
+                .tag("result", "hit")
+                .register(registry);
+        FunctionCounter.builder(METRIC_NAME + ".requests", this, MixedImageCache::getMissCount)
+                .tag("result", "miss")
+                .register(registry);
+        FunctionCounter.builder(METRIC_NAME + ".requests", this, MixedImageCache::getCoalescedCount)
+                .tag("result", "coalesced")
+                .register(registry);
+        Gauge.builder(METRIC_NAME + ".hit.ratio", this, MixedImageCache::getHitRatio)
+                .register(registry);
+        Gauge.builder(METRIC_NAME + ".size", mixedImageCacheStore, MixedImageCacheStore::size)
+                .register(registry);
+    }
+
+    private static MixedImageResponse join(CompletableFuture<MixedImageResponse> running) {
+        try {
+            return running.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+}
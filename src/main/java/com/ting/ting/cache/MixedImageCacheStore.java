@@ -0,0 +1,26 @@
+package com.ting.ting.cache;
+
+import com.ting.ting.dto.idealPhoto.MixedImageResponse;
+
+import java.util.Optional;
+
+/**
+ * 합성 사진(MixedImageResponse) 저장소
+ */
+public interface MixedImageCacheStore {
+
+    /**
+     * key 에 해당하는 합성 사진 조회
+     */
+    Optional<MixedImageResponse> get(MixedImageKey key);
+
+    /**
+     * 합성 사진 저장
+     */
+    void put(MixedImageKey key, MixedImageResponse image);
+
+    /**
+     * 저장된 합성 사진 수 (근사값)
+     */
+    long size();
+}
@@ -0,0 +1,24 @@
+package com.ting.ting.cache;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 합성 사진 캐시 키
+ * ML 서버는 같은 (imageKey1, imageKey2, ratio) 에 대해 같은 사진을 만들기 때문에 합성 결과를 이 값으로 식별한다.
+ */
+@Getter
+@EqualsAndHashCode
+@RequiredArgsConstructor
+public final class MixedImageKey {
+
+    private final String imageKey1;
+    private final String imageKey2;
+    private final double ratio;
+
+    @Override
+    public String toString() {
+        return imageKey1 + "/" + imageKey2 + "/" + ratio;
+    }
+}
@@ -0,0 +1,74 @@
+package com.ting.ting.cache;
+
+import com.ting.ting.domain.event.UserChangedEvent;
+import com.ting.ting.dto.UserDto;
+import com.ting.ting.service.UserService;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * JwtTokenFilter 에서 사용하는 인증 사용자 캐시
+ * 캐시에 없는 경우에만 UserService 를 통해 DB 에서 조회하고, 사용자 정보가 바뀌면 커밋 이후 무효화한다.
+ */
+@Component
+@RequiredArgsConstructor
+public class PrincipalCache implements MeterBinder {
+
+    private static final String METRIC_NAME = "cache.principal";
+
+    private final PrincipalCacheStore principalCacheStore;
+    private final UserService userService;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public UserDto getOrLoad(Long userId) {
+        Optional<UserDto> cached = principalCacheStore.get(userId);
+        if (cached.isPresent()) {
+            hits.increment();
+            return cached.get();
+        }
+
+        misses.increment();
+        UserDto user = userService.getUserDtoById(userId);
+        principalCacheStore.put(userId, user);
+        return user;
+    }
+
+    public void evict(Long userId) {
+        principalCacheStore.evict(userId);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        evict(event.getUserId());
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder(METRIC_NAME + ".requests", this, PrincipalCache::getHitCount)
+                .tag("result", "hit")
+                .register(registry);
+        FunctionCounter.builder(METRIC_NAME + ".requests", this, PrincipalCache::getMissCount)
+                .tag("result", "miss")
+                .register(registry);
+        Gauge.builder(METRIC_NAME + ".size", principalCacheStore, PrincipalCacheStore::size)
+                .register(registry);
+    }
+}
@@ -0,0 +1,32 @@
+package com.ting.ting.cache;
+
+import com.ting.ting.dto.UserDto;
+
+import java.util.Optional;
+
+/**
+ * 인증된 사용자 정보(UserDto) 저장소
+ * 현재는 in-process 구현만 존재하며, 레디스와 같은 외부 저장소로 교체할 수 있도록 분리한다.
+ */
+public interface PrincipalCacheStore {
+
+    /**
+     * userId 에 해당하는 사용자 정보 조회
+     */
+    Optional<UserDto> get(Long userId);
+
+    /**
+     * 사용자 정보 저장
+     */
+    void put(Long userId, UserDto user);
+
+    /**
+     * 사용자 정보 삭제
+     */
+    void evict(Long userId);
+
+    /**
+     * 저장된 사용자 수 (근사값)
+     */
+    long size();
+}
@@ -0,0 +1,15 @@
+package com.ting.ting.cache;
+
+/**
+ * RelationshipIndex 가 관리하는 관계 종류
+ * owner 는 관계의 주인 id, target 은 집합에 담기는 상대 id 이다.
+ */
+public enum Relation {
+    BLIND_LIKED_USER,           // owner: user, target: 찜한 소개팅 상대 user
+    BLIND_PENDING_REQUEST_USER, // owner: user, target: 대기 중인 소개팅 요청을 보낸 상대 user
+    BLIND_MATCHED_USER,         // owner: user, target: 소개팅이 성사된 상대 user
+    JOIN_LIKED_GROUP,           // owner: user, target: 찜한 같은 성별 group
+    JOIN_PENDING_GROUP,         // owner: user, target: 가입 요청 중인 group
+    DATE_LIKED_GROUP,           // owner: group member, target: 찜한 이성 group
+    DATE_PENDING_GROUP          // owner: group, target: 과팅 요청 중인 이성 group
+}
@@ -0,0 +1,160 @@
+package com.ting.ting.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.ting.ting.repository.*;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.EqualsAndHashCode;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Function;
+
+/**
+ * 사용자, 그룹별 관계(찜, 대기 중인 요청, 매칭 상대) id 집합 인덱스
+ * 처음 조회할 때 DB 에서 읽어 오고, 이후에는 쓰기 경로에서 커밋 이후 집합을 갱신한다.
+ *
+ * 인덱스는 서버(JVM)마다 따로 있고, 다른 서버에서 일어난 변경은 TTL 이 지나 다시 읽어 올 때까지 반영되지 않는다.
+ * 서버 간 무효화 수단이 없으므로 기본은 꺼 두고(cache.relationship.maximum-size 0, 매번 DB 에서 읽는다),
+ * 서버가 한 대일 때만 maximum-size 를 지정해 켠다.
+ *
+ * 읽어 오는 동안 커밋된 변경을 옛 집합이 덮어쓰지 않도록 키마다 세대(generation)를 둔다.
+ * 커밋 이후 반영은 세대를 올리고, DB 에서 읽어 온 집합은 읽기 전과 세대가 같을 때만 캐시에 넣는다.
+ */
+@Component
+public class RelationshipIndex implements MeterBinder {
+
+    private static final int GENERATION_STRIPES = 4096;
+
+    /** maximum-size 가 0 이면 null 이고, 항상 DB 에서 읽는다. */
+    private final Cache<RelationKey, LongIdSet> relations;
+    /** 키 해시로 나눈 세대. 다른 키와 세대를 나눠 쓰면 캐시에 넣지 못하는 경우가 늘 뿐 틀리지는 않는다. */
+    private final AtomicLongArray generations = new AtomicLongArray(GENERATION_STRIPES);
+    private final Map<Relation, Function<Long, List<Long>>> loaders = new EnumMap<>(Relation.class);
+
+    public RelationshipIndex(
+            BlindLikeRepository blindLikeRepository,
+            BlindRequestRepository blindRequestRepository,
+            BlindDateRepository blindDateRepository,
+            GroupLikeToJoinRepository groupLikeToJoinRepository,
+            GroupMemberRequestRepository groupMemberRequestRepository,
+            GroupLikeToDateRepository groupLikeToDateRepository,
+            GroupDateRequestRepository groupDateRequestRepository,
+            @Value("${cache.relationship.maximum-size:0}") long maximumSize,
+            @Value("${cache.relationship.time-to-live:10m}") Duration timeToLive
+    ) {
+        this.relations = maximumSize > 0 ? Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(timeToLive)
+                .recordStats()
+                .build() : null;
+
+        loaders.put(Relation.BLIND_LIKED_USER, blindLikeRepository::findAllToUserIdByFromUserId);
+        loaders.put(Relation.BLIND_PENDING_REQUEST_USER, blindRequestRepository::findAllPendingToUserIdByFromUserId);
+        loaders.put(Relation.BLIND_MATCHED_USER, blindDateRepository::findAllMatchedUserIdByUserId);
+        loaders.put(Relation.JOIN_LIKED_GROUP, groupLikeToJoinRepository::findAllToGroupIdByFromUserId);
+        loaders.put(Relation.JOIN_PENDING_GROUP, groupMemberRequestRepository::findAllGroupIdByUserId);
+        loaders.put(Relation.DATE_LIKED_GROUP, groupLikeToDateRepository::findAllToGroupIdByFromGroupMemberId);
+        loaders.put(Relation.DATE_PENDING_GROUP, groupDateRequestRepository::findAllToGroupIdByFromGroupId);
+    }
+
+    public LongIdSet get(Relation relation, Long ownerId) {
+        RelationKey key = new RelationKey(relation, ownerId);
+        if (relations == null) {
+            return load(key);
+        }
+
+        LongIdSet cached = relations.getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        long generation = generations.get(stripeOf(key));
+        LongIdSet loaded = load(key);
+        // 세대 확인과 저장을 키 단위로 원자적으로 한다. 읽는 동안 반영된 변경이 있으면 이번 결과는 캐시에 넣지 않는다.
+        LongIdSet stored = relations.asMap().compute(key, (k, existing) -> {
+            if (existing != null) {
+                return existing;
+            }
+            return generations.get(stripeOf(k)) == generation ? loaded : null;
+        });
+        return stored != null ? stored : loaded;
+    }
+
+    /**
+     * 이미 읽어 둔 집합에만 반영한다. 읽어 두지 않은 집합은 다음 조회 때 DB 에서 읽어 온다.
+     */
+    public void add(Relation relation, Long ownerId, Long targetId) {
+        afterCommit(() -> update(new RelationKey(relation, ownerId), ids -> ids.with(targetId)));
+    }
+
+    public void remove(Relation relation, Long ownerId, Long targetId) {
+        afterCommit(() -> update(new RelationKey(relation, ownerId), ids -> ids.without(targetId)));
+    }
+
+    public void invalidate(Relation relation, Long ownerId) {
+        afterCommit(() -> update(new RelationKey(relation, ownerId), ids -> null));
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        if (relations != null) {
+            CaffeineCacheMetrics.monitor(registry, relations, "relationship");
+        }
+    }
+
+    private LongIdSet load(RelationKey key) {
+        return LongIdSet.of(loaders.get(key.relation).apply(key.ownerId));
+    }
+
+    /**
+     * 세대를 올리고 읽어 둔 집합이 있으면 바꾼다. 같은 키의 get 저장과 겹치지 않도록 compute 안에서 한다.
+     */
+    private void update(RelationKey key, Function<LongIdSet, LongIdSet> change) {
+        if (relations == null) {
+            return;
+        }
+
+        relations.asMap().compute(key, (k, ids) -> {
+            generations.incrementAndGet(stripeOf(k));
+            return ids != null ? change.apply(ids) : null;
+        });
+    }
+
+    private static int stripeOf(RelationKey key) {
+        return (key.hashCode() & Integer.MAX_VALUE) % GENERATION_STRIPES;
+    }
+
+    // 롤백된 변경이 인덱스에 남지 않도록 트랜잭션 안에서는 커밋 이후에 반영한다.
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    @EqualsAndHashCode
+    @RequiredArgsConstructor
+    private static final class RelationKey {
+
+        private final Relation relation;
+        private final Long ownerId;
+    }
+}
@@ -0,0 +1,83 @@
+package com.ting.ting.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * 한 요청 안에서 id 로 조회한 엔티티를 기억해 두고, 같은 id 를 다시 조회하면 그대로 돌려준다.
+ * 요청 속성(RequestContextHolder) 에 묶여 요청이 끝나면 버려지고, 그때 엔티티 타입별 조회 통계를 debug 로그로 남긴다.
+ * open-in-view 로 영속성 컨텍스트가 요청 동안 유지되므로 기억한 엔티티는 다시 조회한 것과 같은 영속 상태의 인스턴스이다.
+ * 요청 밖(스케줄러, 벤치마크 등) 에서는 기억하지 않고 매번 조회한다.
+ */
+@Slf4j
+public final class RequestScopedEntityLoader {
+
+    private static final String ATTRIBUTE = RequestScopedEntityLoader.class.getName();
+
+    private final Map<Class<?>, Map<Long, Object>> entities = new HashMap<>();
+    // 타입별 [hits, misses]
+    private final Map<Class<?>, int[]> statistics = new LinkedHashMap<>();
+
+    private RequestScopedEntityLoader() {
+    }
+
+    /**
+     * 조회되지 않은 id 는 기억하지 않으므로, 같은 요청에서 나중에 저장된 엔티티도 찾을 수 있다.
+     */
+    public static <T> Optional<T> find(Class<T> type, Long id, Function<Long, Optional<T>> finder) {
+        RequestScopedEntityLoader loader = id == null ? null : current();
+        if (loader == null) {
+            return finder.apply(id);
+        }
+
+        return loader.load(type, id, finder);
+    }
+
+    private static RequestScopedEntityLoader current() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return null;
+        }
+
+        RequestScopedEntityLoader loader = (RequestScopedEntityLoader) attributes.getAttribute(ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (loader == null) {
+            loader = new RequestScopedEntityLoader();
+            attributes.setAttribute(ATTRIBUTE, loader, RequestAttributes.SCOPE_REQUEST);
+            attributes.registerDestructionCallback(ATTRIBUTE, loader::logStatistics, RequestAttributes.SCOPE_REQUEST);
+        }
+        return loader;
+    }
+
+    private <T> Optional<T> load(Class<T> type, Long id, Function<Long, Optional<T>> finder) {
+        Map<Long, Object> loaded = entities.computeIfAbsent(type, key -> new HashMap<>());
+        int[] counts = statistics.computeIfAbsent(type, key -> new int[2]);
+
+        Object cached = loaded.get(id);
+        if (cached != null) {
+            counts[0]++;
+            return Optional.of(type.cast(cached));
+        }
+
+        counts[1]++;
+        Optional<T> entity = finder.apply(id);
+        entity.ifPresent(it -> loaded.put(id, it));
+        return entity;
+    }
+
+    private void logStatistics() {
+        if (!log.isDebugEnabled() || statistics.isEmpty()) {
+            return;
+        }
+
+        StringBuilder summary = new StringBuilder();
+        statistics.forEach((type, counts) -> summary.append(String.format(" %s(hits: %d, misses: %d)", type.getSimpleName(), counts[0], counts[1])));
+        log.debug("Entity lookups in request:{}", summary);
+    }
+}
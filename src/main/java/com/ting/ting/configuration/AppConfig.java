@@ -1,8 +1,8 @@
 package com.ting.ting.configuration;
 
+import com.ting.ting.cache.RelationshipIndex;
 import com.ting.ting.repository.*;
 import com.ting.ting.service.*;
-import com.ting.ting.util.IdealPhotoManager;
 import com.ting.ting.util.JwtTokenUtil;
 import com.ting.ting.util.KakaoManger;
 import lombok.RequiredArgsConstructor;
@@ -20,46 +20,52 @@ public class AppConfig {
     private final GroupDateRepository groupDateRepository;
     private final GroupDateRequestRepository groupDateRequestRepository;
     private final GroupLikeToDateRepository groupLikeToDateRepository;
+    private final GroupLikeToDateCountRepository groupLikeToDateCountRepository;
     private final GroupLikeToJoinRepository groupLikeToJoinRepository;
+    private final GroupMemberMajorCountRepository groupMemberMajorCountRepository;
+    private final GroupRecommendationRepository groupRecommendationRepository;
     private final BlindRequestRepository blindRequestRepository;
     private final BlindDateRepository blindDateRepository;
     private final BlindLikeRepository blindLikeRepository;
+    private final BlindQuotaRepository blindQuotaRepository;
+    private final BlindRecommendationRepository blindRecommendationRepository;
+    private final IdealPhotoMixJobRepository idealPhotoMixJobRepository;
     private final KakaoManger kakaoManger;
-    private final IdealPhotoManager idealPhotoManager;
     private final JwtTokenUtil jwtTokenUtil;
+    private final RelationshipIndex relationshipIndex;
 
     @Bean
     public UserService userService() {
-        return new UserServiceImpl(userRepository, kakaoManger, jwtTokenUtil);
+        return new UserServiceImpl(userRepository, blindQuotaRepository, kakaoManger, jwtTokenUtil);
     }
 
     @Bean
     public GroupService groupService() {
-        return new GroupServiceImpl(userRepository, groupRepository, groupMemberRepository, groupMemberRequestRepository, groupLikeToJoinRepository, groupLikeToDateRepository);
+        return new GroupServiceImpl(userRepository, groupRepository, groupMemberRepository, groupMemberRequestRepository, groupLikeToJoinRepository, groupLikeToDateRepository, groupMemberMajorCountRepository, groupRecommendationRepository, relationshipIndex);
     }
 
     @Bean
     public GroupMemberService groupMemberService() {
-        return new GroupMemberServiceImpl(userRepository, groupRepository, groupLikeToJoinRepository, groupMemberRepository, groupMemberRequestRepository, idealPhotoManager);
+        return new GroupMemberServiceImpl(userRepository, groupRepository, groupLikeToJoinRepository, groupMemberRepository, groupMemberRequestRepository, groupLikeToDateCountRepository, groupMemberMajorCountRepository, idealPhotoMixJobRepository, relationshipIndex);
     }
 
     @Bean
     public GroupDateService groupDateService() {
-        return new GroupDateServiceImpl(userRepository, groupRepository, groupMemberRepository, groupLikeToDateRepository, groupDateRepository, groupDateRequestRepository);
+        return new GroupDateServiceImpl(userRepository, groupRepository, groupMemberRepository, groupLikeToDateCountRepository, groupDateRepository, groupDateRequestRepository, relationshipIndex);
     }
 
     @Bean
     public GroupLikeService groupLikeService() {
-        return new GroupLikeServiceImpl(userRepository, groupRepository, groupMemberRepository, groupMemberRequestRepository, groupDateRequestRepository, groupLikeToJoinRepository, groupLikeToDateRepository);
+        return new GroupLikeServiceImpl(userRepository, groupRepository, groupMemberRepository, groupMemberRequestRepository, groupDateRequestRepository, groupLikeToJoinRepository, groupLikeToDateRepository, groupLikeToDateCountRepository, relationshipIndex);
     }
 
     @Bean
     public BlindService blindService() {
-        return new BlindServiceImpl(userRepository, blindRequestRepository, blindDateRepository, blindLikeRepository);
+        return new BlindServiceImpl(userRepository, blindRequestRepository, blindDateRepository, blindLikeRepository, blindQuotaRepository, blindRecommendationRepository, relationshipIndex);
     }
 
     @Bean
     public BlindLikeService blindLikeService() {
-        return new BlindLikeServiceImpl(blindLikeRepository, userRepository, blindRequestRepository, blindDateRepository);
+        return new BlindLikeServiceImpl(blindLikeRepository, userRepository, relationshipIndex);
     }
 }
@@ -0,0 +1,94 @@
+package com.ting.ting.configuration;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import com.ting.ting.cache.*;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.JCacheMetrics;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.spi.CachingProvider;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.OptionalLong;
+
+@Configuration
+public class CacheConfig {
+
+    @Bean
+    public PrincipalCacheStore principalCacheStore(
+            @Value("${cache.principal.maximum-size:10000}") long maximumSize,
+            @Value("${cache.principal.time-to-live:5m}") Duration timeToLive
+    ) {
+        return new CaffeinePrincipalCacheStore(maximumSize, timeToLive);
+    }
+
+    /**
+     * cache.mixed-image.directory 가 지정되면 메모리 저장소 뒤에 디스크 저장소를 둔다.
+     */
+    @Bean
+    public MixedImageCacheStore mixedImageCacheStore(
+            @Value("${cache.mixed-image.maximum-size:10000}") long maximumSize,
+            @Value("${cache.mixed-image.directory:}") String directory
+    ) {
+        MixedImageCacheStore memory = new CaffeineMixedImageCacheStore(maximumSize);
+        if (directory.isBlank()) {
+            return memory;
+        }
+        return new FileMixedImageCacheStore(memory, Path.of(directory));
+    }
+
+    /**
+     * Hibernate 2차 캐시(User, Group, GroupMember, Group.groupMembers)가 사용할 in-process JCache(Caffeine) 영역을 만든다.
+     */
+    @Bean
+    public HibernatePropertiesCustomizer entityCacheCustomizer(
+            @Value("${cache.entity.maximum-size:10000}") long maximumSize,
+            @Value("${cache.entity.time-to-live:10m}") Duration timeToLive
+    ) {
+        CacheManager cacheManager = entityCacheManager();
+
+        for (String region : EntityCacheRegion.ALL) {
+            if (cacheManager.getCache(region) != null) {
+                continue;   // 같은 JVM 에서 애플리케이션을 다시 띄운 경우
+            }
+
+            CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+            configuration.setMaximumSize(OptionalLong.of(maximumSize));
+            configuration.setExpireAfterWrite(OptionalLong.of(timeToLive.toNanos()));
+            configuration.setStoreByValue(false);
+            configuration.setStatisticsEnabled(true);
+            cacheManager.createCache(region, configuration);
+        }
+
+        return properties -> properties.put(ConfigSettings.CACHE_MANAGER, cacheManager);
+    }
+
+    /**
+     * 2차 캐시 영역의 적중, 누락, 제거 수를 cache.* 지표로 내보낸다. (hibernate.generate_statistics 없이도 볼 수 있다.)
+     */
+    @Bean
+    public MeterBinder entityCacheMetrics() {
+        return registry -> {
+            CacheManager cacheManager = entityCacheManager();
+            for (String region : EntityCacheRegion.ALL) {
+                Cache<Object, Object> cache = cacheManager.getCache(region);
+                if (cache != null) {
+                    JCacheMetrics.monitor(registry, cache);
+                }
+            }
+        };
+    }
+
+    private static CacheManager entityCacheManager() {
+        CachingProvider cachingProvider = Caching.getCachingProvider(CaffeineCachingProvider.class.getName());
+        return cachingProvider.getCacheManager();
+    }
+}
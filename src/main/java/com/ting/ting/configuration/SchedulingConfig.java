@@ -0,0 +1,15 @@
+package com.ting.ting.configuration;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * @Scheduled 작업(합성 작업 처리기, 추천 목록 갱신, 멤버 집계 보정)을 켠다.
+ * scheduling.enabled=false 면 끄고, 테스트는 작업을 직접 호출한다.
+ */
+@Configuration
+@EnableScheduling
+@ConditionalOnProperty(name = "scheduling.enabled", havingValue = "true", matchIfMissing = true)
+public class SchedulingConfig {
+}
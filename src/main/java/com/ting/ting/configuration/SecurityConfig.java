@@ -1,8 +1,9 @@
 package com.ting.ting.configuration;
 
+import com.ting.ting.cache.PrincipalCache;
 import com.ting.ting.configuration.filter.JwtTokenFilter;
 import com.ting.ting.exception.CustomAuthenticationEntryPoint;
-import com.ting.ting.service.UserService;
+import com.ting.ting.exception.ErrorResponseWriter;
 import com.ting.ting.util.JwtTokenUtil;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -14,14 +15,16 @@ import org.springframework.security.web.authentication.UsernamePasswordAuthentic
 @Configuration
 public class SecurityConfig {
 
-    private final UserService userService;
+    private final PrincipalCache principalCache;
     private final JwtTokenUtil jwtTokenUtil;
     private final CorsConfig corsConfig;
+    private final ErrorResponseWriter errorResponseWriter;
 
-    public SecurityConfig(UserService userService, JwtTokenUtil jwtTokenUtil, CorsConfig corsConfig) {
-        this.userService = userService;
+    public SecurityConfig(PrincipalCache principalCache, JwtTokenUtil jwtTokenUtil, CorsConfig corsConfig, ErrorResponseWriter errorResponseWriter) {
+        this.principalCache = principalCache;
         this.jwtTokenUtil = jwtTokenUtil;
         this.corsConfig = corsConfig;
+        this.errorResponseWriter = errorResponseWriter;
     }
 
     @Bean
@@ -36,7 +39,7 @@ public class SecurityConfig {
                 .sessionCreationPolicy(SessionCreationPolicy.STATELESS)
                 .and()
                 .addFilter(corsConfig.corsFilter())
-                .addFilterBefore(new JwtTokenFilter(userService, jwtTokenUtil), UsernamePasswordAuthenticationFilter.class)
+                .addFilterBefore(new JwtTokenFilter(principalCache, jwtTokenUtil, errorResponseWriter), UsernamePasswordAuthenticationFilter.class)
                 .exceptionHandling()
                 .authenticationEntryPoint(new CustomAuthenticationEntryPoint())
                 .and()
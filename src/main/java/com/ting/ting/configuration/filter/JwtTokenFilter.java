@@ -1,11 +1,11 @@
 package com.ting.ting.configuration.filter;
 
+import com.ting.ting.cache.PrincipalCache;
 import com.ting.ting.dto.UserDto;
-import com.ting.ting.dto.response.Response;
 import com.ting.ting.exception.ErrorCode;
+import com.ting.ting.exception.ErrorResponseWriter;
 import com.ting.ting.exception.ServiceType;
 import com.ting.ting.exception.TingApplicationException;
-import com.ting.ting.service.UserService;
 import com.ting.ting.util.JwtTokenUtil;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -26,19 +26,22 @@ import java.util.List;
 @AllArgsConstructor
 public class JwtTokenFilter extends OncePerRequestFilter {
 
-    private final UserService userService;
+    private final PrincipalCache principalCache;
     private final JwtTokenUtil jwtTokenUtil;
+    private final ErrorResponseWriter errorResponseWriter;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
         try {
             String token = extractTokenFromHeader(request);
-            jwtTokenUtil.validateToken(token);
-            authenticateUser(token, request);
+            authenticateUser(jwtTokenUtil.verifyToken(token).getUserId(), request);
         } catch (TingApplicationException e) {
-            sendErrorResponse(response, ErrorCode.INVALID_ACCESS_TOKEN, e.getMessage());
+            // 토큰 없는 요청은 흔하므로(봇 등) 로그 레벨을 낮춘다.
+            log.debug("[{} :: {}] : {}", ErrorCode.INVALID_ACCESS_TOKEN, ServiceType.AUTHENTICATION, e.getMessage());
+            errorResponseWriter.write(response, ErrorCode.INVALID_ACCESS_TOKEN, ServiceType.AUTHENTICATION, e.getMessage());
         } catch (RuntimeException e) {
-            sendErrorResponse(response, ErrorCode.INTERNAL_SERVER_ERROR, e.getMessage());
+            log.error("[{} :: {}] : {}", ErrorCode.INTERNAL_SERVER_ERROR, ServiceType.AUTHENTICATION, e.getMessage(), e);
+            errorResponseWriter.write(response, ErrorCode.INTERNAL_SERVER_ERROR, ServiceType.AUTHENTICATION, e.getMessage());
         }
 
         filterChain.doFilter(request, response);
@@ -52,10 +55,11 @@ public class JwtTokenFilter extends OncePerRequestFilter {
         return header.split(" ")[1].trim();
     }
 
-    private void authenticateUser(String token, HttpServletRequest request) {
-        Long userId = jwtTokenUtil.getIdByToken(token);
-//        UserDto user = userService.getUserById(userId); // 레디스와 같은 캐시를 통해 조회해야 함. 지금은 레디스가 없으므로 db 접근을 줄이기 위해 token 안 userId에 대한 검증은 안한다. TODO: redis 도입 후 수정
-        UserDto user = new UserDto(userId, null, null, null, null, null, null, null, null, null);
+    private void authenticateUser(Long userId, HttpServletRequest request) {
+        UserDto user = principalCache.getOrLoad(userId);
+        if (!user.isEnabled()) {
+            throw new TingApplicationException(ErrorCode.INVALID_ACCESS_TOKEN, ServiceType.AUTHENTICATION, () -> String.format("User(id: %d) is deleted", userId));
+        }
         UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
                 user, null, user.getAuthorities()
         );
@@ -63,15 +67,6 @@ public class JwtTokenFilter extends OncePerRequestFilter {
         SecurityContextHolder.getContext().setAuthentication(authentication);
     }
 
-    private void sendErrorResponse(HttpServletResponse response, ErrorCode errorCode, String message) throws IOException {
-        TingApplicationException e = new TingApplicationException(errorCode, ServiceType.AUTHENTICATION, message);
-        Response<?> body = new Response<>(e);
-
-        log.error(e.getMessageForServer());
-        response.setStatus(e.getErrorCode().getHttpStatus());
-        response.getWriter().write(body.toStream());
-    }
-
     @Override
     protected boolean shouldNotFilter(HttpServletRequest request) {
         List<String> excludedUrls = List.of("/ting", "/kakao", "/api-docs", "/swagger");
@@ -1,14 +1,18 @@
 package com.ting.ting.controller;
 
+import com.ting.ting.dto.request.BulkRequest;
 import com.ting.ting.dto.response.BlindLikeResponse;
 import com.ting.ting.dto.response.BlindRequestWithFromAndToResponse;
 import com.ting.ting.dto.response.BlindUserWithRequestStatusAndLikeStatusResponse;
+import com.ting.ting.dto.response.BulkItemResponse;
+import com.ting.ting.dto.response.CursorResponse;
 import com.ting.ting.dto.response.Response;
 import org.springdoc.api.annotations.ParameterObject;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
 import java.util.Set;
 
 @RequestMapping("/blind")
@@ -20,6 +24,20 @@ public interface BlindDateController {
     @GetMapping
     Response<Page<BlindUserWithRequestStatusAndLikeStatusResponse>> getBlindUsersInfo(@ParameterObject Pageable pageable);
 
+    /**
+     * 소개팅 상대편 조회(커서 기반)
+     * 응답의 nextCursor 를 다음 요청의 cursor 로 전달한다.
+     */
+    @GetMapping("/cursor")
+    Response<CursorResponse<BlindUserWithRequestStatusAndLikeStatusResponse>> getBlindUsersInfoByCursor(@RequestParam(required = false) String cursor, @RequestParam(defaultValue = "20") int size);
+
+    /**
+     * 추천 순서로 소개팅 상대편 조회(커서 기반)
+     * 응답의 nextCursor 를 다음 요청의 cursor 로 전달한다.
+     */
+    @GetMapping("/recommended")
+    Response<CursorResponse<BlindUserWithRequestStatusAndLikeStatusResponse>> getRecommendedBlindUsersInfo(@RequestParam(required = false) String cursor, @RequestParam(defaultValue = "20") int size);
+
     //Todo :: 소개팅 요청 로직
 
     /**
@@ -28,6 +46,12 @@ public interface BlindDateController {
     @PostMapping("/request/{toUserId}")
     Response<Void> sendJoinRequest(@PathVariable long toUserId);
 
+    /**
+     * 여러 소개팅 상대에게 한 번에 요청
+     */
+    @PostMapping("/requests")
+    Response<List<BulkItemResponse>> sendJoinRequests(@RequestBody BulkRequest request);
+
     /**
      * 소개팅 상대에게 한 요청 취소
      */
@@ -66,6 +90,18 @@ public interface BlindDateController {
     @DeleteMapping("/like/{toUserId}")
     Response<Void> deleteJoinLiked(@PathVariable long toUserId);
 
+    /**
+     * 여러 소개팅 상대방 한 번에 찜하기
+     */
+    @PostMapping("/likes")
+    Response<List<BulkItemResponse>> sendJoinLikes(@RequestBody BulkRequest request);
+
+    /**
+     * 여러 소개팅 상대에게 한 찜하기 한 번에 취소
+     */
+    @DeleteMapping("/likes")
+    Response<List<BulkItemResponse>> deleteJoinLikes(@RequestBody BulkRequest request);
+
     /**
      * 소개팅 찜하기 조회(받은 요청, 한 요청 모두)
      */
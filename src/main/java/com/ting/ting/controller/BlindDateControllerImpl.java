@@ -1,8 +1,11 @@
 package com.ting.ting.controller;
 
+import com.ting.ting.dto.request.BulkRequest;
 import com.ting.ting.dto.response.BlindLikeResponse;
 import com.ting.ting.dto.response.BlindRequestWithFromAndToResponse;
 import com.ting.ting.dto.response.BlindUserWithRequestStatusAndLikeStatusResponse;
+import com.ting.ting.dto.response.BulkItemResponse;
+import com.ting.ting.dto.response.CursorResponse;
 import com.ting.ting.dto.response.Response;
 import com.ting.ting.exception.ServiceType;
 import com.ting.ting.service.BlindLikeService;
@@ -12,6 +15,7 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.List;
 import java.util.Set;
 
 @Slf4j
@@ -32,12 +36,27 @@ public class BlindDateControllerImpl extends AbstractController implements Blind
         return success(blindService.blindUsersInfo(pageable));
     }
 
+    @Override
+    public Response<CursorResponse<BlindUserWithRequestStatusAndLikeStatusResponse>> getBlindUsersInfoByCursor(String cursor, int size) {
+        return success(blindService.blindUsersInfo(cursor, size));
+    }
+
+    @Override
+    public Response<CursorResponse<BlindUserWithRequestStatusAndLikeStatusResponse>> getRecommendedBlindUsersInfo(String cursor, int size) {
+        return success(blindService.recommendedBlindUsersInfo(cursor, size));
+    }
+
     @Override
     public Response<Void> sendJoinRequest(long toUserId) {
         blindService.createJoinRequest(toUserId);
         return success();
     }
 
+    @Override
+    public Response<List<BulkItemResponse>> sendJoinRequests(BulkRequest request) {
+        return success(blindService.createJoinRequests(request.getTargetIds()));
+    }
+
     @Override
     public Response<Void> deleteJoinRequest(long toUserId) {
         blindService.deleteRequestById(toUserId);
@@ -73,6 +92,16 @@ public class BlindDateControllerImpl extends AbstractController implements Blind
         return success();
     }
 
+    @Override
+    public Response<List<BulkItemResponse>> sendJoinLikes(BulkRequest request) {
+        return success(blindLikeService.createJoinLikes(request.getTargetIds()));
+    }
+
+    @Override
+    public Response<List<BulkItemResponse>> deleteJoinLikes(BulkRequest request) {
+        return success(blindLikeService.deleteJoinLikes(request.getTargetIds()));
+    }
+
     @Override
     public Response<Set<BlindLikeResponse>> getBlindLiked() {
         return success(blindLikeService.getBlindLike());
@@ -1,5 +1,6 @@
 package com.ting.ting.controller;
 
+import com.ting.ting.dto.request.BulkRequest;
 import com.ting.ting.dto.request.GroupCreateRequest;
 import com.ting.ting.dto.response.*;
 import org.springdoc.api.annotations.ParameterObject;
@@ -7,6 +8,7 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
 import java.util.Set;
 
 @RequestMapping("/groups")
@@ -30,6 +32,20 @@ public interface GroupController {
     @GetMapping("/{groupId}/opposite-gender-groups")
     Response<Page<DateableGroupResponse>> getOppositeGenderGroupList(@PathVariable Long groupId, @ParameterObject Pageable pageable);
 
+    /**
+     * 다른 성별의 팀 조회(커서 기반)
+     * 응답의 nextCursor 를 다음 요청의 cursor 로 전달한다.
+     */
+    @GetMapping("/{groupId}/opposite-gender-groups/cursor")
+    Response<CursorResponse<DateableGroupResponse>> getOppositeGenderGroupsByCursor(@PathVariable Long groupId, @RequestParam(required = false) String cursor, @RequestParam(defaultValue = "20") int size);
+
+    /**
+     * 추천 순으로 정렬된 다른 성별의 팀 조회(커서 기반)
+     * 응답의 nextCursor 를 다음 요청의 cursor 로 전달한다.
+     */
+    @GetMapping("/{groupId}/opposite-gender-groups/recommended")
+    Response<CursorResponse<DateableGroupResponse>> getRecommendedOppositeGenderGroups(@PathVariable Long groupId, @RequestParam(required = false) String cursor, @RequestParam(defaultValue = "20") int size);
+
     /**
      * 내가 속한 팀 조회
      */
@@ -78,6 +94,12 @@ public interface GroupController {
     @PostMapping("/likes/{toGroupId}")
     Response<Void> createSameGenderGroupLike(@PathVariable Long toGroupId);
 
+    /**
+     * 같은 성별의 여러 팀 한 번에 찜하기
+     */
+    @PostMapping("/likes")
+    Response<List<BulkItemResponse>> createSameGenderGroupLikes(@RequestBody BulkRequest request);
+
     /**
      * 다른 성별의 팀 찜하기
      */
@@ -126,6 +148,12 @@ public interface GroupController {
     @DeleteMapping("/likes/{toGroupId}")
     Response<Void> deleteSameGenderGroupLike(@PathVariable Long toGroupId);
 
+    /**
+     * 같은 성별의 여러 팀 찜하기 한 번에 취소
+     */
+    @DeleteMapping("/likes")
+    Response<List<BulkItemResponse>> deleteSameGenderGroupLikes(@RequestBody BulkRequest request);
+
     /**
      * 다른 성별의 팀 찜하기 취소
      */
@@ -1,5 +1,6 @@
 package com.ting.ting.controller;
 
+import com.ting.ting.dto.request.BulkRequest;
 import com.ting.ting.dto.request.GroupCreateRequest;
 import com.ting.ting.dto.response.*;
 import com.ting.ting.exception.ServiceType;
@@ -11,6 +12,7 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.List;
 import java.util.Set;
 
 
@@ -45,6 +47,16 @@ public class GroupControllerImpl extends AbstractController implements GroupCont
         return success(groupService.findDateableOppositeGenderGroupList(groupId, pageable));
     }
 
+    @Override
+    public Response<CursorResponse<DateableGroupResponse>> getOppositeGenderGroupsByCursor(Long groupId, String cursor, int size) {
+        return success(groupService.findDateableOppositeGenderGroups(groupId, cursor, size));
+    }
+
+    @Override
+    public Response<CursorResponse<DateableGroupResponse>> getRecommendedOppositeGenderGroups(Long groupId, String cursor, int size) {
+        return success(groupService.findRecommendedOppositeGenderGroups(groupId, cursor, size));
+    }
+
     @Override
     public Response<Set<MyGroupResponse>> myGroupList() {
         return success(groupService.findMyGroupList());
@@ -56,12 +68,22 @@ public class GroupControllerImpl extends AbstractController implements GroupCont
         return success();
     }
 
+    @Override
+    public Response<List<BulkItemResponse>> createSameGenderGroupLikes(BulkRequest request) {
+        return success(groupLikeService.createSameGenderGroupLikes(request.getTargetIds()));
+    }
+
     @Override
     public Response<Void> deleteSameGenderGroupLike(Long toGroupId) {
         groupLikeService.deleteSameGenderGroupLike(toGroupId);
         return success();
     }
 
+    @Override
+    public Response<List<BulkItemResponse>> deleteSameGenderGroupLikes(BulkRequest request) {
+        return success(groupLikeService.deleteSameGenderGroupLikes(request.getTargetIds()));
+    }
+
     @Override
     public Response<Void> createOppositeGenderGroupLike(Long fromGroupId, Long toGroupId) {
         groupLikeService.createOppositeGenderGroupLike(fromGroupId, toGroupId);
@@ -33,4 +33,10 @@ public interface UserController {
      */
     @PutMapping("/user/idealPhoto")
     Response<Void> updateIdealPhoto(@RequestParam @NotNull String idealPhoto);
+
+    /**
+     * 회원 탈퇴
+     */
+    @DeleteMapping("/user")
+    Response<Void> deleteUser();
 }
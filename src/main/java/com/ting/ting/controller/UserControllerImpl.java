@@ -39,4 +39,10 @@ public class UserControllerImpl extends AbstractController implements UserContro
         userService.updateIdealPhoto(idealPhoto);
         return success();
     }
+
+    @Override
+    public Response<Void> deleteUser() {
+        userService.deleteUser();
+        return success();
+    }
 }
@@ -0,0 +1,404 @@
+package com.ting.ting.dataset;
+
+import com.ting.ting.domain.generator.PooledIdGenerator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.DatabaseMetaData;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * 부하 테스트용 합성 데이터 생성기 (dataset 프로필)
+ * 유저, 팀, 팀 멤버, 가입 요청, 찜, 과팅 요청/매칭, 소개팅 찜/요청/매칭을 JDBC batch insert 로 적재한다.
+ * - 성비는 1:1, 팀 정원은 2~6명(3~4명이 가장 많음)이고 팀원 수는 정원 이하로 채운다.
+ * - 찜 개수는 파레토 분포를 따르고, 찜을 받는 대상은 소수에게 몰리도록(멱법칙) 고른다.
+ * - 같은 seed 와 규모라면 항상 같은 데이터가 만들어진다.
+ * id 는 1부터 직접 지정하므로 빈 스키마에 적재해야 한다. (적재 후 H2 의 identity 와 id_sequence 를 다음 값으로 맞춘다.)
+ */
+@Slf4j
+@Profile("dataset")
+@Component
+public class SyntheticDatasetGenerator implements ApplicationRunner {
+
+    private static final String[] SCHOOLS = {"단국대학교", "경희대학교", "한양대학교", "숭실대학교", "아주대학교", "광운대학교", "이화여자대학교", "서울시립대학교", "카이스트", "한국외국어대학교"};
+    private static final String[] MAJORS = {"컴퓨터공학과", "소프트웨어학과", "경영학과", "간호학과", "관광경영학과", "모바일시스템공학과", "전자공학과", "국어국문학과", "디자인학과", "수학과"};
+    private static final String[] MBTIS = {"ENFJ", "ENFP", "ENTJ", "ENTP", "ESFJ", "ESFP", "ESTJ", "ESTP", "INFJ", "INFP", "INTJ", "INTP", "ISFJ", "ISFP", "ISTJ", "ISTP"};
+    private static final int[] MEMBER_SIZE_LIMITS = {2, 3, 3, 3, 4, 4, 4, 4, 5, 5, 6};
+
+    // 서비스 규칙과 같은 상한 (BlindServiceImpl)
+    private static final int MAX_PENDING_BLIND_REQUESTS = 5;
+    private static final int MAX_BLIND_DATES = 3;
+
+    private static final int MEN = 0;
+    private static final int WOMEN = 1;
+    private static final String[] GENDERS = {"MEN", "WOMEN"};
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ApplicationContext applicationContext;
+    private final int userCount;
+    private final int batchSize;
+    private final long seed;
+    private final double groupedUserRatio;
+    private final double likeSkew;
+    private final boolean exitOnComplete;
+
+    public SyntheticDatasetGenerator(
+            JdbcTemplate jdbcTemplate,
+            ApplicationContext applicationContext,
+            @Value("${dataset.users:10000}") int userCount,
+            @Value("${dataset.batch-size:1000}") int batchSize,
+            @Value("${dataset.seed:20230101}") long seed,
+            @Value("${dataset.grouped-user-ratio:0.4}") double groupedUserRatio,
+            @Value("${dataset.like-skew:3.0}") double likeSkew,
+            @Value("${dataset.exit-on-complete:true}") boolean exitOnComplete
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.applicationContext = applicationContext;
+        this.userCount = userCount;
+        this.batchSize = batchSize;
+        this.seed = seed;
+        this.groupedUserRatio = groupedUserRatio;
+        this.likeSkew = likeSkew;
+        this.exitOnComplete = exitOnComplete;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        long startedAt = System.currentTimeMillis();
+        generate();
+        log.info("Synthetic dataset of {} users loaded in {} ms", userCount, System.currentTimeMillis() - startedAt);
+
+        if (exitOnComplete) {
+            System.exit(SpringApplication.exit(applicationContext));
+        }
+    }
+
+    public void generate() {
+        SplittableRandom random = new SplittableRandom(seed);
+        String q = jdbcTemplate.execute((ConnectionCallback<String>) connection -> connection.getMetaData().getIdentifierQuoteString().trim());
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+
+        // 1. 유저
+        byte[] genderOfUser = new byte[userCount + 1];
+        long[] birthOfUser = new long[userCount + 1];
+        long[][] userIdsByGender = new long[2][];
+        int[] userCountByGender = new int[2];
+        userIdsByGender[MEN] = new long[userCount];
+        userIdsByGender[WOMEN] = new long[userCount];
+
+        try (BatchInserter users = inserter("insert into " + q + "user" + q + " (id, username, school, major, gender, birth, social_email, email, weight, height, ideal_photo, mbti, created_at, updated_at) values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)")) {
+            for (int id = 1; id <= userCount; id++) {
+                int gender = random.nextBoolean() ? MEN : WOMEN;
+                genderOfUser[id] = (byte) gender;
+                userIdsByGender[gender][userCountByGender[gender]++] = id;
+
+                String username = "user" + id;
+                float height = (float) (gender == MEN ? 165 + random.nextInt(25) : 152 + random.nextInt(22)) + random.nextInt(10) / 10f;
+                float weight = (float) (gender == MEN ? 58 + random.nextInt(32) : 43 + random.nextInt(25));
+                LocalDate birth = LocalDate.of(1992 + random.nextInt(11), 1 + random.nextInt(12), 1 + random.nextInt(28));
+                birthOfUser[id] = birth.toEpochDay();
+                users.add(id, username, pick(random, SCHOOLS), pick(random, MAJORS), GENDERS[gender], java.sql.Date.valueOf(birth),
+                        username + "@kakao.com", username + "@ting.ac.kr", weight, height,
+                        "https://ting.dataset/ideal-photo/" + (gender == MEN ? "male/" : "female/") + id + ".png",
+                        pick(random, MBTIS), now, now);
+            }
+        }
+        long[] menIds = trim(userIdsByGender[MEN], userCountByGender[MEN]);
+        long[] womenIds = trim(userIdsByGender[WOMEN], userCountByGender[WOMEN]);
+        long[][] idsByGender = {menIds, womenIds};
+
+        // 2. 팀 구성 (메모리에서 먼저 정한 뒤 적재)
+        List<long[]> membersOfGroup = new ArrayList<>();
+        List<Integer> limitOfGroup = new ArrayList<>();
+        List<Integer> genderOfGroup = new ArrayList<>();
+        for (int gender = MEN; gender <= WOMEN; gender++) {
+            long[] ids = idsByGender[gender];
+            int groupedUsers = (int) (ids.length * groupedUserRatio);
+            int cursor = 0;
+            while (cursor < groupedUsers) {
+                int limit = MEMBER_SIZE_LIMITS[random.nextInt(MEMBER_SIZE_LIMITS.length)];
+                int size = random.nextInt(10) < 6 ? limit : 1 + random.nextInt(limit);
+                size = Math.min(size, groupedUsers - cursor);
+
+                long[] members = new long[size];
+                System.arraycopy(ids, cursor, members, 0, size);
+                cursor += size;
+
+                membersOfGroup.add(members);
+                limitOfGroup.add(limit);
+                genderOfGroup.add(gender);
+            }
+        }
+        int groupCount = membersOfGroup.size();
+        long[][] groupIdsByGender = new long[2][groupCount];
+        int[] groupCountByGender = new int[2];
+        for (int g = 0; g < groupCount; g++) {
+            int gender = genderOfGroup.get(g);
+            groupIdsByGender[gender][groupCountByGender[gender]++] = g + 1;
+        }
+        long[] menGroupIds = trim(groupIdsByGender[MEN], groupCountByGender[MEN]);
+        long[] womenGroupIds = trim(groupIdsByGender[WOMEN], groupCountByGender[WOMEN]);
+        long[][] groupIdsOf = {menGroupIds, womenGroupIds};
+
+        // 남녀 팀 중 일부(약 5%)는 과팅이 성사된 상태로 만든다.
+        boolean[] matchedGroup = new boolean[groupCount + 1];
+        int matchedPairs = Math.min(menGroupIds.length, womenGroupIds.length) / 20;
+        List<long[]> groupDates = new ArrayList<>(matchedPairs);
+        for (int i = 0; i < matchedPairs; i++) {
+            long menGroupId = menGroupIds[menGroupIds.length - 1 - i];
+            long womenGroupId = womenGroupIds[womenGroupIds.length - 1 - i];
+            matchedGroup[(int) menGroupId] = true;
+            matchedGroup[(int) womenGroupId] = true;
+            groupDates.add(new long[]{menGroupId, womenGroupId});
+        }
+
+        try (BatchInserter groups = inserter("insert into " + q + "group" + q + " (id, group_name, gender, school, member_size_limit, member_count, member_birth_sum, is_matched, is_joinable, memo, ideal_photo, created_at, updated_at) values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)");
+             BatchInserter groupMembers = inserter("insert into " + q + "group_member" + q + " (id, group_id, member_id, role, created_at, updated_at) values (?, ?, ?, ?, ?, ?)")) {
+            long groupMemberId = 1;
+            for (int g = 0; g < groupCount; g++) {
+                long groupId = g + 1;
+                long[] members = membersOfGroup.get(g);
+                int limit = limitOfGroup.get(g);
+                long birthSum = 0;
+                for (long member : members) {
+                    birthSum += birthOfUser[(int) member];
+                }
+                groups.add(groupId, "team" + groupId, GENDERS[genderOfGroup.get(g)], pick(random, SCHOOLS), limit, members.length, birthSum,
+                        matchedGroup[(int) groupId], members.length < limit, "",
+                        "https://ting.dataset/ideal-photo/group/" + groupId + ".png", now, now);
+                for (int m = 0; m < members.length; m++) {
+                    groupMembers.add(groupMemberId++, groupId, members[m], m == 0 ? "LEADER" : "MEMBER", now, now);
+                }
+            }
+        }
+
+        jdbcTemplate.update("insert into " + q + "group_member_major_count" + q + " (group_id, major, member_count, created_at, updated_at) " +
+                "select gm.group_id, u.major, count(*), ?, ? from " + q + "group_member" + q + " gm join " + q + "user" + q + " u on u.id = gm.member_id " +
+                "group by gm.group_id, u.major", now, now);
+
+        // 3. 같은 성별 팀 찜, 가입 요청
+        try (BatchInserter likesToJoin = inserter("insert into " + q + "group_like_to_join" + q + " (id, from_user_id, to_group_id, created_at, updated_at) values (?, ?, ?, ?, ?)");
+             BatchInserter joinRequests = inserter("insert into " + q + "group_member_request" + q + " (id, group_id, user_id, created_at, updated_at) values (?, ?, ?, ?, ?)")) {
+            long likeId = 1;
+            long requestId = 1;
+            for (int gender = MEN; gender <= WOMEN; gender++) {
+                long[] candidates = groupIdsOf[gender];
+                if (candidates.length == 0) {
+                    continue;
+                }
+                long[] ids = idsByGender[gender];
+                int firstSolo = (int) (ids.length * groupedUserRatio);
+                for (int i = firstSolo; i < ids.length; i++) {
+                    for (long groupId : pickSkewed(random, candidates, paretoCount(random, 20))) {
+                        likesToJoin.add(likeId++, ids[i], groupId, now, now);
+                    }
+                    for (long groupId : pickSkewed(random, candidates, random.nextInt(3))) {
+                        if (!matchedGroup[(int) groupId]) {
+                            joinRequests.add(requestId++, groupId, ids[i], now, now);
+                        }
+                    }
+                }
+            }
+        }
+
+        // 4. 다른 성별 팀 찜, 과팅 요청, 과팅
+        try (BatchInserter likesToDate = inserter("insert into " + q + "group_like_to_date" + q + " (id, from_group_member_id, to_group_id, created_at, updated_at) values (?, ?, ?, ?, ?)");
+             BatchInserter dateRequests = inserter("insert into " + q + "group_date_request" + q + " (id, from_id, to_id, created_at, updated_at) values (?, ?, ?, ?, ?)");
+             BatchInserter dates = inserter("insert into " + q + "group_date" + q + " (id, men_group_id, women_group_id, created_at, updated_at) values (?, ?, ?, ?, ?)")) {
+            long likeId = 1;
+            long requestId = 1;
+            long groupMemberId = 1;
+            for (int g = 0; g < groupCount; g++) {
+                long groupId = g + 1;
+                long[] opposites = groupIdsOf[1 - genderOfGroup.get(g)];
+                int memberCount = membersOfGroup.get(g).length;
+                if (opposites.length == 0) {
+                    groupMemberId += memberCount;
+                    continue;
+                }
+                for (int m = 0; m < memberCount; m++, groupMemberId++) {
+                    for (long toGroupId : pickSkewed(random, opposites, paretoCount(random, 20))) {
+                        likesToDate.add(likeId++, groupMemberId, toGroupId, now, now);
+                    }
+                }
+                if (!matchedGroup[(int) groupId]) {
+                    for (long toGroupId : pickSkewed(random, opposites, random.nextInt(4))) {
+                        dateRequests.add(requestId++, groupId, toGroupId, now, now);
+                    }
+                }
+            }
+            long dateId = 1;
+            for (long[] groupDate : groupDates) {
+                dates.add(dateId++, groupDate[0], groupDate[1], now, now);
+            }
+        }
+        jdbcTemplate.update("insert into " + q + "group_like_to_date_count" + q + " (from_group_id, to_group_id, like_count, created_at, updated_at) " +
+                "select gm.group_id, l.to_group_id, count(*), ?, ? from " + q + "group_like_to_date" + q + " l join " + q + "group_member" + q + " gm on gm.id = l.from_group_member_id " +
+                "group by gm.group_id, l.to_group_id", now, now);
+
+        // 5. 소개팅 찜, 요청, 매칭
+        try (BatchInserter blindLikes = inserter("insert into blind_like (id, from_user_id, to_user_id, created_at, updated_at) values (?, ?, ?, ?, ?)");
+             BatchInserter blindRequests = inserter("insert into blind_request (id, from_user_id, to_user_id, request_status, created_at, updated_at) values (?, ?, ?, ?, ?, ?)");
+             BatchInserter blindDates = inserter("insert into blind_date (id, men_user_id, women_user_id, created_at, updated_at) values (?, ?, ?, ?, ?)")) {
+            byte[] blindDateCount = new byte[userCount + 1];
+            long likeId = 1;
+            long requestId = 1;
+            long dateId = 1;
+            for (int id = 1; id <= userCount; id++) {
+                int gender = genderOfUser[id];
+                long[] opposites = idsByGender[1 - gender];
+                if (opposites.length == 0) {
+                    continue;
+                }
+                for (long toUserId : pickSkewed(random, opposites, paretoCount(random, 50))) {
+                    blindLikes.add(likeId++, id, toUserId, now, now);
+                }
+                for (long toUserId : pickSkewed(random, opposites, random.nextInt(MAX_PENDING_BLIND_REQUESTS + 1))) {
+                    boolean accepted = random.nextInt(10) == 0 && blindDateCount[id] < MAX_BLIND_DATES && blindDateCount[(int) toUserId] < MAX_BLIND_DATES;
+                    blindRequests.add(requestId++, id, toUserId, accepted ? "ACCEPTED" : "PENDING", now, now);
+                    if (accepted) {
+                        blindDateCount[id]++;
+                        blindDateCount[(int) toUserId]++;
+                        blindDates.add(dateId++, gender == MEN ? id : toUserId, gender == MEN ? toUserId : id, now, now);
+                    }
+                }
+            }
+        }
+        jdbcTemplate.update("insert into blind_quota (user_id, pending_request_count, blind_date_count, created_at, updated_at) " +
+                "select u.id, (select count(*) from blind_request r where r.from_user_id = u.id and r.request_status = 'PENDING'), " +
+                "(select count(*) from blind_date d where d.men_user_id = u.id or d.women_user_id = u.id), ?, ? from " + q + "user" + q + " u", now, now);
+
+        restartIdentities(q);
+        resetIdSequences(q);
+    }
+
+    /**
+     * id 를 직접 넣은 뒤에도 애플리케이션의 IDENTITY insert 가 충돌하지 않도록 한다. (user, group)
+     * MariaDB/MySQL 은 AUTO_INCREMENT 가 자동으로 따라오므로 H2 만 처리한다.
+     */
+    private void restartIdentities(String q) {
+        String product = jdbcTemplate.execute((ConnectionCallback<String>) connection -> {
+            DatabaseMetaData metaData = connection.getMetaData();
+            return metaData.getDatabaseProductName();
+        });
+        if (!"H2".equalsIgnoreCase(product)) {
+            return;
+        }
+
+        String[] tables = {q + "user" + q, q + "group" + q};
+        for (String table : tables) {
+            Long maxId = jdbcTemplate.queryForObject("select coalesce(max(id), 0) from " + table, Long.class);
+            jdbcTemplate.execute("alter table " + table + " alter column id restart with " + (maxId + 1));
+        }
+    }
+
+    /**
+     * PooledIdGenerator 로 id 를 받는 테이블은 DB 와 관계없이 id_sequence 를 max(id) + 1 로 맞춘다.
+     */
+    private void resetIdSequences(String q) {
+        String[] tables = {"group_member", "group_member_request", "group_like_to_join", "group_like_to_date", "group_date_request", "group_date", "blind_like", "blind_request", "blind_date", "group_recommendation", "blind_recommendation"};
+        jdbcTemplate.update("delete from " + PooledIdGenerator.TABLE);
+        for (String table : tables) {
+            jdbcTemplate.update("insert into " + PooledIdGenerator.TABLE + " (" + PooledIdGenerator.SEGMENT_COLUMN + ", " + PooledIdGenerator.VALUE_COLUMN + ") " +
+                    "select ?, coalesce(max(id), 0) + 1 from " + q + table + q, table);
+        }
+    }
+
+    /**
+     * 파레토 분포(alpha 1.2)를 따르는 0 이상의 개수. 대부분 0~2개이고 일부만 max 에 가깝다.
+     */
+    private static int paretoCount(SplittableRandom random, int max) {
+        double sample = Math.pow(1 - random.nextDouble(), -1 / 1.2);
+        return (int) Math.min(max, Math.floor(sample) - 1);
+    }
+
+    /**
+     * 앞쪽 후보일수록 자주 뽑히도록 (u^skew) 서로 다른 count 개를 고른다.
+     */
+    private long[] pickSkewed(SplittableRandom random, long[] candidates, int count) {
+        int target = Math.min(count, candidates.length);
+        long[] picked = new long[target];
+        int size = 0;
+        int attempts = 0;
+        while (size < target && attempts++ < target * 10) {
+            long candidate = candidates[(int) (candidates.length * Math.pow(random.nextDouble(), likeSkew))];
+            if (!contains(picked, size, candidate)) {
+                picked[size++] = candidate;
+            }
+        }
+        return size == target ? picked : trim(picked, size);
+    }
+
+    private static boolean contains(long[] values, int size, long value) {
+        for (int i = 0; i < size; i++) {
+            if (values[i] == value) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static long[] trim(long[] values, int size) {
+        long[] trimmed = new long[size];
+        System.arraycopy(values, 0, trimmed, 0, size);
+        return trimmed;
+    }
+
+    private static String pick(SplittableRandom random, String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+
+    private BatchInserter inserter(String sql) {
+        return new BatchInserter(jdbcTemplate, sql, batchSize);
+    }
+
+    /**
+     * batchSize 개씩 모아서 JdbcTemplate#batchUpdate 로 적재한다.
+     */
+    private static final class BatchInserter implements AutoCloseable {
+
+        private final JdbcTemplate jdbcTemplate;
+        private final String sql;
+        private final int batchSize;
+        private final List<Object[]> rows;
+
+        private BatchInserter(JdbcTemplate jdbcTemplate, String sql, int batchSize) {
+            this.jdbcTemplate = jdbcTemplate;
+            this.sql = sql;
+            this.batchSize = batchSize;
+            this.rows = new ArrayList<>(batchSize);
+        }
+
+        void add(Object... row) {
+            rows.add(row);
+            if (rows.size() >= batchSize) {
+                flush();
+            }
+        }
+
+        private void flush() {
+            if (!rows.isEmpty()) {
+                jdbcTemplate.batchUpdate(sql, rows);
+                rows.clear();
+            }
+        }
+
+        @Override
+        public void close() {
+            flush();
+        }
+    }
+}
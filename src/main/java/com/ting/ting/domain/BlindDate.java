@@ -1,20 +1,28 @@
 package com.ting.ting.domain;
 
 import com.ting.ting.domain.constant.Gender;
+import com.ting.ting.domain.generator.PooledIdGenerator;
+import com.ting.ting.domain.listener.BlindDateEntityListener;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.GenericGenerator;
 
 import javax.persistence.*;
 
 @NoArgsConstructor
 @Setter
 @Getter
-@Table(name = "blind_date")
+@Table(name = "blind_date", indexes = {
+        @Index(name = "idx_blind_date_men_user_id_women_user_id", columnList = "men_user_id, women_user_id"),
+        @Index(name = "idx_blind_date_women_user_id_men_user_id", columnList = "women_user_id, men_user_id")
+})
+@EntityListeners(BlindDateEntityListener.class)
 @Entity
 public class BlindDate extends AuditingFields {
 
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(generator = PooledIdGenerator.NAME)
+    @GenericGenerator(name = PooledIdGenerator.NAME, strategy = PooledIdGenerator.STRATEGY)
     @Id
     Long id;
 
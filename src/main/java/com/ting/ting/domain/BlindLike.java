@@ -1,17 +1,23 @@
 package com.ting.ting.domain;
 
+import com.ting.ting.domain.generator.PooledIdGenerator;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.GenericGenerator;
 
 import javax.persistence.*;
 
 @Setter
 @Getter
-@Table(name = "blind_like")
+@Table(name = "blind_like", indexes = {
+        @Index(name = "idx_blind_like_from_user_id_to_user_id", columnList = "from_user_id, to_user_id"),
+        @Index(name = "idx_blind_like_to_user_id", columnList = "to_user_id")
+})
 @Entity
 public class BlindLike extends AuditingFields {
 
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(generator = PooledIdGenerator.NAME)
+    @GenericGenerator(name = PooledIdGenerator.NAME, strategy = PooledIdGenerator.STRATEGY)
     @Id
     Long id;
 
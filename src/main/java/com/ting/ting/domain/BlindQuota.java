@@ -0,0 +1,37 @@
+package com.ting.ting.domain;
+
+import lombok.Getter;
+
+import javax.persistence.*;
+
+/**
+ * 유저별 소개팅 요청(PENDING) 수와 매칭(BlindDate) 수
+ * 요청 생성, 삭제, 거절, 수락과 같은 트랜잭션에서 조건부 갱신으로만 바뀌며, 요청 생성 시 두 제한을 한 문장으로 확인한다.
+ */
+@Getter
+@Table(name = "blind_quota")
+@Entity
+public class BlindQuota extends AuditingFields {
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(name = "pending_request_count", nullable = false)
+    private int pendingRequestCount;
+
+    @Column(name = "blind_date_count", nullable = false)
+    private int blindDateCount;
+
+    protected BlindQuota() {}
+
+    private BlindQuota(Long userId, int pendingRequestCount, int blindDateCount) {
+        this.userId = userId;
+        this.pendingRequestCount = pendingRequestCount;
+        this.blindDateCount = blindDateCount;
+    }
+
+    public static BlindQuota of(Long userId, int pendingRequestCount, int blindDateCount) {
+        return new BlindQuota(userId, pendingRequestCount, blindDateCount);
+    }
+}
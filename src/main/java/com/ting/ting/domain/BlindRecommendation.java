@@ -0,0 +1,56 @@
+package com.ting.ting.domain;
+
+import com.ting.ting.domain.generator.PooledIdGenerator;
+import lombok.Getter;
+import org.hibernate.annotations.GenericGenerator;
+
+import javax.persistence.*;
+import javax.validation.constraints.NotNull;
+
+/**
+ * 유저(user)에게 추천하는 소개팅 상대(candidateUser)와 점수
+ * BlindRecommendationEngine 이 미리 계산해 유저마다 점수가 높은 top-K 명을 저장하고, 추천 목록은 점수 순으로 이 테이블만 읽는다.
+ */
+@Getter
+@Table(name = "blind_recommendation", uniqueConstraints = {
+        @UniqueConstraint(name = "unique_user_and_candidate_user", columnNames = {"user_id", "candidate_user_id"}),
+}, indexes = {
+        @Index(name = "idx_blind_recommendation_user_id_score", columnList = "user_id, score, candidate_user_id"),
+        @Index(name = "idx_blind_recommendation_candidate_user_id", columnList = "candidate_user_id")
+})
+@Entity
+public class BlindRecommendation extends AuditingFields {
+
+    @Id
+    @GeneratedValue(generator = PooledIdGenerator.NAME)
+    @GenericGenerator(name = PooledIdGenerator.NAME, strategy = PooledIdGenerator.STRATEGY)
+    private Long id;
+
+    @NotNull
+    @JoinColumn(name = "user_id")
+    @ManyToOne(optional = false, fetch = FetchType.LAZY)
+    private User user;
+
+    @NotNull
+    @JoinColumn(name = "candidate_user_id")
+    @ManyToOne(optional = false, fetch = FetchType.LAZY)
+    private User candidateUser;
+
+    /**
+     * 0 ~ BlindCompatibilityScorer.MAX_SCORE
+     */
+    @Column(nullable = false)
+    private int score;
+
+    protected BlindRecommendation() {}
+
+    private BlindRecommendation(User user, User candidateUser, int score) {
+        this.user = user;
+        this.candidateUser = candidateUser;
+        this.score = score;
+    }
+
+    public static BlindRecommendation of(User user, User candidateUser, int score) {
+        return new BlindRecommendation(user, candidateUser, score);
+    }
+}
@@ -1,18 +1,24 @@
 package com.ting.ting.domain;
 
 import com.ting.ting.domain.constant.RequestStatus;
+import com.ting.ting.domain.generator.PooledIdGenerator;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.GenericGenerator;
 
 import javax.persistence.*;
 
 @Setter
 @Getter
-@Table(name = "blind_request")
+@Table(name = "blind_request", indexes = {
+        @Index(name = "idx_blind_request_from_user_id_status", columnList = "from_user_id, request_status"),
+        @Index(name = "idx_blind_request_to_user_id_status", columnList = "to_user_id, request_status")
+})
 @Entity
 public class BlindRequest extends AuditingFields {
 
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(generator = PooledIdGenerator.NAME)
+    @GenericGenerator(name = PooledIdGenerator.NAME, strategy = PooledIdGenerator.STRATEGY)
     @Id
     Long id;
 
@@ -1,8 +1,16 @@
 package com.ting.ting.domain;
 
+import com.ting.ting.cache.EntityCacheRegion;
 import com.ting.ting.domain.constant.Gender;
+import com.ting.ting.domain.listener.GroupEntityListener;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.DynamicUpdate;
 
 import javax.persistence.*;
 import javax.validation.constraints.Max;
@@ -11,12 +19,16 @@ import javax.validation.constraints.NotNull;
 import javax.validation.constraints.Size;
 import java.time.LocalDate;
 import java.time.Period;
-import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
 
 @Getter
-@Table(name = "\"group\"")
+@Table(name = "\"group\"", indexes = {
+        @Index(name = "idx_group_gender_is_joinable_is_matched", columnList = "gender, is_joinable, is_matched, member_size_limit")
+})
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = EntityCacheRegion.GROUP)
+@EntityListeners(GroupEntityListener.class)
+@DynamicUpdate
 @Entity
 public class Group extends AuditingFields {
 
@@ -60,9 +72,45 @@ public class Group extends AuditingFields {
     @Column(name="ideal_photo")
     private String idealPhoto;
 
+    /**
+     * 멤버 수
+     * 가입 수락은 GroupRepository#reserveMemberSlot 의 조건부 update 로 늘리고, 그 밖에는 addMember, removeMember 로만 바뀐다.
+     * 저장된 팀은 GroupRepository#lockForUpdate 로 행을 잠그고 다시 읽은 뒤에 바꾼다.
+     * 2차 캐시에서는 이 팀의 항목만 바뀐다. (@DynamicUpdate 로 바뀐 컬럼만 update 한다.)
+     */
+    @ColumnDefault("0")
+    @Column(name = "member_count", nullable = false)
+    private int memberCount = 0;
+
+    /**
+     * 멤버 생년월일(epoch day) 의 합. 평균 나이는 이 값과 memberCount 로 계산한다.
+     */
+    @ColumnDefault("0")
+    @Column(name = "member_birth_sum", nullable = false)
+    private long memberBirthSum = 0;
+
+    /**
+     * 팀 목록 한 페이지의 전공 목록을 한 번의 조회로 읽는다.
+     */
+    @BatchSize(size = 100)
+    @OneToMany(mappedBy = "group", fetch = FetchType.LAZY)
+    private Set<GroupMemberMajorCount> memberMajorCounts;
+
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = EntityCacheRegion.GROUP_MEMBERS_OF_GROUP)
     @OneToMany(mappedBy = "group", fetch = FetchType.LAZY)
     private Set<GroupMember> groupMembers;
 
+    /**
+     * 마지막으로 읽거나 저장한 시점의 isMatched, isJoinable. GroupEntityListener 가 상태 변경 여부를 판단할 때 쓴다.
+     */
+    @Getter(AccessLevel.NONE)
+    @Transient
+    private boolean persistedMatched;
+
+    @Getter(AccessLevel.NONE)
+    @Transient
+    private boolean persistedJoinable = true;
+
     protected Group() {}
 
     private Group(String groupName, Gender gender, String school, int memberSizeLimit, String memo) {
@@ -77,23 +125,87 @@ public class Group extends AuditingFields {
         return new Group(groupName, gender, school, memberSizeLimit, memo);
     }
 
+    public boolean isStateChanged() {
+        return isMatched != persistedMatched || isJoinable != persistedJoinable;
+    }
+
+    /**
+     * 엔티티 리스너(GroupEntityListener)가 먼저 호출된 뒤에 실행된다.
+     */
+    @PostLoad
+    @PostPersist
+    @PostUpdate
+    void rememberPersistedState() {
+        this.persistedMatched = isMatched;
+        this.persistedJoinable = isJoinable;
+    }
+
+    public void addMember(User member) {
+        this.memberCount += 1;
+        this.memberBirthSum += member.getBirth().toEpochDay();
+    }
+
+    /**
+     * GroupRepository#reserveMemberSlot 으로 멤버 수를 늘린 뒤 생년월일 합만 반영한다.
+     */
+    public void addMemberBirth(User member) {
+        this.memberBirthSum += member.getBirth().toEpochDay();
+    }
+
+    public void removeMember(User member) {
+        this.memberCount -= 1;
+        this.memberBirthSum -= member.getBirth().toEpochDay();
+    }
+
+    /**
+     * 실제 멤버로 다시 계산한 값으로 멤버 수, 생년월일 합, 가입 가능 여부를 고친다. (GroupMemberCountReconciler)
+     * 매칭되지 않았고 정원이 남은 팀만 가입 요청을 받는다.
+     */
+    public void repairMemberCounters(int memberCount, long memberBirthSum) {
+        this.memberCount = memberCount;
+        this.memberBirthSum = memberBirthSum;
+        this.isJoinable = !isMatched && memberCount < memberSizeLimit;
+    }
+
+    /**
+     * 멤버 생년월일의 평균. 멤버가 없으면 null
+     */
+    public LocalDate getAverageBirthOfMembers() {
+        return averageBirthOf(memberBirthSum, memberCount);
+    }
+
     public int getAverageAgeOfMembers() {
-        LocalDate currentDate = LocalDate.now();
-        List<Integer> ages = groupMembers.stream()
-                .map(member -> Period.between(member.getMember().getBirth(), currentDate).getYears())
-                .collect(Collectors.toList());
+        return averageAgeOf(memberBirthSum, memberCount);
+    }
 
-        if (ages.isEmpty()) {
+    public static LocalDate averageBirthOf(long memberBirthSum, int memberCount) {
+        if (memberCount <= 0) {
+            return null;
+        }
+
+        return LocalDate.ofEpochDay(Math.floorDiv(memberBirthSum, memberCount));
+    }
+
+    /**
+     * 멤버 생년월일 평균 기준의 나이. 멤버가 없으면 0
+     */
+    public static int averageAgeOf(long memberBirthSum, int memberCount) {
+        LocalDate averageBirth = averageBirthOf(memberBirthSum, memberCount);
+        if (averageBirth == null) {
             return 0;
         }
 
-        double sum = ages.stream().mapToInt(Integer::intValue).sum();
-        return (int)sum / ages.size();
+        return Period.between(averageBirth, LocalDate.now()).getYears();
     }
 
     public Set<String> getAllMajorsOfMembers() {
-        return groupMembers.stream()
-                .map(member -> member.getMember().getMajor())
+        if (memberMajorCounts == null) {
+            return Set.of();
+        }
+
+        return memberMajorCounts.stream()
+                .filter(majorCount -> majorCount.getMemberCount() > 0)
+                .map(GroupMemberMajorCount::getMajor)
                 .collect(Collectors.toUnmodifiableSet());
     }
 }
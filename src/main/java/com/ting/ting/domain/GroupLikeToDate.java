@@ -1,16 +1,21 @@
 package com.ting.ting.domain;
 
+import com.ting.ting.domain.generator.PooledIdGenerator;
 import lombok.Getter;
+import org.hibernate.annotations.GenericGenerator;
 
 import javax.persistence.*;
 
 @Getter
-@Table(name = "\"group_like_to_date\"")
+@Table(name = "\"group_like_to_date\"", indexes = {
+        @Index(name = "idx_group_like_to_date_from_group_member_id_to_group_id", columnList = "from_group_member_id, to_group_id")
+})
 @Entity
 public class GroupLikeToDate extends AuditingFields{
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(generator = PooledIdGenerator.NAME)
+    @GenericGenerator(name = PooledIdGenerator.NAME, strategy = PooledIdGenerator.STRATEGY)
     private Long id;
 
     @JoinColumn(name = "from_group_member_id")
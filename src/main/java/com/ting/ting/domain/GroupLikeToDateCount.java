@@ -0,0 +1,52 @@
+package com.ting.ting.domain;
+
+import lombok.Getter;
+
+import javax.persistence.*;
+import javax.validation.constraints.NotNull;
+
+/**
+ * 팀(fromGroup)의 멤버들이 다른 팀(toGroup)을 찜한 수
+ * GroupLikeToDate 가 추가, 삭제될 때 같은 트랜잭션에서 갱신되며, 찜 목록은 이 테이블을 찜 수 순으로 바로 읽는다.
+ */
+@Getter
+@Table(name = "\"group_like_to_date_count\"", uniqueConstraints = {
+        @UniqueConstraint(name = "unique_from_group_and_to_group", columnNames = {"from_group_id", "to_group_id"}),
+}, indexes = {
+        @Index(name = "idx_group_like_to_date_count_from_group_id_like_count", columnList = "from_group_id, like_count")
+})
+@Entity
+public class GroupLikeToDateCount extends AuditingFields {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @NotNull
+    @JoinColumn(name = "from_group_id")
+    @ManyToOne(optional = false, fetch = FetchType.LAZY)
+    private Group fromGroup;
+
+    @NotNull
+    @JoinColumn(name = "to_group_id")
+    @ManyToOne(optional = false, fetch = FetchType.LAZY)
+    private Group toGroup;
+
+    @Column(name = "like_count", nullable = false)
+    private int likeCount;
+
+    protected GroupLikeToDateCount() {}
+
+    private GroupLikeToDateCount(Group fromGroup, Group toGroup, int likeCount) {
+        this.fromGroup = fromGroup;
+        this.toGroup = toGroup;
+        this.likeCount = likeCount;
+    }
+
+    /**
+     * 처음 찜한 경우 (찜 수 1)
+     */
+    public static GroupLikeToDateCount of(Group fromGroup, Group toGroup) {
+        return new GroupLikeToDateCount(fromGroup, toGroup, 1);
+    }
+}
@@ -1,8 +1,14 @@
 package com.ting.ting.domain;
 
+import com.ting.ting.cache.EntityCacheRegion;
 import com.ting.ting.domain.constant.MemberRole;
+import com.ting.ting.domain.generator.PooledIdGenerator;
+import com.ting.ting.domain.listener.GroupMemberEntityListener;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.GenericGenerator;
 
 import javax.persistence.*;
 import javax.validation.constraints.NotNull;
@@ -12,12 +18,17 @@ import java.util.Set;
 @Getter
 @Table(name = "\"group_member\"", uniqueConstraints = {
         @UniqueConstraint(name = "unique_group_and_user", columnNames = {"group_id", "member_id"}),
+}, indexes = {
+        @Index(name = "idx_group_member_member_id_role", columnList = "member_id, role")
 })
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = EntityCacheRegion.GROUP_MEMBER)
+@EntityListeners(GroupMemberEntityListener.class)
 @Entity
 public class GroupMember extends AuditingFields {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(generator = PooledIdGenerator.NAME)
+    @GenericGenerator(name = PooledIdGenerator.NAME, strategy = PooledIdGenerator.STRATEGY)
     private Long id;
 
     @NotNull
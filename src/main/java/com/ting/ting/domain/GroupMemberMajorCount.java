@@ -0,0 +1,56 @@
+package com.ting.ting.domain;
+
+import lombok.Getter;
+
+import javax.persistence.*;
+import javax.validation.constraints.NotNull;
+
+/**
+ * 팀 멤버의 전공별 인원 수
+ * 멤버가 추가, 삭제될 때 같은 트랜잭션에서 갱신되며, 팀 목록은 멤버(User)를 읽지 않고 이 테이블로 전공 목록을 만든다.
+ */
+@Getter
+@Table(name = "\"group_member_major_count\"", uniqueConstraints = {
+        @UniqueConstraint(name = "unique_group_and_major", columnNames = {"group_id", "major"}),
+})
+@Entity
+public class GroupMemberMajorCount extends AuditingFields {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @NotNull
+    @JoinColumn(name = "group_id")
+    @ManyToOne(optional = false, fetch = FetchType.LAZY)
+    private Group group;
+
+    @NotNull
+    @Column(length = 50, nullable = false)
+    private String major;
+
+    @Column(name = "member_count", nullable = false)
+    private int memberCount;
+
+    protected GroupMemberMajorCount() {}
+
+    private GroupMemberMajorCount(Group group, String major, int memberCount) {
+        this.group = group;
+        this.major = major;
+        this.memberCount = memberCount;
+    }
+
+    /**
+     * 팀에 처음 들어온 전공인 경우 (인원 1)
+     */
+    public static GroupMemberMajorCount of(Group group, String major) {
+        return new GroupMemberMajorCount(group, major, 1);
+    }
+
+    /**
+     * 실제 멤버로 다시 센 인원으로 고친다. (GroupMemberCountReconciler)
+     */
+    public void repairMemberCount(int memberCount) {
+        this.memberCount = memberCount;
+    }
+}
@@ -1,8 +1,10 @@
 package com.ting.ting.domain;
 
 import com.ting.ting.domain.constant.RequestStatus;
+import com.ting.ting.domain.generator.PooledIdGenerator;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.GenericGenerator;
 
 import javax.persistence.*;
 import javax.validation.constraints.NotNull;
@@ -17,7 +19,8 @@ import java.util.Objects;
 public class GroupMemberRequest extends AuditingFields {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(generator = PooledIdGenerator.NAME)
+    @GenericGenerator(name = PooledIdGenerator.NAME, strategy = PooledIdGenerator.STRATEGY)
     private Long id;
 
     @NotNull
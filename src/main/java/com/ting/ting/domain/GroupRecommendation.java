@@ -0,0 +1,56 @@
+package com.ting.ting.domain;
+
+import com.ting.ting.domain.generator.PooledIdGenerator;
+import lombok.Getter;
+import org.hibernate.annotations.GenericGenerator;
+
+import javax.persistence.*;
+import javax.validation.constraints.NotNull;
+
+/**
+ * 팀(group)에 추천하는 과팅 상대 팀(candidateGroup)과 점수
+ * GroupRecommendationEngine 이 미리 계산해 팀마다 점수가 높은 top-K 개를 저장하고, 추천 목록은 점수 순으로 이 테이블만 읽는다.
+ */
+@Getter
+@Table(name = "\"group_recommendation\"", uniqueConstraints = {
+        @UniqueConstraint(name = "unique_group_and_candidate_group", columnNames = {"group_id", "candidate_group_id"}),
+}, indexes = {
+        @Index(name = "idx_group_recommendation_group_id_score", columnList = "group_id, score, candidate_group_id"),
+        @Index(name = "idx_group_recommendation_candidate_group_id", columnList = "candidate_group_id")
+})
+@Entity
+public class GroupRecommendation extends AuditingFields {
+
+    @Id
+    @GeneratedValue(generator = PooledIdGenerator.NAME)
+    @GenericGenerator(name = PooledIdGenerator.NAME, strategy = PooledIdGenerator.STRATEGY)
+    private Long id;
+
+    @NotNull
+    @JoinColumn(name = "group_id")
+    @ManyToOne(optional = false, fetch = FetchType.LAZY)
+    private Group group;
+
+    @NotNull
+    @JoinColumn(name = "candidate_group_id")
+    @ManyToOne(optional = false, fetch = FetchType.LAZY)
+    private Group candidateGroup;
+
+    /**
+     * 0 ~ GroupCompatibilityScorer.MAX_SCORE
+     */
+    @Column(nullable = false)
+    private int score;
+
+    protected GroupRecommendation() {}
+
+    private GroupRecommendation(Group group, Group candidateGroup, int score) {
+        this.group = group;
+        this.candidateGroup = candidateGroup;
+        this.score = score;
+    }
+
+    public static GroupRecommendation of(Group group, Group candidateGroup, int score) {
+        return new GroupRecommendation(group, candidateGroup, score);
+    }
+}
@@ -0,0 +1,90 @@
+package com.ting.ting.domain;
+
+import com.ting.ting.domain.constant.IdealPhotoMixJobStatus;
+import lombok.Getter;
+
+import javax.persistence.*;
+import javax.validation.constraints.NotNull;
+import java.time.LocalDateTime;
+
+/**
+ * 팀 이상형 사진 합성 작업
+ * 멤버 가입 수락과 같은 트랜잭션에서 저장되고, IdealPhotoMixJobWorker 가 트랜잭션 밖에서 ML 서버를 호출해 처리한다.
+ */
+@Getter
+@Table(name = "ideal_photo_mix_job", indexes = {
+        @Index(name = "idx_ideal_photo_mix_job_status_next_attempt_at", columnList = "status, next_attempt_at"),
+        @Index(name = "idx_ideal_photo_mix_job_group_id", columnList = "group_id")
+})
+@Entity
+public class IdealPhotoMixJob extends AuditingFields {
+
+    private static final int MAX_ERROR_LENGTH = 255;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @NotNull
+    @JoinColumn(name = "group_id")
+    @ManyToOne(optional = false, fetch = FetchType.LAZY)
+    private Group group;
+
+    @NotNull
+    @Column(name = "user_ideal_photo", nullable = false)
+    private String userIdealPhoto;
+
+    @NotNull
+    @Column(nullable = false, length = 7)
+    @Enumerated(EnumType.STRING)
+    private IdealPhotoMixJobStatus status = IdealPhotoMixJobStatus.PENDING;
+
+    @Column(nullable = false)
+    private int attempts = 0;
+
+    @NotNull
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    @Column(name = "locked_at")
+    private LocalDateTime lockedAt;
+
+    @Column(name = "last_error")
+    private String lastError;
+
+    protected IdealPhotoMixJob() {}
+
+    private IdealPhotoMixJob(Group group, String userIdealPhoto, LocalDateTime nextAttemptAt) {
+        this.group = group;
+        this.userIdealPhoto = userIdealPhoto;
+        this.nextAttemptAt = nextAttemptAt;
+    }
+
+    public static IdealPhotoMixJob of(Group group, String userIdealPhoto) {
+        return new IdealPhotoMixJob(group, userIdealPhoto, LocalDateTime.now());
+    }
+
+    /**
+     * lockedAt 에 선점한 그대로 처리 중인지. 처리가 늦어져 releaseStale 로 풀렸거나 그 뒤 다시 선점된 작업이면 false
+     */
+    public boolean isRunningSince(LocalDateTime lockedAt) {
+        return status == IdealPhotoMixJobStatus.RUNNING && lockedAt != null && lockedAt.equals(this.lockedAt);
+    }
+
+    public void complete() {
+        this.status = IdealPhotoMixJobStatus.DONE;
+        this.lockedAt = null;
+        this.lastError = null;
+    }
+
+    /**
+     * 실패 횟수를 늘리고, 최대 시도 횟수에 도달하면 FAILED 로, 아니면 nextAttemptAt 에 다시 시도하도록 PENDING 으로 되돌린다.
+     */
+    public void fail(String error, int maxAttempts, LocalDateTime nextAttemptAt) {
+        this.attempts++;
+        this.status = attempts >= maxAttempts ? IdealPhotoMixJobStatus.FAILED : IdealPhotoMixJobStatus.PENDING;
+        this.nextAttemptAt = nextAttemptAt;
+        this.lockedAt = null;
+        this.lastError = error == null || error.length() <= MAX_ERROR_LENGTH ? error : error.substring(0, MAX_ERROR_LENGTH);
+    }
+}
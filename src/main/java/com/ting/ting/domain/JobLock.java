@@ -0,0 +1,38 @@
+package com.ting.ting.domain;
+
+import lombok.Getter;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * 여러 서버 중 한 서버만 실행해야 하는 작업의 잠금
+ * lockedUntil 이 지나면 잠금을 가져간 서버가 내려갔더라도 다른 서버가 가져갈 수 있다.
+ */
+@Getter
+@Table(name = "job_lock")
+@Entity
+public class JobLock {
+
+    @Id
+    @Column(length = 64)
+    private String name;
+
+    @Column(name = "locked_until", nullable = false)
+    private LocalDateTime lockedUntil;
+
+    @Column(name = "locked_by", nullable = false)
+    private String lockedBy;
+
+    protected JobLock() {}
+
+    private JobLock(String name, LocalDateTime lockedUntil, String lockedBy) {
+        this.name = name;
+        this.lockedUntil = lockedUntil;
+        this.lockedBy = lockedBy;
+    }
+
+    public static JobLock of(String name, LocalDateTime lockedUntil, String lockedBy) {
+        return new JobLock(name, lockedUntil, lockedBy);
+    }
+}
@@ -1,10 +1,14 @@
 package com.ting.ting.domain;
 
+import com.ting.ting.cache.EntityCacheRegion;
 import com.ting.ting.domain.constant.Gender;
 import com.ting.ting.domain.constant.MBTI;
+import com.ting.ting.domain.listener.UserEntityListener;
 import com.ting.ting.dto.request.SignUpRequest;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.SQLDelete;
 import org.hibernate.annotations.Where;
 
@@ -18,10 +22,13 @@ import java.time.LocalDateTime;
 @Setter
 @Getter
 @Table(name = "\"user\"", indexes = {
-        @Index(columnList = "username")
+        @Index(columnList = "username"),
+        @Index(name = "idx_user_gender_id", columnList = "gender, id")
 })
 @SQLDelete(sql = "UPDATE \"user\" SET deleted_at = NOW() where id=?")
 @Where(clause = "deleted_at is NULL")
+@EntityListeners(UserEntityListener.class)
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = EntityCacheRegion.USER)
 @Entity
 public class User extends AuditingFields {
 
@@ -0,0 +1,15 @@
+package com.ting.ting.domain.constant;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@RequiredArgsConstructor
+@Getter
+public enum IdealPhotoMixJobStatus {
+    PENDING("대기"),
+    RUNNING("처리중"),
+    DONE("완료"),
+    FAILED("실패");
+
+    private final String status;
+}
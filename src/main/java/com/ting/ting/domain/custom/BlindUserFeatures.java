@@ -0,0 +1,25 @@
+package com.ting.ting.domain.custom;
+
+import com.ting.ting.domain.constant.Gender;
+import com.ting.ting.domain.constant.MBTI;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDate;
+
+/**
+ * 소개팅 추천 점수 계산에 쓰는 유저 정보
+ */
+@Getter
+@AllArgsConstructor
+public class BlindUserFeatures {
+
+    private Long id;
+    private Gender gender;
+    private String school;
+    private String major;
+    private LocalDate birth;
+    private MBTI mbti;
+    private Float weight;
+    private Float height;
+}
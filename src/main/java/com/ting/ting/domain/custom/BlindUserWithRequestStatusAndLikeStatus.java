@@ -0,0 +1,35 @@
+package com.ting.ting.domain.custom;
+
+import com.ting.ting.domain.constant.LikeStatus;
+import com.ting.ting.domain.constant.MBTI;
+import com.ting.ting.domain.constant.RequestStatus;
+import lombok.Getter;
+
+@Getter
+public class BlindUserWithRequestStatusAndLikeStatus {
+
+    private Long id;
+    private String username;
+    private String major;
+    private MBTI mbti;
+    private Float weight;
+    private Float height;
+    private String idealPhoto;
+    private RequestStatus requestStatus;
+    private LikeStatus likeStatus;
+
+    /**
+     * pendingRequestId, likeId 는 left join 결과로, 값이 없으면 요청 또는 찜이 없는 상대이다.
+     */
+    public BlindUserWithRequestStatusAndLikeStatus(Long id, String username, String major, MBTI mbti, Float weight, Float height, String idealPhoto, Long pendingRequestId, Long likeId) {
+        this.id = id;
+        this.username = username;
+        this.major = major;
+        this.mbti = mbti;
+        this.weight = weight;
+        this.height = height;
+        this.idealPhoto = idealPhoto;
+        this.requestStatus = pendingRequestId != null ? RequestStatus.PENDING : RequestStatus.EMPTY;
+        this.likeStatus = likeId != null ? LikeStatus.LIKED : LikeStatus.NOT_LIKED;
+    }
+}
@@ -0,0 +1,44 @@
+package com.ting.ting.domain.custom;
+
+import com.ting.ting.domain.Group;
+import com.ting.ting.domain.constant.Gender;
+import com.ting.ting.domain.constant.LikeStatus;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+@Getter
+public class DateableGroupWithLikeStatus {
+
+    private Long id;
+    private String groupName;
+    private Gender gender;
+    private int memberSizeLimit;
+    private String school;
+    private boolean isMatched;
+    private boolean isJoinable;
+    private String memo;
+    private String idealPhoto;
+    private int averageAgeOfMembers;
+    private LocalDateTime createdAt;
+    private LikeStatus likeStatus;
+
+    /**
+     * likeId 는 left join 결과로, 값이 없으면 찜하지 않은 팀이다.
+     */
+    public DateableGroupWithLikeStatus(Long id, String groupName, Gender gender, int memberSizeLimit, String school, boolean isMatched, boolean isJoinable, String memo, String idealPhoto,
+                                       int memberCount, long memberBirthSum, LocalDateTime createdAt, Long likeId) {
+        this.id = id;
+        this.groupName = groupName;
+        this.gender = gender;
+        this.memberSizeLimit = memberSizeLimit;
+        this.school = school;
+        this.isMatched = isMatched;
+        this.isJoinable = isJoinable;
+        this.memo = memo;
+        this.idealPhoto = idealPhoto;
+        this.averageAgeOfMembers = Group.averageAgeOf(memberBirthSum, memberCount);
+        this.createdAt = createdAt;
+        this.likeStatus = likeId != null ? LikeStatus.LIKED : LikeStatus.NOT_LIKED;
+    }
+}
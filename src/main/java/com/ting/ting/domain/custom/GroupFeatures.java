@@ -0,0 +1,25 @@
+package com.ting.ting.domain.custom;
+
+import com.ting.ting.domain.constant.Gender;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * 추천 점수 계산에 쓰는 팀 컬럼
+ */
+@Getter
+@AllArgsConstructor
+public class GroupFeatures {
+
+    private Long id;
+    private Gender gender;
+    private int memberSizeLimit;
+    private String school;
+    private boolean isMatched;
+    private boolean isJoinable;
+    private int memberCount;
+    private long memberBirthSum;
+    private LocalDateTime createdAt;
+}
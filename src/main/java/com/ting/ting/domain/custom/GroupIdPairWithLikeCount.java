@@ -0,0 +1,13 @@
+package com.ting.ting.domain.custom;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class GroupIdPairWithLikeCount {
+
+    private Long fromGroupId;
+    private Long toGroupId;
+    private int likeCount;
+}
@@ -0,0 +1,18 @@
+package com.ting.ting.domain.custom;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDate;
+
+/**
+ * 팀 멤버 한 명의 생년월일과 전공
+ */
+@Getter
+@AllArgsConstructor
+public class GroupIdWithBirthAndMajor {
+
+    private Long groupId;
+    private LocalDate birth;
+    private String major;
+}
@@ -12,4 +12,9 @@ public class GroupIdWithLikeCount {
         this.groupId = groupId;
         this.likeCount = likeCount.intValue();
     }
+
+    public GroupIdWithLikeCount(Long groupId, int likeCount) {
+        this.groupId = groupId;
+        this.likeCount = likeCount;
+    }
 }
@@ -0,0 +1,12 @@
+package com.ting.ting.domain.custom;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class GroupIdWithMajor {
+
+    private Long groupId;
+    private String major;
+}
@@ -0,0 +1,13 @@
+package com.ting.ting.domain.custom;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class GroupIdWithMajorCount {
+
+    private Long groupId;
+    private String major;
+    private int memberCount;
+}
@@ -0,0 +1,13 @@
+package com.ting.ting.domain.custom;
+
+import com.ting.ting.domain.constant.MBTI;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class GroupIdWithMbti {
+
+    private Long groupId;
+    private MBTI mbti;
+}
@@ -0,0 +1,19 @@
+package com.ting.ting.domain.custom;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 멤버가 바뀔 때 함께 갱신되는 팀 컬럼 (member_count, member_birth_sum, is_joinable)
+ */
+@Getter
+@AllArgsConstructor
+public class GroupMemberCounters {
+
+    private Long groupId;
+    private int memberCount;
+    private long memberBirthSum;
+    private int memberSizeLimit;
+    private boolean isMatched;
+    private boolean isJoinable;
+}
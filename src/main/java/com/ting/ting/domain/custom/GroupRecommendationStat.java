@@ -0,0 +1,16 @@
+package com.ting.ting.domain.custom;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 팀의 추천 목록 길이와 가장 낮은 점수
+ */
+@Getter
+@AllArgsConstructor
+public class GroupRecommendationStat {
+
+    private Long groupId;
+    private Long candidateCount;
+    private Integer minScore;
+}
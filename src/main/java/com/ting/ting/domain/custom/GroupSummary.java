@@ -0,0 +1,19 @@
+package com.ting.ting.domain.custom;
+
+import com.ting.ting.domain.constant.Gender;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 요청 검증에 필요한 팀 컬럼만 읽은 결과
+ */
+@Getter
+@AllArgsConstructor
+public class GroupSummary {
+
+    private Long id;
+    private Gender gender;
+    private int memberSizeLimit;
+    private boolean isMatched;
+    private boolean isJoinable;
+}
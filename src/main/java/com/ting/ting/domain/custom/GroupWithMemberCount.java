@@ -13,7 +13,7 @@ public class GroupWithMemberCount {
     private Long id;
     private String groupName;
     private Gender gender;
-    private Long memberCount;
+    private int memberCount;
     private int memberSizeLimit;
     private String school;
     private boolean isMatched;
@@ -12,7 +12,7 @@ public class GroupWithMemberCountAndRole {
     private GroupWithMemberCount groupWithMemberCount;
     private MemberRole role;
 
-    public GroupWithMemberCountAndRole(Long id, String groupName, Gender gender, Long memberCount, int memberSizeLimit, String school, boolean isMatched, boolean isJoinable, String memo, String idealPhoto, MemberRole role, LocalDateTime createdAt) {
+    public GroupWithMemberCountAndRole(Long id, String groupName, Gender gender, int memberCount, int memberSizeLimit, String school, boolean isMatched, boolean isJoinable, String memo, String idealPhoto, MemberRole role, LocalDateTime createdAt) {
         this.groupWithMemberCount = new GroupWithMemberCount(id, groupName, gender, memberCount, memberSizeLimit, school, isMatched, isJoinable, memo, idealPhoto, createdAt);
         this.role = role;
     }
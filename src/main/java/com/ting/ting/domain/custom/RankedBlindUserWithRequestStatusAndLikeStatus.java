@@ -0,0 +1,18 @@
+package com.ting.ting.domain.custom;
+
+import com.ting.ting.domain.constant.MBTI;
+import lombok.Getter;
+
+/**
+ * 추천 목록(BlindRecommendation)에서 읽은 소개팅 상대. score 는 다음 페이지 커서에 쓴다.
+ */
+@Getter
+public class RankedBlindUserWithRequestStatusAndLikeStatus extends BlindUserWithRequestStatusAndLikeStatus {
+
+    private int score;
+
+    public RankedBlindUserWithRequestStatusAndLikeStatus(int score, Long id, String username, String major, MBTI mbti, Float weight, Float height, String idealPhoto, Long pendingRequestId, Long likeId) {
+        super(id, username, major, mbti, weight, height, idealPhoto, pendingRequestId, likeId);
+        this.score = score;
+    }
+}
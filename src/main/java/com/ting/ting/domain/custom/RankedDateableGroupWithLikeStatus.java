@@ -0,0 +1,21 @@
+package com.ting.ting.domain.custom;
+
+import com.ting.ting.domain.constant.Gender;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * 추천 목록(GroupRecommendation)에서 읽은 과팅 상대 팀. score 는 다음 페이지 커서에 쓴다.
+ */
+@Getter
+public class RankedDateableGroupWithLikeStatus extends DateableGroupWithLikeStatus {
+
+    private int score;
+
+    public RankedDateableGroupWithLikeStatus(int score, Long id, String groupName, Gender gender, int memberSizeLimit, String school, boolean isMatched, boolean isJoinable, String memo, String idealPhoto,
+                                             int memberCount, long memberBirthSum, LocalDateTime createdAt, Long likeId) {
+        super(id, groupName, gender, memberSizeLimit, school, isMatched, isJoinable, memo, idealPhoto, memberCount, memberBirthSum, createdAt, likeId);
+        this.score = score;
+    }
+}
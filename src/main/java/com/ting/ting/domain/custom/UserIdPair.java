@@ -0,0 +1,15 @@
+package com.ting.ting.domain.custom;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 유저(fromUserId)가 다른 유저(toUserId)에게 한 찜, 요청 또는 맺은 매칭
+ */
+@Getter
+@AllArgsConstructor
+public class UserIdPair {
+
+    private Long fromUserId;
+    private Long toUserId;
+}
@@ -0,0 +1,15 @@
+package com.ting.ting.domain.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 두 유저의 소개팅이 매칭되었을 때 발행되는 이벤트
+ */
+@Getter
+@AllArgsConstructor
+public class BlindDateCreatedEvent {
+
+    private final Long menUserId;
+    private final Long womenUserId;
+}
@@ -0,0 +1,14 @@
+package com.ting.ting.domain.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 팀 멤버가 추가, 삭제되거나 역할이 바뀌었을 때 발행되는 이벤트
+ */
+@Getter
+@AllArgsConstructor
+public class GroupMembershipChangedEvent {
+
+    private final Long groupId;
+}
@@ -0,0 +1,14 @@
+package com.ting.ting.domain.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 팀이 만들어졌거나 매칭 여부, 가입 가능 여부가 바뀌었을 때 발행되는 이벤트
+ */
+@Getter
+@AllArgsConstructor
+public class GroupStateChangedEvent {
+
+    private final Long groupId;
+}
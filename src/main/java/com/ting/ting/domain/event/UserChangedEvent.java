@@ -0,0 +1,14 @@
+package com.ting.ting.domain.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 사용자가 가입하거나 정보가 수정되거나 (soft) 삭제되었을 때 발행되는 이벤트
+ */
+@Getter
+@AllArgsConstructor
+public class UserChangedEvent {
+
+    private final Long userId;
+}
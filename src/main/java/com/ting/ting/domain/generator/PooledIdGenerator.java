@@ -0,0 +1,42 @@
+package com.ting.ting.domain.generator;
+
+import org.hibernate.MappingException;
+import org.hibernate.id.PersistentIdentifierGenerator;
+import org.hibernate.id.enhanced.StandardOptimizerDescriptor;
+import org.hibernate.id.enhanced.TableGenerator;
+import org.hibernate.service.ServiceRegistry;
+import org.hibernate.type.Type;
+
+import java.util.Properties;
+
+/**
+ * id_sequence 테이블에서 테이블마다 BLOCK_SIZE 개씩 id 구간을 받아 나눠 주는 generator (pooled-lo)
+ * - id_sequence 의 next_val 은 다음에 나눠 줄 구간의 시작값이다. 구간을 받을 때 별도 트랜잭션에서 next_val 을 BLOCK_SIZE 만큼 늘리므로 여러 서버가 같은 구간을 받지 않는다.
+ * - insert 전에 id 가 정해지므로 IDENTITY 와 달리 hibernate.jdbc.batch_size 로 insert 를 묶을 수 있다.
+ * - segment 는 따옴표를 뺀 테이블 이름이다. id 를 직접 넣어 적재했다면 next_val 을 max(id) + 1 로 맞춰야 한다. (data.sql 참고)
+ */
+public class PooledIdGenerator extends TableGenerator {
+
+    public static final String NAME = "pooled_id";
+    public static final String STRATEGY = "com.ting.ting.domain.generator.PooledIdGenerator";
+
+    public static final String TABLE = "id_sequence";
+    public static final String SEGMENT_COLUMN = "sequence_name";
+    public static final String VALUE_COLUMN = "next_val";
+    public static final int BLOCK_SIZE = 50;
+
+    @Override
+    public void configure(Type type, Properties params, ServiceRegistry serviceRegistry) throws MappingException {
+        params.setProperty(TABLE_PARAM, TABLE);
+        params.setProperty(SEGMENT_COLUMN_PARAM, SEGMENT_COLUMN);
+        params.setProperty(VALUE_COLUMN_PARAM, VALUE_COLUMN);
+        params.setProperty(SEGMENT_VALUE_PARAM, unquote(params.getProperty(PersistentIdentifierGenerator.TABLE)));
+        params.setProperty(INCREMENT_PARAM, String.valueOf(BLOCK_SIZE));
+        params.setProperty(OPT_PARAM, StandardOptimizerDescriptor.POOLED_LO.getExternalName());
+        super.configure(type, params, serviceRegistry);
+    }
+
+    private static String unquote(String tableName) {
+        return tableName.replaceAll("[\"`\\[\\]]", "");
+    }
+}
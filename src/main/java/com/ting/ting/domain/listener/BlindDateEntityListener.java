@@ -0,0 +1,22 @@
+package com.ting.ting.domain.listener;
+
+import com.ting.ting.domain.BlindDate;
+import com.ting.ting.domain.event.BlindDateCreatedEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+
+import javax.persistence.PostPersist;
+
+/**
+ * BlindDate 엔티티의 추가(소개팅 매칭)를 BlindDateCreatedEvent 로 알린다.
+ */
+@RequiredArgsConstructor
+public class BlindDateEntityListener {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    @PostPersist
+    public void onCreated(BlindDate blindDate) {
+        eventPublisher.publishEvent(new BlindDateCreatedEvent(blindDate.getMenUser().getId(), blindDate.getWomenUser().getId()));
+    }
+}
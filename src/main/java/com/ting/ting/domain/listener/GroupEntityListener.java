@@ -0,0 +1,31 @@
+package com.ting.ting.domain.listener;
+
+import com.ting.ting.domain.Group;
+import com.ting.ting.domain.event.GroupStateChangedEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+
+import javax.persistence.PostPersist;
+import javax.persistence.PostUpdate;
+
+/**
+ * Group 엔티티의 추가와 상태(isMatched, isJoinable) 변경을 GroupStateChangedEvent 로 알린다.
+ * 이름, 사진 등 다른 컬럼만 바뀐 경우에는 알리지 않는다.
+ */
+@RequiredArgsConstructor
+public class GroupEntityListener {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    @PostPersist
+    public void onCreated(Group group) {
+        eventPublisher.publishEvent(new GroupStateChangedEvent(group.getId()));
+    }
+
+    @PostUpdate
+    public void onUpdated(Group group) {
+        if (group.isStateChanged()) {
+            eventPublisher.publishEvent(new GroupStateChangedEvent(group.getId()));
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.ting.ting.domain.listener;
+
+import com.ting.ting.domain.GroupMember;
+import com.ting.ting.domain.event.GroupMembershipChangedEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+
+import javax.persistence.PostPersist;
+import javax.persistence.PostRemove;
+import javax.persistence.PostUpdate;
+
+/**
+ * GroupMember 엔티티의 추가, 수정, 삭제를 GroupMembershipChangedEvent 로 알린다.
+ * Group.groupMembers 는 mappedBy 쪽 컬렉션이라 GroupMember 만 저장해서는 2차 캐시가 갱신되지 않는다.
+ */
+@RequiredArgsConstructor
+public class GroupMemberEntityListener {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onChanged(GroupMember groupMember) {
+        eventPublisher.publishEvent(new GroupMembershipChangedEvent(groupMember.getGroup().getId()));
+    }
+}
@@ -0,0 +1,27 @@
+package com.ting.ting.domain.listener;
+
+import com.ting.ting.domain.User;
+import com.ting.ting.domain.event.UserChangedEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+
+import javax.persistence.PostPersist;
+import javax.persistence.PostRemove;
+import javax.persistence.PostUpdate;
+
+/**
+ * User 엔티티의 추가, 수정, 삭제를 UserChangedEvent 로 알린다.
+ * 리포지토리를 거치는 모든 쓰기 경로에서 동작하므로 서비스마다 캐시 무효화 코드를 둘 필요가 없다.
+ */
+@RequiredArgsConstructor
+public class UserEntityListener {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onChanged(User user) {
+        eventPublisher.publishEvent(new UserChangedEvent(user.getId()));
+    }
+}
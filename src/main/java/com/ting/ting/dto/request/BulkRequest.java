@@ -0,0 +1,21 @@
+package com.ting.ting.dto.request;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Size;
+import java.util.List;
+
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkRequest {
+
+    /**
+     * 일괄 처리할 대상(유저 또는 팀) id 목록
+     */
+    @NotNull @Size(min = 1, max = 100)
+    List<Long> targetIds;
+}
@@ -1,8 +1,8 @@
 package com.ting.ting.dto.response;
 
-import com.ting.ting.domain.User;
 import com.ting.ting.domain.constant.LikeStatus;
 import com.ting.ting.domain.constant.RequestStatus;
+import com.ting.ting.domain.custom.BlindUserWithRequestStatusAndLikeStatus;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 
@@ -14,19 +14,19 @@ public class BlindUserWithRequestStatusAndLikeStatusResponse {
     private RequestStatus requestStatus;
     private LikeStatus likeStatus;
 
-    public static BlindUserWithRequestStatusAndLikeStatusResponse of(User entity, RequestStatus requestStatus, LikeStatus likeStatus) {
+    public static BlindUserWithRequestStatusAndLikeStatusResponse from(BlindUserWithRequestStatusAndLikeStatus custom) {
         return new BlindUserWithRequestStatusAndLikeStatusResponse(
                 new BlindDateResponse(
-                        entity.getId(),
-                        entity.getUsername(),
-                        entity.getMajor(),
-                        entity.getMbti(),
-                        entity.getWeight(),
-                        entity.getHeight(),
-                        entity.getIdealPhoto()
+                        custom.getId(),
+                        custom.getUsername(),
+                        custom.getMajor(),
+                        custom.getMbti(),
+                        custom.getWeight(),
+                        custom.getHeight(),
+                        custom.getIdealPhoto()
                 ),
-                requestStatus,
-                likeStatus
+                custom.getRequestStatus(),
+                custom.getLikeStatus()
         );
     }
 }
@@ -0,0 +1,26 @@
+package com.ting.ting.dto.response;
+
+import com.ting.ting.exception.ErrorCode;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 일괄 요청의 항목별 처리 결과
+ * 실패한 항목은 errorCode 에 실패 이유가 담긴다.
+ */
+@AllArgsConstructor
+@Getter
+public class BulkItemResponse {
+
+    private Long targetId;
+    private boolean success;
+    private ErrorCode errorCode;
+
+    public static BulkItemResponse success(Long targetId) {
+        return new BulkItemResponse(targetId, true, null);
+    }
+
+    public static BulkItemResponse failure(Long targetId, ErrorCode errorCode) {
+        return new BulkItemResponse(targetId, false, errorCode);
+    }
+}
@@ -0,0 +1,23 @@
+package com.ting.ting.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * 커서 기반 페이지 응답
+ * nextCursor 는 다음 페이지 요청에 그대로 전달하는 값이며, 마지막 페이지이면 null 이다.
+ */
+@AllArgsConstructor
+@Getter
+public class CursorResponse<T> {
+
+    private List<T> content;
+    private String nextCursor;
+    private boolean hasNext;
+
+    public static <T> CursorResponse<T> of(List<T> content, String nextCursor) {
+        return new CursorResponse<>(content, nextCursor, nextCursor != null);
+    }
+}
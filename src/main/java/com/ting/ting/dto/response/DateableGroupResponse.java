@@ -4,10 +4,13 @@ import com.fasterxml.jackson.annotation.JsonInclude;
 import com.ting.ting.domain.Group;
 import com.ting.ting.domain.constant.LikeStatus;
 import com.ting.ting.domain.constant.RequestStatus;
+import com.ting.ting.domain.custom.DateableGroupWithLikeStatus;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.Setter;
 
+import java.util.Set;
+
 import static com.fasterxml.jackson.annotation.JsonInclude.Include.NON_NULL;
 
 @JsonInclude(NON_NULL)
@@ -26,6 +29,10 @@ public class DateableGroupResponse {
         return from(entity, null, likeStatus, null);
     }
 
+    public static DateableGroupResponse from(DateableGroupWithLikeStatus row, Set<String> majorsOfMembers) {
+        return new DateableGroupResponse(null, GroupWithMemberInfoResponse.from(row, majorsOfMembers), null, row.getLikeStatus(), null);
+    }
+
     public static DateableGroupResponse from(Group entity, RequestStatus requestStatus, LikeStatus likeStatus, Integer likeCount) {
         return from(
                 null,
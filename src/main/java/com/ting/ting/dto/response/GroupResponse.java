@@ -49,7 +49,7 @@ public class GroupResponse {
                 entity.getId(),
                 entity.getGroupName(),
                 entity.getGender(),
-                Math.toIntExact(entity.getMemberCount()),
+                entity.getMemberCount(),
                 entity.getMemberSizeLimit(),
                 entity.getSchool(),
                 entity.isMatched(),
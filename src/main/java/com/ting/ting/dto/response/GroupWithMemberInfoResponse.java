@@ -2,6 +2,7 @@ package com.ting.ting.dto.response;
 
 import com.ting.ting.domain.Group;
 import com.ting.ting.domain.constant.Gender;
+import com.ting.ting.domain.custom.DateableGroupWithLikeStatus;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 
@@ -41,4 +42,21 @@ public class GroupWithMemberInfoResponse {
                 entity.getCreatedAt()
         );
     }
+
+    public static GroupWithMemberInfoResponse from(DateableGroupWithLikeStatus row, Set<String> majorsOfMembers) {
+        return new GroupWithMemberInfoResponse(
+                row.getId(),
+                row.getGroupName(),
+                row.getGender(),
+                row.getMemberSizeLimit(),
+                row.getSchool(),
+                row.isMatched(),
+                row.isJoinable(),
+                row.getMemo(),
+                row.getIdealPhoto(),
+                row.getAverageAgeOfMembers(),
+                majorsOfMembers,
+                row.getCreatedAt()
+        );
+    }
 }
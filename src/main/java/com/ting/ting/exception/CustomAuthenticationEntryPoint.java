@@ -1,6 +1,5 @@
 package com.ting.ting.exception;
 
-import com.ting.ting.dto.response.Response;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.web.AuthenticationEntryPoint;
@@ -17,16 +16,7 @@ public class CustomAuthenticationEntryPoint implements AuthenticationEntryPoint
 
     @Override
     public void commence(HttpServletRequest request, HttpServletResponse response, AuthenticationException authException) throws IOException, ServletException {
-        if (response.getWriter() == null) {
-            TingApplicationException e = new TingApplicationException(ErrorCode.UNAUTHORIZED, ServiceType.AUTHENTICATION, authException.getMessage());
-            int status = e.getErrorCode().getHttpStatus();
-            Response<?> body = new Response<>(e);
-
-            log.error(e.getMessageForServer());
-            response.setStatus(status);
-            response.getWriter().write(body.toStream());
-        }
-
+        // 오류 본문은 JwtTokenFilter 가 이미 getOutputStream() 으로 썼으므로 여기서 getWriter() 를 부르면 안 된다.
         response.setContentType("application/json");
     }
 }
@@ -40,4 +40,11 @@ public enum ErrorCode {
     public int getHttpStatus() {
         return httpStatus.value();
     }
+
+    /**
+     * 요청이 조건에 맞지 않아 생기는 예상된 오류(4xx) 인지
+     */
+    public boolean isExpected() {
+        return httpStatus.is4xxClientError();
+    }
 }
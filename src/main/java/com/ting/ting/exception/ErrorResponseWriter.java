@@ -0,0 +1,91 @@
+package com.ting.ting.exception;
+
+import com.fasterxml.jackson.core.io.JsonStringEncoder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+import javax.servlet.http.HttpServletResponse;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 오류 응답 본문을 (ErrorCode, ServiceType) 마다 시작할 때 UTF-8 바이트로 만들어 두고 그대로 쓴다.
+ * 본문 형식은 Response(result, data) 를 Jackson 으로 직렬화한 것과 같다.
+ * 예외에 담긴 상세 메시지는 error-response.include-detail=true 일 때만 JSON 이스케이프해서 쓰고, 기본은 ErrorCode 의 메시지이다.
+ */
+@Component
+public class ErrorResponseWriter {
+
+    private static final String CONTENT_TYPE = MediaType.APPLICATION_JSON_VALUE + ";charset=UTF-8";
+    private static final byte[] SUFFIX = "\"},\"data\":null}".getBytes(StandardCharsets.UTF_8);
+
+    // [ErrorCode.ordinal()][ServiceType.ordinal(), 마지막 칸은 serviceType 이 없는 경우]
+    private final byte[][][] prefixes;
+    private final byte[][][] bodies;
+    private final boolean includeDetail;
+
+    public ErrorResponseWriter(@Value("${error-response.include-detail:false}") boolean includeDetail) {
+        this.includeDetail = includeDetail;
+
+        ErrorCode[] errorCodes = ErrorCode.values();
+        ServiceType[] serviceTypes = ServiceType.values();
+        this.prefixes = new byte[errorCodes.length][serviceTypes.length + 1][];
+        this.bodies = new byte[errorCodes.length][serviceTypes.length + 1][];
+        for (ErrorCode errorCode : errorCodes) {
+            for (int i = 0; i <= serviceTypes.length; i++) {
+                ServiceType serviceType = i < serviceTypes.length ? serviceTypes[i] : null;
+                prefixes[errorCode.ordinal()][i] = prefix(errorCode, serviceType);
+                bodies[errorCode.ordinal()][i] = concat(prefixes[errorCode.ordinal()][i], escape(errorCode.getMessage()));
+            }
+        }
+    }
+
+    public void write(HttpServletResponse response, ErrorCode errorCode, ServiceType serviceType) throws IOException {
+        write(response, errorCode, serviceType, null);
+    }
+
+    public void write(HttpServletResponse response, ErrorCode errorCode, ServiceType serviceType, String detail) throws IOException {
+        response.setStatus(errorCode.getHttpStatus());
+        response.setContentType(CONTENT_TYPE);
+        response.getOutputStream().write(render(errorCode, serviceType, detail));
+    }
+
+    /**
+     * 상세 메시지를 쓰지 않는 경우에는 미리 만든 배열을 그대로 반환하므로 수정하면 안 된다.
+     */
+    public byte[] render(ErrorCode errorCode, ServiceType serviceType, String detail) {
+        int serviceTypeIndex = serviceType == null ? ServiceType.values().length : serviceType.ordinal();
+        if (!includeDetail || detail == null || detail.equals(errorCode.getMessage())) {
+            return bodies[errorCode.ordinal()][serviceTypeIndex];
+        }
+
+        return concat(prefixes[errorCode.ordinal()][serviceTypeIndex], escape(detail));
+    }
+
+    /**
+     * 예외의 상세 메시지는 응답에 쓸 때만 만든다.
+     */
+    public byte[] render(TingApplicationException e) {
+        return render(e.getErrorCode(), e.getServiceType(), includeDetail ? e.getMessage() : null);
+    }
+
+    private static byte[] prefix(ErrorCode errorCode, ServiceType serviceType) {
+        String serviceTypeJson = serviceType == null ? "null" : "\"" + serviceType.name() + "\"";
+        return ("{\"result\":{\"resultCode\":" + errorCode.getHttpStatus() + ",\"serviceType\":" + serviceTypeJson + ",\"message\":\"")
+                .getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static byte[] escape(String message) {
+        return JsonStringEncoder.getInstance().quoteAsUTF8(message);
+    }
+
+    private static byte[] concat(byte[] prefix, byte[] message) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(prefix.length + message.length + SUFFIX.length);
+        out.writeBytes(prefix);
+        out.writeBytes(message);
+        out.writeBytes(SUFFIX);
+        return out.toByteArray();
+    }
+}
@@ -1,9 +1,7 @@
 package com.ting.ting.exception;
 
-import com.ting.ting.dto.response.Response;
-import com.ting.ting.exception.TingApplicationException;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.catalina.filters.AddDefaultCharsetFilter;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
@@ -12,15 +10,31 @@ import org.springframework.web.bind.annotation.RestControllerAdvice;
 @RestControllerAdvice
 public class GlobalControllerAdvice {
 
+    private final ErrorResponseWriter errorResponseWriter;
+
+    public GlobalControllerAdvice(ErrorResponseWriter errorResponseWriter) {
+        this.errorResponseWriter = errorResponseWriter;
+    }
+
     @ExceptionHandler(TingApplicationException.class)
-    public Response<?> tingExceptionHandler(TingApplicationException e) {
-        log.error(e.getMessageForServer());
-        return new Response<>(e);
+    public ResponseEntity<byte[]> tingExceptionHandler(TingApplicationException e) {
+        if (!e.getErrorCode().isExpected()) {
+            log.error(e.getMessageForServer(), e);
+        } else if (log.isDebugEnabled()) {
+            // 검증에 실패한 요청은 흔하므로 로그 레벨을 낮추고, 그때만 상세 메시지를 만든다.
+            log.debug(e.getMessageForServer());
+        }
+        return body(errorResponseWriter.render(e));
     }
 
     @ExceptionHandler(RuntimeException.class)
-    public Response<?> tingExceptionHandler(RuntimeException e) {
-        log.error(e.getMessage());
-        return Response.error(ErrorCode.INTERNAL_SERVER_ERROR);
+    public ResponseEntity<byte[]> tingExceptionHandler(RuntimeException e) {
+        log.error(e.getMessage(), e);
+        return body(errorResponseWriter.render(ErrorCode.INTERNAL_SERVER_ERROR, null, null));
+    }
+
+    // 응답 코드는 기존처럼 200 이고, 오류 코드는 본문의 resultCode 로 전달한다.
+    private static ResponseEntity<byte[]> body(byte[] body) {
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
     }
 }
@@ -1,35 +1,57 @@
 package com.ting.ting.exception;
 
-import lombok.AllArgsConstructor;
+import lombok.AccessLevel;
 import lombok.Getter;
 
-@AllArgsConstructor
+import java.util.function.Supplier;
+
+/**
+ * 예상된 오류(ErrorCode#isExpected) 는 검증에 실패한 요청마다 던져지므로 스택 트레이스를 만들지 않고,
+ * 상세 메시지도 처음 읽을 때 만든다. 예상하지 못한 오류는 기존처럼 스택 트레이스를 남긴다.
+ * -Dting.exception.full-stack-trace=true 로 실행하면 모든 오류에 스택 트레이스를 남긴다.
+ */
 @Getter
 public class TingApplicationException extends RuntimeException {
 
-    private ErrorCode errorCode;
-    private ServiceType serviceType;
+    private static final boolean FULL_STACK_TRACE = Boolean.getBoolean("ting.exception.full-stack-trace");
+
+    private final ErrorCode errorCode;
+    private final ServiceType serviceType;
+    @Getter(AccessLevel.NONE)
+    private Supplier<String> messageSupplier;
     private String message;
 
     public TingApplicationException(ErrorCode errorCode, ServiceType serviceType) {
+        this(errorCode, serviceType, (String) null);
+    }
+
+    public TingApplicationException(ErrorCode errorCode, ServiceType serviceType, String message) {
+        super(null, null, hasStackTrace(errorCode), hasStackTrace(errorCode));
         this.errorCode = errorCode;
         this.serviceType = serviceType;
+        this.message = message;
+    }
+
+    public TingApplicationException(ErrorCode errorCode, ServiceType serviceType, Supplier<String> messageSupplier) {
+        this(errorCode, serviceType, (String) null);
+        this.messageSupplier = messageSupplier;
     }
 
     @Override
     public String getMessage() {
         if (message == null) {
-            message = errorCode.getMessage();
+            message = messageSupplier == null ? errorCode.getMessage() : messageSupplier.get();
+            messageSupplier = null;
         }
 
         return message;
     }
 
     public String getMessageForServer() {
-        if (message == null) {
-            message = errorCode.getMessage();
-        }
+        return String.format("[%s :: %s] : %s", errorCode, serviceType, getMessage());
+    }
 
-        return String.format("[%s :: %s] : %s", errorCode, serviceType, message);
+    private static boolean hasStackTrace(ErrorCode errorCode) {
+        return FULL_STACK_TRACE || !errorCode.isExpected();
     }
 }
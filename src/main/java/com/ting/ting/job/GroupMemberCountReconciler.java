@@ -0,0 +1,151 @@
+package com.ting.ting.job;
+
+import com.ting.ting.domain.Group;
+import com.ting.ting.domain.GroupMember;
+import com.ting.ting.domain.GroupMemberMajorCount;
+import com.ting.ting.domain.custom.GroupIdWithBirthAndMajor;
+import com.ting.ting.domain.custom.GroupIdWithMajorCount;
+import com.ting.ting.domain.custom.GroupMemberCounters;
+import com.ting.ting.repository.GroupMemberMajorCountRepository;
+import com.ting.ting.repository.GroupMemberRepository;
+import com.ting.ting.repository.GroupRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 팀 멤버 집계 보정 작업
+ * 팀을 id 구간별로 나누어 member_count, member_birth_sum, is_joinable, 전공별 인원(GroupMemberMajorCount)을
+ * 실제 멤버(group_member)로 다시 계산한 값과 비교하고, 다른 팀만 고친다.
+ * 고칠 때는 팀 행을 잠그고(GroupRepository#lockForUpdate) 실제 멤버를 다시 읽어 계산한다.
+ * 멤버를 바꾸는 쓰기도 같은 행을 잠그므로, 비교한 이후 멤버가 바뀌었더라도 잠근 시점의 값으로 고친다.
+ */
+@Slf4j
+@Component
+public class GroupMemberCountReconciler {
+
+    private final GroupRepository groupRepository;
+    private final GroupMemberRepository groupMemberRepository;
+    private final GroupMemberMajorCountRepository groupMemberMajorCountRepository;
+    private final TransactionOperations transactionOperations;
+    private final int batchSize;
+
+    public GroupMemberCountReconciler(
+            GroupRepository groupRepository,
+            GroupMemberRepository groupMemberRepository,
+            GroupMemberMajorCountRepository groupMemberMajorCountRepository,
+            TransactionOperations transactionOperations,
+            @Value("${group.member-count.reconcile-batch-size:1000}") int batchSize
+    ) {
+        this.groupRepository = groupRepository;
+        this.groupMemberRepository = groupMemberRepository;
+        this.groupMemberMajorCountRepository = groupMemberMajorCountRepository;
+        this.transactionOperations = transactionOperations;
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(fixedDelayString = "${group.member-count.reconcile-interval:3600000}")
+    public void reconcile() {
+        long maxId = groupRepository.findMaxId().orElse(0L);
+        int drifted = 0;
+        int repaired = 0;
+
+        for (long fromId = 0; fromId < maxId; fromId += batchSize) {
+            List<Long> driftedGroupIds = findAllDriftedGroupIdByIdBetween(fromId, fromId + batchSize);
+            drifted += driftedGroupIds.size();
+
+            for (Long groupId : driftedGroupIds) {
+                Boolean updated = transactionOperations.execute(status -> repair(groupId));
+                if (Boolean.TRUE.equals(updated)) {
+                    repaired++;
+                }
+            }
+        }
+
+        if (drifted > 0) {
+            log.warn("Group member count reconciliation: {} drifted, {} repaired", drifted, repaired);
+        }
+    }
+
+    private List<Long> findAllDriftedGroupIdByIdBetween(long fromId, long toId) {
+        Map<Long, MemberTally> actualByGroupId = new HashMap<>();
+        for (GroupIdWithBirthAndMajor member : groupMemberRepository.findAllBirthAndMajorByGroupIdBetween(fromId, toId)) {
+            actualByGroupId.computeIfAbsent(member.getGroupId(), id -> new MemberTally()).add(member.getBirth(), member.getMajor());
+        }
+
+        Map<Long, Map<String, Integer>> majorCountsByGroupId = new HashMap<>();
+        for (GroupIdWithMajorCount majorCount : groupMemberMajorCountRepository.findAllMajorCountByGroupIdBetween(fromId, toId)) {
+            majorCountsByGroupId.computeIfAbsent(majorCount.getGroupId(), id -> new HashMap<>()).put(majorCount.getMajor(), majorCount.getMemberCount());
+        }
+
+        List<Long> driftedGroupIds = new ArrayList<>();
+        for (GroupMemberCounters counters : groupRepository.findAllMemberCountersByIdBetween(fromId, toId)) {
+            MemberTally actual = actualByGroupId.getOrDefault(counters.getGroupId(), new MemberTally());
+            Map<String, Integer> majorCounts = majorCountsByGroupId.getOrDefault(counters.getGroupId(), Map.of());
+            boolean joinable = !counters.isMatched() && actual.memberCount < counters.getMemberSizeLimit();
+
+            if (counters.getMemberCount() != actual.memberCount || counters.getMemberBirthSum() != actual.memberBirthSum
+                    || counters.isJoinable() != joinable || !majorCounts.equals(actual.majorCounts)) {
+                log.warn("Group(id: {}) member counters drifted: stored (count {}, birth sum {}, joinable {}, majors {}), actual (count {}, birth sum {}, joinable {}, majors {})",
+                        counters.getGroupId(), counters.getMemberCount(), counters.getMemberBirthSum(), counters.isJoinable(), majorCounts,
+                        actual.memberCount, actual.memberBirthSum, joinable, actual.majorCounts);
+                driftedGroupIds.add(counters.getGroupId());
+            }
+        }
+        return driftedGroupIds;
+    }
+
+    private boolean repair(Long groupId) {
+        Group group = groupRepository.findById(groupId).orElse(null);
+        if (group == null) {
+            return false;
+        }
+
+        groupRepository.lockForUpdate(group);
+        MemberTally actual = new MemberTally();
+        for (GroupMember member : groupMemberRepository.findAllByGroup(group)) {
+            actual.add(member.getMember().getBirth(), member.getMember().getMajor());
+        }
+        group.repairMemberCounters(actual.memberCount, actual.memberBirthSum);
+
+        Map<String, Integer> missingMajorCounts = new HashMap<>(actual.majorCounts);
+        for (GroupMemberMajorCount majorCount : groupMemberMajorCountRepository.findAllByGroup(group)) {
+            Integer memberCount = missingMajorCounts.remove(majorCount.getMajor());
+            if (memberCount == null) {
+                groupMemberMajorCountRepository.delete(majorCount);
+            } else {
+                majorCount.repairMemberCount(memberCount);
+            }
+        }
+        missingMajorCounts.forEach((major, memberCount) -> {
+            GroupMemberMajorCount majorCount = GroupMemberMajorCount.of(group, major);
+            majorCount.repairMemberCount(memberCount);
+            groupMemberMajorCountRepository.save(majorCount);
+        });
+        return true;
+    }
+
+    /**
+     * 실제 멤버로 다시 계산한 팀의 집계 값
+     */
+    private static class MemberTally {
+
+        private int memberCount;
+        private long memberBirthSum;
+        private final Map<String, Integer> majorCounts = new HashMap<>();
+
+        void add(LocalDate birth, String major) {
+            memberCount++;
+            memberBirthSum += birth.toEpochDay();
+            majorCounts.merge(major, 1, Integer::sum);
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package com.ting.ting.job;
+
+import com.ting.ting.domain.event.GroupStateChangedEvent;
+import com.ting.ting.recommendation.GroupRecommendationEngine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 팀 과팅 추천 목록 갱신 작업
+ * 커밋된 GroupStateChangedEvent 의 팀을 모아 두었다가 주기적으로 그 팀만 다시 계산하고, 더 긴 주기로 전체 목록을 다시 계산한다.
+ * 두 작업은 같은 목록을 지우고 다시 쓰므로 서버 안에서는 ReentrantLock 으로, 서버 사이에서는 JobLockManager 의 잠금으로 동시에 실행하지 않는다.
+ * 바뀐 팀은 이벤트를 받은 서버에만 모이므로 각 서버가 잠금을 차례로 잡아 자기 팀을 처리하고,
+ * 그 서버가 처리하기 전에 내려가 잃어버린 팀은 다음 전체 재계산에서 반영된다.
+ * 전체 재계산은 한 서버가 끝내면 그 잠금(group-recommendation.rebuild)을 rebuild-interval 의 90% 동안 남겨 두어,
+ * 그동안 다른 서버는 같은 결과를 다시 계산하지 않고 건너뛴다.
+ */
+@Slf4j
+@Component
+public class GroupRecommendationRefresher {
+
+    private static final String JOB_LOCK_NAME = "group-recommendation";
+    private static final String REBUILD_JOB_LOCK_NAME = "group-recommendation.rebuild";
+
+    private final GroupRecommendationEngine groupRecommendationEngine;
+    private final JobLockManager jobLockManager;
+    private final Duration refreshLeaseTime;
+    private final Duration rebuildLeaseTime;
+    private final Duration rebuildLockWaitTime;
+    private final Duration rebuildHoldTime;
+    private final Set<Long> changedGroupIds = ConcurrentHashMap.newKeySet();
+    private final ReentrantLock lock = new ReentrantLock();
+
+    public GroupRecommendationRefresher(
+            GroupRecommendationEngine groupRecommendationEngine,
+            JobLockManager jobLockManager,
+            @Value("${group.recommendation.lock.refresh-lease-time:1m}") Duration refreshLeaseTime,
+            @Value("${group.recommendation.lock.rebuild-lease-time:30m}") Duration rebuildLeaseTime,
+            @Value("${group.recommendation.lock.rebuild-wait-time:5m}") Duration rebuildLockWaitTime,
+            @Value("${group.recommendation.rebuild-interval:3600000}") long rebuildIntervalMillis
+    ) {
+        this.groupRecommendationEngine = groupRecommendationEngine;
+        this.jobLockManager = jobLockManager;
+        this.refreshLeaseTime = refreshLeaseTime;
+        this.rebuildLeaseTime = rebuildLeaseTime;
+        this.rebuildLockWaitTime = rebuildLockWaitTime;
+        this.rebuildHoldTime = Duration.ofMillis(rebuildIntervalMillis).multipliedBy(9).dividedBy(10);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onGroupStateChanged(GroupStateChangedEvent event) {
+        changedGroupIds.add(event.getGroupId());
+    }
+
+    @Scheduled(fixedDelayString = "${group.recommendation.refresh-interval:5000}")
+    public void refreshChanged() {
+        if (changedGroupIds.isEmpty() || !lock.tryLock()) {
+            return;     // 전체 재계산 중이면 끝난 뒤에 처리한다.
+        }
+
+        try {
+            if (!jobLockManager.tryLock(JOB_LOCK_NAME, refreshLeaseTime)) {
+                return;     // 다른 서버가 갱신 중이면 다음 주기에 처리한다.
+            }
+            try {
+                refreshChangedGroups();
+            } finally {
+                jobLockManager.unlock(JOB_LOCK_NAME);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // 잠금이 만료되기 전에 멈추고, 남은 팀은 다음 주기에 처리한다.
+    private void refreshChangedGroups() {
+        long deadline = System.nanoTime() + refreshLeaseTime.toNanos() / 2;
+        for (Iterator<Long> iterator = changedGroupIds.iterator(); iterator.hasNext() && System.nanoTime() < deadline; ) {
+            Long groupId = iterator.next();
+            iterator.remove();
+            try {
+                groupRecommendationEngine.refresh(groupId);
+            } catch (RuntimeException e) {
+                // 다음 전체 재계산에서 다시 반영된다.
+                log.warn("Failed to refresh recommendations of Group(id: {}): {}", groupId, e.toString());
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${group.recommendation.rebuild-interval:3600000}", initialDelayString = "${group.recommendation.rebuild-initial-delay:0}")
+    public void rebuildAll() {
+        if (!jobLockManager.tryLock(REBUILD_JOB_LOCK_NAME, rebuildLeaseTime)) {
+            return;     // 다른 서버가 이번 주기에 이미 재계산했거나 재계산 중이다.
+        }
+
+        boolean rebuilt = false;
+        try {
+            rebuilt = rebuildAllExclusively();
+        } finally {
+            // 실패했다면 바로 풀어 다른 서버가 다시 시도하게 한다.
+            jobLockManager.unlock(REBUILD_JOB_LOCK_NAME, rebuilt ? rebuildHoldTime : Duration.ZERO);
+        }
+    }
+
+    // 갱신과 같은 잠금을 기다리는 동안에는 서버 안의 잠금을 잡지 않아, 그사이 이 서버의 갱신을 막지 않는다.
+    private boolean rebuildAllExclusively() {
+        if (!jobLockManager.lock(JOB_LOCK_NAME, rebuildLeaseTime, rebuildLockWaitTime)) {
+            log.warn("Skipped rebuilding group recommendations: JobLock({}) is held by another server", JOB_LOCK_NAME);
+            return false;
+        }
+
+        lock.lock();
+        try {
+            groupRecommendationEngine.rebuildAll();
+            return true;
+        } catch (RuntimeException e) {
+            log.error("Failed to rebuild group recommendations", e);
+            return false;
+        } finally {
+            lock.unlock();
+            jobLockManager.unlock(JOB_LOCK_NAME);
+        }
+    }
+}
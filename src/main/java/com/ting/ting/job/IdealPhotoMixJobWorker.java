@@ -0,0 +1,172 @@
+package com.ting.ting.job;
+
+import com.ting.ting.domain.IdealPhotoMixJob;
+import com.ting.ting.domain.Group;
+import com.ting.ting.domain.constant.IdealPhotoMixJobStatus;
+import com.ting.ting.dto.idealPhoto.MixedImageResponse;
+import com.ting.ting.repository.GroupRepository;
+import com.ting.ting.repository.IdealPhotoMixJobRepository;
+import com.ting.ting.util.IdealPhotoManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionOperations;
+
+import javax.annotation.PreDestroy;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 팀 이상형 사진 합성 작업(IdealPhotoMixJob) 처리기
+ * 주기적으로 실행 가능한 작업을 선점(PENDING -> RUNNING)해 작업 스레드에서 처리한다.
+ * ML 서버 호출은 트랜잭션 밖에서 하고, 결과 반영과 실패 기록만 짧은 트랜잭션으로 처리한다.
+ * 실패하면 retryBackoff * 2^(시도 횟수) 뒤에 다시 시도하고, maxAttempts 번 실패하면 FAILED 로 남긴다.
+ */
+@Slf4j
+@Component
+public class IdealPhotoMixJobWorker {
+
+    private final IdealPhotoMixJobRepository idealPhotoMixJobRepository;
+    private final GroupRepository groupRepository;
+    private final IdealPhotoManager idealPhotoManager;
+    private final TransactionOperations transactionOperations;
+    private final int workers;
+    private final int maxAttempts;
+    private final Duration retryBackoff;
+    private final Duration staleAfter;
+
+    private final ExecutorService executor;
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    public IdealPhotoMixJobWorker(
+            IdealPhotoMixJobRepository idealPhotoMixJobRepository,
+            GroupRepository groupRepository,
+            IdealPhotoManager idealPhotoManager,
+            TransactionOperations transactionOperations,
+            @Value("${ideal-photo.mix-job.workers:4}") int workers,
+            @Value("${ideal-photo.mix-job.max-attempts:5}") int maxAttempts,
+            @Value("${ideal-photo.mix-job.retry-backoff:2s}") Duration retryBackoff,
+            @Value("${ideal-photo.mix-job.stale-after:1m}") Duration staleAfter
+    ) {
+        this.idealPhotoMixJobRepository = idealPhotoMixJobRepository;
+        this.groupRepository = groupRepository;
+        this.idealPhotoManager = idealPhotoManager;
+        this.transactionOperations = transactionOperations;
+        this.workers = workers;
+        this.maxAttempts = maxAttempts;
+        this.retryBackoff = retryBackoff;
+        this.staleAfter = staleAfter;
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(workers, runnable -> {
+            Thread thread = new Thread(runnable, "ideal-photo-mix-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${ideal-photo.mix-job.poll-interval:1000}")
+    public void poll() {
+        LocalDateTime now = LocalDateTime.now();
+        transactionOperations.executeWithoutResult(status -> idealPhotoMixJobRepository.releaseStale(now.minus(staleAfter)));
+
+        int capacity = workers - inFlight.get();
+        if (capacity <= 0) {
+            return;
+        }
+
+        List<Long> jobIds = idealPhotoMixJobRepository.findRunnableIds(now, PageRequest.of(0, capacity));
+        for (Long jobId : jobIds) {
+            Integer claimed = transactionOperations.execute(status -> idealPhotoMixJobRepository.claim(jobId, now));
+            if (claimed == null || claimed == 0) {
+                continue;   // 다른 서버가 먼저 선점
+            }
+
+            inFlight.incrementAndGet();
+            try {
+                executor.execute(() -> {
+                    try {
+                        process(jobId);
+                    } finally {
+                        inFlight.decrementAndGet();
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                // 종료 중이라 처리하지 못한 작업은 staleAfter 가 지나면 다시 PENDING 으로 돌아간다.
+                inFlight.decrementAndGet();
+                return;
+            }
+        }
+    }
+
+    /**
+     * 선점된 작업 하나를 처리한다.
+     */
+    public void process(Long jobId) {
+        IdealPhotoMixJob job = transactionOperations.execute(status -> idealPhotoMixJobRepository.findWithGroupById(jobId).orElse(null));
+        if (job == null || job.getStatus() != IdealPhotoMixJobStatus.RUNNING) {
+            return;
+        }
+        LocalDateTime lockedAt = job.getLockedAt();
+
+        final String idealPhoto;
+        try {
+            idealPhoto = mix(job.getGroup().getIdealPhoto(), job.getUserIdealPhoto());
+        } catch (RuntimeException e) {
+            fail(jobId, lockedAt, job.getAttempts(), e);
+            return;
+        }
+
+        // 선점한 뒤 staleAfter 가 지나 다른 처리기가 다시 가져간 작업이면, 그쪽에서 반영하도록 결과를 버린다.
+        transactionOperations.executeWithoutResult(status -> idealPhotoMixJobRepository.findWithGroupById(jobId).ifPresent(running -> {
+            if (!running.isRunningSince(lockedAt)) {
+                log.warn("IdealPhotoMixJob(id: {}) was released while mixing. Discarding the result", jobId);
+                return;
+            }
+
+            Group group = running.getGroup();
+            groupRepository.lockForUpdate(group);
+            group.setIdealPhoto(idealPhoto);
+            running.complete();
+        }));
+    }
+
+    /**
+     * 팀에 아직 이상형 사진이 없으면 합성 없이 유저의 사진을 그대로 쓴다.
+     */
+    private String mix(String groupIdealPhoto, String userIdealPhoto) {
+        if (groupIdealPhoto == null || groupIdealPhoto.isEmpty()) {
+            return userIdealPhoto;
+        }
+
+        MixedImageResponse mixed = idealPhotoManager.mixIdealPhotos(groupIdealPhoto, userIdealPhoto);
+        if (mixed == null || mixed.getImageURL() == null) {
+            throw new IllegalStateException("Empty response from the machine learning server");
+        }
+        return mixed.getImageURL();
+    }
+
+    private void fail(Long jobId, LocalDateTime lockedAt, int attempts, RuntimeException cause) {
+        log.warn("IdealPhotoMixJob(id: {}) failed on attempt {}: {}", jobId, attempts + 1, cause.toString());
+
+        LocalDateTime nextAttemptAt = LocalDateTime.now().plus(retryBackoff.multipliedBy(1L << Math.min(attempts, 10)));
+        transactionOperations.executeWithoutResult(status -> idealPhotoMixJobRepository.findById(jobId)
+                .filter(failed -> failed.isRunningSince(lockedAt))
+                .ifPresent(failed -> failed.fail(cause.toString(), maxAttempts, nextAttemptAt))
+        );
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        executor.shutdown();
+        executor.awaitTermination(30, TimeUnit.SECONDS);
+    }
+}
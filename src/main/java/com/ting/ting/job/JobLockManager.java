@@ -0,0 +1,99 @@
+package com.ting.ting.job;
+
+import com.ting.ting.domain.JobLock;
+import com.ting.ting.repository.JobLockRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * 여러 서버에 걸친 작업 잠금(job_lock 행)
+ * 잠금은 leaseTime 동안만 유효하므로 잠금을 잡은 서버가 내려가도 leaseTime 이 지나면 다른 서버가 가져간다.
+ * 작업이 leaseTime 보다 오래 걸리면 다른 서버가 같은 작업을 시작할 수 있으므로 leaseTime 은 작업 시간보다 넉넉하게 잡는다.
+ * 만료 시각은 각 서버의 시계로 계산하므로 서버 간 시계 차이만큼 잠금이 짧아지거나 길어질 수 있다.
+ */
+@Slf4j
+@Component
+public class JobLockManager {
+
+    private static final Duration RETRY_INTERVAL = Duration.ofSeconds(1);
+
+    private final JobLockRepository jobLockRepository;
+    private final TransactionOperations transactionOperations;
+    private final String owner;
+
+    public JobLockManager(
+            JobLockRepository jobLockRepository,
+            TransactionOperations transactionOperations,
+            @Value("${job-lock.owner:}") String owner
+    ) {
+        this.jobLockRepository = jobLockRepository;
+        this.transactionOperations = transactionOperations;
+        this.owner = owner.isEmpty() ? ManagementFactory.getRuntimeMXBean().getName() : owner;   // pid@hostname
+    }
+
+    /**
+     * 잠금을 가져오면 true, 다른 서버가 잡고 있으면 바로 false 를 반환한다.
+     */
+    public boolean tryLock(String name, Duration leaseTime) {
+        LocalDateTime now = LocalDateTime.now();
+        Integer acquired = transactionOperations.execute(status -> jobLockRepository.acquire(name, owner, now, now.plus(leaseTime)));
+        if (acquired != null && acquired == 1) {
+            return true;
+        }
+
+        // 처음 쓰는 잠금이라 행이 없는 경우. 여러 서버가 동시에 만들면 한 서버만 성공한다.
+        try {
+            return Boolean.TRUE.equals(transactionOperations.execute(status -> {
+                if (jobLockRepository.existsById(name)) {
+                    return false;
+                }
+                jobLockRepository.saveAndFlush(JobLock.of(name, now.plus(leaseTime), owner));
+                return true;
+            }));
+        } catch (DataIntegrityViolationException e) {
+            return false;
+        }
+    }
+
+    /**
+     * 잠금을 가져올 때까지 waitTime 동안 다시 시도한다.
+     */
+    public boolean lock(String name, Duration leaseTime, Duration waitTime) {
+        long deadline = System.nanoTime() + waitTime.toNanos();
+        while (!tryLock(name, leaseTime)) {
+            if (System.nanoTime() >= deadline) {
+                return false;
+            }
+            try {
+                Thread.sleep(RETRY_INTERVAL.toMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public void unlock(String name) {
+        unlock(name, Duration.ZERO);
+    }
+
+    /**
+     * 잠금을 풀되 holdFor 동안은 다른 서버가 가져가지 못하게 남겨 둔다.
+     * 한 서버가 실행하고 나면 한동안 다른 서버는 건너뛰어야 하는 작업(전체 재계산)에 쓴다.
+     */
+    public void unlock(String name, Duration holdFor) {
+        LocalDateTime now = LocalDateTime.now();
+        Integer released = transactionOperations.execute(status -> jobLockRepository.release(name, owner, now, now.plus(holdFor)));
+        if (released == null || released == 0) {
+            log.warn("JobLock({}) expired before {} released it. Increase its lease time", name, owner);
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.ting.ting.recommendation;
+
+/**
+ * 유저(viewer)에게 소개팅 상대(candidate)를 추천하는 점수 (0 ~ MAX_SCORE)
+ * 아래 항목을 각각 0 ~ 1 로 계산해 가중 합한다.
+ * - 학교, 전공: 같으면 1
+ * - 나이: 생년월일 차이가 0 이면 1, MAX_AGE_GAP_YEARS 년 이상이면 0
+ * - MBTI: 네 축 중 같은 축의 비율. 한 쪽이라도 입력하지 않았으면 0.5
+ * - 체형: 유저가 찜하거나 요청한 상대들의 평균 키, 몸무게(BlindPreference)와 가까울수록 1. 비교할 값이 없으면 0.5
+ * - 관심: 상대가 유저에게 요청했으면 1, 찜만 했으면 0.5
+ */
+final class BlindCompatibilityScorer {
+
+    static final int MAX_SCORE = 10_000;
+
+    private static final double SCHOOL_WEIGHT = 0.1;
+    private static final double MAJOR_WEIGHT = 0.05;
+    private static final double AGE_WEIGHT = 0.25;
+    private static final double MBTI_WEIGHT = 0.15;
+    private static final double BODY_WEIGHT = 0.2;
+    private static final double INTEREST_WEIGHT = 0.25;
+
+    private static final double MAX_AGE_GAP_DAYS = 6 * 365.25;
+    private static final double HEIGHT_TOLERANCE_CM = 15;
+    private static final double WEIGHT_TOLERANCE_KG = 15;
+    private static final int MBTI_AXES = 4;
+
+    private BlindCompatibilityScorer() {
+    }
+
+    /**
+     * viewers 의 viewerIndex 번째 유저에 대한 candidates 모든 행의 점수(관심 제외)를 scores 에 쓴다.
+     */
+    static void scoreAll(BlindUserFeatureTable viewers, int viewerIndex, BlindPreference preference, BlindUserFeatureTable candidates, int[] scores) {
+        int school = viewers.getSchools()[viewerIndex];
+        int major = viewers.getMajors()[viewerIndex];
+        int birthEpochDay = viewers.getBirthEpochDays()[viewerIndex];
+        byte mbti = viewers.getMbtis()[viewerIndex];
+        float preferredHeight = preference.getHeight();
+        float preferredWeight = preference.getWeight();
+
+        int[] schools = candidates.getSchools();
+        int[] majors = candidates.getMajors();
+        int[] birthEpochDays = candidates.getBirthEpochDays();
+        byte[] mbtis = candidates.getMbtis();
+        float[] heights = candidates.getHeights();
+        float[] weights = candidates.getWeights();
+
+        for (int i = 0; i < candidates.size(); i++) {
+            double score = (school == schools[i] ? SCHOOL_WEIGHT : 0)
+                    + (major == majors[i] ? MAJOR_WEIGHT : 0)
+                    + AGE_WEIGHT * closeness(birthEpochDay, birthEpochDays[i], MAX_AGE_GAP_DAYS)
+                    + MBTI_WEIGHT * mbtiScore(mbti, mbtis[i])
+                    + BODY_WEIGHT * bodyScore(preferredHeight, preferredWeight, heights[i], weights[i]);
+            scores[i] = toScore(score);
+        }
+    }
+
+    /**
+     * viewers 의 viewerIndex 번째 유저에 대한 candidates 의 candidateIndex 번째 유저의 점수(관심 제외)
+     */
+    static int score(BlindUserFeatureTable viewers, int viewerIndex, BlindPreference preference, BlindUserFeatureTable candidates, int candidateIndex) {
+        double score = (viewers.getSchools()[viewerIndex] == candidates.getSchools()[candidateIndex] ? SCHOOL_WEIGHT : 0)
+                + (viewers.getMajors()[viewerIndex] == candidates.getMajors()[candidateIndex] ? MAJOR_WEIGHT : 0)
+                + AGE_WEIGHT * closeness(viewers.getBirthEpochDays()[viewerIndex], candidates.getBirthEpochDays()[candidateIndex], MAX_AGE_GAP_DAYS)
+                + MBTI_WEIGHT * mbtiScore(viewers.getMbtis()[viewerIndex], candidates.getMbtis()[candidateIndex])
+                + BODY_WEIGHT * bodyScore(preference.getHeight(), preference.getWeight(), candidates.getHeights()[candidateIndex], candidates.getWeights()[candidateIndex]);
+        return toScore(score);
+    }
+
+    /**
+     * 상대가 유저에게 요청(requested)하거나 찜(liked)한 경우 점수에 더할 값
+     */
+    static int interestScore(boolean requested, boolean liked) {
+        return toScore(INTEREST_WEIGHT * (requested ? 1 : liked ? 0.5 : 0));
+    }
+
+    private static double mbtiScore(byte mbti, byte otherMbti) {
+        if (mbti == BlindUserFeatureTable.UNKNOWN_MBTI || otherMbti == BlindUserFeatureTable.UNKNOWN_MBTI) {
+            return 0.5;
+        }
+        return (double) (MBTI_AXES - Integer.bitCount(mbti ^ otherMbti)) / MBTI_AXES;
+    }
+
+    private static double bodyScore(float preferredHeight, float preferredWeight, float height, float weight) {
+        double sum = 0;
+        int count = 0;
+        if (!Float.isNaN(preferredHeight) && !Float.isNaN(height)) {
+            sum += closeness(preferredHeight, height, HEIGHT_TOLERANCE_CM);
+            count++;
+        }
+        if (!Float.isNaN(preferredWeight) && !Float.isNaN(weight)) {
+            sum += closeness(preferredWeight, weight, WEIGHT_TOLERANCE_KG);
+            count++;
+        }
+        return count == 0 ? 0.5 : sum / count;
+    }
+
+    /**
+     * 두 값이 같으면 1, tolerance 이상 차이 나면 0
+     */
+    private static double closeness(double value, double other, double tolerance) {
+        return Math.max(0, 1 - Math.abs(value - other) / tolerance);
+    }
+
+    private static int toScore(double score) {
+        return (int) Math.round(score * MAX_SCORE);
+    }
+}
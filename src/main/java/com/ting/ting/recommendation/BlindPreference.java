@@ -0,0 +1,59 @@
+package com.ting.ting.recommendation;
+
+import lombok.Getter;
+
+import java.util.Collection;
+
+/**
+ * 유저가 찜하거나 요청한 상대들의 평균 키와 몸무게
+ * 상대가 없거나 그 값을 입력한 상대가 없으면 NaN 이다.
+ */
+@Getter
+final class BlindPreference {
+
+    static final BlindPreference NONE = new BlindPreference(Float.NaN, Float.NaN);
+
+    private final float height;
+    private final float weight;
+
+    private BlindPreference(float height, float weight) {
+        this.height = height;
+        this.weight = weight;
+    }
+
+    /**
+     * @param targets targetIds 의 특성이 들어 있는 표. 표에 없는 id 는 건너뛴다.
+     */
+    static BlindPreference of(Collection<Long> targetIds, BlindUserFeatureTable targets) {
+        if (targetIds.isEmpty()) {
+            return NONE;
+        }
+
+        double heightSum = 0;
+        double weightSum = 0;
+        int heightCount = 0;
+        int weightCount = 0;
+        for (Long targetId : targetIds) {
+            int index = targets.indexOf(targetId);
+            if (index < 0) {
+                continue;
+            }
+
+            float height = targets.getHeights()[index];
+            if (!Float.isNaN(height)) {
+                heightSum += height;
+                heightCount++;
+            }
+            float weight = targets.getWeights()[index];
+            if (!Float.isNaN(weight)) {
+                weightSum += weight;
+                weightCount++;
+            }
+        }
+
+        return new BlindPreference(
+                heightCount > 0 ? (float) (heightSum / heightCount) : Float.NaN,
+                weightCount > 0 ? (float) (weightSum / weightCount) : Float.NaN
+        );
+    }
+}
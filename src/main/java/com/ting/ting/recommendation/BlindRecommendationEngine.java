@@ -0,0 +1,322 @@
+package com.ting.ting.recommendation;
+
+import com.ting.ting.domain.BlindRecommendation;
+import com.ting.ting.domain.User;
+import com.ting.ting.domain.constant.Gender;
+import com.ting.ting.domain.custom.BlindUserFeatures;
+import com.ting.ting.domain.custom.UserIdPair;
+import com.ting.ting.repository.BlindDateRepository;
+import com.ting.ting.repository.BlindLikeRepository;
+import com.ting.ting.repository.BlindRecommendationRepository;
+import com.ting.ting.repository.BlindRequestRepository;
+import com.ting.ting.repository.UserRepository;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * 유저별 소개팅 추천 목록(BlindRecommendation) 계산기
+ * 유저마다, 매칭되지 않은 이성 유저 중 BlindCompatibilityScorer 점수가 높은 topK 명을 저장한다.
+ * - rebuildAll: 모든 목록을 다시 계산한다. 찜, 요청 기록의 변화는 이때 반영된다.
+ * - refresh: 한 유저의 정보나 매칭이 바뀌었을 때 그 유저의 목록을 다시 계산하고, 다른 유저 목록에 이미 들어 있는 그 유저의 점수만 고친다.
+ *   새로 가입했거나 점수가 오른 유저가 다른 유저 목록에 들어가는 것은 다음 rebuildAll 에서 반영된다.
+ */
+@Slf4j
+@Component
+public class BlindRecommendationEngine {
+
+    private static final int IN_CLAUSE_SIZE = 1000;
+    private static final int USERS_PER_TRANSACTION = 100;
+    /** 매칭된 상대 등 추천하지 않는 행의 점수 */
+    private static final int EXCLUDED = -1;
+
+    private final UserRepository userRepository;
+    private final BlindLikeRepository blindLikeRepository;
+    private final BlindRequestRepository blindRequestRepository;
+    private final BlindDateRepository blindDateRepository;
+    private final BlindRecommendationRepository blindRecommendationRepository;
+    private final TransactionOperations transactionOperations;
+    private final int topK;
+
+    public BlindRecommendationEngine(
+            UserRepository userRepository,
+            BlindLikeRepository blindLikeRepository,
+            BlindRequestRepository blindRequestRepository,
+            BlindDateRepository blindDateRepository,
+            BlindRecommendationRepository blindRecommendationRepository,
+            TransactionOperations transactionOperations,
+            @Value("${blind.recommendation.top-k:50}") int topK
+    ) {
+        this.userRepository = userRepository;
+        this.blindLikeRepository = blindLikeRepository;
+        this.blindRequestRepository = blindRequestRepository;
+        this.blindDateRepository = blindDateRepository;
+        this.blindRecommendationRepository = blindRecommendationRepository;
+        this.transactionOperations = transactionOperations;
+        this.topK = topK;
+    }
+
+    public void rebuildAll() {
+        Map<String, Integer> codes = new HashMap<>();
+        Map<Gender, BlindUserFeatureTable> tablesByGender = new EnumMap<>(Gender.class);
+        for (Gender gender : Gender.values()) {
+            tablesByGender.put(gender, BlindUserFeatureTable.of(userRepository.findAllBlindFeaturesByGender(gender), codes));
+        }
+
+        int rebuilt = 0;
+        for (Gender gender : Gender.values()) {
+            BlindUserFeatureTable users = tablesByGender.get(gender);
+            BlindUserFeatureTable candidates = tablesByGender.get(gender.getOpposite());
+            int[] scores = new int[candidates.size()];
+
+            for (List<Long> chunk : chunks(idsOf(users), IN_CLAUSE_SIZE)) {
+                Signals signals = new Signals();
+                loadOutgoing(chunk, signals);
+                loadIncoming(chunk, signals);
+                loadMatched(chunk, gender, signals);
+
+                for (List<Long> batch : chunks(chunk, USERS_PER_TRANSACTION)) {
+                    Map<Long, List<ScoredUser>> recommendations = new HashMap<>();
+                    for (Long userId : batch) {
+                        recommendations.put(userId, topCandidates(users, users.indexOf(userId), candidates, signals, scores));
+                    }
+                    transactionOperations.executeWithoutResult(status -> replaceRecommendations(recommendations));
+                    rebuilt += batch.size();
+                }
+            }
+        }
+
+        log.info("Blind recommendations rebuilt for {} users", rebuilt);
+    }
+
+    public void refresh(Long userId) {
+        BlindUserFeatures features = userRepository.findBlindFeaturesById(userId).orElse(null);
+
+        // 탈퇴한 유저는 추천 목록도, 다른 유저 목록에 있을 자리도 없다.
+        if (features == null) {
+            transactionOperations.executeWithoutResult(status -> {
+                blindRecommendationRepository.deleteAllByUserIdIn(List.of(userId));
+                blindRecommendationRepository.deleteAllByCandidateUserId(userId);
+            });
+            return;
+        }
+
+        Map<String, Integer> codes = new HashMap<>();
+        BlindUserFeatureTable user = BlindUserFeatureTable.of(List.of(features), codes);
+        BlindUserFeatureTable candidates = BlindUserFeatureTable.of(userRepository.findAllBlindFeaturesByGender(features.getGender().getOpposite()), codes);
+
+        Signals signals = new Signals();
+        loadOutgoing(List.of(userId), signals);
+        loadIncoming(List.of(userId), signals);
+        loadMatched(List.of(userId), features.getGender(), signals);
+
+        List<ScoredUser> recommendations = topCandidates(user, 0, candidates, signals, new int[candidates.size()]);
+        Map<Long, Integer> scoreAsCandidateByUserId = scoreAsCandidate(features, signals, codes);
+
+        transactionOperations.executeWithoutResult(status -> {
+            blindRecommendationRepository.deleteAllByCandidateUserId(userId);
+            replaceRecommendations(Map.of(userId, recommendations));
+
+            User candidateUser = userRepository.getReferenceById(userId);
+            blindRecommendationRepository.saveAll(scoreAsCandidateByUserId.entrySet().stream()
+                    .map(entry -> BlindRecommendation.of(userRepository.getReferenceById(entry.getKey()), candidateUser, entry.getValue()))
+                    .collect(Collectors.toList()));
+        });
+    }
+
+    /**
+     * 추천 목록에 이 유저(candidate)가 들어 있는 유저별로 이 유저의 새 점수를 계산한다. 이 유저와 매칭된 유저는 뺀다.
+     */
+    private Map<Long, Integer> scoreAsCandidate(BlindUserFeatures candidate, Signals candidateSignals, Map<String, Integer> codes) {
+        List<Long> userIds = blindRecommendationRepository.findAllUserIdByCandidateUserId(candidate.getId()).stream()
+                .filter(userId -> !candidateSignals.matched(candidate.getId()).contains(userId))
+                .collect(Collectors.toList());
+        if (userIds.isEmpty()) {
+            return Map.of();
+        }
+
+        BlindUserFeatureTable users = BlindUserFeatureTable.of(findAllFeaturesByIds(userIds), codes);
+        Signals signals = new Signals();
+        loadOutgoing(userIds, signals);
+
+        // 유저들이 찜하거나 요청한 상대들과 이 유저를 한 표에 담는다.
+        Set<Long> targetIds = new HashSet<>();
+        for (Long userId : userIds) {
+            targetIds.addAll(signals.preferenceTargets(userId));
+        }
+        targetIds.remove(candidate.getId());
+        List<BlindUserFeatures> targetFeatures = new ArrayList<>(findAllFeaturesByIds(new ArrayList<>(targetIds)));
+        targetFeatures.add(candidate);
+        BlindUserFeatureTable targets = BlindUserFeatureTable.of(targetFeatures, codes);
+        int candidateIndex = targets.indexOf(candidate.getId());
+
+        Map<Long, Integer> scoreByUserId = new HashMap<>();
+        for (int i = 0; i < users.size(); i++) {
+            long userId = users.getIds()[i];
+            BlindPreference preference = BlindPreference.of(signals.preferenceTargets(userId), targets);
+            int score = BlindCompatibilityScorer.score(users, i, preference, targets, candidateIndex)
+                    + BlindCompatibilityScorer.interestScore(candidateSignals.requested(candidate.getId()).contains(userId), candidateSignals.liked(candidate.getId()).contains(userId));
+            scoreByUserId.put(userId, score);
+        }
+        return scoreByUserId;
+    }
+
+    /**
+     * 점수를 scores 에 모두 계산한 뒤 크기 topK 의 최소 힙으로 점수가 높은 topK 명만 남긴다.
+     * 같은 점수면 serving 순서(유저 id 오름차순)와 같도록 id 가 작은 쪽을 남긴다.
+     */
+    private List<ScoredUser> topCandidates(BlindUserFeatureTable users, int userIndex, BlindUserFeatureTable candidates, Signals signals, int[] scores) {
+        long userId = users.getIds()[userIndex];
+        BlindPreference preference = BlindPreference.of(signals.preferenceTargets(userId), candidates);
+        BlindCompatibilityScorer.scoreAll(users, userIndex, preference, candidates, scores);
+
+        Set<Long> interestedUserIds = new HashSet<>(signals.requestedBy(userId));
+        interestedUserIds.addAll(signals.likedBy(userId));
+        for (Long interestedUserId : interestedUserIds) {
+            int index = candidates.indexOf(interestedUserId);
+            if (index >= 0) {
+                scores[index] += BlindCompatibilityScorer.interestScore(signals.requestedBy(userId).contains(interestedUserId), signals.likedBy(userId).contains(interestedUserId));
+            }
+        }
+        for (Long matchedUserId : signals.matched(userId)) {
+            int index = candidates.indexOf(matchedUserId);
+            if (index >= 0) {
+                scores[index] = EXCLUDED;
+            }
+        }
+
+        long[] candidateIds = candidates.getIds();
+        PriorityQueue<ScoredUser> top = new PriorityQueue<>(topK + 1, Comparator.comparingInt(ScoredUser::getScore)
+                .thenComparing(Comparator.comparingLong(ScoredUser::getUserId).reversed()));
+        for (int i = 0; i < scores.length; i++) {
+            if (scores[i] == EXCLUDED) {
+                continue;
+            }
+            // id 오름차순으로 도므로 점수가 최저 점수보다 높을 때만 바뀐다. 대부분의 행은 객체를 만들지 않고 지나간다.
+            if (top.size() < topK) {
+                top.offer(new ScoredUser(candidateIds[i], scores[i]));
+            } else if (scores[i] > top.peek().getScore()) {
+                top.poll();
+                top.offer(new ScoredUser(candidateIds[i], scores[i]));
+            }
+        }
+        return new ArrayList<>(top);
+    }
+
+    private void replaceRecommendations(Map<Long, List<ScoredUser>> recommendationsByUserId) {
+        blindRecommendationRepository.deleteAllByUserIdIn(recommendationsByUserId.keySet());
+
+        List<BlindRecommendation> recommendations = new ArrayList<>();
+        recommendationsByUserId.forEach((userId, scoredUsers) -> {
+            User user = userRepository.getReferenceById(userId);
+            for (ScoredUser scoredUser : scoredUsers) {
+                recommendations.add(BlindRecommendation.of(user, userRepository.getReferenceById(scoredUser.getUserId()), scoredUser.getScore()));
+            }
+        });
+        blindRecommendationRepository.saveAll(recommendations);
+    }
+
+    private void loadOutgoing(List<Long> userIds, Signals signals) {
+        for (List<Long> chunk : chunks(userIds, IN_CLAUSE_SIZE)) {
+            blindLikeRepository.findAllUserIdPairByFromUserIdIn(chunk).forEach(pair -> add(signals.likedUserIds, pair.getFromUserId(), pair.getToUserId()));
+            blindRequestRepository.findAllUserIdPairByFromUserIdIn(chunk).forEach(pair -> add(signals.requestedUserIds, pair.getFromUserId(), pair.getToUserId()));
+        }
+    }
+
+    private void loadIncoming(List<Long> userIds, Signals signals) {
+        for (List<Long> chunk : chunks(userIds, IN_CLAUSE_SIZE)) {
+            blindLikeRepository.findAllUserIdPairByToUserIdIn(chunk).forEach(pair -> add(signals.likedByUserIds, pair.getToUserId(), pair.getFromUserId()));
+            blindRequestRepository.findAllUserIdPairByToUserIdIn(chunk).forEach(pair -> add(signals.requestedByUserIds, pair.getToUserId(), pair.getFromUserId()));
+        }
+    }
+
+    private void loadMatched(List<Long> userIds, Gender gender, Signals signals) {
+        for (List<Long> chunk : chunks(userIds, IN_CLAUSE_SIZE)) {
+            List<UserIdPair> pairs = gender == Gender.MEN ? blindDateRepository.findAllUserIdPairByMenUserIdIn(chunk) : blindDateRepository.findAllUserIdPairByWomenUserIdIn(chunk);
+            pairs.forEach(pair -> add(signals.matchedUserIds, pair.getFromUserId(), pair.getToUserId()));
+        }
+    }
+
+    private List<BlindUserFeatures> findAllFeaturesByIds(List<Long> userIds) {
+        List<BlindUserFeatures> features = new ArrayList<>();
+        for (List<Long> chunk : chunks(userIds, IN_CLAUSE_SIZE)) {
+            features.addAll(userRepository.findAllBlindFeaturesByIdIn(chunk));
+        }
+        return features;
+    }
+
+    private static void add(Map<Long, Set<Long>> userIdsByUserId, Long userId, Long otherUserId) {
+        userIdsByUserId.computeIfAbsent(userId, id -> new HashSet<>()).add(otherUserId);
+    }
+
+    private static List<Long> idsOf(BlindUserFeatureTable table) {
+        return Arrays.stream(table.getIds()).boxed().collect(Collectors.toList());
+    }
+
+    private static <T> List<List<T>> chunks(List<T> list, int size) {
+        List<List<T>> chunks = new ArrayList<>();
+        for (int from = 0; from < list.size(); from += size) {
+            chunks.add(list.subList(from, Math.min(from + size, list.size())));
+        }
+        return chunks;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    private static final class ScoredUser {
+
+        private final long userId;
+        private final int score;
+    }
+
+    /**
+     * 유저들의 찜, 요청, 매칭 기록
+     */
+    private static final class Signals {
+
+        /** 유저가 찜한 상대 */
+        private final Map<Long, Set<Long>> likedUserIds = new HashMap<>();
+        /** 유저가 요청한 상대 */
+        private final Map<Long, Set<Long>> requestedUserIds = new HashMap<>();
+        /** 유저를 찜한 상대 */
+        private final Map<Long, Set<Long>> likedByUserIds = new HashMap<>();
+        /** 유저에게 요청한 상대 */
+        private final Map<Long, Set<Long>> requestedByUserIds = new HashMap<>();
+        private final Map<Long, Set<Long>> matchedUserIds = new HashMap<>();
+
+        Set<Long> liked(Long userId) {
+            return likedUserIds.getOrDefault(userId, Set.of());
+        }
+
+        Set<Long> requested(Long userId) {
+            return requestedUserIds.getOrDefault(userId, Set.of());
+        }
+
+        Set<Long> likedBy(Long userId) {
+            return likedByUserIds.getOrDefault(userId, Set.of());
+        }
+
+        Set<Long> requestedBy(Long userId) {
+            return requestedByUserIds.getOrDefault(userId, Set.of());
+        }
+
+        Set<Long> matched(Long userId) {
+            return matchedUserIds.getOrDefault(userId, Set.of());
+        }
+
+        /**
+         * 체형 선호(BlindPreference)를 계산할 상대: 찜하거나 요청한 상대
+         */
+        Set<Long> preferenceTargets(Long userId) {
+            Set<Long> targets = new HashSet<>(liked(userId));
+            targets.addAll(requested(userId));
+            return targets;
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.ting.ting.recommendation;
+
+import com.ting.ting.domain.constant.MBTI;
+import com.ting.ting.domain.custom.BlindUserFeatures;
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 소개팅 추천 점수 계산에 쓰는 유저 특성 표 (id 오름차순)
+ * 한 유저와 수만 명의 상대를 비교하는 루프가 연속된 메모리를 순서대로 읽도록, 유저별 객체 대신 속성별 기본형 배열에 담는다.
+ * 학교와 전공은 표끼리 공유하는 codes 로 int 코드로 바꿔 문자열 비교 없이 비교한다.
+ */
+@Getter
+final class BlindUserFeatureTable {
+
+    /** MBTI 를 입력하지 않은 유저 */
+    static final byte UNKNOWN_MBTI = -1;
+
+    private static final char[] MBTI_AXES = {'E', 'N', 'T', 'J'};
+
+    private final long[] ids;
+    private final int[] schools;
+    private final int[] majors;
+    private final int[] birthEpochDays;
+    /** E, N, T, J 인 축의 비트 */
+    private final byte[] mbtis;
+    /** 입력하지 않았으면 NaN */
+    private final float[] heights;
+    /** 입력하지 않았으면 NaN */
+    private final float[] weights;
+
+    private BlindUserFeatureTable(int size) {
+        this.ids = new long[size];
+        this.schools = new int[size];
+        this.majors = new int[size];
+        this.birthEpochDays = new int[size];
+        this.mbtis = new byte[size];
+        this.heights = new float[size];
+        this.weights = new float[size];
+    }
+
+    static BlindUserFeatureTable of(List<BlindUserFeatures> features, Map<String, Integer> codes) {
+        List<BlindUserFeatures> sorted = new ArrayList<>(features);
+        sorted.sort(Comparator.comparing(BlindUserFeatures::getId));
+
+        BlindUserFeatureTable table = new BlindUserFeatureTable(sorted.size());
+        for (int i = 0; i < sorted.size(); i++) {
+            BlindUserFeatures user = sorted.get(i);
+            table.ids[i] = user.getId();
+            table.schools[i] = codeOf(user.getSchool(), codes);
+            table.majors[i] = codeOf(user.getMajor(), codes);
+            table.birthEpochDays[i] = (int) user.getBirth().toEpochDay();
+            table.mbtis[i] = mbtiBitsOf(user.getMbti());
+            table.heights[i] = user.getHeight() != null ? user.getHeight() : Float.NaN;
+            table.weights[i] = user.getWeight() != null ? user.getWeight() : Float.NaN;
+        }
+        return table;
+    }
+
+    int size() {
+        return ids.length;
+    }
+
+    /**
+     * id 인 유저의 행 번호. 없으면 음수
+     */
+    int indexOf(long id) {
+        return Arrays.binarySearch(ids, id);
+    }
+
+    private static int codeOf(String value, Map<String, Integer> codes) {
+        return codes.computeIfAbsent(value, key -> codes.size());
+    }
+
+    private static byte mbtiBitsOf(MBTI mbti) {
+        if (mbti == null) {
+            return UNKNOWN_MBTI;
+        }
+
+        String letters = mbti.name();
+        byte bits = 0;
+        for (int axis = 0; axis < MBTI_AXES.length; axis++) {
+            if (letters.charAt(axis) == MBTI_AXES[axis]) {
+                bits |= 1 << axis;
+            }
+        }
+        return bits;
+    }
+}
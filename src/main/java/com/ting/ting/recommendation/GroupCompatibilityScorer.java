@@ -0,0 +1,70 @@
+package com.ting.ting.recommendation;
+
+import java.util.Objects;
+
+/**
+ * 팀(group)에게 과팅 상대 팀(candidate)을 추천하는 점수 (0 ~ MAX_SCORE)
+ * 아래 항목을 각각 0 ~ 1 로 계산해 가중 합한다.
+ * - 학교: 같은 학교면 1. 학교 위치 정보가 없어 같은 학교인지로 가까움을 대신한다.
+ * - 나이: 두 팀 멤버 평균 생년월일의 차이가 0 이면 1, MAX_AGE_GAP_YEARS 년 이상이면 0
+ * - MBTI: 두 팀 멤버의 축(E/I, N/S, T/F, J/P)별 비율이 비슷할수록 1. 한 팀이라도 MBTI 를 입력한 멤버가 없으면 0.5
+ * - 찜: 두 팀 멤버가 서로를 찜한 수의 합 / (2 * 팀 정원)
+ * - 최신: 상대 팀이 만들어진 지 FRESHNESS_HALF_LIFE_DAYS 일이 지날 때마다 절반
+ */
+final class GroupCompatibilityScorer {
+
+    static final int MAX_SCORE = 10_000;
+
+    private static final double SCHOOL_WEIGHT = 0.2;
+    private static final double AGE_WEIGHT = 0.3;
+    private static final double MBTI_WEIGHT = 0.15;
+    private static final double LIKE_WEIGHT = 0.25;
+    private static final double FRESHNESS_WEIGHT = 0.1;
+
+    private static final double MAX_AGE_GAP_YEARS = 10;
+    private static final double DAYS_PER_YEAR = 365.25;
+    private static final double FRESHNESS_HALF_LIFE_DAYS = 7;
+
+    private GroupCompatibilityScorer() {
+    }
+
+    /**
+     * @param mutualLikeCount 두 팀 멤버가 서로를 찜한 수의 합
+     */
+    static int score(GroupProfile group, GroupProfile candidate, int mutualLikeCount, long todayEpochDay) {
+        double score = SCHOOL_WEIGHT * schoolScore(group, candidate)
+                + AGE_WEIGHT * ageScore(group, candidate)
+                + MBTI_WEIGHT * mbtiScore(group, candidate)
+                + LIKE_WEIGHT * Math.min(1.0, mutualLikeCount / (2.0 * candidate.getMemberSizeLimit()))
+                + FRESHNESS_WEIGHT * Math.pow(0.5, Math.max(0, todayEpochDay - candidate.getCreatedEpochDay()) / FRESHNESS_HALF_LIFE_DAYS);
+
+        return (int) Math.round(score * MAX_SCORE);
+    }
+
+    private static double schoolScore(GroupProfile group, GroupProfile candidate) {
+        return Objects.equals(group.getSchool(), candidate.getSchool()) ? 1 : 0;
+    }
+
+    private static double ageScore(GroupProfile group, GroupProfile candidate) {
+        if (Double.isNaN(group.getAverageBirthEpochDay()) || Double.isNaN(candidate.getAverageBirthEpochDay())) {
+            return 0;
+        }
+
+        double gapYears = Math.abs(group.getAverageBirthEpochDay() - candidate.getAverageBirthEpochDay()) / DAYS_PER_YEAR;
+        return Math.max(0, 1 - gapYears / MAX_AGE_GAP_YEARS);
+    }
+
+    private static double mbtiScore(GroupProfile group, GroupProfile candidate) {
+        double[] groupShares = group.getMbtiShares();
+        double[] candidateShares = candidate.getMbtiShares();
+        if (groupShares == null || candidateShares == null) {
+            return 0.5;
+        }
+
+        double difference = 0;
+        for (int axis = 0; axis < groupShares.length; axis++) {
+            difference += Math.abs(groupShares[axis] - candidateShares[axis]);
+        }
+        return 1 - difference / groupShares.length;
+    }
+}
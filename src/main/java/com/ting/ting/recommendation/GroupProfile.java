@@ -0,0 +1,68 @@
+package com.ting.ting.recommendation;
+
+import com.ting.ting.domain.constant.Gender;
+import com.ting.ting.domain.constant.MBTI;
+import com.ting.ting.domain.custom.GroupFeatures;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * 추천 점수 계산에 쓰는 팀 특성. GroupFeatures 와 멤버들의 MBTI 로 만든다.
+ */
+@Getter
+final class GroupProfile {
+
+    private static final char[] MBTI_AXES = {'E', 'N', 'T', 'J'};
+
+    private final Long id;
+    private final Gender gender;
+    private final int memberSizeLimit;
+    private final String school;
+    /** 과팅 상대로 추천할 수 있는 팀 (정원이 찼고 매칭되지 않음) */
+    private final boolean dateable;
+    /** 멤버 생년월일(epoch day) 평균. 멤버가 없으면 NaN */
+    private final double averageBirthEpochDay;
+    /** MBTI 를 입력한 멤버 중 E, N, T, J 인 비율. 입력한 멤버가 없으면 null */
+    private final double[] mbtiShares;
+    private final long createdEpochDay;
+
+    private GroupProfile(Long id, Gender gender, int memberSizeLimit, String school, boolean dateable, double averageBirthEpochDay, double[] mbtiShares, long createdEpochDay) {
+        this.id = id;
+        this.gender = gender;
+        this.memberSizeLimit = memberSizeLimit;
+        this.school = school;
+        this.dateable = dateable;
+        this.averageBirthEpochDay = averageBirthEpochDay;
+        this.mbtiShares = mbtiShares;
+        this.createdEpochDay = createdEpochDay;
+    }
+
+    static GroupProfile of(GroupFeatures features, List<MBTI> mbtisOfMembers) {
+        double averageBirthEpochDay = features.getMemberCount() > 0 ? (double) features.getMemberBirthSum() / features.getMemberCount() : Double.NaN;
+        long createdEpochDay = features.getCreatedAt() != null ? features.getCreatedAt().toLocalDate().toEpochDay() : 0;
+
+        return new GroupProfile(features.getId(), features.getGender(), features.getMemberSizeLimit(), features.getSchool(), !features.isJoinable() && !features.isMatched(),
+                averageBirthEpochDay, mbtiSharesOf(mbtisOfMembers), createdEpochDay);
+    }
+
+    private static double[] mbtiSharesOf(List<MBTI> mbtis) {
+        if (mbtis.isEmpty()) {
+            return null;
+        }
+
+        double[] shares = new double[MBTI_AXES.length];
+        for (MBTI mbti : mbtis) {
+            String letters = mbti.name();
+            for (int axis = 0; axis < MBTI_AXES.length; axis++) {
+                if (letters.charAt(axis) == MBTI_AXES[axis]) {
+                    shares[axis]++;
+                }
+            }
+        }
+        for (int axis = 0; axis < shares.length; axis++) {
+            shares[axis] /= mbtis.size();
+        }
+        return shares;
+    }
+}
@@ -0,0 +1,254 @@
+package com.ting.ting.recommendation;
+
+import com.ting.ting.domain.Group;
+import com.ting.ting.domain.GroupRecommendation;
+import com.ting.ting.domain.constant.Gender;
+import com.ting.ting.domain.constant.MBTI;
+import com.ting.ting.domain.custom.GroupFeatures;
+import com.ting.ting.domain.custom.GroupIdPairWithLikeCount;
+import com.ting.ting.domain.custom.GroupIdWithMbti;
+import com.ting.ting.domain.custom.GroupRecommendationStat;
+import com.ting.ting.repository.GroupLikeToDateCountRepository;
+import com.ting.ting.repository.GroupMemberRepository;
+import com.ting.ting.repository.GroupRecommendationRepository;
+import com.ting.ting.repository.GroupRepository;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.time.LocalDate;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * 팀별 과팅 추천 목록(GroupRecommendation) 계산기
+ * 매칭되지 않은 팀마다, 정원이 같고 성별이 다른 과팅 가능한 팀 중 GroupCompatibilityScorer 점수가 높은 topK 개를 저장한다.
+ * - rebuildAll: 모든 목록을 다시 계산한다. 찜 수, 멤버 구성, 최신 점수의 변화는 이때 반영된다.
+ * - refresh: 한 팀의 상태가 바뀌었을 때 그 팀의 목록과, 다른 팀 목록 안의 그 팀만 고친다.
+ *   목록에서 빠진 자리는 채우지 않고, 새로 들어간 팀 때문에 topK 개를 넘은 목록도 다음 rebuildAll 에서 topK 개로 맞춰진다.
+ */
+@Slf4j
+@Component
+public class GroupRecommendationEngine {
+
+    private static final int MIN_MEMBER_SIZE_LIMIT = 2;
+    private static final int MAX_MEMBER_SIZE_LIMIT = 6;
+    private static final int IN_CLAUSE_SIZE = 1000;
+    private static final int GROUPS_PER_TRANSACTION = 100;
+
+    /** 같은 점수면 serving 순서(팀 id 오름차순)와 같도록 id 가 큰 쪽을 낮게 본다. */
+    private static final Comparator<ScoredGroup> LOWEST_FIRST = Comparator.comparingInt(ScoredGroup::getScore)
+            .thenComparing(Comparator.comparingLong(ScoredGroup::getGroupId).reversed());
+
+    private final GroupRepository groupRepository;
+    private final GroupMemberRepository groupMemberRepository;
+    private final GroupLikeToDateCountRepository groupLikeToDateCountRepository;
+    private final GroupRecommendationRepository groupRecommendationRepository;
+    private final TransactionOperations transactionOperations;
+    private final int topK;
+
+    public GroupRecommendationEngine(
+            GroupRepository groupRepository,
+            GroupMemberRepository groupMemberRepository,
+            GroupLikeToDateCountRepository groupLikeToDateCountRepository,
+            GroupRecommendationRepository groupRecommendationRepository,
+            TransactionOperations transactionOperations,
+            @Value("${group.recommendation.top-k:50}") int topK
+    ) {
+        this.groupRepository = groupRepository;
+        this.groupMemberRepository = groupMemberRepository;
+        this.groupLikeToDateCountRepository = groupLikeToDateCountRepository;
+        this.groupRecommendationRepository = groupRecommendationRepository;
+        this.transactionOperations = transactionOperations;
+        this.topK = topK;
+    }
+
+    public void rebuildAll() {
+        long todayEpochDay = LocalDate.now().toEpochDay();
+        int rebuilt = 0;
+
+        for (int memberSizeLimit = MIN_MEMBER_SIZE_LIMIT; memberSizeLimit <= MAX_MEMBER_SIZE_LIMIT; memberSizeLimit++) {
+            Map<Gender, List<GroupFeatures>> featuresByGender = new EnumMap<>(Gender.class);
+            for (Gender gender : Gender.values()) {
+                featuresByGender.put(gender, groupRepository.findAllUnmatchedFeaturesByGenderAndMemberSizeLimit(gender, memberSizeLimit));
+            }
+
+            List<Long> groupIds = featuresByGender.values().stream().flatMap(List::stream).map(GroupFeatures::getId).collect(Collectors.toList());
+            Map<Long, List<MBTI>> mbtisByGroupId = loadMbtis(groupIds);
+            LikeCounts likeCounts = new LikeCounts();
+            for (List<Long> chunk : chunks(groupIds, IN_CLAUSE_SIZE)) {
+                likeCounts.addAll(groupLikeToDateCountRepository.findAllLikeCountByFromGroupIdIn(chunk));
+            }
+
+            Map<Gender, List<GroupProfile>> profilesByGender = new EnumMap<>(Gender.class);
+            featuresByGender.forEach((gender, features) -> profilesByGender.put(gender, profilesOf(features, mbtisByGroupId)));
+
+            for (Gender gender : Gender.values()) {
+                List<GroupProfile> candidates = dateableOf(profilesByGender.get(gender.getOpposite()));
+                for (List<GroupProfile> chunk : chunks(profilesByGender.get(gender), GROUPS_PER_TRANSACTION)) {
+                    Map<Long, List<ScoredGroup>> recommendations = chunk.stream()
+                            .collect(Collectors.toMap(GroupProfile::getId, group -> topCandidates(group, candidates, likeCounts, todayEpochDay)));
+                    transactionOperations.executeWithoutResult(status -> replaceRecommendations(recommendations));
+                    rebuilt += chunk.size();
+                }
+            }
+        }
+
+        log.info("Group recommendations rebuilt for {} groups", rebuilt);
+    }
+
+    public void refresh(Long groupId) {
+        GroupFeatures features = groupRepository.findFeaturesById(groupId).orElse(null);
+        if (features == null) {
+            return;
+        }
+
+        // 매칭된 팀은 추천 목록도, 다른 팀 목록에 있을 자리도 없다.
+        if (features.isMatched()) {
+            transactionOperations.executeWithoutResult(status -> {
+                groupRecommendationRepository.deleteAllByGroupIdIn(List.of(groupId));
+                groupRecommendationRepository.deleteAllByCandidateGroupId(groupId);
+            });
+            return;
+        }
+
+        long todayEpochDay = LocalDate.now().toEpochDay();
+        List<GroupFeatures> othersFeatures = groupRepository.findAllUnmatchedFeaturesByGenderAndMemberSizeLimit(features.getGender().getOpposite(), features.getMemberSizeLimit());
+        List<Long> otherIds = othersFeatures.stream().map(GroupFeatures::getId).collect(Collectors.toList());
+
+        List<Long> groupIds = new ArrayList<>(otherIds);
+        groupIds.add(groupId);
+        Map<Long, List<MBTI>> mbtisByGroupId = loadMbtis(groupIds);
+
+        LikeCounts likeCounts = new LikeCounts();
+        likeCounts.addAll(groupLikeToDateCountRepository.findAllLikeCountByFromGroupIdIn(List.of(groupId)));
+        for (List<Long> chunk : chunks(otherIds, IN_CLAUSE_SIZE)) {
+            likeCounts.addAll(groupLikeToDateCountRepository.findAllLikeCountByFromGroupIdInAndToGroupId(chunk, groupId));
+        }
+
+        GroupProfile group = GroupProfile.of(features, mbtisByGroupId.getOrDefault(groupId, List.of()));
+        List<GroupProfile> others = profilesOf(othersFeatures, mbtisByGroupId);
+        List<ScoredGroup> recommendations = topCandidates(group, dateableOf(others), likeCounts, todayEpochDay);
+        Map<Long, Integer> scoreAsCandidateByGroupId = !group.isDateable() ? Map.of() : others.stream()
+                .collect(Collectors.toMap(GroupProfile::getId, other -> GroupCompatibilityScorer.score(other, group, likeCounts.mutual(other.getId(), groupId), todayEpochDay)));
+
+        transactionOperations.executeWithoutResult(status -> {
+            groupRecommendationRepository.deleteAllByCandidateGroupId(groupId);
+            replaceRecommendations(Map.of(groupId, recommendations));
+            addAsCandidate(groupId, scoreAsCandidateByGroupId);
+        });
+    }
+
+    /**
+     * 목록이 topK 개보다 짧거나 목록의 최저 점수보다 높은 팀의 목록에만 넣는다.
+     */
+    private void addAsCandidate(Long candidateGroupId, Map<Long, Integer> scoreByGroupId) {
+        if (scoreByGroupId.isEmpty()) {
+            return;
+        }
+
+        Map<Long, GroupRecommendationStat> statByGroupId = new HashMap<>();
+        for (List<Long> chunk : chunks(new ArrayList<>(scoreByGroupId.keySet()), IN_CLAUSE_SIZE)) {
+            groupRecommendationRepository.findAllStatByGroupIdIn(chunk).forEach(stat -> statByGroupId.put(stat.getGroupId(), stat));
+        }
+
+        Group candidateGroup = groupRepository.getReferenceById(candidateGroupId);
+        List<GroupRecommendation> added = new ArrayList<>();
+        scoreByGroupId.forEach((groupId, score) -> {
+            GroupRecommendationStat stat = statByGroupId.get(groupId);
+            if (stat == null || stat.getCandidateCount() < topK || score > stat.getMinScore()) {
+                added.add(GroupRecommendation.of(groupRepository.getReferenceById(groupId), candidateGroup, score));
+            }
+        });
+        groupRecommendationRepository.saveAll(added);
+    }
+
+    private void replaceRecommendations(Map<Long, List<ScoredGroup>> recommendationsByGroupId) {
+        groupRecommendationRepository.deleteAllByGroupIdIn(recommendationsByGroupId.keySet());
+
+        List<GroupRecommendation> recommendations = new ArrayList<>();
+        recommendationsByGroupId.forEach((groupId, scoredGroups) -> {
+            Group group = groupRepository.getReferenceById(groupId);
+            for (ScoredGroup scoredGroup : scoredGroups) {
+                recommendations.add(GroupRecommendation.of(group, groupRepository.getReferenceById(scoredGroup.getGroupId()), scoredGroup.getScore()));
+            }
+        });
+        groupRecommendationRepository.saveAll(recommendations);
+    }
+
+    /**
+     * 크기 topK 의 최소 힙으로 점수가 높은 topK 개만 남긴다.
+     */
+    private List<ScoredGroup> topCandidates(GroupProfile group, List<GroupProfile> candidates, LikeCounts likeCounts, long todayEpochDay) {
+        PriorityQueue<ScoredGroup> top = new PriorityQueue<>(topK + 1, LOWEST_FIRST);
+        for (GroupProfile candidate : candidates) {
+            int score = GroupCompatibilityScorer.score(group, candidate, likeCounts.mutual(group.getId(), candidate.getId()), todayEpochDay);
+            top.offer(new ScoredGroup(candidate.getId(), score));
+            if (top.size() > topK) {
+                top.poll();
+            }
+        }
+        return new ArrayList<>(top);
+    }
+
+    private Map<Long, List<MBTI>> loadMbtis(List<Long> groupIds) {
+        Map<Long, List<MBTI>> mbtisByGroupId = new HashMap<>();
+        for (List<Long> chunk : chunks(groupIds, IN_CLAUSE_SIZE)) {
+            for (GroupIdWithMbti row : groupMemberRepository.findAllGroupIdAndMbtiByGroupIdIn(chunk)) {
+                mbtisByGroupId.computeIfAbsent(row.getGroupId(), id -> new ArrayList<>()).add(row.getMbti());
+            }
+        }
+        return mbtisByGroupId;
+    }
+
+    private static List<GroupProfile> profilesOf(List<GroupFeatures> features, Map<Long, List<MBTI>> mbtisByGroupId) {
+        return features.stream()
+                .map(feature -> GroupProfile.of(feature, mbtisByGroupId.getOrDefault(feature.getId(), List.of())))
+                .collect(Collectors.toList());
+    }
+
+    private static List<GroupProfile> dateableOf(List<GroupProfile> profiles) {
+        return profiles.stream().filter(GroupProfile::isDateable).collect(Collectors.toList());
+    }
+
+    private static <T> List<List<T>> chunks(List<T> list, int size) {
+        List<List<T>> chunks = new ArrayList<>();
+        for (int from = 0; from < list.size(); from += size) {
+            chunks.add(list.subList(from, Math.min(from + size, list.size())));
+        }
+        return chunks;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    private static final class ScoredGroup {
+
+        private final long groupId;
+        private final int score;
+    }
+
+    /**
+     * 팀(fromGroup) 멤버들이 다른 팀(toGroup)을 찜한 수
+     */
+    private static final class LikeCounts {
+
+        private final Map<Long, Map<Long, Integer>> likeCountByToGroupIdByFromGroupId = new HashMap<>();
+
+        void addAll(List<GroupIdPairWithLikeCount> rows) {
+            for (GroupIdPairWithLikeCount row : rows) {
+                likeCountByToGroupIdByFromGroupId.computeIfAbsent(row.getFromGroupId(), id -> new HashMap<>()).put(row.getToGroupId(), row.getLikeCount());
+            }
+        }
+
+        int mutual(Long groupId, Long otherGroupId) {
+            return get(groupId, otherGroupId) + get(otherGroupId, groupId);
+        }
+
+        private int get(Long fromGroupId, Long toGroupId) {
+            return likeCountByToGroupIdByFromGroupId.getOrDefault(fromGroupId, Map.of()).getOrDefault(toGroupId, 0);
+        }
+    }
+}
@@ -2,10 +2,13 @@ package com.ting.ting.repository;
 
 import com.ting.ting.domain.BlindDate;
 import com.ting.ting.domain.User;
+import com.ting.ting.domain.custom.UserIdPair;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Set;
 
 public interface BlindDateRepository extends JpaRepository<BlindDate, Long> {
@@ -15,4 +18,19 @@ public interface BlindDateRepository extends JpaRepository<BlindDate, Long> {
 
     @Query(value = "SELECT bd FROM BlindDate bd WHERE bd.menUser = :fromUser OR bd.womenUser = :fromUser")
     Set<BlindDate> getByMyMatchedUsers(@Param("fromUser") User user);
+
+    @Query(value = "SELECT CASE WHEN bd.menUser.id = :userId THEN bd.womenUser.id ELSE bd.menUser.id END FROM BlindDate bd WHERE bd.menUser.id = :userId OR bd.womenUser.id = :userId")
+    List<Long> findAllMatchedUserIdByUserId(@Param("userId") Long userId);
+
+    /**
+     * 남자 유저(menUserIds)가 맺은 매칭을 (남자, 여자) 순서로 반환한다.
+     */
+    @Query(value = "SELECT new com.ting.ting.domain.custom.UserIdPair(bd.menUser.id, bd.womenUser.id) FROM BlindDate bd WHERE bd.menUser.id IN :menUserIds")
+    List<UserIdPair> findAllUserIdPairByMenUserIdIn(@Param("menUserIds") Collection<Long> menUserIds);
+
+    /**
+     * 여자 유저(womenUserIds)가 맺은 매칭을 (여자, 남자) 순서로 반환한다.
+     */
+    @Query(value = "SELECT new com.ting.ting.domain.custom.UserIdPair(bd.womenUser.id, bd.menUser.id) FROM BlindDate bd WHERE bd.womenUser.id IN :womenUserIds")
+    List<UserIdPair> findAllUserIdPairByWomenUserIdIn(@Param("womenUserIds") Collection<Long> womenUserIds);
 }
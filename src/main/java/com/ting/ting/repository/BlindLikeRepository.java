@@ -2,8 +2,14 @@ package com.ting.ting.repository;
 
 import com.ting.ting.domain.BlindLike;
 import com.ting.ting.domain.User;
+import com.ting.ting.domain.custom.UserIdPair;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 
@@ -16,4 +22,20 @@ public interface BlindLikeRepository extends JpaRepository<BlindLike, Long> {
     Optional<BlindLike> findByFromUser_IdAndToUser_Id(long userId, long toUserId);
 
     Set<BlindLike> findAllByFromUser(User user);
+
+    @Query(value = "select entity.toUser.id from BlindLike entity where entity.fromUser.id = :userId")
+    List<Long> findAllToUserIdByFromUserId(@Param("userId") Long userId);
+
+    @Query(value = "select entity.toUser.id from BlindLike entity where entity.fromUser.id = :userId and entity.toUser.id in :toUserIds")
+    List<Long> findAllToUserIdByFromUserIdAndToUserIdIn(@Param("userId") Long userId, @Param("toUserIds") Collection<Long> toUserIds);
+
+    @Query(value = "select new com.ting.ting.domain.custom.UserIdPair(entity.fromUser.id, entity.toUser.id) from BlindLike entity where entity.fromUser.id in :userIds")
+    List<UserIdPair> findAllUserIdPairByFromUserIdIn(@Param("userIds") Collection<Long> userIds);
+
+    @Query(value = "select new com.ting.ting.domain.custom.UserIdPair(entity.fromUser.id, entity.toUser.id) from BlindLike entity where entity.toUser.id in :userIds")
+    List<UserIdPair> findAllUserIdPairByToUserIdIn(@Param("userIds") Collection<Long> userIds);
+
+    @Modifying(flushAutomatically = true)
+    @Query(value = "delete from BlindLike entity where entity.fromUser.id = :userId and entity.toUser.id in :toUserIds")
+    int deleteAllByFromUserIdAndToUserIdIn(@Param("userId") Long userId, @Param("toUserIds") Collection<Long> toUserIds);
 }
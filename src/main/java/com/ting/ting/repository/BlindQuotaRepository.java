@@ -0,0 +1,43 @@
+package com.ting.ting.repository;
+
+import com.ting.ting.domain.BlindQuota;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import javax.persistence.LockModeType;
+import java.util.Optional;
+
+public interface BlindQuotaRepository extends JpaRepository<BlindQuota, Long> {
+
+    /**
+     * 잠금 읽기라 다른 트랜잭션이 커밋한 행도 보인다. (MySQL REPEATABLE READ 의 일반 조회는 트랜잭션 시작 시점의 스냅숏을 읽는다.)
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query(value = "select quota from BlindQuota quota where quota.userId = :userId")
+    Optional<BlindQuota> findForUpdateByUserId(@Param("userId") Long userId);
+
+    /**
+     * 요청 수와 매칭 수가 모두 제한보다 적을 때만 요청 수를 1 늘린다. 0 이면 제한에 걸렸거나 아직 행이 없는 경우
+     */
+    @Modifying(flushAutomatically = true)
+    @Query(value = "update BlindQuota quota set quota.pendingRequestCount = quota.pendingRequestCount + 1 " +
+            "where quota.userId = :userId and quota.pendingRequestCount < :maxPendingRequests and quota.blindDateCount < :maxBlindDates")
+    int reservePendingRequest(@Param("userId") Long userId, @Param("maxPendingRequests") int maxPendingRequests, @Param("maxBlindDates") int maxBlindDates);
+
+    /**
+     * 요청이 삭제, 거절, 수락되어 PENDING 이 아니게 된 경우. 0 이면 아직 행이 없거나 이미 0 인 경우
+     */
+    @Modifying(flushAutomatically = true)
+    @Query(value = "update BlindQuota quota set quota.pendingRequestCount = quota.pendingRequestCount - 1 where quota.userId = :userId and quota.pendingRequestCount > 0")
+    int releasePendingRequest(@Param("userId") Long userId);
+
+    /**
+     * 0 이면 아직 행이 없는 경우
+     */
+    @Modifying(flushAutomatically = true)
+    @Query(value = "update BlindQuota quota set quota.blindDateCount = quota.blindDateCount + 1 where quota.userId = :userId")
+    int addBlindDate(@Param("userId") Long userId);
+}
@@ -0,0 +1,46 @@
+package com.ting.ting.repository;
+
+import com.ting.ting.domain.BlindRecommendation;
+import com.ting.ting.domain.custom.RankedBlindUserWithRequestStatusAndLikeStatus;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface BlindRecommendationRepository extends JpaRepository<BlindRecommendation, Long> {
+
+    /**
+     * 유저(userId)의 추천 목록을 (점수 내림차순, 유저 id) 순으로 (lastScore, lastCandidateUserId) 다음부터 읽는다.
+     * 저장된 이후 매칭된 상대는 건너뛰고, 요청 여부와 찜 여부를 함께 읽는다.
+     */
+    @Query(value = "select new com.ting.ting.domain.custom.RankedBlindUserWithRequestStatusAndLikeStatus(entity.score, u.id, u.username, u.major, u.mbti, u.weight, u.height, u.idealPhoto, br.id, bl.id) " +
+            "from BlindRecommendation entity join entity.candidateUser u " +
+            "left join BlindRequest br on br.toUser = u and br.fromUser.id = :userId and br.status = com.ting.ting.domain.constant.RequestStatus.PENDING " +
+            "left join BlindLike bl on bl.toUser = u and bl.fromUser.id = :userId " +
+            "where entity.user.id = :userId and u.deletedAt is null " +
+            "and not exists (select md.id from BlindDate md where md.menUser.id = :userId and md.womenUser = u) " +
+            "and not exists (select wd.id from BlindDate wd where wd.womenUser.id = :userId and wd.menUser = u) " +
+            "and (entity.score < :lastScore or (entity.score = :lastScore and u.id > :lastCandidateUserId)) " +
+            "order by entity.score desc, u.id")
+    Slice<RankedBlindUserWithRequestStatusAndLikeStatus> findAllRankedAfter(@Param("userId") Long userId, @Param("lastScore") int lastScore,
+                                                                           @Param("lastCandidateUserId") Long lastCandidateUserId, Pageable pageable);
+
+    /**
+     * 추천 목록에 candidateUserId 가 들어 있는 유저
+     */
+    @Query(value = "select entity.user.id from BlindRecommendation entity where entity.candidateUser.id = :candidateUserId")
+    List<Long> findAllUserIdByCandidateUserId(@Param("candidateUserId") Long candidateUserId);
+
+    @Modifying
+    @Query(value = "delete from BlindRecommendation entity where entity.user.id in :userIds")
+    int deleteAllByUserIdIn(@Param("userIds") Collection<Long> userIds);
+
+    @Modifying
+    @Query(value = "delete from BlindRecommendation entity where entity.candidateUser.id = :candidateUserId")
+    int deleteAllByCandidateUserId(@Param("candidateUserId") Long candidateUserId);
+}
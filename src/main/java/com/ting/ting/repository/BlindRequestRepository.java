@@ -3,8 +3,13 @@ package com.ting.ting.repository;
 import com.ting.ting.domain.BlindRequest;
 import com.ting.ting.domain.User;
 import com.ting.ting.domain.constant.RequestStatus;
+import com.ting.ting.domain.custom.UserIdPair;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 
@@ -22,4 +27,16 @@ public interface BlindRequestRepository extends JpaRepository<BlindRequest, Long
     Set<BlindRequest> findAllByToUserAndStatus(User toUser, RequestStatus status);
 
     Long countByFromUserAndStatus(User fromUser, RequestStatus status);
+
+    @Query(value = "select entity.toUser.id from BlindRequest entity where entity.fromUser.id = :userId and entity.status = com.ting.ting.domain.constant.RequestStatus.PENDING")
+    List<Long> findAllPendingToUserIdByFromUserId(@Param("userId") Long userId);
+
+    @Query(value = "select entity.toUser.id from BlindRequest entity where entity.fromUser.id = :userId and entity.toUser.id in :toUserIds")
+    List<Long> findAllToUserIdByFromUserIdAndToUserIdIn(@Param("userId") Long userId, @Param("toUserIds") Collection<Long> toUserIds);
+
+    @Query(value = "select new com.ting.ting.domain.custom.UserIdPair(entity.fromUser.id, entity.toUser.id) from BlindRequest entity where entity.fromUser.id in :userIds")
+    List<UserIdPair> findAllUserIdPairByFromUserIdIn(@Param("userIds") Collection<Long> userIds);
+
+    @Query(value = "select new com.ting.ting.domain.custom.UserIdPair(entity.fromUser.id, entity.toUser.id) from BlindRequest entity where entity.toUser.id in :userIds")
+    List<UserIdPair> findAllUserIdPairByToUserIdIn(@Param("userIds") Collection<Long> userIds);
 }
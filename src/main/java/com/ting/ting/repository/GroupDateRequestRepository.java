@@ -21,4 +21,7 @@ public interface GroupDateRequestRepository extends JpaRepository<GroupDateReque
     List<GroupDateRequest> findAllByFromGroup(Group fromGroup);
 
     Page<GroupDateRequest> findAllByFromGroup_IsMatchedAndToGroup(boolean isMatched, Group fromGroup, Pageable pageable);
+
+    @Query(value = "select entity.toGroup.id from GroupDateRequest entity where entity.fromGroup.id = :groupId")
+    List<Long> findAllToGroupIdByFromGroupId(@Param("groupId") Long groupId);
 }
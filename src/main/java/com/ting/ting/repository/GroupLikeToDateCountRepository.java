@@ -0,0 +1,55 @@
+package com.ting.ting.repository;
+
+import com.ting.ting.domain.Group;
+import com.ting.ting.domain.GroupLikeToDateCount;
+import com.ting.ting.domain.GroupMember;
+import com.ting.ting.domain.custom.GroupIdPairWithLikeCount;
+import com.ting.ting.domain.custom.GroupIdWithLikeCount;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface GroupLikeToDateCountRepository extends JpaRepository<GroupLikeToDateCount, Long> {
+
+    @Query(value = "select new com.ting.ting.domain.custom.GroupIdWithLikeCount(entity.toGroup.id, entity.likeCount) from GroupLikeToDateCount entity where entity.fromGroup = :fromGroup")
+    Page<GroupIdWithLikeCount> findAllToGroupIdAndLikeCountByFromGroup(@Param("fromGroup") Group fromGroup, Pageable pageable);
+
+    @Query(value = "select new com.ting.ting.domain.custom.GroupIdWithLikeCount(entity.toGroup.id, entity.likeCount) from GroupLikeToDateCount entity where entity.fromGroup = :fromGroup and entity.toGroup in :toGroups")
+    List<GroupIdWithLikeCount> findAllToGroupIdAndLikeCountByFromGroupAndToGroupIn(@Param("fromGroup") Group fromGroup, @Param("toGroups") List<Group> toGroups);
+
+    @Query(value = "select new com.ting.ting.domain.custom.GroupIdPairWithLikeCount(entity.fromGroup.id, entity.toGroup.id, entity.likeCount) from GroupLikeToDateCount entity where entity.fromGroup.id in :fromGroupIds")
+    List<GroupIdPairWithLikeCount> findAllLikeCountByFromGroupIdIn(@Param("fromGroupIds") Collection<Long> fromGroupIds);
+
+    @Query(value = "select new com.ting.ting.domain.custom.GroupIdPairWithLikeCount(entity.fromGroup.id, entity.toGroup.id, entity.likeCount) from GroupLikeToDateCount entity where entity.fromGroup.id in :fromGroupIds and entity.toGroup.id = :toGroupId")
+    List<GroupIdPairWithLikeCount> findAllLikeCountByFromGroupIdInAndToGroupId(@Param("fromGroupIds") Collection<Long> fromGroupIds, @Param("toGroupId") Long toGroupId);
+
+    /**
+     * 찜 수를 1 늘린다. 0 이면 아직 행이 없는 경우
+     */
+    @Modifying(flushAutomatically = true)
+    @Query(value = "update GroupLikeToDateCount entity set entity.likeCount = entity.likeCount + 1 where entity.fromGroup.id = :fromGroupId and entity.toGroup.id = :toGroupId")
+    int increaseLikeCount(@Param("fromGroupId") Long fromGroupId, @Param("toGroupId") Long toGroupId);
+
+    @Modifying(flushAutomatically = true)
+    @Query(value = "update GroupLikeToDateCount entity set entity.likeCount = entity.likeCount - 1 where entity.fromGroup.id = :fromGroupId and entity.toGroup.id = :toGroupId")
+    int decreaseLikeCount(@Param("fromGroupId") Long fromGroupId, @Param("toGroupId") Long toGroupId);
+
+    /**
+     * 팀을 나가는 멤버의 찜(GroupLikeToDate)은 멤버 기록과 함께 삭제되므로, 삭제되기 전에 그 멤버가 찜한 팀들의 찜 수를 1씩 줄인다.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query(value = "update GroupLikeToDateCount entity set entity.likeCount = entity.likeCount - 1 " +
+            "where entity.fromGroup = :fromGroup " +
+            "and entity.toGroup.id in (select l.toGroup.id from GroupLikeToDate l where l.fromGroupMember = :fromGroupMember)")
+    int decreaseLikeCountByFromGroupMember(@Param("fromGroup") Group fromGroup, @Param("fromGroupMember") GroupMember fromGroupMember);
+
+    @Modifying(flushAutomatically = true)
+    @Query(value = "delete from GroupLikeToDateCount entity where entity.fromGroup.id = :fromGroupId and entity.likeCount <= 0")
+    int deleteAllEmptyByFromGroupId(@Param("fromGroupId") Long fromGroupId);
+}
@@ -3,9 +3,6 @@ package com.ting.ting.repository;
 import com.ting.ting.domain.Group;
 import com.ting.ting.domain.GroupLikeToDate;
 import com.ting.ting.domain.GroupMember;
-import com.ting.ting.domain.custom.GroupIdWithLikeCount;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -14,15 +11,12 @@ import java.util.List;
 
 public interface GroupLikeToDateRepository extends JpaRepository<GroupLikeToDate, Long> {
 
-    void deleteByFromGroupMemberAndToGroup(GroupMember groupMember, Group toGroup);
+    long deleteByFromGroupMemberAndToGroup(GroupMember groupMember, Group toGroup);
 
     boolean existsByFromGroupMemberAndToGroup(GroupMember fromGroupMember, Group toGroup);
 
     List<GroupLikeToDate> findAllByFromGroupMember(GroupMember fromGroupMember);
 
-    @Query(value = "select new com.ting.ting.domain.custom.GroupIdWithLikeCount(entity.toGroup.id, count(*)) from GroupLikeToDate entity where entity.fromGroupMember.group = :fromGroup group by entity.toGroup.id")
-    Page<GroupIdWithLikeCount> findAllToGroupIdAndLikeCountByFromGroupMember_Group(@Param("fromGroup") Group fromGroup, Pageable pageable);
-
-    @Query(value = "select new com.ting.ting.domain.custom.GroupIdWithLikeCount(entity.toGroup.id, count(*)) from GroupLikeToDate entity where entity.fromGroupMember.group = :fromGroup and entity.toGroup in :toGroups group by entity.toGroup.id")
-    List<GroupIdWithLikeCount> findAllToGroupIdAndLikeCountByFromGroupMember_GroupAndToGroupIdsIn(@Param("fromGroup") Group fromGroup, @Param("toGroups") List<Group> toGroups);
+    @Query(value = "select entity.toGroup.id from GroupLikeToDate entity where entity.fromGroupMember.id = :groupMemberId")
+    List<Long> findAllToGroupIdByFromGroupMemberId(@Param("groupMemberId") Long groupMemberId);
 }
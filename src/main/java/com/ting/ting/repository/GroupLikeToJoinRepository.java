@@ -6,7 +6,11 @@ import com.ting.ting.domain.User;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface GroupLikeToJoinRepository extends JpaRepository<GroupLikeToJoin, Long> {
@@ -18,4 +22,14 @@ public interface GroupLikeToJoinRepository extends JpaRepository<GroupLikeToJoin
     Page<GroupLikeToJoin> findAllByFromUser(User fromUser, Pageable pageable);
 
     List<GroupLikeToJoin> findAllByFromUser(User fromUser);
+
+    @Query(value = "select entity.toGroup.id from GroupLikeToJoin entity where entity.fromUser.id = :userId")
+    List<Long> findAllToGroupIdByFromUserId(@Param("userId") Long userId);
+
+    @Query(value = "select entity.toGroup.id from GroupLikeToJoin entity where entity.fromUser.id = :userId and entity.toGroup.id in :toGroupIds")
+    List<Long> findAllToGroupIdByFromUserIdAndToGroupIdIn(@Param("userId") Long userId, @Param("toGroupIds") Collection<Long> toGroupIds);
+
+    @Modifying(flushAutomatically = true)
+    @Query(value = "delete from GroupLikeToJoin entity where entity.fromUser.id = :userId and entity.toGroup.id in :toGroupIds")
+    int deleteAllByFromUserIdAndToGroupIdIn(@Param("userId") Long userId, @Param("toGroupIds") Collection<Long> toGroupIds);
 }
@@ -0,0 +1,51 @@
+package com.ting.ting.repository;
+
+import com.ting.ting.domain.Group;
+import com.ting.ting.domain.GroupMemberMajorCount;
+import com.ting.ting.domain.User;
+import com.ting.ting.domain.custom.GroupIdWithMajor;
+import com.ting.ting.domain.custom.GroupIdWithMajorCount;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface GroupMemberMajorCountRepository extends JpaRepository<GroupMemberMajorCount, Long> {
+
+    @Query(value = "select new com.ting.ting.domain.custom.GroupIdWithMajor(entity.group.id, entity.major) from GroupMemberMajorCount entity where entity.group.id in :groupIds and entity.memberCount > 0")
+    List<GroupIdWithMajor> findAllMajorsByGroupIdIn(@Param("groupIds") Collection<Long> groupIds);
+
+    /**
+     * id 가 (fromGroupId, toGroupId] 인 팀의 전공별 인원
+     */
+    @Query(value = "select new com.ting.ting.domain.custom.GroupIdWithMajorCount(entity.group.id, entity.major, entity.memberCount) from GroupMemberMajorCount entity " +
+            "where entity.group.id > :fromGroupId and entity.group.id <= :toGroupId")
+    List<GroupIdWithMajorCount> findAllMajorCountByGroupIdBetween(@Param("fromGroupId") Long fromGroupId, @Param("toGroupId") Long toGroupId);
+
+    List<GroupMemberMajorCount> findAllByGroup(Group group);
+
+    /**
+     * 전공 인원을 delta 만큼 바꾼다. 0 이면 아직 행이 없는 경우
+     */
+    @Modifying(flushAutomatically = true)
+    @Query(value = "update GroupMemberMajorCount entity set entity.memberCount = entity.memberCount + :delta where entity.group.id = :groupId and entity.major = :major")
+    int addMemberCount(@Param("groupId") Long groupId, @Param("major") String major, @Param("delta") int delta);
+
+    @Modifying
+    @Query(value = "delete from GroupMemberMajorCount entity where entity.group.id = :groupId and entity.memberCount <= 0")
+    int deleteAllEmptyByGroupId(@Param("groupId") Long groupId);
+
+    default void addMember(Group group, User member) {
+        if (addMemberCount(group.getId(), member.getMajor(), 1) == 0) {
+            save(GroupMemberMajorCount.of(group, member.getMajor()));
+        }
+    }
+
+    default void removeMember(Group group, User member) {
+        addMemberCount(group.getId(), member.getMajor(), -1);
+        deleteAllEmptyByGroupId(group.getId());
+    }
+}
@@ -4,12 +4,15 @@ import com.ting.ting.domain.Group;
 import com.ting.ting.domain.GroupMember;
 import com.ting.ting.domain.User;
 import com.ting.ting.domain.constant.MemberRole;
+import com.ting.ting.domain.custom.GroupIdWithBirthAndMajor;
+import com.ting.ting.domain.custom.GroupIdWithMbti;
 import com.ting.ting.domain.custom.GroupWithMemberCountAndRole;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -25,19 +28,27 @@ public interface GroupMemberRepository extends JpaRepository<GroupMember, Long>
 
     boolean existsByMemberAndRole(User member, MemberRole role);
 
-    long countByGroup(Group group);
-
     @Query(value = "select entity from GroupMember entity join fetch entity.member where entity.group = :group")
     List<GroupMember> findAllByGroup(@Param("group") Group group);
 
+    @Query(value = "select new com.ting.ting.domain.custom.GroupIdWithMbti(entity.group.id, u.mbti) from GroupMember entity join entity.member u where entity.group.id in :groupIds and u.mbti is not null")
+    List<GroupIdWithMbti> findAllGroupIdAndMbtiByGroupIdIn(@Param("groupIds") Collection<Long> groupIds);
+
+    /**
+     * id 가 (fromGroupId, toGroupId] 인 팀 멤버의 생년월일과 전공
+     */
+    @Query(value = "select new com.ting.ting.domain.custom.GroupIdWithBirthAndMajor(entity.group.id, u.birth, u.major) from GroupMember entity join entity.member u " +
+            "where entity.group.id > :fromGroupId and entity.group.id <= :toGroupId")
+    List<GroupIdWithBirthAndMajor> findAllBirthAndMajorByGroupIdBetween(@Param("fromGroupId") Long fromGroupId, @Param("toGroupId") Long toGroupId);
+
     @Query(value = "select new com.ting.ting.domain.custom.GroupWithMemberCountAndRole" +
-            "(gm.group.id, gm.group.groupName, gm.group.gender, (select count(*) from GroupMember gm2 where gm2.group = gm.group), gm.group.memberSizeLimit, gm.group.school, gm.group.isMatched, gm.group.isJoinable, gm.group.memo, gm.group.idealPhoto, gm.role, gm.createdAt) " +
-            "from GroupMember gm where gm.member = :user group by gm.group.id")
+            "(g.id, g.groupName, g.gender, g.memberCount, g.memberSizeLimit, g.school, g.isMatched, g.isJoinable, g.memo, g.idealPhoto, gm.role, gm.createdAt) " +
+            "from GroupMember gm join gm.group g where gm.member = :user")
     List<GroupWithMemberCountAndRole> findGroupWithMemberCountAndRoleByMember(@Param("user") User user);
 
     @Query(value = "select entity from GroupMember entity join fetch entity.member " +
             "where entity.group = :group " +
             "and entity.role != com.ting.ting.domain.constant.MemberRole.LEADER " +
-            "and entity.member not in (select m.member from GroupMember m where entity.role = com.ting.ting.domain.constant.MemberRole.LEADER)")
+            "and not exists (select m.id from GroupMember m where m.member = entity.member and m.role = com.ting.ting.domain.constant.MemberRole.LEADER)")
     List<GroupMember> findAvailableMemberAsALeaderInGroup(@Param("group") Group group, Pageable pageable);
 }
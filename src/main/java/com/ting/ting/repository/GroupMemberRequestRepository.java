@@ -24,4 +24,7 @@ public interface GroupMemberRequestRepository extends JpaRepository<GroupMemberR
 
     @Query(value = "select entity from GroupMemberRequest entity join fetch entity.user where entity.group = :group")
     List<GroupMemberRequest> findByGroup(@Param("group") Group group);
+
+    @Query(value = "select entity.group.id from GroupMemberRequest entity where entity.user.id = :userId")
+    List<Long> findAllGroupIdByUserId(@Param("userId") Long userId);
 }
@@ -0,0 +1,43 @@
+package com.ting.ting.repository;
+
+import com.ting.ting.domain.GroupRecommendation;
+import com.ting.ting.domain.custom.GroupRecommendationStat;
+import com.ting.ting.domain.custom.RankedDateableGroupWithLikeStatus;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface GroupRecommendationRepository extends JpaRepository<GroupRecommendation, Long> {
+
+    /**
+     * 팀(groupId)의 추천 목록을 (점수 내림차순, 팀 id) 순으로 (lastScore, lastCandidateGroupId) 다음부터 읽는다.
+     * 저장된 이후 과팅 상대가 될 수 없게 된 팀은 건너뛴다. 멤버(fromGroupMemberId)의 찜 여부를 함께 읽는다.
+     */
+    @Query(value = "select new com.ting.ting.domain.custom.RankedDateableGroupWithLikeStatus(entity.score, candidate.id, candidate.groupName, candidate.gender, candidate.memberSizeLimit, candidate.school, candidate.isMatched, candidate.isJoinable, " +
+            "candidate.memo, candidate.idealPhoto, candidate.memberCount, candidate.memberBirthSum, candidate.createdAt, l.id) " +
+            "from GroupRecommendation entity join entity.candidateGroup candidate " +
+            "left join GroupLikeToDate l on l.toGroup = candidate and l.fromGroupMember.id = :fromGroupMemberId " +
+            "where entity.group.id = :groupId and candidate.isJoinable = false and candidate.isMatched = false " +
+            "and (entity.score < :lastScore or (entity.score = :lastScore and candidate.id > :lastCandidateGroupId)) " +
+            "order by entity.score desc, candidate.id")
+    Slice<RankedDateableGroupWithLikeStatus> findAllRankedAfter(@Param("groupId") Long groupId, @Param("fromGroupMemberId") Long fromGroupMemberId,
+                                                                @Param("lastScore") int lastScore, @Param("lastCandidateGroupId") Long lastCandidateGroupId, Pageable pageable);
+
+    @Query(value = "select new com.ting.ting.domain.custom.GroupRecommendationStat(entity.group.id, count(entity), min(entity.score)) " +
+            "from GroupRecommendation entity where entity.group.id in :groupIds group by entity.group.id")
+    List<GroupRecommendationStat> findAllStatByGroupIdIn(@Param("groupIds") Collection<Long> groupIds);
+
+    @Modifying
+    @Query(value = "delete from GroupRecommendation entity where entity.group.id in :groupIds")
+    int deleteAllByGroupIdIn(@Param("groupIds") Collection<Long> groupIds);
+
+    @Modifying
+    @Query(value = "delete from GroupRecommendation entity where entity.candidateGroup.id = :candidateGroupId")
+    int deleteAllByCandidateGroupId(@Param("candidateGroupId") Long candidateGroupId);
+}
@@ -3,9 +3,14 @@ package com.ting.ting.repository;
 import com.ting.ting.domain.Group;
 import com.ting.ting.domain.User;
 import com.ting.ting.domain.constant.Gender;
+import com.ting.ting.domain.custom.DateableGroupWithLikeStatus;
+import com.ting.ting.domain.custom.GroupFeatures;
+import com.ting.ting.domain.custom.GroupMemberCounters;
+import com.ting.ting.domain.custom.GroupSummary;
 import com.ting.ting.domain.custom.GroupWithMemberCount;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
@@ -14,29 +19,67 @@ import org.springframework.data.repository.query.Param;
 import java.util.List;
 import java.util.Optional;
 
-public interface GroupRepository extends JpaRepository<Group, Long> {
+public interface GroupRepository extends JpaRepository<Group, Long>, GroupRepositoryCustom {
 
     boolean existsByGroupName(String name);
 
     @EntityGraph(attributePaths = {"groupMembers", "groupMembers.member"})
-    Optional<Group> findById(Long groupId);
+    Optional<Group> findWithMembersById(Long groupId);
+
+    /**
+     * 검증에만 쓰는 컬럼을 읽는다. 엔티티를 영속성 컨텍스트에 올리지 않으므로 저장에 필요한 팀은 getReferenceById 로 얻는다.
+     */
+    @Query(value = "select new com.ting.ting.domain.custom.GroupSummary(entity.id, entity.gender, entity.memberSizeLimit, entity.isMatched, entity.isJoinable) " +
+            "from Group entity where entity.id = :groupId")
+    Optional<GroupSummary> findSummaryById(@Param("groupId") Long groupId);
 
     Page<Group> findAllByGenderAndIsJoinableAndIsMatchedAndMemberSizeLimit(Gender gender, boolean isJoinable, boolean isMatched, int memberSizeLimit, Pageable pageable);
 
-    @EntityGraph(attributePaths = {"groupMembers", "groupMembers.member"})
+    @EntityGraph(attributePaths = {"memberMajorCounts"})
     List<Group> findAllWithMembersInfoByIdIn(List<Long> groupIds);
 
-    @Query(value = "select new com.ting.ting.domain.custom.GroupWithMemberCount(entity.id, entity.groupName, entity.gender, count(gm), entity.memberSizeLimit, entity.school, entity.isMatched, entity.isJoinable, entity.memo, entity.idealPhoto, entity.createdAt) " +
-            "from Group entity left join GroupMember gm on gm.group = entity where entity.id in :groupIds group by entity.id")
+    /**
+     * 과팅 상대가 될 수 있는 팀을 id 순으로 lastGroupId 다음부터 읽는다. 멤버(fromGroupMemberId)의 찜 여부를 함께 읽는다.
+     */
+    @Query(value = "select new com.ting.ting.domain.custom.DateableGroupWithLikeStatus(entity.id, entity.groupName, entity.gender, entity.memberSizeLimit, entity.school, entity.isMatched, entity.isJoinable, entity.memo, entity.idealPhoto, entity.memberCount, entity.memberBirthSum, entity.createdAt, l.id) " +
+            "from Group entity " +
+            "left join GroupLikeToDate l on l.toGroup = entity and l.fromGroupMember.id = :fromGroupMemberId " +
+            "where entity.gender = :gender and entity.isJoinable = false and entity.isMatched = false and entity.memberSizeLimit = :memberSizeLimit and entity.id > :lastGroupId " +
+            "order by entity.id")
+    Slice<DateableGroupWithLikeStatus> findAllDateableAfter(@Param("fromGroupMemberId") Long fromGroupMemberId, @Param("gender") Gender gender, @Param("memberSizeLimit") int memberSizeLimit, @Param("lastGroupId") Long lastGroupId, Pageable pageable);
+
+    @Query(value = "select new com.ting.ting.domain.custom.GroupFeatures(entity.id, entity.gender, entity.memberSizeLimit, entity.school, entity.isMatched, entity.isJoinable, entity.memberCount, entity.memberBirthSum, entity.createdAt) " +
+            "from Group entity where entity.id = :groupId")
+    Optional<GroupFeatures> findFeaturesById(@Param("groupId") Long groupId);
+
+    /**
+     * 매칭되지 않은 팀. 추천 목록을 갖는 팀이고, 그중 가입 가능하지 않은(정원이 찬) 팀은 추천 대상이기도 하다.
+     */
+    @Query(value = "select new com.ting.ting.domain.custom.GroupFeatures(entity.id, entity.gender, entity.memberSizeLimit, entity.school, entity.isMatched, entity.isJoinable, entity.memberCount, entity.memberBirthSum, entity.createdAt) " +
+            "from Group entity where entity.gender = :gender and entity.isMatched = false and entity.memberSizeLimit = :memberSizeLimit")
+    List<GroupFeatures> findAllUnmatchedFeaturesByGenderAndMemberSizeLimit(@Param("gender") Gender gender, @Param("memberSizeLimit") int memberSizeLimit);
+
+    @Query(value = "select new com.ting.ting.domain.custom.GroupWithMemberCount(entity.id, entity.groupName, entity.gender, entity.memberCount, entity.memberSizeLimit, entity.school, entity.isMatched, entity.isJoinable, entity.memo, entity.idealPhoto, entity.createdAt) " +
+            "from Group entity where entity.id in :groupIds")
     List<GroupWithMemberCount> findAllWithMemberCountByIdIn(@Param("groupIds") List<Long> groupIds);
 
-    @Query(value = "select new com.ting.ting.domain.custom.GroupWithMemberCount(entity.id, entity.groupName, entity.gender, count(gm), entity.memberSizeLimit, entity.school, entity.isMatched, entity.isJoinable, entity.memo, entity.idealPhoto, entity.createdAt) " +
-            "from Group entity left join GroupMember gm on gm.group = entity group by entity.id")
+    @Query(value = "select new com.ting.ting.domain.custom.GroupWithMemberCount(entity.id, entity.groupName, entity.gender, entity.memberCount, entity.memberSizeLimit, entity.school, entity.isMatched, entity.isJoinable, entity.memo, entity.idealPhoto, entity.createdAt) " +
+            "from Group entity")
     Page<GroupWithMemberCount> findAllWithMemberCount(Pageable pageable);
 
-
-    @Query(value = "select new com.ting.ting.domain.custom.GroupWithMemberCount(entity.id, entity.groupName, entity.gender, count(gm), entity.memberSizeLimit, entity.school, entity.isMatched, entity.isJoinable, entity.memo, entity.idealPhoto, entity.createdAt) " +
-            "from Group entity left join GroupMember gm on gm.group = entity " +
-            "where entity.gender = :gender and entity.isJoinable = :isJoinable and entity not in (select gm2.group from GroupMember gm2 where gm2.member = :user) group by entity.id")
+    @Query(value = "select new com.ting.ting.domain.custom.GroupWithMemberCount(entity.id, entity.groupName, entity.gender, entity.memberCount, entity.memberSizeLimit, entity.school, entity.isMatched, entity.isJoinable, entity.memo, entity.idealPhoto, entity.createdAt) " +
+            "from Group entity " +
+            "where entity.gender = :gender and entity.isJoinable = :isJoinable " +
+            "and not exists (select gm.id from GroupMember gm where gm.group = entity and gm.member = :user)")
     Page<GroupWithMemberCount> findAllJoinableGroupWithMemberCountByGenderAndIsJoinableAndNotGroupMembers_Member(@Param("gender") Gender gender, @Param("isJoinable") boolean isJoinable, @Param("user") User user, Pageable pageable);
+
+    @Query(value = "select max(entity.id) from Group entity")
+    Optional<Long> findMaxId();
+
+    /**
+     * id 가 (fromId, toId] 인 팀의 멤버 관련 컬럼
+     */
+    @Query(value = "select new com.ting.ting.domain.custom.GroupMemberCounters(entity.id, entity.memberCount, entity.memberBirthSum, entity.memberSizeLimit, entity.isMatched, entity.isJoinable) " +
+            "from Group entity where entity.id > :fromId and entity.id <= :toId")
+    List<GroupMemberCounters> findAllMemberCountersByIdBetween(@Param("fromId") Long fromId, @Param("toId") Long toId);
 }
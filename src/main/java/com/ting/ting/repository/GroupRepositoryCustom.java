@@ -0,0 +1,20 @@
+package com.ting.ting.repository;
+
+import com.ting.ting.domain.Group;
+
+public interface GroupRepositoryCustom {
+
+    /**
+     * 팀 행을 커밋할 때까지 잠그고(select ... for update) 엔티티를 DB 의 현재 값으로 다시 읽는다.
+     * 팀을 바꾸기 전에 호출해야 한다. 아직 flush 하지 않은 변경은 버려진다.
+     * 2차 캐시에서는 이 팀의 항목만 무효화된다. (JPQL update 는 Group 영역 전체를 비운다.)
+     */
+    void lockForUpdate(Group group);
+
+    /**
+     * 정원이 남아 있을 때만 멤버 수를 1 늘린다. 0 이면 정원이 찬 경우
+     * 조건 확인과 증가가 한 문장이라 동시에 수락해도 행 잠금 순서대로 처리되어 정원을 넘지 않는다.
+     * 영속성 컨텍스트의 팀은 바뀌지 않으므로 이어서 lockForUpdate 로 다시 읽는다. 2차 캐시에서는 이 팀의 항목만 무효화한다.
+     */
+    int reserveMemberSlot(Long groupId);
+}
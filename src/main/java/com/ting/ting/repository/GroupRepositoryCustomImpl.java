@@ -0,0 +1,65 @@
+package com.ting.ting.repository;
+
+import com.ting.ting.domain.Group;
+import org.hibernate.Session;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.persister.entity.AbstractEntityPersister;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.persistence.Cache;
+import javax.persistence.EntityManager;
+import javax.persistence.LockModeType;
+import javax.persistence.PersistenceContext;
+import java.sql.PreparedStatement;
+
+class GroupRepositoryCustomImpl implements GroupRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public void lockForUpdate(Group group) {
+        entityManager.refresh(group, LockModeType.PESSIMISTIC_WRITE);
+    }
+
+    /**
+     * JPQL(또는 Hibernate 를 거친 native) update 는 Group 2차 캐시 영역 전체를 비우므로 JDBC 로 직접 실행하고,
+     * 이 팀의 항목만 실행 직후와 트랜잭션이 끝난 뒤에 무효화한다.
+     */
+    @Override
+    public int reserveMemberSlot(Long groupId) {
+        Session session = entityManager.unwrap(Session.class);
+        session.flush();
+
+        String sql = "update " + groupTableName(session) + " set member_count = member_count + 1 where id = ? and member_count < member_size_limit";
+        int updated = session.doReturningWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(sql)) {
+                statement.setLong(1, groupId);
+                return statement.executeUpdate();
+            }
+        });
+
+        evictFromSecondLevelCache(groupId);
+        return updated;
+    }
+
+    // group 은 예약어라 dialect 에 맞게 인용된 테이블 이름을 쓴다.
+    private static String groupTableName(Session session) {
+        SessionFactoryImplementor sessionFactory = (SessionFactoryImplementor) session.getSessionFactory();
+        return ((AbstractEntityPersister) sessionFactory.getMetamodel().entityPersister(Group.class)).getTableName();
+    }
+
+    private void evictFromSecondLevelCache(Long groupId) {
+        Cache cache = entityManager.getEntityManagerFactory().getCache();
+        cache.evict(Group.class, groupId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    cache.evict(Group.class, groupId);
+                }
+            });
+        }
+    }
+}
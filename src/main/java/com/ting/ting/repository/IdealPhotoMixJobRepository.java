@@ -0,0 +1,44 @@
+package com.ting.ting.repository;
+
+import com.ting.ting.domain.IdealPhotoMixJob;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+public interface IdealPhotoMixJobRepository extends JpaRepository<IdealPhotoMixJob, Long> {
+
+    /**
+     * 팀 사진은 이전 합성 결과 위에 누적되므로, 같은 팀의 앞선 작업이 끝나지 않은 작업은 건너뛴다.
+     */
+    @Query(value = "select job.id from IdealPhotoMixJob job " +
+            "where job.status = com.ting.ting.domain.constant.IdealPhotoMixJobStatus.PENDING and job.nextAttemptAt <= :now " +
+            "and not exists (select previous.id from IdealPhotoMixJob previous where previous.group = job.group and previous.id < job.id " +
+            "and previous.status in (com.ting.ting.domain.constant.IdealPhotoMixJobStatus.PENDING, com.ting.ting.domain.constant.IdealPhotoMixJobStatus.RUNNING)) " +
+            "order by job.id")
+    List<Long> findRunnableIds(@Param("now") LocalDateTime now, Pageable pageable);
+
+    @Query(value = "select job from IdealPhotoMixJob job join fetch job.group where job.id = :id")
+    Optional<IdealPhotoMixJob> findWithGroupById(@Param("id") Long id);
+
+    /**
+     * PENDING 인 작업만 RUNNING 으로 바꾼다. 1 이면 선점 성공
+     */
+    @Modifying
+    @Query(value = "update IdealPhotoMixJob job set job.status = com.ting.ting.domain.constant.IdealPhotoMixJobStatus.RUNNING, job.lockedAt = :now " +
+            "where job.id = :id and job.status = com.ting.ting.domain.constant.IdealPhotoMixJobStatus.PENDING")
+    int claim(@Param("id") Long id, @Param("now") LocalDateTime now);
+
+    /**
+     * 처리 도중 서버가 내려가 RUNNING 으로 남은 작업을 다시 PENDING 으로 돌린다.
+     */
+    @Modifying
+    @Query(value = "update IdealPhotoMixJob job set job.status = com.ting.ting.domain.constant.IdealPhotoMixJobStatus.PENDING, job.lockedAt = null " +
+            "where job.status = com.ting.ting.domain.constant.IdealPhotoMixJobStatus.RUNNING and job.lockedAt < :lockedBefore")
+    int releaseStale(@Param("lockedBefore") LocalDateTime lockedBefore);
+}
@@ -0,0 +1,28 @@
+package com.ting.ting.repository;
+
+import com.ting.ting.domain.JobLock;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+
+public interface JobLockRepository extends JpaRepository<JobLock, String> {
+
+    /**
+     * 잠금이 풀렸거나 만료된 경우에만 가져간다. 1 이면 성공, 0 이면 다른 서버가 잡고 있거나 아직 행이 없는 경우
+     */
+    @Modifying
+    @Query(value = "update JobLock jobLock set jobLock.lockedUntil = :lockedUntil, jobLock.lockedBy = :lockedBy " +
+            "where jobLock.name = :name and jobLock.lockedUntil <= :now")
+    int acquire(@Param("name") String name, @Param("lockedBy") String lockedBy, @Param("now") LocalDateTime now, @Param("lockedUntil") LocalDateTime lockedUntil);
+
+    /**
+     * 내가 잡고 있는 잠금만 lockedUntil 까지로 줄인다. (now 면 바로 푼다.) 0 이면 그 사이 잠금이 만료된 경우
+     */
+    @Modifying
+    @Query(value = "update JobLock jobLock set jobLock.lockedUntil = :lockedUntil " +
+            "where jobLock.name = :name and jobLock.lockedBy = :lockedBy and jobLock.lockedUntil > :now")
+    int release(@Param("name") String name, @Param("lockedBy") String lockedBy, @Param("now") LocalDateTime now, @Param("lockedUntil") LocalDateTime lockedUntil);
+}
@@ -2,21 +2,63 @@ package com.ting.ting.repository;
 
 import com.ting.ting.domain.User;
 import com.ting.ting.domain.constant.Gender;
+import com.ting.ting.domain.custom.BlindUserFeatures;
+import com.ting.ting.domain.custom.BlindUserWithRequestStatusAndLikeStatus;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.LockModeType;
+
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
-import java.util.Set;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
 
+    String SELECT_BLIND_CANDIDATE = "SELECT new com.ting.ting.domain.custom.BlindUserWithRequestStatusAndLikeStatus(u.id, u.username, u.major, u.mbti, u.weight, u.height, u.idealPhoto, br.id, bl.id) " +
+            "FROM User u " +
+            "LEFT JOIN BlindRequest br ON br.toUser = u AND br.fromUser.id = :userId AND br.status = com.ting.ting.domain.constant.RequestStatus.PENDING " +
+            "LEFT JOIN BlindLike bl ON bl.toUser = u AND bl.fromUser.id = :userId ";
+
+    // 매칭 여부는 남/녀 쪽을 나눠 확인해야 blind_date 의 (men_user_id, women_user_id), (women_user_id, men_user_id) 인덱스를 탄다.
+    String WHERE_BLIND_CANDIDATE = "WHERE u.gender = :gender " +
+            "AND NOT EXISTS (SELECT md.id FROM BlindDate md WHERE md.menUser.id = :userId AND md.womenUser = u) " +
+            "AND NOT EXISTS (SELECT wd.id FROM BlindDate wd WHERE wd.womenUser.id = :userId AND wd.menUser = u) ";
+
+    String SELECT_BLIND_FEATURES = "SELECT new com.ting.ting.domain.custom.BlindUserFeatures(u.id, u.gender, u.school, u.major, u.birth, u.mbti, u.weight, u.height) FROM User u ";
+
     @Override
     Optional<User> findById(Long id);
 
-    Page<User> findAllByGenderAndIdNotIn(Gender gender, Set<Long> usersId, Pageable pageable);
+    /**
+     * 유저 행을 커밋할 때까지 잠근다. 이미 영속성 컨텍스트에 있는 유저는 다시 읽지 않으므로 잠금 용도로만 쓴다.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query(value = "SELECT u FROM User u WHERE u.id = :userId")
+    Optional<User> findForUpdateById(@Param("userId") Long userId);
+
+    @Query(value = SELECT_BLIND_CANDIDATE + WHERE_BLIND_CANDIDATE,
+            countQuery = "SELECT count(u) FROM User u " + WHERE_BLIND_CANDIDATE)
+    Page<BlindUserWithRequestStatusAndLikeStatus> findBlindCandidates(@Param("userId") Long userId, @Param("gender") Gender gender, Pageable pageable);
+
+    @Query(value = SELECT_BLIND_CANDIDATE + WHERE_BLIND_CANDIDATE + "AND u.id > :lastUserId ORDER BY u.id")
+    Slice<BlindUserWithRequestStatusAndLikeStatus> findBlindCandidatesAfter(@Param("userId") Long userId, @Param("gender") Gender gender, @Param("lastUserId") Long lastUserId, Pageable pageable);
+
+    @Query(value = SELECT_BLIND_FEATURES + "WHERE u.id = :userId")
+    Optional<BlindUserFeatures> findBlindFeaturesById(@Param("userId") Long userId);
+
+    @Query(value = SELECT_BLIND_FEATURES + "WHERE u.id IN :userIds")
+    List<BlindUserFeatures> findAllBlindFeaturesByIdIn(@Param("userIds") Collection<Long> userIds);
+
+    @Query(value = SELECT_BLIND_FEATURES + "WHERE u.gender = :gender ORDER BY u.id")
+    List<BlindUserFeatures> findAllBlindFeaturesByGender(@Param("gender") Gender gender);
 
     Optional<User> findBySocialEmail(String socialEmail);
 
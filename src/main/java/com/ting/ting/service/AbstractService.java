@@ -1,5 +1,7 @@
 package com.ting.ting.service;
 
+import com.ting.ting.cache.RequestScopedEntityLoader;
+import com.ting.ting.dto.response.BulkItemResponse;
 import com.ting.ting.exception.ErrorCode;
 import com.ting.ting.exception.ServiceType;
 import com.ting.ting.exception.TingApplicationException;
@@ -7,9 +9,18 @@ import lombok.AllArgsConstructor;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
 @AllArgsConstructor
 public abstract class AbstractService {
 
+    protected static final int MAX_BULK_SIZE = 100;
+    protected static final int MAX_CURSOR_PAGE_SIZE = 100;
+
     protected ServiceType serviceType;
 
     protected TingApplicationException throwException(ErrorCode errorCode) {
@@ -22,10 +33,41 @@ public abstract class AbstractService {
         );
     }
 
+    /**
+     * 상세 메시지는 응답이나 로그에 쓰일 때 만들어진다.
+     */
+    protected TingApplicationException throwException(ErrorCode errorCode, Supplier<String> message) {
+        throw new TingApplicationException(errorCode, serviceType, message);
+    }
+
+    /**
+     * 같은 요청 안에서는 같은 id 의 엔티티를 한 번만 조회한다. (RequestScopedEntityLoader)
+     */
+    protected <T> Optional<T> findInRequest(Class<T> type, Long id, Function<Long, Optional<T>> finder) {
+        return RequestScopedEntityLoader.find(type, id, finder);
+    }
+
     public Long getCurrentUserId() {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         Long userId = Long.parseLong(authentication.getName());
 
         return userId;
     }
+
+    protected void checkBulkSize(List<Long> targetIds) {
+        if (targetIds == null || targetIds.isEmpty() || targetIds.size() > MAX_BULK_SIZE) {
+            throwException(ErrorCode.INVALID_REQUEST, () -> String.format("The number of targets must be between 1 and %d", MAX_BULK_SIZE));
+        }
+    }
+
+    /**
+     * 항목별 실패 이유(성공이면 null)를 요청 순서대로 응답으로 만든다.
+     */
+    protected List<BulkItemResponse> toBulkItemResponses(List<Long> targetIds, ErrorCode[] errors) {
+        List<BulkItemResponse> responses = new ArrayList<>(targetIds.size());
+        for (int i = 0; i < targetIds.size(); i++) {
+            responses.add(errors[i] == null ? BulkItemResponse.success(targetIds.get(i)) : BulkItemResponse.failure(targetIds.get(i), errors[i]));
+        }
+        return responses;
+    }
 }
@@ -1,7 +1,9 @@
 package com.ting.ting.service;
 
 import com.ting.ting.dto.response.BlindLikeResponse;
+import com.ting.ting.dto.response.BulkItemResponse;
 
+import java.util.List;
 import java.util.Set;
 
 public interface BlindLikeService {
@@ -22,4 +24,14 @@ public interface BlindLikeService {
      * 소개팅 상대에게 한 찜하기 취소
      */
     void deleteLikedByFromUserIdAndToUserId(long toUserId);
+
+    /**
+     * 여러 소개팅 상대방 한 번에 찜하기(항목별 결과 반환)
+     */
+    List<BulkItemResponse> createJoinLikes(List<Long> toUserIds);
+
+    /**
+     * 여러 소개팅 상대에게 한 찜하기 한 번에 취소(항목별 결과 반환)
+     */
+    List<BulkItemResponse> deleteJoinLikes(List<Long> toUserIds);
 }
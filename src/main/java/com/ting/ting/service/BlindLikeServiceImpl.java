@@ -1,39 +1,38 @@
 package com.ting.ting.service;
 
-import com.ting.ting.domain.BlindDate;
+import com.ting.ting.cache.LongIdSet;
+import com.ting.ting.cache.Relation;
+import com.ting.ting.cache.RelationshipIndex;
 import com.ting.ting.domain.BlindLike;
-import com.ting.ting.domain.BlindRequest;
 import com.ting.ting.domain.User;
-import com.ting.ting.domain.constant.Gender;
 import com.ting.ting.domain.constant.RequestStatus;
 import com.ting.ting.dto.response.BlindDateResponse;
 import com.ting.ting.dto.response.BlindLikeResponse;
+import com.ting.ting.dto.response.BulkItemResponse;
 import com.ting.ting.exception.ErrorCode;
 import com.ting.ting.exception.ServiceType;
-import com.ting.ting.repository.BlindDateRepository;
 import com.ting.ting.repository.BlindLikeRepository;
-import com.ting.ting.repository.BlindRequestRepository;
 import com.ting.ting.repository.UserRepository;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
 
-import java.util.LinkedHashSet;
-import java.util.Set;
+import java.util.*;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
+@Transactional
 @Component
 public class BlindLikeServiceImpl extends AbstractService implements BlindLikeService {
 
     private final BlindLikeRepository blindLikeRepository;
     private final UserRepository userRepository;
-    private final BlindRequestRepository blindRequestRepository;
-    private final BlindDateRepository blindDateRepository;
+    private final RelationshipIndex relationshipIndex;
 
-    public BlindLikeServiceImpl(BlindLikeRepository blindLikeRepository, UserRepository userRepository, BlindRequestRepository blindRequestRepository, BlindDateRepository blindDateRepository) {
+    public BlindLikeServiceImpl(BlindLikeRepository blindLikeRepository, UserRepository userRepository, RelationshipIndex relationshipIndex) {
         super(ServiceType.BLIND);
         this.blindLikeRepository = blindLikeRepository;
         this.userRepository = userRepository;
-        this.blindRequestRepository = blindRequestRepository;
-        this.blindDateRepository = blindDateRepository;
+        this.relationshipIndex = relationshipIndex;
     }
 
     @Override
@@ -44,9 +43,9 @@ public class BlindLikeServiceImpl extends AbstractService implements BlindLikeSe
 
         Set<BlindLikeResponse> blindLikeResponses = new LinkedHashSet<>();
 
-        Set<Long> myRequestPendingUsersId = getMyRequestPendingUsersId(user);
+        LongIdSet myRequestPendingUsersId = relationshipIndex.get(Relation.BLIND_PENDING_REQUEST_USER, user.getId());
 
-        Set<Long> userIdOfMeAndMyDateMatchedUsers = getUserIdOfMyDateMatchedUsers(user);
+        LongIdSet userIdOfMeAndMyDateMatchedUsers = relationshipIndex.get(Relation.BLIND_MATCHED_USER, user.getId());
 
         for (BlindDateResponse blindDateResponse : blindDateResponses) {
             Long toUserId = blindDateResponse.getId();
@@ -87,6 +86,7 @@ public class BlindLikeServiceImpl extends AbstractService implements BlindLikeSe
         request.setFromUser(fromUser);
         request.setToUser(toUser);
         blindLikeRepository.save(request);
+        relationshipIndex.add(Relation.BLIND_LIKED_USER, fromUser.getId(), toUser.getId());
     }
 
     @Override
@@ -94,25 +94,78 @@ public class BlindLikeServiceImpl extends AbstractService implements BlindLikeSe
         BlindLike request = blindLikeRepository.findByFromUser_IdAndToUser_Id(getCurrentUserId(), toUserId)
                 .orElseThrow(() -> throwException(ErrorCode.REQUEST_NOT_FOUND));
         blindLikeRepository.delete(request);
+        relationshipIndex.remove(Relation.BLIND_LIKED_USER, request.getFromUser().getId(), toUserId);
     }
 
-    private User getUserById(long userId) {
-        return userRepository.findById(userId).orElseThrow(() ->
-                throwException(ErrorCode.USER_NOT_FOUND, String.format("[%d]의 유저 정보가 존재하지 않습니다.", userId)));
-    }
+    @Override
+    public List<BulkItemResponse> createJoinLikes(List<Long> toUserIds) {
+        checkBulkSize(toUserIds);
+        User fromUser = getUserById(getCurrentUserId());
+
+        Map<Long, User> toUsers = getUsersByIds(toUserIds);
+        Set<Long> likedUserIds = toUsers.isEmpty() ? new HashSet<>() : new HashSet<>(blindLikeRepository.findAllToUserIdByFromUserIdAndToUserIdIn(fromUser.getId(), toUsers.keySet()));
+
+        ErrorCode[] errors = new ErrorCode[toUserIds.size()];
+        List<BlindLike> newLikes = new ArrayList<>();
+        for (int i = 0; i < toUserIds.size(); i++) {
+            Long toUserId = toUserIds.get(i);
+            User toUser = toUsers.get(toUserId);
+
+            if (fromUser.getId().equals(toUserId)) {
+                errors[i] = ErrorCode.DUPLICATED_USER_REQUEST;
+            } else if (toUser == null) {
+                errors[i] = ErrorCode.USER_NOT_FOUND;
+            } else if (fromUser.getGender() == toUser.getGender()) {
+                errors[i] = ErrorCode.GENDER_NOT_MATCH;
+            } else if (!likedUserIds.add(toUserId)) {
+                errors[i] = ErrorCode.DUPLICATED_REQUEST;
+            } else {
+                BlindLike like = new BlindLike();
+                like.setFromUser(fromUser);
+                like.setToUser(toUser);
+                newLikes.add(like);
+            }
+        }
 
-    private Set<Long> getMyRequestPendingUsersId(User user) {
-        Set<BlindRequest> myRequestPendingUsersInfo = blindRequestRepository.findAllByFromUserAndStatus(user, RequestStatus.PENDING);
+        blindLikeRepository.saveAll(newLikes);
+        newLikes.forEach(like -> relationshipIndex.add(Relation.BLIND_LIKED_USER, fromUser.getId(), like.getToUser().getId()));
 
-        return myRequestPendingUsersInfo.stream().map(BlindRequest::getToUser).map(User::getId).collect(Collectors.toUnmodifiableSet());
+        return toBulkItemResponses(toUserIds, errors);
     }
 
-    private Set<Long> getUserIdOfMyDateMatchedUsers(User user) {
-        Set<BlindDate> matchedUsers = blindDateRepository.getByMyMatchedUsers(user);
+    @Override
+    public List<BulkItemResponse> deleteJoinLikes(List<Long> toUserIds) {
+        checkBulkSize(toUserIds);
+        Long fromUserId = getCurrentUserId();
 
-        if (user.getGender() == Gender.MEN) {
-            return matchedUsers.stream().map(BlindDate::getWomenUser).map(User::getId).collect(Collectors.toSet());
+        Set<Long> nonNullToUserIds = toUserIds.stream().filter(Objects::nonNull).collect(Collectors.toSet());
+        Set<Long> likedUserIds = nonNullToUserIds.isEmpty() ? new HashSet<>() : new HashSet<>(blindLikeRepository.findAllToUserIdByFromUserIdAndToUserIdIn(fromUserId, nonNullToUserIds));
+
+        ErrorCode[] errors = new ErrorCode[toUserIds.size()];
+        List<Long> unlikedUserIds = new ArrayList<>();
+        for (int i = 0; i < toUserIds.size(); i++) {
+            if (likedUserIds.remove(toUserIds.get(i))) {
+                unlikedUserIds.add(toUserIds.get(i));
+            } else {
+                errors[i] = ErrorCode.REQUEST_NOT_FOUND;
+            }
+        }
+
+        if (!unlikedUserIds.isEmpty()) {
+            blindLikeRepository.deleteAllByFromUserIdAndToUserIdIn(fromUserId, unlikedUserIds);
         }
-        return matchedUsers.stream().map(BlindDate::getMenUser).map(User::getId).collect(Collectors.toSet());
+        unlikedUserIds.forEach(toUserId -> relationshipIndex.remove(Relation.BLIND_LIKED_USER, fromUserId, toUserId));
+
+        return toBulkItemResponses(toUserIds, errors);
+    }
+
+    private Map<Long, User> getUsersByIds(List<Long> userIds) {
+        Set<Long> nonNullUserIds = userIds.stream().filter(Objects::nonNull).collect(Collectors.toSet());
+        return userRepository.findAllById(nonNullUserIds).stream().collect(Collectors.toMap(User::getId, Function.identity()));
+    }
+
+    private User getUserById(long userId) {
+        return findInRequest(User.class, userId, userRepository::findById).orElseThrow(() ->
+                throwException(ErrorCode.USER_NOT_FOUND, () -> String.format("[%d]의 유저 정보가 존재하지 않습니다.", userId)));
     }
 }
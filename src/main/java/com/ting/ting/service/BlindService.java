@@ -2,9 +2,13 @@ package com.ting.ting.service;
 
 import com.ting.ting.dto.response.BlindRequestWithFromAndToResponse;
 import com.ting.ting.dto.response.BlindUserWithRequestStatusAndLikeStatusResponse;
+import com.ting.ting.dto.response.BulkItemResponse;
+import com.ting.ting.dto.response.CursorResponse;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import java.util.List;
+
 public interface BlindService {
 
     /**
@@ -12,6 +16,16 @@ public interface BlindService {
      */
     Page<BlindUserWithRequestStatusAndLikeStatusResponse> blindUsersInfo( Pageable pageable);
 
+    /**
+     * 소개팅 상대편 조회(커서 기반, 자신의 성별에 따라 조회 결과가 다름)
+     */
+    CursorResponse<BlindUserWithRequestStatusAndLikeStatusResponse> blindUsersInfo(String cursor, int size);
+
+    /**
+     * 추천 순서로 소개팅 상대편 조회(커서 기반, 미리 계산해 둔 추천 목록을 읽음)
+     */
+    CursorResponse<BlindUserWithRequestStatusAndLikeStatusResponse> recommendedBlindUsersInfo(String cursor, int size);
+
     // Todo :: 요청하기
 
     /**
@@ -19,6 +33,11 @@ public interface BlindService {
      */
     void createJoinRequest(long toUserId);
 
+    /**
+     * 여러 소개팅 상대에게 한 번에 요청(항목별 결과 반환)
+     */
+    List<BulkItemResponse> createJoinRequests(List<Long> toUserIds);
+
     /**
      * 소개팅 상대에게 한 요청 취소
      */
@@ -1,85 +1,95 @@
 package com.ting.ting.service;
 
+import com.ting.ting.cache.LongIdSet;
+import com.ting.ting.cache.Relation;
+import com.ting.ting.cache.RelationshipIndex;
 import com.ting.ting.domain.BlindDate;
-import com.ting.ting.domain.BlindLike;
+import com.ting.ting.domain.BlindQuota;
 import com.ting.ting.domain.BlindRequest;
 import com.ting.ting.domain.User;
-import com.ting.ting.domain.constant.Gender;
 import com.ting.ting.domain.constant.LikeStatus;
 import com.ting.ting.domain.constant.RequestStatus;
+import com.ting.ting.domain.custom.BlindUserWithRequestStatusAndLikeStatus;
+import com.ting.ting.domain.custom.RankedBlindUserWithRequestStatusAndLikeStatus;
 import com.ting.ting.dto.response.*;
 import com.ting.ting.exception.ErrorCode;
 import com.ting.ting.exception.ServiceType;
 import com.ting.ting.repository.BlindDateRepository;
 import com.ting.ting.repository.BlindLikeRepository;
+import com.ting.ting.repository.BlindQuotaRepository;
+import com.ting.ting.repository.BlindRecommendationRepository;
 import com.ting.ting.repository.BlindRequestRepository;
 import com.ting.ting.repository.UserRepository;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
-import org.springframework.data.domain.Pageable;
+import com.ting.ting.util.CursorCodec;
+import org.springframework.data.domain.*;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.*;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
+@Transactional
 @Component
 public class BlindServiceImpl extends AbstractService implements BlindService {
 
+    private static final int MAX_PENDING_REQUESTS = 5;
+    private static final int MAX_BLIND_DATES = 3;
+
     private final UserRepository userRepository;
     private final BlindRequestRepository blindRequestRepository;
     private final BlindDateRepository blindDateRepository;
     private final BlindLikeRepository blindLikeRepository;
+    private final BlindQuotaRepository blindQuotaRepository;
+    private final BlindRecommendationRepository blindRecommendationRepository;
+    private final RelationshipIndex relationshipIndex;
 
-    public BlindServiceImpl(UserRepository userRepository, BlindRequestRepository blindRequestRepository, BlindDateRepository blindDateRepository, BlindLikeRepository blindLikeRepository) {
+    public BlindServiceImpl(UserRepository userRepository, BlindRequestRepository blindRequestRepository, BlindDateRepository blindDateRepository, BlindLikeRepository blindLikeRepository, BlindQuotaRepository blindQuotaRepository, BlindRecommendationRepository blindRecommendationRepository, RelationshipIndex relationshipIndex) {
         super(ServiceType.BLIND);
         this.userRepository = userRepository;
         this.blindRequestRepository = blindRequestRepository;
         this.blindDateRepository = blindDateRepository;
         this.blindLikeRepository = blindLikeRepository;
+        this.blindQuotaRepository = blindQuotaRepository;
+        this.blindRecommendationRepository = blindRecommendationRepository;
+        this.relationshipIndex = relationshipIndex;
     }
 
     @Override
     public Page<BlindUserWithRequestStatusAndLikeStatusResponse> blindUsersInfo(Pageable pageable) {
         User user = getUserById(getCurrentUserId());
-        Set<Long> idToBeRemoved = getUserIdOfMyDateMatchedUsers(user);
-
-        idToBeRemoved.add(getCurrentUserId());
 
-        return getBlindUserWithRequestStatusAndLikeStatusResponses(user, pageable, userRepository.findAllByGenderAndIdNotIn(user.getGender().getOpposite(), idToBeRemoved, pageable));
+        return userRepository.findBlindCandidates(user.getId(), user.getGender().getOpposite(), pageable)
+                .map(BlindUserWithRequestStatusAndLikeStatusResponse::from);
     }
 
-    private Page<BlindUserWithRequestStatusAndLikeStatusResponse> getBlindUserWithRequestStatusAndLikeStatusResponses(User user, Pageable pageable, Page<User> otherUsers) {
-        List<BlindUserWithRequestStatusAndLikeStatusResponse> blindUserWithRequestStatusAndLikeStatusResponses = new ArrayList<>();
+    @Override
+    public CursorResponse<BlindUserWithRequestStatusAndLikeStatusResponse> blindUsersInfo(String cursor, int size) {
+        User user = getUserById(getCurrentUserId());
+        long lastUserId = CursorCodec.decode(cursor, 0L);
 
-        Set<User> myRequestPendingUsers = getMyRequestPendingUsers(user);
+        Slice<BlindUserWithRequestStatusAndLikeStatus> otherUsers = userRepository.findBlindCandidatesAfter(user.getId(), user.getGender().getOpposite(), lastUserId, PageRequest.of(0, Math.min(Math.max(size, 1), MAX_CURSOR_PAGE_SIZE)));
 
-        Set<User> myLikedUsers = getMyLikedUser(user);
+        List<BlindUserWithRequestStatusAndLikeStatus> content = otherUsers.getContent();
+        String nextCursor = otherUsers.hasNext() ? CursorCodec.encode(content.get(content.size() - 1).getId()) : null;
 
-        for (User otherUser : otherUsers) {
-            if (myRequestPendingUsers.contains(otherUser)) {
-                checkLikedUserAndUpdateBlindUserList(blindUserWithRequestStatusAndLikeStatusResponses, myLikedUsers, otherUser, RequestStatus.PENDING);
-            } else {
-                checkLikedUserAndUpdateBlindUserList(blindUserWithRequestStatusAndLikeStatusResponses, myLikedUsers, otherUser, RequestStatus.EMPTY);
-            }
-        }
-        return new PageImpl<>(blindUserWithRequestStatusAndLikeStatusResponses, pageable, otherUsers.getTotalElements());
+        return CursorResponse.of(content.stream().map(BlindUserWithRequestStatusAndLikeStatusResponse::from).collect(Collectors.toList()), nextCursor);
     }
 
-    private void checkLikedUserAndUpdateBlindUserList(List<BlindUserWithRequestStatusAndLikeStatusResponse> blindUserWithRequestStatusAndLikeStatusResponse, Set<User> myLikedUsers, User otherUser, RequestStatus requestStatus) {
-        if (myLikedUsers.contains(otherUser)) {
-            blindUserWithRequestStatusAndLikeStatusResponse.add(BlindUserWithRequestStatusAndLikeStatusResponse.of(otherUser, requestStatus, LikeStatus.LIKED));
-        } else {
-            blindUserWithRequestStatusAndLikeStatusResponse.add(BlindUserWithRequestStatusAndLikeStatusResponse.of(otherUser, requestStatus, LikeStatus.NOT_LIKED));
-        }
-    }
+    @Override
+    @Transactional(readOnly = true)
+    public CursorResponse<BlindUserWithRequestStatusAndLikeStatusResponse> recommendedBlindUsersInfo(String cursor, int size) {
+        Long userId = getCurrentUserId();
+        long[] lastKeys = CursorCodec.decode(cursor, Integer.MAX_VALUE, 0L);
 
-    private Set<Long> getUserIdOfMyDateMatchedUsers(User user) {
-        Set<BlindDate> matchedUsers = blindDateRepository.getByMyMatchedUsers(user);
+        Slice<RankedBlindUserWithRequestStatusAndLikeStatus> otherUsers = blindRecommendationRepository.findAllRankedAfter(userId, (int) Math.min(lastKeys[0], Integer.MAX_VALUE), lastKeys[1],
+                PageRequest.of(0, Math.min(Math.max(size, 1), MAX_CURSOR_PAGE_SIZE)));
 
-        if (user.getGender() == Gender.MEN) {
-            return matchedUsers.stream().map(BlindDate::getWomenUser).map(User::getId).collect(Collectors.toSet());
-        }
-        return matchedUsers.stream().map(BlindDate::getMenUser).map(User::getId).collect(Collectors.toSet());
+        List<RankedBlindUserWithRequestStatusAndLikeStatus> content = otherUsers.getContent();
+        RankedBlindUserWithRequestStatusAndLikeStatus last = otherUsers.hasNext() ? content.get(content.size() - 1) : null;
+        String nextCursor = last != null ? CursorCodec.encode(last.getScore(), last.getId()) : null;
+
+        return CursorResponse.of(content.stream().map(BlindUserWithRequestStatusAndLikeStatusResponse::from).collect(Collectors.toList()), nextCursor);
     }
 
     @Override
@@ -91,15 +101,6 @@ public class BlindServiceImpl extends AbstractService implements BlindService {
         }
 
         User fromUser = getUserById(fromUserId);
-
-        if (blindRequestRepository.countByFromUserAndStatus(fromUser, RequestStatus.PENDING) >= 5) {
-            throwException(ErrorCode.LIMIT_NUMBER_OF_REQUEST);
-        }
-
-        if (blindDateRepository.countByBlindDate(fromUser) >= 3) {
-            throwException(ErrorCode.LIMIT_NUMBER_OF_BlIND_DATE);
-        }
-
         User toUser = getUserById(toUserId);
 
         if (fromUser.getGender() == toUser.getGender()) {
@@ -110,10 +111,59 @@ public class BlindServiceImpl extends AbstractService implements BlindService {
             throwException(ErrorCode.DUPLICATED_REQUEST);
         });
 
+        reservePendingRequest(fromUser);
+
         BlindRequest request = new BlindRequest();
         request.setFromUser(fromUser);
         request.setToUser(toUser);
         blindRequestRepository.save(request);
+        relationshipIndex.add(Relation.BLIND_PENDING_REQUEST_USER, fromUser.getId(), toUser.getId());
+    }
+
+    @Override
+    public List<BulkItemResponse> createJoinRequests(List<Long> toUserIds) {
+        checkBulkSize(toUserIds);
+        User fromUser = getUserById(getCurrentUserId());
+
+        Map<Long, User> toUsers = getUsersByIds(toUserIds);
+        Set<Long> requestedUserIds = toUsers.isEmpty() ? new HashSet<>() : new HashSet<>(blindRequestRepository.findAllToUserIdByFromUserIdAndToUserIdIn(fromUser.getId(), toUsers.keySet()));
+
+        ErrorCode[] errors = new ErrorCode[toUserIds.size()];
+        List<BlindRequest> newRequests = new ArrayList<>();
+        ErrorCode quotaError = null;
+        for (int i = 0; i < toUserIds.size(); i++) {
+            Long toUserId = toUserIds.get(i);
+            User toUser = toUsers.get(toUserId);
+
+            if (fromUser.getId().equals(toUserId)) {
+                errors[i] = ErrorCode.DUPLICATED_USER_REQUEST;
+            } else if (toUser == null) {
+                errors[i] = ErrorCode.USER_NOT_FOUND;
+            } else if (fromUser.getGender() == toUser.getGender()) {
+                errors[i] = ErrorCode.GENDER_NOT_MATCH;
+            } else if (!requestedUserIds.add(toUserId)) {
+                errors[i] = ErrorCode.DUPLICATED_REQUEST;
+            } else {
+                // 한 번 제한에 걸리면 남은 항목도 같은 이유로 실패한다.
+                if (quotaError == null) {
+                    quotaError = tryReservePendingRequest(fromUser);
+                }
+
+                if (quotaError == null) {
+                    BlindRequest request = new BlindRequest();
+                    request.setFromUser(fromUser);
+                    request.setToUser(toUser);
+                    newRequests.add(request);
+                } else {
+                    errors[i] = quotaError;
+                }
+            }
+        }
+
+        blindRequestRepository.saveAll(newRequests);
+        newRequests.forEach(request -> relationshipIndex.add(Relation.BLIND_PENDING_REQUEST_USER, fromUser.getId(), request.getToUser().getId()));
+
+        return toBulkItemResponses(toUserIds, errors);
     }
 
     @Override
@@ -121,6 +171,10 @@ public class BlindServiceImpl extends AbstractService implements BlindService {
         BlindRequest request = blindRequestRepository.findByFromUser_IdAndToUser_Id(getCurrentUserId(), toUserId)
                 .orElseThrow(() -> throwException(ErrorCode.REQUEST_NOT_FOUND));
         blindRequestRepository.delete(request);
+        if (request.getStatus() == RequestStatus.PENDING) {
+            releasePendingRequest(request.getFromUser());
+        }
+        relationshipIndex.remove(Relation.BLIND_PENDING_REQUEST_USER, request.getFromUser().getId(), toUserId);
     }
 
     @Override
@@ -134,11 +188,9 @@ public class BlindServiceImpl extends AbstractService implements BlindService {
     }
 
     private Set<BlindRequestResponseWithLikeStatus> getBlindRequestResponseByBlindDateResponse(long userId, Set<BlindRequestResponse> myRelatedUsersInfo) {
-        User user = getUserById(userId);
-
         Set<BlindRequestResponseWithLikeStatus> blindRequestResponseWithLikeStatus = new LinkedHashSet<>();
 
-        Set<Long> blindLikedUserId = getMyLikedUser(user).stream().map(User::getId).collect(Collectors.toUnmodifiableSet());
+        LongIdSet blindLikedUserId = relationshipIndex.get(Relation.BLIND_LIKED_USER, userId);
 
         for (BlindRequestResponse blindRequestResponse : myRelatedUsersInfo) {
             Long oppositeUserId = blindRequestResponse.getUserId();
@@ -188,6 +240,7 @@ public class BlindServiceImpl extends AbstractService implements BlindService {
         blindRequest.setStatus(RequestStatus.ACCEPTED);
 
         Optional<BlindRequest> oppositeCase = blindRequestRepository.findByFromUserAndToUser(user, blindRequestUser);
+        boolean isOppositeCasePending = oppositeCase.map(BlindRequest::getStatus).filter(RequestStatus.PENDING::equals).isPresent();
 
         oppositeCase.ifPresent(otherBlindRequest -> {
             if (otherBlindRequest.getStatus() == RequestStatus.ACCEPTED) {
@@ -200,6 +253,18 @@ public class BlindServiceImpl extends AbstractService implements BlindService {
 
         blindDateRepository.save(BlindDate.from(blindRequest));
         blindRequestRepository.save(blindRequest);
+
+        releasePendingRequest(blindRequestUser);
+        if (isOppositeCasePending) {
+            releasePendingRequest(user);
+        }
+        addBlindDate(user);
+        addBlindDate(blindRequestUser);
+
+        relationshipIndex.remove(Relation.BLIND_PENDING_REQUEST_USER, blindRequestUser.getId(), user.getId());
+        relationshipIndex.remove(Relation.BLIND_PENDING_REQUEST_USER, user.getId(), blindRequestUser.getId());
+        relationshipIndex.add(Relation.BLIND_MATCHED_USER, user.getId(), blindRequestUser.getId());
+        relationshipIndex.add(Relation.BLIND_MATCHED_USER, blindRequestUser.getId(), user.getId());
     }
 
     @Override
@@ -211,27 +276,80 @@ public class BlindServiceImpl extends AbstractService implements BlindService {
         }
 
         blindRequestRepository.delete(blindRequest);
+        if (blindRequest.getStatus() == RequestStatus.PENDING) {
+            releasePendingRequest(blindRequest.getFromUser());
+        }
+        relationshipIndex.remove(Relation.BLIND_PENDING_REQUEST_USER, blindRequest.getFromUser().getId(), blindRequest.getToUser().getId());
     }
 
-    private User getUserById(long userId) {
-        return userRepository.findById(userId).orElseThrow(() ->
-                throwException(ErrorCode.USER_NOT_FOUND, String.format("[%d]의 유저 정보가 존재하지 않습니다.", userId)));
+    private void reservePendingRequest(User fromUser) {
+        ErrorCode quotaError = tryReservePendingRequest(fromUser);
+        if (quotaError != null) {
+            throwException(quotaError);
+        }
     }
 
-    private BlindRequest getBlindRequestById(long blindRequestId) {
-        return blindRequestRepository.findById(blindRequestId).orElseThrow(() ->
-                throwException(ErrorCode.REQUEST_NOT_FOUND));
+    // 요청 수와 매칭 수 제한을 한 번의 조건부 갱신으로 확인하면서 요청 수를 늘린다. 동시에 요청해도 제한을 넘지 않는다.
+    // 제한에 걸리면 어떤 제한인지 ErrorCode 로 반환하고, 성공하면 null 을 반환한다.
+    private ErrorCode tryReservePendingRequest(User fromUser) {
+        if (blindQuotaRepository.reservePendingRequest(fromUser.getId(), MAX_PENDING_REQUESTS, MAX_BLIND_DATES) == 1) {
+            return null;
+        }
+
+        // 0 이면 제한에 걸렸거나 아직 행이 없는 경우. 행이 있게 한 뒤 한 번 더 시도한다.
+        createQuotaIfAbsent(fromUser);
+        if (blindQuotaRepository.reservePendingRequest(fromUser.getId(), MAX_PENDING_REQUESTS, MAX_BLIND_DATES) == 1) {
+            return null;
+        }
+
+        // 제한에 걸린 경우에만 어떤 제한인지 읽는다.
+        BlindQuota quota = blindQuotaRepository.findById(fromUser.getId()).orElseThrow(() ->
+                throwException(ErrorCode.USER_NOT_FOUND, () -> String.format("BlindQuota of User(id: %d) not found", fromUser.getId())));
+        if (quota.getPendingRequestCount() >= MAX_PENDING_REQUESTS) {
+            return ErrorCode.LIMIT_NUMBER_OF_REQUEST;
+        }
+        return ErrorCode.LIMIT_NUMBER_OF_BlIND_DATE;
     }
 
-    private Set<User> getMyRequestPendingUsers(User user) {
-        Set<BlindRequest> myRequestPendingUsersInfo = blindRequestRepository.findAllByFromUserAndStatus(user, RequestStatus.PENDING);
+    // 새로 만든 행은 이 트랜잭션의 변경까지 센 값이다. 다른 트랜잭션이 먼저 만든 행이었다면 그 행에 다시 반영한다.
+    private void releasePendingRequest(User fromUser) {
+        if (blindQuotaRepository.releasePendingRequest(fromUser.getId()) == 0 && !createQuotaIfAbsent(fromUser)) {
+            blindQuotaRepository.releasePendingRequest(fromUser.getId());
+        }
+    }
+
+    private void addBlindDate(User user) {
+        if (blindQuotaRepository.addBlindDate(user.getId()) == 0 && !createQuotaIfAbsent(user)) {
+            blindQuotaRepository.addBlindDate(user.getId());
+        }
+    }
+
+    // 행은 가입할 때 만들어지고, 그 전에 가입했거나 가입 절차를 거치지 않고 만들어진 유저만 여기서 현재 기록으로 만든다.
+    // 같은 유저의 행을 동시에 만들지 않도록 유저 행을 먼저 잠그고, 잠금 읽기로 다른 트랜잭션이 이미 만들었는지 확인한다.
+    private boolean createQuotaIfAbsent(User user) {
+        userRepository.findForUpdateById(user.getId());
+        if (blindQuotaRepository.findForUpdateByUserId(user.getId()).isPresent()) {
+            return false;
+        }
 
-        return myRequestPendingUsersInfo.stream().map(BlindRequest::getToUser).collect(Collectors.toUnmodifiableSet());
+        int pendingRequestCount = blindRequestRepository.countByFromUserAndStatus(user, RequestStatus.PENDING).intValue();
+        int blindDateCount = blindDateRepository.countByBlindDate(user).intValue();
+        blindQuotaRepository.save(BlindQuota.of(user.getId(), pendingRequestCount, blindDateCount));
+        return true;
     }
 
-    private Set<User> getMyLikedUser(User user) {
-        Set<BlindLike> myLikedUserInfo = blindLikeRepository.findAllByFromUser(user);
+    private Map<Long, User> getUsersByIds(List<Long> userIds) {
+        Set<Long> nonNullUserIds = userIds.stream().filter(Objects::nonNull).collect(Collectors.toSet());
+        return userRepository.findAllById(nonNullUserIds).stream().collect(Collectors.toMap(User::getId, Function.identity()));
+    }
+
+    private User getUserById(long userId) {
+        return findInRequest(User.class, userId, userRepository::findById).orElseThrow(() ->
+                throwException(ErrorCode.USER_NOT_FOUND, () -> String.format("[%d]의 유저 정보가 존재하지 않습니다.", userId)));
+    }
 
-        return myLikedUserInfo.stream().map(BlindLike::getToUser).collect(Collectors.toUnmodifiableSet());
+    private BlindRequest getBlindRequestById(long blindRequestId) {
+        return blindRequestRepository.findById(blindRequestId).orElseThrow(() ->
+                throwException(ErrorCode.REQUEST_NOT_FOUND));
     }
 }
@@ -1,5 +1,7 @@
 package com.ting.ting.service;
 
+import com.ting.ting.cache.Relation;
+import com.ting.ting.cache.RelationshipIndex;
 import com.ting.ting.domain.*;
 import com.ting.ting.domain.constant.Gender;
 import com.ting.ting.domain.constant.MemberRole;
@@ -28,18 +30,20 @@ public class GroupDateServiceImpl extends AbstractService implements GroupDateSe
     private final UserRepository userRepository;
     private final GroupRepository groupRepository;
     private final GroupMemberRepository groupMemberRepository;
-    private final GroupLikeToDateRepository groupLikeToDateRepository;
+    private final GroupLikeToDateCountRepository groupLikeToDateCountRepository;
     private final GroupDateRepository groupDateRepository;
     private final GroupDateRequestRepository groupDateRequestRepository;
+    private final RelationshipIndex relationshipIndex;
 
-    public GroupDateServiceImpl(UserRepository userRepository, GroupRepository groupRepository, GroupMemberRepository groupMemberRepository, GroupLikeToDateRepository groupLikeToDateRepository, GroupDateRepository groupDateRepository, GroupDateRequestRepository groupDateRequestRepository) {
+    public GroupDateServiceImpl(UserRepository userRepository, GroupRepository groupRepository, GroupMemberRepository groupMemberRepository, GroupLikeToDateCountRepository groupLikeToDateCountRepository, GroupDateRepository groupDateRepository, GroupDateRequestRepository groupDateRequestRepository, RelationshipIndex relationshipIndex) {
         super(ServiceType.GROUP_MEETING);
         this.userRepository = userRepository;
         this.groupRepository = groupRepository;
         this.groupMemberRepository = groupMemberRepository;
-        this.groupLikeToDateRepository = groupLikeToDateRepository;
+        this.groupLikeToDateCountRepository = groupLikeToDateCountRepository;
         this.groupDateRepository = groupDateRepository;
         this.groupDateRequestRepository = groupDateRequestRepository;
+        this.relationshipIndex = relationshipIndex;
     }
 
     @Override
@@ -48,7 +52,7 @@ public class GroupDateServiceImpl extends AbstractService implements GroupDateSe
         User member = loadUserByUserId(getCurrentUserId());
 
         GroupMember memberRecordOfUser = groupMemberRepository.findByGroupAndMember(group, member).orElseThrow(() ->
-                throwException(ErrorCode.REQUEST_NOT_FOUND, String.format("User(id: %d) is not a member of the Group(id: %d)", member.getId(), group.getId()))
+                throwException(ErrorCode.REQUEST_NOT_FOUND, () -> String.format("User(id: %d) is not a member of the Group(id: %d)", member.getId(), group.getId()))
         );
 
         Page<GroupDateRequest> dateRequests = groupDateRequestRepository.findAllByFromGroup_IsMatchedAndToGroup(false, group, pageable);
@@ -60,7 +64,7 @@ public class GroupDateServiceImpl extends AbstractService implements GroupDateSe
             return new PageImpl<>(List.of(), pageable, dateRequests.getTotalElements());
         }
 
-        List<GroupIdWithLikeCount> fromGroupIdsWithLikeCount = groupLikeToDateRepository.findAllToGroupIdAndLikeCountByFromGroupMember_GroupAndToGroupIdsIn(group, fromGroups);
+        List<GroupIdWithLikeCount> fromGroupIdsWithLikeCount = groupLikeToDateCountRepository.findAllToGroupIdAndLikeCountByFromGroupAndToGroupIn(group, fromGroups);
         Map<Long, Integer> fromGroupIdWithLikeCountMap = fromGroupIdsWithLikeCount.stream().collect(Collectors.toMap(GroupIdWithLikeCount::getGroupId, GroupIdWithLikeCount::getLikeCount));
         List<Group> fromGroupWithMembersInfo = groupRepository.findAllWithMembersInfoByIdIn(fromGroups.stream().map(Group::getId).collect(Collectors.toUnmodifiableList()));
 
@@ -89,11 +93,11 @@ public class GroupDateServiceImpl extends AbstractService implements GroupDateSe
         Group menGroup, womenGroup;
 
         if (fromGroup.getGender() == toGroup.getGender()) {
-            throwException(ErrorCode.INVALID_REQUEST, String.format("The genders of fromGroup(id: %d) and toGroup(id: %d) are the same", fromGroupId, toGroupId));
+            throwException(ErrorCode.INVALID_REQUEST, () -> String.format("The genders of fromGroup(id: %d) and toGroup(id: %d) are the same", fromGroupId, toGroupId));
         }
 
         if (groupDateRequestRepository.existsByFromGroupAndToGroup(fromGroup, toGroup)) {
-            throwException(ErrorCode.DUPLICATED_REQUEST, String.format("fromGroup(id:%d) has already requested a date match with toGroup(id:%d)", fromGroupId, toGroupId));
+            throwException(ErrorCode.DUPLICATED_REQUEST, () -> String.format("fromGroup(id:%d) has already requested a date match with toGroup(id:%d)", fromGroupId, toGroupId));
         }
 
         throwIfUserIsNotTheLeaderOfGroup(leader, fromGroup);
@@ -107,10 +111,13 @@ public class GroupDateServiceImpl extends AbstractService implements GroupDateSe
         }
 
         if (groupDateRepository.existsByMenGroupOrWomenGroup(menGroup, womenGroup)) {
-            throwException(ErrorCode.DUPLICATED_REQUEST, String.format("GroupDate of fromGroup(id: %d) or toGroup(id: %d) already exists", fromGroupId, toGroupId));
+            throwException(ErrorCode.DUPLICATED_REQUEST, () -> String.format("GroupDate of fromGroup(id: %d) or toGroup(id: %d) already exists", fromGroupId, toGroupId));
         }
 
-        return GroupDateRequestResponse.from(groupDateRequestRepository.save(GroupDateRequest.of(fromGroup, toGroup)));
+        GroupDateRequest created = groupDateRequestRepository.save(GroupDateRequest.of(fromGroup, toGroup));
+        relationshipIndex.add(Relation.DATE_PENDING_GROUP, fromGroupId, toGroupId);
+
+        return GroupDateRequestResponse.from(created);
     }
 
     @Override
@@ -121,6 +128,7 @@ public class GroupDateServiceImpl extends AbstractService implements GroupDateSe
         throwIfUserIsNotTheLeaderOfGroup(leader, fromGroup);
 
         groupDateRequestRepository.deleteByFromGroup_IdAndToGroup_Id(fromGroupId, toGroupId);
+        relationshipIndex.remove(Relation.DATE_PENDING_GROUP, fromGroupId, toGroupId);
     }
 
     @Override
@@ -128,12 +136,12 @@ public class GroupDateServiceImpl extends AbstractService implements GroupDateSe
         User leader = loadUserByUserId(getCurrentUserId());
         Group menGroup, womenGroup;
         GroupDateRequest groupDateRequest = groupDateRequestRepository.findById(groupDateRequestId).orElseThrow(() ->
-                throwException(ErrorCode.REQUEST_NOT_FOUND, String.format("GroupDateRequest(id: %d) not found", groupDateRequestId))
+                throwException(ErrorCode.REQUEST_NOT_FOUND, () -> String.format("GroupDateRequest(id: %d) not found", groupDateRequestId))
         );
 
         if (groupDateRequest.getFromGroup().getGender().equals(groupDateRequest.getToGroup().getGender())) {
             groupDateRequestRepository.delete(groupDateRequest);
-            throwException(ErrorCode.INVALID_REQUEST, String.format("The genders of fromGroup(id: %d) and toGroup(id: %d) are the same", groupDateRequest.getFromGroup().getId(), groupDateRequest.getToGroup().getId()));
+            throwException(ErrorCode.INVALID_REQUEST, () -> String.format("The genders of fromGroup(id: %d) and toGroup(id: %d) are the same", groupDateRequest.getFromGroup().getId(), groupDateRequest.getToGroup().getId()));
         }
 
         throwIfUserIsNotTheLeaderOfGroup(leader, groupDateRequest.getToGroup());
@@ -147,15 +155,18 @@ public class GroupDateServiceImpl extends AbstractService implements GroupDateSe
         }
 
         if (groupDateRepository.existsByMenGroupOrWomenGroup(menGroup, womenGroup)) {
-            throwException(ErrorCode.DUPLICATED_REQUEST, String.format("GroupDate of fromGroup(id: %d) or toGroup(id: %d) already exists", groupDateRequest.getFromGroup().getId(), groupDateRequest.getToGroup().getId()));
+            throwException(ErrorCode.DUPLICATED_REQUEST, () -> String.format("GroupDate of fromGroup(id: %d) or toGroup(id: %d) already exists", groupDateRequest.getFromGroup().getId(), groupDateRequest.getToGroup().getId()));
         }
 
+        lockInIdOrder(menGroup, womenGroup);
         menGroup.setMatched(true);
         womenGroup.setMatched(true);
 
         GroupDate created = groupDateRepository.save(GroupDate.of(menGroup, womenGroup));
         groupDateRequestRepository.delete(groupDateRequest);
         groupDateRequestRepository.deleteByFromGroupAndToGroup(groupDateRequest.getToGroup(), groupDateRequest.getFromGroup()); // toGroup이 fromGroup에 요청한 적이 있다면, 그 기록도 삭제한다.
+        relationshipIndex.remove(Relation.DATE_PENDING_GROUP, groupDateRequest.getFromGroup().getId(), groupDateRequest.getToGroup().getId());
+        relationshipIndex.remove(Relation.DATE_PENDING_GROUP, groupDateRequest.getToGroup().getId(), groupDateRequest.getFromGroup().getId());
 
         return GroupDateResponse.from(created);
     }
@@ -164,29 +175,37 @@ public class GroupDateServiceImpl extends AbstractService implements GroupDateSe
     public void rejectGroupDateRequest(long groupDateRequestId) {
         User leader = loadUserByUserId(getCurrentUserId());
         GroupDateRequest groupDateRequest = groupDateRequestRepository.findById(groupDateRequestId).orElseThrow(() ->
-                throwException(ErrorCode.REQUEST_NOT_FOUND, String.format("GroupDateRequest(id: %d) not found", groupDateRequestId))
+                throwException(ErrorCode.REQUEST_NOT_FOUND, () -> String.format("GroupDateRequest(id: %d) not found", groupDateRequestId))
         );
 
         throwIfUserIsNotTheLeaderOfGroup(leader, groupDateRequest.getToGroup());
 
         groupDateRequestRepository.delete(groupDateRequest);
+        relationshipIndex.remove(Relation.DATE_PENDING_GROUP, groupDateRequest.getFromGroup().getId(), groupDateRequest.getToGroup().getId());
     }
 
     private void throwIfUserIsNotTheLeaderOfGroup(User leader, Group group) {
         if (!groupMemberRepository.existsByGroupAndMemberAndRole(group, leader, MemberRole.LEADER)) {
-            throwException(ErrorCode.INVALID_PERMISSION, String.format("User(id: %d) is not the leader of Group(id: %d)", leader.getId(), group.getId()));
+            throwException(ErrorCode.INVALID_PERMISSION, () -> String.format("User(id: %d) is not the leader of Group(id: %d)", leader.getId(), group.getId()));
         }
     }
 
+    // 팀 행은 바꾸기 전에 잠그고 다시 읽는다. 두 팀을 id 순서로 잠가 서로에게 보낸 요청을 동시에 수락해도 교착되지 않게 한다.
+    private void lockInIdOrder(Group group, Group otherGroup) {
+        boolean groupFirst = group.getId() < otherGroup.getId();
+        groupRepository.lockForUpdate(groupFirst ? group : otherGroup);
+        groupRepository.lockForUpdate(groupFirst ? otherGroup : group);
+    }
+
     private Group loadGroupByGroupId(Long groupId) {
-        return groupRepository.findById(groupId).orElseThrow(() ->
-                throwException(ErrorCode.REQUEST_NOT_FOUND, String.format("Group(id: %d) not found", groupId))
+        return findInRequest(Group.class, groupId, groupRepository::findById).orElseThrow(() ->
+                throwException(ErrorCode.REQUEST_NOT_FOUND, () -> String.format("Group(id: %d) not found", groupId))
         );
     }
 
     private User loadUserByUserId(Long userId) {
-        return userRepository.findById(userId).orElseThrow(() ->
-                throwException(ErrorCode.REQUEST_NOT_FOUND, String.format("User(id: %d) not found", userId))
+        return findInRequest(User.class, userId, userRepository::findById).orElseThrow(() ->
+                throwException(ErrorCode.REQUEST_NOT_FOUND, () -> String.format("User(id: %d) not found", userId))
         );
     }
 }
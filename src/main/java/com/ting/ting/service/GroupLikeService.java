@@ -1,10 +1,13 @@
 package com.ting.ting.service;
 
+import com.ting.ting.dto.response.BulkItemResponse;
 import com.ting.ting.dto.response.DateableGroupResponse;
 import com.ting.ting.dto.response.JoinableGroupResponse;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import java.util.List;
+
 public interface GroupLikeService {
 
     /**
@@ -27,6 +30,16 @@ public interface GroupLikeService {
      */
     void deleteSameGenderGroupLike(Long groupId);
 
+    /**
+     * 같은 성별의 여러 팀 한 번에 찜하기(항목별 결과 반환)
+     */
+    List<BulkItemResponse> createSameGenderGroupLikes(List<Long> groupIds);
+
+    /**
+     * 같은 성별의 여러 팀 찜하기 한 번에 취소(항목별 결과 반환)
+     */
+    List<BulkItemResponse> deleteSameGenderGroupLikes(List<Long> groupIds);
+
     /**
      * 다른 성별의 팀 찜하기
      */
@@ -1,10 +1,15 @@
 package com.ting.ting.service;
 
+import com.ting.ting.cache.LongIdSet;
+import com.ting.ting.cache.Relation;
+import com.ting.ting.cache.RelationshipIndex;
 import com.ting.ting.domain.*;
 import com.ting.ting.domain.constant.LikeStatus;
 import com.ting.ting.domain.constant.RequestStatus;
 import com.ting.ting.domain.custom.GroupIdWithLikeCount;
+import com.ting.ting.domain.custom.GroupSummary;
 import com.ting.ting.domain.custom.GroupWithMemberCount;
+import com.ting.ting.dto.response.BulkItemResponse;
 import com.ting.ting.dto.response.DateableGroupResponse;
 import com.ting.ting.dto.response.JoinableGroupResponse;
 import com.ting.ting.exception.ErrorCode;
@@ -16,9 +21,8 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.List;
-import java.util.Map;
-import java.util.Set;
+import java.util.*;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Transactional
@@ -32,9 +36,11 @@ public class GroupLikeServiceImpl extends AbstractService implements GroupLikeSe
     private final GroupDateRequestRepository groupDateRequestRepository;
     private final GroupLikeToJoinRepository groupLikeToJoinRepository;
     private final GroupLikeToDateRepository groupLikeToDateRepository;
+    private final GroupLikeToDateCountRepository groupLikeToDateCountRepository;
+    private final RelationshipIndex relationshipIndex;
 
     public GroupLikeServiceImpl(UserRepository userRepository, GroupRepository groupRepository, GroupMemberRepository groupMemberRepository, GroupMemberRequestRepository groupMemberRequestRepository, GroupDateRequestRepository groupDateRequestRepository,
-                                GroupLikeToJoinRepository groupLikeToJoinRepository, GroupLikeToDateRepository groupLikeToDateRepository){
+                                GroupLikeToJoinRepository groupLikeToJoinRepository, GroupLikeToDateRepository groupLikeToDateRepository, GroupLikeToDateCountRepository groupLikeToDateCountRepository, RelationshipIndex relationshipIndex){
         super(ServiceType.GROUP_MEETING);
         this.userRepository = userRepository;
         this.groupRepository = groupRepository;
@@ -43,6 +49,8 @@ public class GroupLikeServiceImpl extends AbstractService implements GroupLikeSe
         this.groupDateRequestRepository = groupDateRequestRepository;
         this.groupLikeToJoinRepository = groupLikeToJoinRepository;
         this.groupLikeToDateRepository = groupLikeToDateRepository;
+        this.groupLikeToDateCountRepository = groupLikeToDateCountRepository;
+        this.relationshipIndex = relationshipIndex;
     }
 
     @Override
@@ -51,10 +59,10 @@ public class GroupLikeServiceImpl extends AbstractService implements GroupLikeSe
         User member = loadUserByUserId(getCurrentUserId());
 
         GroupMember memberRecordOfUser = groupMemberRepository.findByGroupAndMember(group, member).orElseThrow(() ->
-                throwException(ErrorCode.REQUEST_NOT_FOUND, String.format("User(id: %d) is not a member of the Group(id: %d)", member.getId(), group.getId()))
+                throwException(ErrorCode.REQUEST_NOT_FOUND, () -> String.format("User(id: %d) is not a member of the Group(id: %d)", member.getId(), group.getId()))
         );
 
-        Page<GroupIdWithLikeCount> idAndLikeCountOfGroupsLikeToDate = groupLikeToDateRepository.findAllToGroupIdAndLikeCountByFromGroupMember_Group(group, pageable);
+        Page<GroupIdWithLikeCount> idAndLikeCountOfGroupsLikeToDate = groupLikeToDateCountRepository.findAllToGroupIdAndLikeCountByFromGroup(group, pageable);
         Map<Long, Integer> groupIdWithLikeCountMap = idAndLikeCountOfGroupsLikeToDate.stream().collect(Collectors.toMap(GroupIdWithLikeCount::getGroupId, GroupIdWithLikeCount::getLikeCount));
 
         // 찜한 기록이 없는 경우는 바로 return
@@ -62,10 +70,14 @@ public class GroupLikeServiceImpl extends AbstractService implements GroupLikeSe
             return new PageImpl<>(List.of(), pageable, idAndLikeCountOfGroupsLikeToDate.getTotalElements());
         }
 
-        Set<Group> likedGroups = groupRepository.findAllWithMembersInfoByIdIn(idAndLikeCountOfGroupsLikeToDate.stream().map(GroupIdWithLikeCount::getGroupId).collect(Collectors.toList())).stream().collect(Collectors.toUnmodifiableSet());
+        // in 조회 결과는 순서가 정해져 있지 않으므로 찜 수 순서(페이지 순서)대로 다시 늘어놓는다.
+        List<Long> likedGroupIds = idAndLikeCountOfGroupsLikeToDate.stream().map(GroupIdWithLikeCount::getGroupId).collect(Collectors.toList());
+        Map<Long, Group> likedGroupById = groupRepository.findAllWithMembersInfoByIdIn(likedGroupIds).stream()
+                .collect(Collectors.toMap(Group::getId, Function.identity(), (group1, group2) -> group1));
+        List<Group> likedGroups = likedGroupIds.stream().map(likedGroupById::get).filter(Objects::nonNull).collect(Collectors.toList());
 
-        Set<Long> pendingDateGroupIds = groupDateRequestRepository.findAllByFromGroup(group).stream().map(GroupDateRequest::getToGroup).map(Group::getId).collect(Collectors.toUnmodifiableSet());
-        Set<Long> myLikeGroupIds = groupLikeToDateRepository.findAllByFromGroupMember(memberRecordOfUser).stream().map(GroupLikeToDate::getToGroup).map(Group::getId).collect(Collectors.toUnmodifiableSet());
+        LongIdSet pendingDateGroupIds = relationshipIndex.get(Relation.DATE_PENDING_GROUP, group.getId());
+        LongIdSet myLikeGroupIds = relationshipIndex.get(Relation.DATE_LIKED_GROUP, memberRecordOfUser.getId());
 
         List<DateableGroupResponse> likedDateableGroupResponses = likedGroups.stream()
                 .map(likedGroup -> {
@@ -102,7 +114,7 @@ public class GroupLikeServiceImpl extends AbstractService implements GroupLikeSe
         }
 
         List<GroupWithMemberCount> likedGroupsWithMemberCount = groupRepository.findAllWithMemberCountByIdIn(likedGroupIds);
-        Set<Long> pendingJoinRequestGroupIds = groupMemberRequestRepository.findAllByUser(user).stream().map(GroupMemberRequest::getGroup).map(Group::getId).collect(Collectors.toUnmodifiableSet());
+        LongIdSet pendingJoinRequestGroupIds = relationshipIndex.get(Relation.JOIN_PENDING_GROUP, user.getId());
 
         List<JoinableGroupResponse> likedJoinableGroupResponses = likedGroupsWithMemberCount.stream()
                 .map(likedGroup -> {
@@ -122,44 +134,125 @@ public class GroupLikeServiceImpl extends AbstractService implements GroupLikeSe
 
     @Override
     public void createSameGenderGroupLike(Long toGroupId) {
-        Group group = loadGroupByGroupId(toGroupId);
+        GroupSummary group = loadGroupSummaryByGroupId(toGroupId);
         User user = loadUserByUserId(getCurrentUserId());
 
         if (group.getGender() != user.getGender()) {
-            throwException(ErrorCode.GENDER_NOT_MATCH, String.format("Gender values of Group(id:%d) and User(id:%d) do not match", toGroupId, user.getId()));
+            throwException(ErrorCode.GENDER_NOT_MATCH, () -> String.format("Gender values of Group(id:%d) and User(id:%d) do not match", toGroupId, user.getId()));
         }
 
-        if (groupLikeToJoinRepository.existsByFromUserAndToGroup(user, group)) {
-            throwException(ErrorCode.DUPLICATED_REQUEST, String.format("User(id: %d) already liked Group(id: %d)", user.getId(), toGroupId));
+        Group groupReference = groupRepository.getReferenceById(group.getId());
+        if (groupLikeToJoinRepository.existsByFromUserAndToGroup(user, groupReference)) {
+            throwException(ErrorCode.DUPLICATED_REQUEST, () -> String.format("User(id: %d) already liked Group(id: %d)", user.getId(), toGroupId));
         }
 
-        groupLikeToJoinRepository.save(GroupLikeToJoin.of(user, group));
+        groupLikeToJoinRepository.save(GroupLikeToJoin.of(user, groupReference));
+        relationshipIndex.add(Relation.JOIN_LIKED_GROUP, user.getId(), group.getId());
     }
 
     @Override
     public void deleteSameGenderGroupLike(Long groupId) {
         groupLikeToJoinRepository.deleteByFromUser_IdAndToGroup_Id(getCurrentUserId(), groupId);
+        relationshipIndex.remove(Relation.JOIN_LIKED_GROUP, getCurrentUserId(), groupId);
+    }
+
+    @Override
+    public List<BulkItemResponse> createSameGenderGroupLikes(List<Long> toGroupIds) {
+        checkBulkSize(toGroupIds);
+        User user = loadUserByUserId(getCurrentUserId());
+
+        Set<Long> nonNullToGroupIds = toGroupIds.stream().filter(Objects::nonNull).collect(Collectors.toSet());
+        Map<Long, Group> toGroups = groupRepository.findAllById(nonNullToGroupIds).stream().collect(Collectors.toMap(Group::getId, Function.identity()));
+        Set<Long> likedGroupIds = toGroups.isEmpty() ? new HashSet<>() : new HashSet<>(groupLikeToJoinRepository.findAllToGroupIdByFromUserIdAndToGroupIdIn(user.getId(), toGroups.keySet()));
+
+        ErrorCode[] errors = new ErrorCode[toGroupIds.size()];
+        List<GroupLikeToJoin> newLikes = new ArrayList<>();
+        for (int i = 0; i < toGroupIds.size(); i++) {
+            Long toGroupId = toGroupIds.get(i);
+            Group group = toGroups.get(toGroupId);
+
+            if (group == null) {
+                errors[i] = ErrorCode.REQUEST_NOT_FOUND;
+            } else if (group.getGender() != user.getGender()) {
+                errors[i] = ErrorCode.GENDER_NOT_MATCH;
+            } else if (!likedGroupIds.add(toGroupId)) {
+                errors[i] = ErrorCode.DUPLICATED_REQUEST;
+            } else {
+                newLikes.add(GroupLikeToJoin.of(user, group));
+            }
+        }
+
+        groupLikeToJoinRepository.saveAll(newLikes);
+        newLikes.forEach(like -> relationshipIndex.add(Relation.JOIN_LIKED_GROUP, user.getId(), like.getToGroup().getId()));
+
+        return toBulkItemResponses(toGroupIds, errors);
+    }
+
+    @Override
+    public List<BulkItemResponse> deleteSameGenderGroupLikes(List<Long> toGroupIds) {
+        checkBulkSize(toGroupIds);
+        Long userId = getCurrentUserId();
+
+        Set<Long> nonNullToGroupIds = toGroupIds.stream().filter(Objects::nonNull).collect(Collectors.toSet());
+        Set<Long> likedGroupIds = nonNullToGroupIds.isEmpty() ? new HashSet<>() : new HashSet<>(groupLikeToJoinRepository.findAllToGroupIdByFromUserIdAndToGroupIdIn(userId, nonNullToGroupIds));
+
+        ErrorCode[] errors = new ErrorCode[toGroupIds.size()];
+        List<Long> unlikedGroupIds = new ArrayList<>();
+        for (int i = 0; i < toGroupIds.size(); i++) {
+            if (likedGroupIds.remove(toGroupIds.get(i))) {
+                unlikedGroupIds.add(toGroupIds.get(i));
+            } else {
+                errors[i] = ErrorCode.REQUEST_NOT_FOUND;
+            }
+        }
+
+        if (!unlikedGroupIds.isEmpty()) {
+            groupLikeToJoinRepository.deleteAllByFromUserIdAndToGroupIdIn(userId, unlikedGroupIds);
+        }
+        unlikedGroupIds.forEach(toGroupId -> relationshipIndex.remove(Relation.JOIN_LIKED_GROUP, userId, toGroupId));
+
+        return toBulkItemResponses(toGroupIds, errors);
     }
 
     @Override
     public void createOppositeGenderGroupLike(Long fromGroupId, Long toGroupId) {
-        Group fromGroup = loadGroupByGroupId(fromGroupId);
-        Group toGroup = loadGroupByGroupId(toGroupId);
+        GroupSummary fromGroupSummary = loadGroupSummaryByGroupId(fromGroupId);
+        GroupSummary toGroupSummary = loadGroupSummaryByGroupId(toGroupId);
         User member = loadUserByUserId(getCurrentUserId());
 
-        if (fromGroup.getGender() == toGroup.getGender()) {
-            throwException(ErrorCode.INVALID_REQUEST, String.format("The genders of fromGroup(id: %d) and toGroup(id: %d) are the same", fromGroupId, toGroupId));
+        if (fromGroupSummary.getGender() == toGroupSummary.getGender()) {
+            throwException(ErrorCode.INVALID_REQUEST, () -> String.format("The genders of fromGroup(id: %d) and toGroup(id: %d) are the same", fromGroupId, toGroupId));
         }
 
+        Group fromGroup = groupRepository.getReferenceById(fromGroupSummary.getId());
+        Group toGroup = groupRepository.getReferenceById(toGroupSummary.getId());
+
         GroupMember memberRecordOfUser = groupMemberRepository.findByGroupAndMember(fromGroup, member).orElseThrow(() ->
-                throwException(ErrorCode.REQUEST_NOT_FOUND, String.format("User(id: %d) is not a member of the Group(id: %d)", member.getId(), fromGroupId))
+                throwException(ErrorCode.REQUEST_NOT_FOUND, () -> String.format("User(id: %d) is not a member of the Group(id: %d)", member.getId(), fromGroupId))
         );
 
         if (groupLikeToDateRepository.existsByFromGroupMemberAndToGroup(memberRecordOfUser, toGroup)) {
-            throwException(ErrorCode.DUPLICATED_REQUEST, String.format("User(id: %d) already liked Group(id: %d)", member.getId(), toGroupId));
+            throwException(ErrorCode.DUPLICATED_REQUEST, () -> String.format("User(id: %d) already liked Group(id: %d)", member.getId(), toGroupId));
         }
 
         groupLikeToDateRepository.save(GroupLikeToDate.of(memberRecordOfUser, toGroup));
+        increaseLikeCount(fromGroup, toGroup);
+        relationshipIndex.add(Relation.DATE_LIKED_GROUP, memberRecordOfUser.getId(), toGroupSummary.getId());
+    }
+
+    /**
+     * 찜 수 행이 없으면(처음 찜하는 팀 쌍) fromGroup 행을 잠그고 다시 올려 본 뒤에 만든다.
+     * 같은 팀의 멤버들이 동시에 처음 찜해도 잠금 순서대로 한 명만 행을 만들고, 나머지는 만들어진 행의 찜 수를 올린다.
+     */
+    private void increaseLikeCount(Group fromGroup, Group toGroup) {
+        if (groupLikeToDateCountRepository.increaseLikeCount(fromGroup.getId(), toGroup.getId()) > 0) {
+            return;
+        }
+
+        groupRepository.lockForUpdate(fromGroup);
+        if (groupLikeToDateCountRepository.increaseLikeCount(fromGroup.getId(), toGroup.getId()) == 0) {
+            groupLikeToDateCountRepository.save(GroupLikeToDateCount.of(fromGroup, toGroup));
+        }
     }
 
     @Override
@@ -169,21 +262,34 @@ public class GroupLikeServiceImpl extends AbstractService implements GroupLikeSe
         User member = loadUserByUserId(getCurrentUserId());
 
         GroupMember memberRecordOfUser = groupMemberRepository.findByGroupAndMember(fromGroup, member).orElseThrow(() ->
-                throwException(ErrorCode.REQUEST_NOT_FOUND, String.format("User(id: %d) is not a member of the Group(id: %d)", member.getId(), fromGroupId))
+                throwException(ErrorCode.REQUEST_NOT_FOUND, () -> String.format("User(id: %d) is not a member of the Group(id: %d)", member.getId(), fromGroupId))
         );
 
-        groupLikeToDateRepository.deleteByFromGroupMemberAndToGroup(memberRecordOfUser, toGroup);
+        if (groupLikeToDateRepository.deleteByFromGroupMemberAndToGroup(memberRecordOfUser, toGroup) > 0) {
+            groupLikeToDateCountRepository.decreaseLikeCount(fromGroup.getId(), toGroup.getId());
+            groupLikeToDateCountRepository.deleteAllEmptyByFromGroupId(fromGroup.getId());
+        }
+        relationshipIndex.remove(Relation.DATE_LIKED_GROUP, memberRecordOfUser.getId(), toGroup.getId());
     }
 
     private Group loadGroupByGroupId(Long groupId) {
-        return groupRepository.findById(groupId).orElseThrow(() ->
-                throwException(ErrorCode.REQUEST_NOT_FOUND, String.format("Group(id: %d) not found", groupId))
+        return findInRequest(Group.class, groupId, groupRepository::findById).orElseThrow(() ->
+                throwException(ErrorCode.REQUEST_NOT_FOUND, () -> String.format("Group(id: %d) not found", groupId))
+        );
+    }
+
+    /**
+     * 검증만 필요한 경우 팀 엔티티 대신 읽는다.
+     */
+    private GroupSummary loadGroupSummaryByGroupId(Long groupId) {
+        return findInRequest(GroupSummary.class, groupId, groupRepository::findSummaryById).orElseThrow(() ->
+                throwException(ErrorCode.REQUEST_NOT_FOUND, () -> String.format("Group(id: %d) not found", groupId))
         );
     }
 
     private User loadUserByUserId(Long userId) {
-        return userRepository.findById(userId).orElseThrow(() ->
-                throwException(ErrorCode.REQUEST_NOT_FOUND, String.format("User(id: %d) not found", userId))
+        return findInRequest(User.class, userId, userRepository::findById).orElseThrow(() ->
+                throwException(ErrorCode.REQUEST_NOT_FOUND, () -> String.format("User(id: %d) not found", userId))
         );
     }
 }
@@ -1,9 +1,13 @@
 package com.ting.ting.service;
 
+import com.ting.ting.cache.LongIdSet;
+import com.ting.ting.cache.Relation;
+import com.ting.ting.cache.RelationshipIndex;
 import com.ting.ting.domain.*;
 import com.ting.ting.domain.constant.LikeStatus;
 import com.ting.ting.domain.constant.MemberRole;
 import com.ting.ting.domain.constant.RequestStatus;
+import com.ting.ting.domain.custom.GroupSummary;
 import com.ting.ting.domain.custom.GroupWithMemberCount;
 import com.ting.ting.dto.response.GroupMemberRequestResponse;
 import com.ting.ting.dto.response.GroupMemberResponse;
@@ -11,7 +15,6 @@ import com.ting.ting.dto.response.JoinableGroupResponse;
 import com.ting.ting.exception.ErrorCode;
 import com.ting.ting.exception.ServiceType;
 import com.ting.ting.repository.*;
-import com.ting.ting.util.IdealPhotoManager;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
@@ -32,45 +35,54 @@ public class GroupMemberServiceImpl extends AbstractService implements GroupMemb
     private final GroupLikeToJoinRepository groupLikeToJoinRepository;
     private final GroupMemberRepository groupMemberRepository;
     private final GroupMemberRequestRepository groupMemberRequestRepository;
-    private final IdealPhotoManager idealPhotoManager;
+    private final GroupLikeToDateCountRepository groupLikeToDateCountRepository;
+    private final GroupMemberMajorCountRepository groupMemberMajorCountRepository;
+    private final IdealPhotoMixJobRepository idealPhotoMixJobRepository;
+    private final RelationshipIndex relationshipIndex;
 
-    public GroupMemberServiceImpl(UserRepository userRepository, GroupRepository groupRepository, GroupLikeToJoinRepository groupLikeToJoinRepository, GroupMemberRepository groupMemberRepository, GroupMemberRequestRepository groupMemberRequestRepository, IdealPhotoManager idealPhotoManager) {
+    public GroupMemberServiceImpl(UserRepository userRepository, GroupRepository groupRepository, GroupLikeToJoinRepository groupLikeToJoinRepository, GroupMemberRepository groupMemberRepository, GroupMemberRequestRepository groupMemberRequestRepository, GroupLikeToDateCountRepository groupLikeToDateCountRepository, GroupMemberMajorCountRepository groupMemberMajorCountRepository, IdealPhotoMixJobRepository idealPhotoMixJobRepository, RelationshipIndex relationshipIndex) {
         super(ServiceType.GROUP_MEETING);
         this.userRepository = userRepository;
         this.groupRepository = groupRepository;
         this.groupLikeToJoinRepository = groupLikeToJoinRepository;
         this.groupMemberRepository = groupMemberRepository;
         this.groupMemberRequestRepository = groupMemberRequestRepository;
-        this.idealPhotoManager = idealPhotoManager;
+        this.groupLikeToDateCountRepository = groupLikeToDateCountRepository;
+        this.groupMemberMajorCountRepository = groupMemberMajorCountRepository;
+        this.idealPhotoMixJobRepository = idealPhotoMixJobRepository;
+        this.relationshipIndex = relationshipIndex;
     }
 
     @Override
     public void saveJoinRequest(long groupId) {
-        Group group = loadGroupByGroupId(groupId);
+        GroupSummary group = loadGroupSummaryByGroupId(groupId);
         User user = loadUserByUserId(getCurrentUserId());
 
         if (group.getGender() != user.getGender()) {
-            throwException(ErrorCode.GENDER_NOT_MATCH, String.format("Gender values of Group(id:%d) and User(id:%d) do not match", groupId, user.getId()));
+            throwException(ErrorCode.GENDER_NOT_MATCH, () -> String.format("Gender values of Group(id:%d) and User(id:%d) do not match", groupId, user.getId()));
         }
 
         if (group.isJoinable() == false) {
-            throwException(ErrorCode.REACHED_MEMBERS_SIZE_LIMIT, String.format("Maximum Group(id: %d) capacity of %d members reached", groupId, group.getMemberSizeLimit()));
+            throwException(ErrorCode.REACHED_MEMBERS_SIZE_LIMIT, () -> String.format("Maximum Group(id: %d) capacity of %d members reached", groupId, group.getMemberSizeLimit()));
         }
 
-        groupMemberRequestRepository.findByGroupAndUser(group, user).ifPresent(it -> {
-            throwException(ErrorCode.DUPLICATED_REQUEST, String.format("User(id:%d) already requested to join the Group(id:%d)", user.getId(), groupId));
+        Group groupReference = groupRepository.getReferenceById(group.getId());
+        groupMemberRequestRepository.findByGroupAndUser(groupReference, user).ifPresent(it -> {
+            throwException(ErrorCode.DUPLICATED_REQUEST, () -> String.format("User(id:%d) already requested to join the Group(id:%d)", user.getId(), groupId));
         });
 
-        if (groupMemberRepository.existsByGroupAndMember(group, user)) {
-            throwException(ErrorCode.ALREADY_JOINED, String.format("User(id: %d) already joined to Group(id: %d)", user.getId(), groupId));
+        if (groupMemberRepository.existsByGroupAndMember(groupReference, user)) {
+            throwException(ErrorCode.ALREADY_JOINED, () -> String.format("User(id: %d) already joined to Group(id: %d)", user.getId(), groupId));
         }
 
-        groupMemberRequestRepository.save(GroupMemberRequest.of(group, user));
+        groupMemberRequestRepository.save(GroupMemberRequest.of(groupReference, user));
+        relationshipIndex.add(Relation.JOIN_PENDING_GROUP, user.getId(), group.getId());
     }
 
     @Override
     public void deleteJoinRequest(long groupId) {
         groupMemberRequestRepository.deleteByGroup_IdAndUser_Id(groupId, getCurrentUserId());
+        relationshipIndex.remove(Relation.JOIN_PENDING_GROUP, getCurrentUserId(), groupId);
     }
 
     @Override
@@ -78,25 +90,35 @@ public class GroupMemberServiceImpl extends AbstractService implements GroupMemb
         Group group = loadGroupByGroupId(groupId);
         User member = loadUserByUserId(getCurrentUserId());
 
+        // 찜 수 행보다 팀 행을 먼저 잠근다. 처음 찜하기(GroupLikeServiceImpl#increaseLikeCount)와 같은 순서라 서로 교착되지 않는다.
+        groupRepository.lockForUpdate(group);
+
         GroupMember memberRecordOfUser = groupMemberRepository.findByGroupAndMember(group, member).orElseThrow(() ->
-                throwException(ErrorCode.REQUEST_NOT_FOUND, String.format("User(id: %d) is not a member of the Group(id: %d)", member.getId(), group.getId()))
+                throwException(ErrorCode.REQUEST_NOT_FOUND, () -> String.format("User(id: %d) is not a member of the Group(id: %d)", member.getId(), group.getId()))
         );
 
+        // 멤버 기록과 함께 그 멤버가 한 찜도 삭제된다.
+        relationshipIndex.invalidate(Relation.DATE_LIKED_GROUP, memberRecordOfUser.getId());
+        groupLikeToDateCountRepository.decreaseLikeCountByFromGroupMember(group, memberRecordOfUser);
+        groupLikeToDateCountRepository.deleteAllEmptyByFromGroupId(group.getId());
+
         // 팀에서 나가려는 유저가 그 팀의 리더라면
         if (memberRecordOfUser.getRole().equals(MemberRole.LEADER)) {
             GroupMember memberRecordOfNewLeader = loadAvailableMemberAsNewLeaderInGroup(group);
             groupMemberRepository.delete(memberRecordOfUser);
+            releaseMemberSlot(group, member);
             memberRecordOfNewLeader.setRole(MemberRole.LEADER);
             return;
         }
 
         groupMemberRepository.delete(memberRecordOfUser);
+        releaseMemberSlot(group, member);
     }
 
     @Override
     public Set<GroupMemberResponse> changeGroupLeader(long groupId, long userIdOfNewLeader) {
         if (getCurrentUserId() == userIdOfNewLeader) {
-            throwException(ErrorCode.DUPLICATED_REQUEST, String.format("User(id: %d) is unable to transfer ownership to themselves.", getCurrentUserId()));
+            throwException(ErrorCode.DUPLICATED_REQUEST, () -> String.format("User(id: %d) is unable to transfer ownership to themselves.", getCurrentUserId()));
         }
 
         Group group = loadGroupByGroupId(groupId);
@@ -104,14 +126,14 @@ public class GroupMemberServiceImpl extends AbstractService implements GroupMemb
         User newLeader = loadUserByUserId(userIdOfNewLeader);
 
         if (groupMemberRepository.existsByMemberAndRole(newLeader, MemberRole.LEADER)) {
-            throwException(ErrorCode.DUPLICATED_REQUEST, String.format("User(id: %d) is already a leader in another group", newLeader.getId()));
+            throwException(ErrorCode.DUPLICATED_REQUEST, () -> String.format("User(id: %d) is already a leader in another group", newLeader.getId()));
         }
 
         GroupMember memberRecordOfLeader = groupMemberRepository.findByGroupAndMemberAndRole(group, leader, MemberRole.LEADER).orElseThrow(() ->
-                throwException(ErrorCode.REQUEST_NOT_FOUND, String.format("User(id: %d) is not the leader of Group(id: %d)", leader.getId(), groupId))
+                throwException(ErrorCode.REQUEST_NOT_FOUND, () -> String.format("User(id: %d) is not the leader of Group(id: %d)", leader.getId(), groupId))
         );
         GroupMember memberRecordOfNewLeader = groupMemberRepository.findByGroupAndMemberAndRole(group, newLeader, MemberRole.MEMBER).orElseThrow(() ->
-                throwException(ErrorCode.REQUEST_NOT_FOUND, String.format("User(id: %d) is not a member of Group(id: %d)", userIdOfNewLeader, groupId))
+                throwException(ErrorCode.REQUEST_NOT_FOUND, () -> String.format("User(id: %d) is not a member of Group(id: %d)", userIdOfNewLeader, groupId))
         );
 
         memberRecordOfLeader.setRole(MemberRole.MEMBER);
@@ -132,7 +154,7 @@ public class GroupMemberServiceImpl extends AbstractService implements GroupMemb
             return new PageImpl<>(List.of(), pageable, userRequestsToJoin.getTotalElements());
         }
 
-        Set<Long> likedGroupIds = groupLikeToJoinRepository.findAllByFromUser(user).stream().map(GroupLikeToJoin::getToGroup).map(Group::getId).collect(Collectors.toUnmodifiableSet());
+        LongIdSet likedGroupIds = relationshipIndex.get(Relation.JOIN_LIKED_GROUP, user.getId());
         List<GroupWithMemberCount> myRequestedGroupsWithMemberCount = groupRepository.findAllWithMemberCountByIdIn(requestedGroupIds);
 
         List<JoinableGroupResponse> pendingJoinGroupResponses = myRequestedGroupsWithMemberCount.stream()
@@ -163,7 +185,7 @@ public class GroupMemberServiceImpl extends AbstractService implements GroupMemb
     public GroupMemberResponse acceptMemberJoinRequest(long groupMemberRequestId) {
         User leader = loadUserByUserId(getCurrentUserId());
         GroupMemberRequest groupMemberRequest = groupMemberRequestRepository.findById(groupMemberRequestId).orElseThrow(() ->
-                throwException(ErrorCode.REQUEST_NOT_FOUND, String.format("GroupMemberRequest(id: %d) not found", groupMemberRequestId))
+                throwException(ErrorCode.REQUEST_NOT_FOUND, () -> String.format("GroupMemberRequest(id: %d) not found", groupMemberRequestId))
         );
         Group group = groupMemberRequest.getGroup();
         User user = groupMemberRequest.getUser();
@@ -171,28 +193,30 @@ public class GroupMemberServiceImpl extends AbstractService implements GroupMemb
         // validate group member
         if (groupMemberRepository.existsByGroupAndMember(group, user)) {
             groupMemberRequestRepository.delete(groupMemberRequest);
-            throwException(ErrorCode.DUPLICATED_REQUEST, String.format("User(id: %d) is already a member of Group(id: %d)", groupMemberRequest.getUser().getId(), groupMemberRequest.getGroup().getId()));
+            throwException(ErrorCode.DUPLICATED_REQUEST, () -> String.format("User(id: %d) is already a member of Group(id: %d)", groupMemberRequest.getUser().getId(), groupMemberRequest.getGroup().getId()));
         }
 
-        // validate group size
-        Long actualNumOfMembers = groupMemberRepository.countByGroup(group);
-        if (actualNumOfMembers >= group.getMemberSizeLimit()) {
-            throwException(ErrorCode.REACHED_MEMBERS_SIZE_LIMIT, String.format("Maximum Group(id: %d) capacity of %d members reached", groupMemberRequest.getGroup().getId(), groupMemberRequest.getGroup().getMemberSizeLimit()));
+        // validate group size (이미 읽어 둔 값으로 먼저 걸러내고, 실제 확인은 reserveMemberSlot 의 조건부 update 로 한다.)
+        if (group.getMemberCount() >= group.getMemberSizeLimit()) {
+            throwException(ErrorCode.REACHED_MEMBERS_SIZE_LIMIT, () -> String.format("Maximum Group(id: %d) capacity of %d members reached", groupMemberRequest.getGroup().getId(), groupMemberRequest.getGroup().getMemberSizeLimit()));
         }
 
         throwIfUserIsNotTheLeaderOfGroup(leader, group);
 
         // save group member
+        reserveMemberSlot(group, user);
         GroupMember created = groupMemberRepository.save(GroupMember.of(group, user, MemberRole.MEMBER));
+        groupMemberMajorCountRepository.addMember(group, user);
         groupMemberRequestRepository.delete(groupMemberRequest);
+        relationshipIndex.remove(Relation.JOIN_PENDING_GROUP, user.getId(), group.getId());
 
-        // update group ideal photo
-        if (user.getIdealPhoto() != null || !user.getIdealPhoto().isEmpty()) {
-            group.setIdealPhoto(idealPhotoManager.mixIdealPhotos(group.getIdealPhoto(), user.getIdealPhoto()).getImageURL());
+        // update group ideal photo (ML 서버 호출은 IdealPhotoMixJobWorker 가 커밋 이후에 처리한다.)
+        if (user.getIdealPhoto() != null && !user.getIdealPhoto().isEmpty()) {
+            idealPhotoMixJobRepository.save(IdealPhotoMixJob.of(group, user.getIdealPhoto()));
         }
 
-        if (actualNumOfMembers + 1 >= groupMemberRequest.getGroup().getMemberSizeLimit()) {
-            groupMemberRequest.getGroup().setJoinable(false);
+        if (group.getMemberCount() >= group.getMemberSizeLimit()) {
+            group.setJoinable(false);
         }
 
         return GroupMemberResponse.from(created);
@@ -202,17 +226,18 @@ public class GroupMemberServiceImpl extends AbstractService implements GroupMemb
     public void rejectMemberJoinRequest(long groupMemberRequestId) {
         User leader = loadUserByUserId(getCurrentUserId());
         GroupMemberRequest groupMemberRequest = groupMemberRequestRepository.findById(groupMemberRequestId).orElseThrow(() ->
-                throwException(ErrorCode.REQUEST_NOT_FOUND, String.format("GroupMemberRequest(id: %d) not found", groupMemberRequestId))
+                throwException(ErrorCode.REQUEST_NOT_FOUND, () -> String.format("GroupMemberRequest(id: %d) not found", groupMemberRequestId))
         );
 
         throwIfUserIsNotTheLeaderOfGroup(leader, groupMemberRequest.getGroup());
 
         groupMemberRequestRepository.delete(groupMemberRequest);
+        relationshipIndex.remove(Relation.JOIN_PENDING_GROUP, groupMemberRequest.getUser().getId(), groupMemberRequest.getGroup().getId());
     }
 
     private void throwIfUserIsNotTheLeaderOfGroup(User leader, Group group) {
         if (!groupMemberRepository.existsByGroupAndMemberAndRole(group, leader, MemberRole.LEADER)) {
-            throwException(ErrorCode.INVALID_PERMISSION, String.format("User(id: %d) is not the leader of Group(id: %d)", leader.getId(), group.getId()));
+            throwException(ErrorCode.INVALID_PERMISSION, () -> String.format("User(id: %d) is not the leader of Group(id: %d)", leader.getId(), group.getId()));
         }
     }
 
@@ -225,15 +250,42 @@ public class GroupMemberServiceImpl extends AbstractService implements GroupMemb
         return members.get(0);
     }
 
+    // 정원이 남아 있을 때만 자리를 잡는다. 잡은 팀 행은 커밋할 때까지 잠겨 있으므로, 다시 읽은 값에 이어서 생년월일 합을 반영한다.
+    private void reserveMemberSlot(Group group, User member) {
+        if (groupRepository.reserveMemberSlot(group.getId()) == 0) {
+            throwException(ErrorCode.REACHED_MEMBERS_SIZE_LIMIT, () -> String.format("Maximum Group(id: %d) capacity of %d members reached", group.getId(), group.getMemberSizeLimit()));
+        }
+        groupRepository.lockForUpdate(group);
+        group.addMemberBirth(member);
+    }
+
+    // 멤버가 나가 자리가 생기면 매칭 전인 팀은 다시 가입 요청을 받는다. 팀 행은 deleteGroupMember 에서 이미 잠가 두었다.
+    private void releaseMemberSlot(Group group, User member) {
+        group.removeMember(member);
+        groupMemberMajorCountRepository.removeMember(group, member);
+        if (!group.isMatched() && group.getMemberCount() < group.getMemberSizeLimit()) {
+            group.setJoinable(true);
+        }
+    }
+
     private Group loadGroupByGroupId(Long groupId) {
-        return groupRepository.findById(groupId).orElseThrow(() ->
-                throwException(ErrorCode.REQUEST_NOT_FOUND, String.format("Group(id: %d) not found", groupId))
+        return findInRequest(Group.class, groupId, groupRepository::findById).orElseThrow(() ->
+                throwException(ErrorCode.REQUEST_NOT_FOUND, () -> String.format("Group(id: %d) not found", groupId))
+        );
+    }
+
+    /**
+     * 검증만 필요한 경우 팀 엔티티 대신 읽는다.
+     */
+    private GroupSummary loadGroupSummaryByGroupId(Long groupId) {
+        return findInRequest(GroupSummary.class, groupId, groupRepository::findSummaryById).orElseThrow(() ->
+                throwException(ErrorCode.REQUEST_NOT_FOUND, () -> String.format("Group(id: %d) not found", groupId))
         );
     }
 
     private User loadUserByUserId(Long userId) {
-        return userRepository.findById(userId).orElseThrow(() ->
-                throwException(ErrorCode.REQUEST_NOT_FOUND, String.format("User(id: %d) not found", userId))
+        return findInRequest(User.class, userId, userRepository::findById).orElseThrow(() ->
+                throwException(ErrorCode.REQUEST_NOT_FOUND, () -> String.format("User(id: %d) not found", userId))
         );
     }
 }
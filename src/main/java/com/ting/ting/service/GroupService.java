@@ -29,6 +29,18 @@ public interface GroupService {
      */
     Page<DateableGroupResponse> findDateableOppositeGenderGroupList(Long groupId, Pageable pageable);
 
+    /**
+     * 다른 성별의 팀 조회(커서 기반)
+     * 팀 id 순으로 정렬되며, 응답의 nextCursor 를 다음 요청의 cursor 로 전달한다.
+     */
+    CursorResponse<DateableGroupResponse> findDateableOppositeGenderGroups(Long groupId, String cursor, int size);
+
+    /**
+     * 추천 순으로 정렬된 다른 성별의 팀 조회(커서 기반)
+     * 팀마다 미리 계산해 둔 추천 목록(최대 group.recommendation.top-k 개)을 점수 순으로 읽으며, 응답의 nextCursor 를 다음 요청의 cursor 로 전달한다.
+     */
+    CursorResponse<DateableGroupResponse> findRecommendedOppositeGenderGroups(Long groupId, String cursor, int size);
+
     /**
      * 내가 속한 팀 조회
      */
@@ -1,22 +1,32 @@
 package com.ting.ting.service;
 
+import com.ting.ting.cache.LongIdSet;
+import com.ting.ting.cache.Relation;
+import com.ting.ting.cache.RelationshipIndex;
 import com.ting.ting.domain.*;
 import com.ting.ting.domain.constant.LikeStatus;
 import com.ting.ting.domain.constant.MemberRole;
 import com.ting.ting.domain.constant.RequestStatus;
+import com.ting.ting.domain.custom.DateableGroupWithLikeStatus;
+import com.ting.ting.domain.custom.GroupIdWithMajor;
 import com.ting.ting.domain.custom.GroupWithMemberCount;
+import com.ting.ting.domain.custom.RankedDateableGroupWithLikeStatus;
 import com.ting.ting.dto.request.GroupCreateRequest;
 import com.ting.ting.dto.response.*;
 import com.ting.ting.exception.ErrorCode;
 import com.ting.ting.exception.ServiceType;
 import com.ting.ting.repository.*;
+import com.ting.ting.util.CursorCodec;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -30,9 +40,13 @@ public class GroupServiceImpl extends AbstractService implements GroupService {
     private final GroupMemberRequestRepository groupMemberRequestRepository;
     private final GroupLikeToJoinRepository groupLikeToJoinRepository;
     private final GroupLikeToDateRepository groupLikeToDateRepository;
+    private final GroupMemberMajorCountRepository groupMemberMajorCountRepository;
+    private final GroupRecommendationRepository groupRecommendationRepository;
+    private final RelationshipIndex relationshipIndex;
 
     public GroupServiceImpl(UserRepository userRepository, GroupRepository groupRepository, GroupMemberRepository groupMemberRepository, GroupMemberRequestRepository groupMemberRequestRepository,
-                            GroupLikeToJoinRepository groupLikeToJoinRepository, GroupLikeToDateRepository groupLikeToDateRepository) {
+                            GroupLikeToJoinRepository groupLikeToJoinRepository, GroupLikeToDateRepository groupLikeToDateRepository, GroupMemberMajorCountRepository groupMemberMajorCountRepository,
+                            GroupRecommendationRepository groupRecommendationRepository, RelationshipIndex relationshipIndex) {
         super(ServiceType.GROUP_MEETING);
         this.userRepository = userRepository;
         this.groupRepository = groupRepository;
@@ -40,6 +54,9 @@ public class GroupServiceImpl extends AbstractService implements GroupService {
         this.groupMemberRequestRepository = groupMemberRequestRepository;
         this.groupLikeToJoinRepository = groupLikeToJoinRepository;
         this.groupLikeToDateRepository = groupLikeToDateRepository;
+        this.groupMemberMajorCountRepository = groupMemberMajorCountRepository;
+        this.groupRecommendationRepository = groupRecommendationRepository;
+        this.relationshipIndex = relationshipIndex;
     }
 
     @Override
@@ -49,15 +66,15 @@ public class GroupServiceImpl extends AbstractService implements GroupService {
 
     @Override
     public GroupDetailResponse findGroupDetail(Long groupId) {
-        Group group = groupRepository.findById(groupId).orElseThrow(() ->
-                throwException(ErrorCode.REQUEST_NOT_FOUND, String.format("Group(id: %d) not found", groupId))
+        Group group = groupRepository.findWithMembersById(groupId).orElseThrow(() ->
+                throwException(ErrorCode.REQUEST_NOT_FOUND, () -> String.format("Group(id: %d) not found", groupId))
         );
 
         GroupMember memberRecordOfUser = group.getGroupMembers().stream()
                 .filter(groupMember -> groupMember.getMember().getId().equals(getCurrentUserId()))
                 .findFirst()
                 .orElseThrow(() ->
-                        throwException(ErrorCode.REQUEST_NOT_FOUND, String.format("User(id: %d) is not a member of the Group(id: %d)", getCurrentUserId(), group.getId()))
+                        throwException(ErrorCode.REQUEST_NOT_FOUND, () -> String.format("User(id: %d) is not a member of the Group(id: %d)", getCurrentUserId(), group.getId()))
                 );
 
         return GroupDetailResponse.from(group, memberRecordOfUser.getRole());
@@ -68,8 +85,8 @@ public class GroupServiceImpl extends AbstractService implements GroupService {
         User user = loadUserByUserId(getCurrentUserId());
 
         Page<GroupWithMemberCount> joinableSameGenderGroups = groupRepository.findAllJoinableGroupWithMemberCountByGenderAndIsJoinableAndNotGroupMembers_Member(user.getGender(), true, user, pageable);
-        Set<Long> myPendingJoinGroupIds = groupMemberRequestRepository.findAllByUser(user).stream().map(GroupMemberRequest::getGroup).map(Group::getId).collect(Collectors.toUnmodifiableSet());
-        Set<Long> myLikeGroupIds = groupLikeToJoinRepository.findAllByFromUser(user).stream().map(GroupLikeToJoin::getToGroup).map(Group::getId).collect(Collectors.toUnmodifiableSet());
+        LongIdSet myPendingJoinGroupIds = relationshipIndex.get(Relation.JOIN_PENDING_GROUP, user.getId());
+        LongIdSet myLikeGroupIds = relationshipIndex.get(Relation.JOIN_LIKED_GROUP, user.getId());
 
         List<JoinableGroupResponse> joinableGroupRespons = joinableSameGenderGroups.stream()
                 .map(joinableSameGenderGroup -> {
@@ -97,12 +114,12 @@ public class GroupServiceImpl extends AbstractService implements GroupService {
         User member = loadUserByUserId(getCurrentUserId());
 
         GroupMember memberRecordOfUser = groupMemberRepository.findByGroupAndMember(group, member).orElseThrow(() ->
-                throwException(ErrorCode.REQUEST_NOT_FOUND, String.format("User(id: %d) is not a member of the Group(id: %d)", member.getId(), group.getId()))
+                throwException(ErrorCode.REQUEST_NOT_FOUND, () -> String.format("User(id: %d) is not a member of the Group(id: %d)", member.getId(), group.getId()))
         );
 
         Page<Group> oppositeGenderGroups = groupRepository.findAllByGenderAndIsJoinableAndIsMatchedAndMemberSizeLimit(group.getGender().getOpposite(), false, false, group.getMemberSizeLimit(), pageable);
         List<Group> oppositeGenderGroupsWithMemberInfo = groupRepository.findAllWithMembersInfoByIdIn(oppositeGenderGroups.stream().map(Group::getId).collect(Collectors.toList()));
-        Set<Long> likedGroupIds = groupLikeToDateRepository.findAllByFromGroupMember(memberRecordOfUser).stream().map(GroupLikeToDate::getToGroup).map(Group::getId).collect(Collectors.toUnmodifiableSet());
+        LongIdSet likedGroupIds = relationshipIndex.get(Relation.DATE_LIKED_GROUP, memberRecordOfUser.getId());
 
         List<DateableGroupResponse> dateableGroupResponses = oppositeGenderGroupsWithMemberInfo.stream()
                 .map(oppositeGenderGroup -> {
@@ -113,6 +130,59 @@ public class GroupServiceImpl extends AbstractService implements GroupService {
         return new PageImpl<>(dateableGroupResponses, pageable, oppositeGenderGroups.getTotalElements());
     }
 
+    /**
+     * 팀 목록과 찜 여부는 한 번의 조회로, 전공 목록은 그 페이지의 팀들에 대해 한 번 더 조회해 만든다. 두 조회 모두 엔티티를 만들지 않는다.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public CursorResponse<DateableGroupResponse> findDateableOppositeGenderGroups(Long groupId, String cursor, int size) {
+        Group group = loadGroupByGroupId(groupId);
+        User member = loadUserByUserId(getCurrentUserId());
+        long lastGroupId = CursorCodec.decode(cursor, 0L);
+
+        GroupMember memberRecordOfUser = groupMemberRepository.findByGroupAndMember(group, member).orElseThrow(() ->
+                throwException(ErrorCode.REQUEST_NOT_FOUND, () -> String.format("User(id: %d) is not a member of the Group(id: %d)", member.getId(), group.getId()))
+        );
+
+        Slice<DateableGroupWithLikeStatus> rows = groupRepository.findAllDateableAfter(memberRecordOfUser.getId(), group.getGender().getOpposite(), group.getMemberSizeLimit(), lastGroupId,
+                PageRequest.of(0, Math.min(Math.max(size, 1), MAX_CURSOR_PAGE_SIZE)));
+        List<DateableGroupWithLikeStatus> content = rows.getContent();
+        if (content.isEmpty()) {
+            return CursorResponse.of(List.of(), null);
+        }
+
+        String nextCursor = rows.hasNext() ? CursorCodec.encode(content.get(content.size() - 1).getId()) : null;
+
+        return CursorResponse.of(toDateableGroupResponses(content), nextCursor);
+    }
+
+    /**
+     * GroupRecommendationEngine 이 미리 계산해 둔 목록을 읽기만 하고, 요청 시점에는 점수를 계산하지 않는다.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public CursorResponse<DateableGroupResponse> findRecommendedOppositeGenderGroups(Long groupId, String cursor, int size) {
+        Group group = loadGroupByGroupId(groupId);
+        User member = loadUserByUserId(getCurrentUserId());
+        long[] lastKeys = CursorCodec.decode(cursor, Integer.MAX_VALUE, 0L);
+
+        GroupMember memberRecordOfUser = groupMemberRepository.findByGroupAndMember(group, member).orElseThrow(() ->
+                throwException(ErrorCode.REQUEST_NOT_FOUND, () -> String.format("User(id: %d) is not a member of the Group(id: %d)", member.getId(), group.getId()))
+        );
+
+        Slice<RankedDateableGroupWithLikeStatus> rows = groupRecommendationRepository.findAllRankedAfter(group.getId(), memberRecordOfUser.getId(), (int) Math.min(lastKeys[0], Integer.MAX_VALUE), lastKeys[1],
+                PageRequest.of(0, Math.min(Math.max(size, 1), MAX_CURSOR_PAGE_SIZE)));
+        List<RankedDateableGroupWithLikeStatus> content = rows.getContent();
+        if (content.isEmpty()) {
+            return CursorResponse.of(List.of(), null);
+        }
+
+        RankedDateableGroupWithLikeStatus last = content.get(content.size() - 1);
+        String nextCursor = rows.hasNext() ? CursorCodec.encode(last.getScore(), last.getId()) : null;
+
+        return CursorResponse.of(toDateableGroupResponses(content), nextCursor);
+    }
+
     @Override
     public Set<MyGroupResponse> findMyGroupList() {
         User user = loadUserByUserId(getCurrentUserId());
@@ -125,7 +195,7 @@ public class GroupServiceImpl extends AbstractService implements GroupService {
         User leader = loadUserByUserId(getCurrentUserId());
 
         if (leader.getIdealPhoto() == null || leader.getIdealPhoto().isEmpty()) {
-            throwException(ErrorCode.INVALID_IDEAL_PHOTO, String.format("Ideal photo of User(id: %d) is null", leader.getId()));
+            throwException(ErrorCode.INVALID_IDEAL_PHOTO, () -> String.format("Ideal photo of User(id: %d) is null", leader.getId()));
         }
 
         validateGroupName(request.getGroupName());
@@ -138,7 +208,7 @@ public class GroupServiceImpl extends AbstractService implements GroupService {
 
     private void validateGroupName(String groupName) {
         if (groupRepository.existsByGroupName(groupName)) {
-            throwException(ErrorCode.DUPLICATED_REQUEST, String.format("Group whose name is (%s) already exists", groupName));
+            throwException(ErrorCode.DUPLICATED_REQUEST, () -> String.format("Group whose name is (%s) already exists", groupName));
         }
     }
 
@@ -149,19 +219,30 @@ public class GroupServiceImpl extends AbstractService implements GroupService {
     }
 
     private void saveGroupAndLeader(Group group, User leader) {
+        group.addMember(leader);
         groupRepository.save(group);
         groupMemberRepository.save(GroupMember.of(group, leader, MemberRole.LEADER));
+        groupMemberMajorCountRepository.addMember(group, leader);
+    }
+
+    private List<DateableGroupResponse> toDateableGroupResponses(List<? extends DateableGroupWithLikeStatus> rows) {
+        Map<Long, Set<String>> majorsByGroupId = groupMemberMajorCountRepository.findAllMajorsByGroupIdIn(rows.stream().map(DateableGroupWithLikeStatus::getId).collect(Collectors.toList())).stream()
+                .collect(Collectors.groupingBy(GroupIdWithMajor::getGroupId, Collectors.mapping(GroupIdWithMajor::getMajor, Collectors.toUnmodifiableSet())));
+
+        return rows.stream()
+                .map(row -> DateableGroupResponse.from(row, majorsByGroupId.getOrDefault(row.getId(), Set.of())))
+                .collect(Collectors.toList());
     }
 
     private Group loadGroupByGroupId(Long groupId) {
-        return groupRepository.findById(groupId).orElseThrow(() ->
-                throwException(ErrorCode.REQUEST_NOT_FOUND, String.format("Group(id: %d) not found", groupId))
+        return findInRequest(Group.class, groupId, groupRepository::findById).orElseThrow(() ->
+                throwException(ErrorCode.REQUEST_NOT_FOUND, () -> String.format("Group(id: %d) not found", groupId))
         );
     }
 
     private User loadUserByUserId(Long userId) {
-        return userRepository.findById(userId).orElseThrow(() ->
-                throwException(ErrorCode.REQUEST_NOT_FOUND, String.format("User(id: %d) not found", userId))
+        return findInRequest(User.class, userId, userRepository::findById).orElseThrow(() ->
+                throwException(ErrorCode.REQUEST_NOT_FOUND, () -> String.format("User(id: %d) not found", userId))
         );
     }
 }
@@ -31,4 +31,9 @@ public interface UserService {
      * 이상형 사진 업데이트 로직
      */
     void updateIdealPhoto(String idealPhoto);
+
+    /**
+     * 회원 탈퇴 (soft delete)
+     */
+    void deleteUser();
 }
@@ -1,5 +1,6 @@
 package com.ting.ting.service;
 
+import com.ting.ting.domain.BlindQuota;
 import com.ting.ting.domain.User;
 import com.ting.ting.domain.constant.Gender;
 import com.ting.ting.dto.UserDto;
@@ -8,21 +9,25 @@ import com.ting.ting.dto.response.LogInResponse;
 import com.ting.ting.dto.response.SignUpResponse;
 import com.ting.ting.exception.ErrorCode;
 import com.ting.ting.exception.ServiceType;
+import com.ting.ting.repository.BlindQuotaRepository;
 import com.ting.ting.repository.UserRepository;
 import com.ting.ting.util.JwtTokenUtil;
 import com.ting.ting.util.KakaoManger;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
 
 @Component
 public class UserServiceImpl extends AbstractService implements UserService {
 
     private final UserRepository userRepository;
+    private final BlindQuotaRepository blindQuotaRepository;
     private final KakaoManger kakaoManger;
     private final JwtTokenUtil jwtTokenUtil;
 
-    public UserServiceImpl(UserRepository userRepository, KakaoManger kakaoManger, JwtTokenUtil jwtTokenUtil) {
+    public UserServiceImpl(UserRepository userRepository, BlindQuotaRepository blindQuotaRepository, KakaoManger kakaoManger, JwtTokenUtil jwtTokenUtil) {
         super(ServiceType.USER);
         this.userRepository = userRepository;
+        this.blindQuotaRepository = blindQuotaRepository;
         this.kakaoManger = kakaoManger;
         this.jwtTokenUtil = jwtTokenUtil;
     }
@@ -30,7 +35,7 @@ public class UserServiceImpl extends AbstractService implements UserService {
     @Override
     public UserDto getUserDtoById(Long userId) {
         User user = userRepository.findById(userId).orElseThrow(() ->
-                throwException(ErrorCode.REQUEST_NOT_FOUND, String.format("User(id: %d) not found", userId))
+                throwException(ErrorCode.REQUEST_NOT_FOUND, () -> String.format("User(id: %d) not found", userId))
         );
 
         return UserDto.from(user);
@@ -53,7 +58,11 @@ public class UserServiceImpl extends AbstractService implements UserService {
                 .orElse(new LogInResponse(false, socialEmail));
     }
 
+    /**
+     * 소개팅 요청 수, 매칭 수 카운터(BlindQuota)도 같은 트랜잭션에서 만든다.
+     */
     @Override
+    @Transactional
     public SignUpResponse signUp(SignUpRequest request) {
         String newUsername = request.getUsername();
 
@@ -73,6 +82,7 @@ public class UserServiceImpl extends AbstractService implements UserService {
 
         User newUser = User.from(request);
         userRepository.save(newUser);
+        blindQuotaRepository.save(BlindQuota.of(newUser.getId(), 0, 0));
 
         return new SignUpResponse(request.getUsername(), request.getGender(), jwtTokenUtil.createTokenById(newUser.getId()));
     }
@@ -84,6 +94,12 @@ public class UserServiceImpl extends AbstractService implements UserService {
         userRepository.save(user);
     }
 
+    @Override
+    public void deleteUser() {
+        User user = getUserById(getCurrentUserId());
+        userRepository.delete(user);
+    }
+
     private String getSocialEmailByCode(String code) {
         String accessToken = kakaoManger.getKakaoTokenResponse(code).getAccess_token();
         return kakaoManger.getKakaoUserInfoResponse(accessToken).getKakao_account().getEmail();
@@ -91,11 +107,11 @@ public class UserServiceImpl extends AbstractService implements UserService {
 
     private User getUserBySocialEmail(String socialEmail) {
         return userRepository.findBySocialEmail(socialEmail).orElseThrow(() ->
-                throwException(ErrorCode.USER_NOT_FOUND, String.format("[%s]의 유저 정보가 존재하지 않습니다.", socialEmail)));
+                throwException(ErrorCode.USER_NOT_FOUND, () -> String.format("[%s]의 유저 정보가 존재하지 않습니다.", socialEmail)));
     }
 
     private User getUserById(Long userId) {
-        return userRepository.findById(userId).orElseThrow(() ->
-                throwException(ErrorCode.USER_NOT_FOUND, String.format("[%s]의 유저 정보가 존재하지 않습니다.", userId)));
+        return findInRequest(User.class, userId, userRepository::findById).orElseThrow(() ->
+                throwException(ErrorCode.USER_NOT_FOUND, () -> String.format("[%s]의 유저 정보가 존재하지 않습니다.", userId)));
     }
 }
@@ -0,0 +1,83 @@
+package com.ting.ting.util;
+
+import com.ting.ting.exception.ErrorCode;
+import com.ting.ting.exception.ServiceType;
+import com.ting.ting.exception.TingApplicationException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * 커서 기반 페이지네이션의 continuation token 변환
+ * 클라이언트가 내부 정렬 키에 의존하지 않도록 정렬 키를 불투명한 문자열로 감싼다.
+ */
+public final class CursorCodec {
+
+    private static final String VERSION_PREFIX = "v1:";
+    private static final String KEY_SEPARATOR = ":";
+
+    private CursorCodec() {
+    }
+
+    public static String encode(long key) {
+        return encodeText(String.valueOf(key));
+    }
+
+    /**
+     * 정렬 키가 두 개인 커서
+     */
+    public static String encode(long firstKey, long secondKey) {
+        return encodeText(firstKey + KEY_SEPARATOR + secondKey);
+    }
+
+    /**
+     * cursor 가 비어 있으면 첫 페이지를 의미하는 defaultKey 를 반환한다.
+     */
+    public static long decode(String cursor, long defaultKey) {
+        if (cursor == null || cursor.isBlank()) {
+            return defaultKey;
+        }
+
+        try {
+            return Long.parseLong(decodeText(cursor));
+        } catch (IllegalArgumentException e) {
+            throw invalidCursor(cursor);
+        }
+    }
+
+    /**
+     * encode(long, long) 로 만든 커서를 {firstKey, secondKey} 로 되돌린다. cursor 가 비어 있으면 기본 키를 반환한다.
+     */
+    public static long[] decode(String cursor, long defaultFirstKey, long defaultSecondKey) {
+        if (cursor == null || cursor.isBlank()) {
+            return new long[]{defaultFirstKey, defaultSecondKey};
+        }
+
+        try {
+            String[] keys = decodeText(cursor).split(KEY_SEPARATOR, -1);
+            if (keys.length != 2) {
+                throw new IllegalArgumentException(cursor);
+            }
+            return new long[]{Long.parseLong(keys[0]), Long.parseLong(keys[1])};
+        } catch (IllegalArgumentException e) {
+            throw invalidCursor(cursor);
+        }
+    }
+
+    private static String encodeText(String text) {
+        byte[] bytes = (VERSION_PREFIX + text).getBytes(StandardCharsets.UTF_8);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    private static String decodeText(String cursor) {
+        String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        if (!decoded.startsWith(VERSION_PREFIX)) {
+            throw new IllegalArgumentException(decoded);
+        }
+        return decoded.substring(VERSION_PREFIX.length());
+    }
+
+    private static TingApplicationException invalidCursor(String cursor) {
+        return new TingApplicationException(ErrorCode.INVALID_REQUEST, ServiceType.UTIL, () -> String.format("Invalid cursor: %s", cursor));
+    }
+}
@@ -1,27 +1,39 @@
 package com.ting.ting.util;
 
+import com.ting.ting.cache.MixedImageCache;
+import com.ting.ting.cache.MixedImageKey;
 import com.ting.ting.dto.idealPhoto.MixedImageResponse;
+import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
 
+import java.time.Duration;
+
 @Service
+@RequiredArgsConstructor
 public class IdealPhotoManager {
 
+    private static final double MIX_RATIO = 0.5;
+
     @Value("${machine-learning.server-url}")
     String mlServerUrl;
 
+    @Value("${machine-learning.timeout:5s}")
+    Duration timeout = Duration.ofSeconds(5);
+
+    private final MixedImageCache mixedImageCache;
     private final WebClient webClient = WebClient.create();
 
     public MixedImageResponse mixIdealPhotos(String imageUrl1, String imageUrl2) {
         String imageKey1 = extractImageKeyFromUrl(imageUrl1);
         String imageKey2 = extractImageKeyFromUrl(imageUrl2);
 
-        return webClient.get()
-                .uri(mlServerUrl + "/mixTwoImages"+"/{imageKey1}/{imageKey2}/{ratio}", imageKey1, imageKey2, 0.5)
+        return mixedImageCache.getOrMix(new MixedImageKey(imageKey1, imageKey2, MIX_RATIO), () -> webClient.get()
+                .uri(mlServerUrl + "/mixTwoImages"+"/{imageKey1}/{imageKey2}/{ratio}", imageKey1, imageKey2, MIX_RATIO)
                 .retrieve()
                 .bodyToFlux(MixedImageResponse.class)
-                .blockFirst();
+                .blockFirst(timeout));
     }
 
     public String extractImageKeyFromUrl(String url) {
@@ -1,30 +1,63 @@
 package com.ting.ting.util;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import com.ting.ting.exception.ErrorCode;
 import com.ting.ting.exception.ServiceType;
 import com.ting.ting.exception.TingApplicationException;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
 import java.time.Duration;
+import java.util.Base64;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 @Component
 public class JwtTokenUtil {
 
-    @Value("${jwt.secret}")
-    private String secret;
+    private static final String ID_CLAIM = "id";
+
+    private final String secret;
+    private final Clock clock;
+    private final Cache<String, VerifiedToken> verifiedTokens;
+
+    // 키와 파서는 처음 사용할 때 한 번만 만들고 재사용한다.
+    private volatile Key key;
+    private volatile JwtParser jwtParser;
+
+    @Autowired
+    public JwtTokenUtil(
+            @Value("${jwt.secret}") String secret,
+            @Value("${jwt.verified-cache.maximum-size:10000}") long verifiedCacheMaximumSize
+    ) {
+        this(secret, verifiedCacheMaximumSize, Clock.systemUTC());
+    }
+
+    /**
+     * 토큰 발급, 만료 검증, 캐시 만료가 모두 clock 을 기준으로 한다.
+     */
+    JwtTokenUtil(String secret, long verifiedCacheMaximumSize, Clock clock) {
+        this.secret = secret;
+        this.clock = clock;
+        this.verifiedTokens = verifiedCacheMaximumSize > 0 ? createVerifiedTokenCache(verifiedCacheMaximumSize, clock) : null;
+    }
 
     public String createTokenById(Long id) {
         Map<String, Object> payloads = new HashMap<>();
-        payloads.put("id", id);
-        Date now = new Date();
+        payloads.put(ID_CLAIM, id);
+        Date now = new Date(clock.millis());
         Date expiration = new Date(now.getTime() + Duration.ofDays(1).toMillis());
         return Jwts.builder()
                 .setHeaderParam(Header.TYPE, Header.JWT_TYPE)
@@ -35,9 +68,33 @@ public class JwtTokenUtil {
                 .compact();
     }
 
-    public void validateToken(String token) {
+    /**
+     * 토큰 서명과 만료를 검증하고 사용자 id 와 만료 시각을 반환한다.
+     * 최근에 검증한 토큰은 토큰 해시를 키로 만료 시각까지 보관하여 다시 파싱하지 않는다.
+     * 캐시에는 변경할 수 없는 VerifiedToken 만 담고, 파서가 만든 Claims(가변 Map)는 요청 사이에 공유하지 않는다.
+     */
+    public VerifiedToken verifyToken(String token) {
+        if (token == null || token.isBlank()) {
+            throw new TingApplicationException(ErrorCode.TOKEN_ERROR, ServiceType.UTIL, "Invalid JWT token");
+        }
+        if (verifiedTokens == null) {
+            return parse(token);
+        }
+
+        String tokenHash = hash(token);
+        VerifiedToken verifiedToken = verifiedTokens.getIfPresent(tokenHash);
+        if (verifiedToken == null) {
+            verifiedToken = parse(token);
+            verifiedTokens.put(tokenHash, verifiedToken);
+        }
+        return verifiedToken;
+    }
+
+    private VerifiedToken parse(String token) {
         try {
-            Jwts.parserBuilder().setSigningKey(getKey()).build().parseClaimsJws(token).getBody();
+            Claims claims = getParser().parseClaimsJws(token).getBody();
+            Date expiration = claims.getExpiration();
+            return new VerifiedToken(claims.get(ID_CLAIM, Long.class), expiration != null ? expiration.getTime() : 0);
         } catch (io.jsonwebtoken.security.SecurityException | MalformedJwtException e) {
             throw new TingApplicationException(ErrorCode.TOKEN_ERROR, ServiceType.UTIL, "Invalid JWT signature.");
         } catch (ExpiredJwtException e) {
@@ -49,17 +106,63 @@ public class JwtTokenUtil {
         }
     }
 
-    public Long getIdByToken(String token) {
-        Claims body = Jwts.parserBuilder()
-                .setSigningKey(getKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
-        return body.get("id", Long.class);
+    private JwtParser getParser() {
+        JwtParser parser = jwtParser;
+        if (parser == null) {
+            parser = Jwts.parserBuilder().setSigningKey(getKey()).setClock(() -> new Date(clock.millis())).build();
+            jwtParser = parser;
+        }
+        return parser;
     }
 
     private Key getKey() {
-        byte[] keyBytes = secret.getBytes(StandardCharsets.UTF_8);
-        return Keys.hmacShaKeyFor(keyBytes);
+        Key signingKey = key;
+        if (signingKey == null) {
+            signingKey = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+            key = signingKey;
+        }
+        return signingKey;
+    }
+
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static Cache<String, VerifiedToken> createVerifiedTokenCache(long maximumSize, Clock clock) {
+        return Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .ticker(() -> TimeUnit.MILLISECONDS.toNanos(clock.millis()))
+                .expireAfter(new Expiry<String, VerifiedToken>() {
+                    @Override
+                    public long expireAfterCreate(String tokenHash, VerifiedToken verifiedToken, long currentTime) {
+                        return nanosUntilExpiration(verifiedToken, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String tokenHash, VerifiedToken verifiedToken, long currentTime, long currentDuration) {
+                        return nanosUntilExpiration(verifiedToken, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String tokenHash, VerifiedToken verifiedToken, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
+    }
+
+    /**
+     * currentTime 은 ticker(clock) 기준 나노초이다.
+     */
+    private static long nanosUntilExpiration(VerifiedToken verifiedToken, long currentTime) {
+        if (verifiedToken.getExpiresAtMillis() == 0) {
+            return 0;
+        }
+        return Math.max(0, TimeUnit.MILLISECONDS.toNanos(verifiedToken.getExpiresAtMillis()) - currentTime);
     }
 }
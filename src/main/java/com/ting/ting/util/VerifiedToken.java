@@ -0,0 +1,17 @@
+package com.ting.ting.util;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 서명과 만료를 검증한 토큰에서 읽은 값
+ * 요청 스레드끼리 공유되는 검증 캐시에 담기므로 변경할 수 없는 값만 가진다.
+ */
+@Getter
+@AllArgsConstructor
+public final class VerifiedToken {
+
+    private final Long userId;
+    /** 만료 시각(epoch millis). exp 가 없으면 0 */
+    private final long expiresAtMillis;
+}
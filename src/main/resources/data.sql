@@ -126,4 +126,25 @@ insert into blind_like(id, from_user_id, to_user_id, created_at, updated_at) val
 insert into blind_like(id, from_user_id, to_user_id, created_at, updated_at) values(3, 1, 8, now(), now());
 
 
-insert into blind_date(id, men_user_id, women_user_id, created_at, updated_at) values(1, 1, 25, now(), now());
\ No newline at end of file
+insert into blind_date(id, men_user_id, women_user_id, created_at, updated_at) values(1, 1, 25, now(), now());
+
+update `group` g set member_count = (select count(*) from group_member gm where gm.group_id = g.id);
+update `group` g set member_birth_sum = (select coalesce(sum(datediff(u.birth, '1970-01-01')), 0) from group_member gm join user u on u.id = gm.member_id where gm.group_id = g.id);
+insert into group_member_major_count (group_id, major, member_count, created_at, updated_at)
+select gm.group_id, u.major, count(*), now(), now() from group_member gm join user u on u.id = gm.member_id group by gm.group_id, u.major;
+insert into group_like_to_date_count (from_group_id, to_group_id, like_count, created_at, updated_at)
+select gm.group_id, l.to_group_id, count(*), now(), now() from group_like_to_date l join group_member gm on gm.id = l.from_group_member_id group by gm.group_id, l.to_group_id;
+insert into blind_quota (user_id, pending_request_count, blind_date_count, created_at, updated_at)
+select u.id, (select count(*) from blind_request r where r.from_user_id = u.id and r.request_status = 'PENDING'), (select count(*) from blind_date d where d.men_user_id = u.id or d.women_user_id = u.id), now(), now() from user u;
+insert into id_sequence (sequence_name, next_val)
+select 'group_member', coalesce(max(id), 0) + 1 from group_member union all
+select 'group_member_request', coalesce(max(id), 0) + 1 from group_member_request union all
+select 'group_like_to_join', coalesce(max(id), 0) + 1 from group_like_to_join union all
+select 'group_like_to_date', coalesce(max(id), 0) + 1 from group_like_to_date union all
+select 'group_date_request', coalesce(max(id), 0) + 1 from group_date_request union all
+select 'group_date', coalesce(max(id), 0) + 1 from group_date union all
+select 'blind_request', coalesce(max(id), 0) + 1 from blind_request union all
+select 'blind_like', coalesce(max(id), 0) + 1 from blind_like union all
+select 'blind_date', coalesce(max(id), 0) + 1 from blind_date union all
+select 'group_recommendation', coalesce(max(id), 0) + 1 from group_recommendation union all
+select 'blind_recommendation', coalesce(max(id), 0) + 1 from blind_recommendation;
@@ -0,0 +1,94 @@
+package com.ting.ting.cache;
+
+import com.ting.ting.dto.idealPhoto.MixedImageResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("[팀 이상형 사진] 합성 사진 캐시 테스트")
+class MixedImageCacheTest {
+
+    private static final MixedImageKey KEY = new MixedImageKey("image1", "image2", 0.5);
+    private static final MixedImageResponse IMAGE = new MixedImageResponse("mixed", "https://test.ting/ideal-photo/mixed.png");
+
+    @DisplayName("같은 사진 쌍을 두 번 합성하면 두 번째는 ML 서버 호출 없이 캐시에서 반환한다")
+    @Test
+    void Given_CachedImage_When_GetOrMix_Then_ReturnsWithoutMixing() {
+        //Given
+        MixedImageCache mixedImageCache = new MixedImageCache(new CaffeineMixedImageCacheStore(100));
+        AtomicInteger calls = new AtomicInteger();
+        mixedImageCache.getOrMix(KEY, () -> { calls.incrementAndGet(); return IMAGE; });
+
+        //When
+        MixedImageResponse actual = mixedImageCache.getOrMix(KEY, () -> { calls.incrementAndGet(); return IMAGE; });
+
+        //Then
+        assertThat(actual).isSameAs(IMAGE);
+        assertThat(calls).hasValue(1);
+        assertThat(mixedImageCache.getHitRatio()).isEqualTo(0.5);
+    }
+
+    @DisplayName("같은 사진 쌍에 대한 동시 요청은 ML 서버를 한 번만 호출한다")
+    @Test
+    void Given_ConcurrentRequests_When_GetOrMix_Then_MixesOnce() throws Exception {
+        //Given
+        MixedImageCache mixedImageCache = new MixedImageCache(new CaffeineMixedImageCacheStore(100));
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch mixing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        CompletableFuture<MixedImageResponse> first = CompletableFuture.supplyAsync(() -> mixedImageCache.getOrMix(KEY, () -> {
+            calls.incrementAndGet();
+            mixing.countDown();
+            await(release);
+            return IMAGE;
+        }));
+        assertThat(mixing.await(5, TimeUnit.SECONDS)).isTrue();
+
+        //When
+        CompletableFuture<MixedImageResponse> second = CompletableFuture.supplyAsync(() -> mixedImageCache.getOrMix(KEY, () -> {
+            calls.incrementAndGet();
+            return IMAGE;
+        }));
+        while (mixedImageCache.getCoalescedCount() == 0 && !second.isDone()) {
+            Thread.onSpinWait();
+        }
+        release.countDown();
+
+        //Then
+        assertThat(first.get(5, TimeUnit.SECONDS)).isSameAs(IMAGE);
+        assertThat(second.get(5, TimeUnit.SECONDS)).isSameAs(IMAGE);
+        assertThat(calls).hasValue(1);
+    }
+
+    @DisplayName("디스크 저장소에 남긴 합성 사진은 메모리 캐시가 비어도 다시 읽어 온다")
+    @Test
+    void Given_FileStore_When_NewMemoryStore_Then_ReadsFromDisk(@TempDir Path directory) {
+        //Given
+        new FileMixedImageCacheStore(new CaffeineMixedImageCacheStore(100), directory).put(KEY, IMAGE);
+        MixedImageCacheStore restarted = new FileMixedImageCacheStore(new CaffeineMixedImageCacheStore(100), directory);
+
+        //When & Then
+        assertThat(restarted.get(KEY)).hasValueSatisfying(image -> {
+            assertThat(image.getImageID()).isEqualTo(IMAGE.getImageID());
+            assertThat(image.getImageURL()).isEqualTo(IMAGE.getImageURL());
+        });
+        assertThat(restarted.get(new MixedImageKey("image2", "image1", 0.5))).isEmpty();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.ting.ting.cache;
+
+import com.ting.ting.domain.event.UserChangedEvent;
+import com.ting.ting.dto.UserDto;
+import com.ting.ting.fixture.UserFixture;
+import com.ting.ting.service.UserService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.*;
+
+@DisplayName("[인증] 사용자 캐시 테스트")
+@ExtendWith(MockitoExtension.class)
+class PrincipalCacheTest {
+
+    @Mock private UserService userService;
+
+    private PrincipalCache principalCache;
+
+    @BeforeEach
+    void setUp() {
+        principalCache = new PrincipalCache(new CaffeinePrincipalCacheStore(100, Duration.ofMinutes(5)), userService);
+    }
+
+    @DisplayName("같은 사용자를 두 번 조회하면 두 번째는 DB 조회 없이 캐시에서 반환한다")
+    @Test
+    void Given_CachedUser_When_GetOrLoad_Then_ReturnsWithoutLoading() {
+        //Given
+        UserDto user = UserDto.from(UserFixture.createUserById(1L));
+        given(userService.getUserDtoById(1L)).willReturn(user);
+
+        //When
+        principalCache.getOrLoad(1L);
+        UserDto actual = principalCache.getOrLoad(1L);
+
+        //Then
+        assertThat(actual).isSameAs(user);
+        assertThat(principalCache.getHitCount()).isEqualTo(1);
+        assertThat(principalCache.getMissCount()).isEqualTo(1);
+        then(userService).should(times(1)).getUserDtoById(1L);
+    }
+
+    @DisplayName("사용자 정보가 바뀌면 캐시를 비우고 다시 조회한다")
+    @Test
+    void Given_UserChangedEvent_When_GetOrLoad_Then_LoadsAgain() {
+        //Given
+        given(userService.getUserDtoById(1L)).willReturn(UserDto.from(UserFixture.createUserById(1L)));
+        principalCache.getOrLoad(1L);
+
+        //When
+        principalCache.onUserChanged(new UserChangedEvent(1L));
+        principalCache.getOrLoad(1L);
+
+        //Then
+        assertThat(principalCache.getMissCount()).isEqualTo(2);
+        then(userService).should(times(2)).getUserDtoById(1L);
+    }
+}
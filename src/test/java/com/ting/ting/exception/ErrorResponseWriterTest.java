@@ -0,0 +1,50 @@
+package com.ting.ting.exception;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ting.ting.dto.response.Response;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("[오류 응답] 미리 만든 오류 응답 테스트")
+class ErrorResponseWriterTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @DisplayName("미리 만든 오류 응답은 Response 를 Jackson 으로 직렬화한 것과 같다")
+    @Test
+    void Given_AllErrorCodesAndServiceTypes_When_Render_Then_SameAsJacksonSerializedResponse() throws Exception {
+        //Given
+        ErrorResponseWriter writer = new ErrorResponseWriter(false);
+
+        for (ErrorCode errorCode : ErrorCode.values()) {
+            for (ServiceType serviceType : ServiceType.values()) {
+                //When
+                byte[] actual = writer.render(errorCode, serviceType, "무시되는 상세 메시지");
+
+                //Then
+                JsonNode expected = objectMapper.valueToTree(new Response<>(new TingApplicationException(errorCode, serviceType)));
+                assertThat(objectMapper.readTree(actual)).isEqualTo(expected);
+            }
+        }
+    }
+
+    @DisplayName("include-detail 이 켜져 있으면 상세 메시지를 JSON 이스케이프해서 쓴다")
+    @Test
+    void Given_IncludeDetail_When_RenderWithDetail_Then_WritesEscapedDetail() throws Exception {
+        //Given
+        ErrorResponseWriter writer = new ErrorResponseWriter(true);
+        String detail = "User(id: 1) is \"deleted\"\n<script>";
+
+        //When
+        byte[] actual = writer.render(ErrorCode.INVALID_ACCESS_TOKEN, ServiceType.AUTHENTICATION, detail);
+
+        //Then
+        JsonNode result = objectMapper.readTree(actual).get("result");
+        assertThat(result.get("resultCode").asInt()).isEqualTo(401);
+        assertThat(result.get("serviceType").asText()).isEqualTo("AUTHENTICATION");
+        assertThat(result.get("message").asText()).isEqualTo(detail);
+    }
+}
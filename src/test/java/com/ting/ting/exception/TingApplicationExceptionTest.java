@@ -0,0 +1,43 @@
+package com.ting.ting.exception;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("[예외] 도메인 예외 테스트")
+class TingApplicationExceptionTest {
+
+    @DisplayName("예상된 오류는 스택 트레이스가 없고, 상세 메시지는 처음 읽을 때 한 번만 만든다")
+    @Test
+    void Given_ExpectedErrorWithMessageSupplier_When_GetMessage_Then_NoStackTraceAndMessageBuiltOnce() {
+        //Given
+        AtomicInteger calls = new AtomicInteger();
+        TingApplicationException e = new TingApplicationException(ErrorCode.DUPLICATED_REQUEST, ServiceType.GROUP_MEETING, () -> "Group(id: " + calls.incrementAndGet() + ")");
+
+        //When
+        int callsBeforeRead = calls.get();
+        String message = e.getMessage();
+        String messageForServer = e.getMessageForServer();
+
+        //Then
+        assertThat(e.getStackTrace()).isEmpty();
+        assertThat(callsBeforeRead).isZero();
+        assertThat(message).isEqualTo("Group(id: 1)");
+        assertThat(messageForServer).isEqualTo("[DUPLICATED_REQUEST :: GROUP_MEETING] : Group(id: 1)");
+        assertThat(calls).hasValue(1);
+    }
+
+    @DisplayName("예상하지 못한 오류는 스택 트레이스를 남긴다")
+    @Test
+    void Given_UnexpectedError_When_Thrown_Then_KeepsStackTrace() {
+        //When
+        TingApplicationException e = new TingApplicationException(ErrorCode.INTERNAL_SERVER_ERROR, ServiceType.GROUP_MEETING);
+
+        //Then
+        assertThat(e.getStackTrace()).isNotEmpty();
+        assertThat(e.getMessage()).isEqualTo(ErrorCode.INTERNAL_SERVER_ERROR.getMessage());
+    }
+}
@@ -2,6 +2,7 @@ package com.ting.ting.fixture;
 
 import com.ting.ting.domain.Group;
 import com.ting.ting.domain.constant.Gender;
+import com.ting.ting.domain.custom.GroupSummary;
 import com.ting.ting.dto.request.GroupCreateRequest;
 import org.springframework.test.util.ReflectionTestUtils;
 
@@ -13,6 +14,10 @@ public class GroupFixture {
         return entity;
     }
 
+    public static GroupSummary summaryOf(Group entity) {
+        return new GroupSummary(entity.getId(), entity.getGender(), entity.getMemberSizeLimit(), entity.isMatched(), entity.isJoinable());
+    }
+
     public static GroupCreateRequest request() {
         GroupCreateRequest request = new GroupCreateRequest("팀", 5, "");
         return request;
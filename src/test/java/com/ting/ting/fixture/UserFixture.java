@@ -13,4 +13,11 @@ public class UserFixture {
         ReflectionTestUtils.setField(user, "id", userId);
         return user;
     }
+
+    /**
+     * 저장하기 전의 유저. 이름, 이메일이 유일해야 하므로 username 은 테스트마다 다르게 준다.
+     */
+    public static User createUser(String username, Gender gender) {
+        return User.of(username, username + "@kakao.com", username + "@ting.com", "단국대학교", "통계학과", gender, LocalDate.of(2000, 1, 1));
+    }
 }
@@ -0,0 +1,122 @@
+package com.ting.ting.job;
+
+import com.ting.ting.domain.Group;
+import com.ting.ting.domain.GroupMember;
+import com.ting.ting.domain.GroupMemberMajorCount;
+import com.ting.ting.domain.User;
+import com.ting.ting.domain.constant.Gender;
+import com.ting.ting.domain.constant.MemberRole;
+import com.ting.ting.domain.custom.GroupIdWithBirthAndMajor;
+import com.ting.ting.domain.custom.GroupIdWithMajorCount;
+import com.ting.ting.domain.custom.GroupMemberCounters;
+import com.ting.ting.fixture.GroupFixture;
+import com.ting.ting.repository.GroupMemberMajorCountRepository;
+import com.ting.ting.repository.GroupMemberRepository;
+import com.ting.ting.repository.GroupRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.*;
+
+@DisplayName("[팀 멤버] 멤버 집계 보정 작업 테스트")
+@ExtendWith(MockitoExtension.class)
+class GroupMemberCountReconcilerTest {
+
+    private static final LocalDate BIRTH_OF_STATISTICS_MAJOR = LocalDate.of(2000, 1, 1);
+    private static final LocalDate BIRTH_OF_COMPUTER_MAJOR = LocalDate.of(2001, 1, 1);
+
+    @Mock private GroupRepository groupRepository;
+    @Mock private GroupMemberRepository groupMemberRepository;
+    @Mock private GroupMemberMajorCountRepository groupMemberMajorCountRepository;
+
+    private GroupMemberCountReconciler reconciler;
+    private Group group;
+
+    @BeforeEach
+    void setUp() {
+        reconciler = new GroupMemberCountReconciler(groupRepository, groupMemberRepository, groupMemberMajorCountRepository, TransactionOperations.withoutTransaction(), 1000);
+        group = GroupFixture.createGroupById(1L);
+
+        given(groupRepository.findMaxId()).willReturn(Optional.of(1L));
+        given(groupMemberRepository.findAllBirthAndMajorByGroupIdBetween(0L, 1000L)).willReturn(List.of(
+                new GroupIdWithBirthAndMajor(1L, BIRTH_OF_STATISTICS_MAJOR, "통계학과"),
+                new GroupIdWithBirthAndMajor(1L, BIRTH_OF_COMPUTER_MAJOR, "컴퓨터공학과")
+        ));
+    }
+
+    @DisplayName("멤버 수는 맞지만 생년월일 합, 가입 가능 여부, 전공별 인원이 다르면 실제 멤버로 다시 계산해 고친다")
+    @Test
+    void Given_DriftedBirthSumJoinableAndMajorCounts_When_Reconcile_Then_RepairsAllCounters() {
+        //Given
+        long actualBirthSum = BIRTH_OF_STATISTICS_MAJOR.toEpochDay() + BIRTH_OF_COMPUTER_MAJOR.toEpochDay();
+        GroupMemberMajorCount statistics = GroupMemberMajorCount.of(group, "통계학과");
+        statistics.repairMemberCount(2);
+        GroupMemberMajorCount business = GroupMemberMajorCount.of(group, "경영학과");
+
+        given(groupMemberMajorCountRepository.findAllMajorCountByGroupIdBetween(0L, 1000L)).willReturn(List.of(
+                new GroupIdWithMajorCount(1L, "통계학과", 2),
+                new GroupIdWithMajorCount(1L, "경영학과", 1)
+        ));
+        given(groupRepository.findAllMemberCountersByIdBetween(0L, 1000L)).willReturn(List.of(
+                new GroupMemberCounters(1L, 2, 0L, group.getMemberSizeLimit(), false, false)
+        ));
+        given(groupRepository.findById(1L)).willReturn(Optional.of(group));
+        given(groupMemberRepository.findAllByGroup(group)).willReturn(List.of(
+                GroupMember.of(group, user("통계학과", BIRTH_OF_STATISTICS_MAJOR), MemberRole.LEADER),
+                GroupMember.of(group, user("컴퓨터공학과", BIRTH_OF_COMPUTER_MAJOR), MemberRole.MEMBER)
+        ));
+        given(groupMemberMajorCountRepository.findAllByGroup(group)).willReturn(List.of(statistics, business));
+
+        //When
+        reconciler.reconcile();
+
+        //Then
+        then(groupRepository).should().lockForUpdate(group);
+        assertThat(group.getMemberCount()).isEqualTo(2);
+        assertThat(group.getMemberBirthSum()).isEqualTo(actualBirthSum);
+        assertThat(group.isJoinable()).isTrue();
+        assertThat(statistics.getMemberCount()).isEqualTo(1);
+        then(groupMemberMajorCountRepository).should().delete(business);
+        ArgumentCaptor<GroupMemberMajorCount> created = ArgumentCaptor.forClass(GroupMemberMajorCount.class);
+        then(groupMemberMajorCountRepository).should().save(created.capture());
+        assertThat(created.getValue().getMajor()).isEqualTo("컴퓨터공학과");
+        assertThat(created.getValue().getMemberCount()).isEqualTo(1);
+    }
+
+    @DisplayName("모든 집계가 실제 멤버와 같으면 팀을 잠그지 않는다")
+    @Test
+    void Given_ConsistentCounters_When_Reconcile_Then_DoesNotRepair() {
+        //Given
+        long actualBirthSum = BIRTH_OF_STATISTICS_MAJOR.toEpochDay() + BIRTH_OF_COMPUTER_MAJOR.toEpochDay();
+        given(groupMemberMajorCountRepository.findAllMajorCountByGroupIdBetween(0L, 1000L)).willReturn(List.of(
+                new GroupIdWithMajorCount(1L, "통계학과", 1),
+                new GroupIdWithMajorCount(1L, "컴퓨터공학과", 1)
+        ));
+        given(groupRepository.findAllMemberCountersByIdBetween(0L, 1000L)).willReturn(List.of(
+                new GroupMemberCounters(1L, 2, actualBirthSum, group.getMemberSizeLimit(), false, true)
+        ));
+
+        //When
+        reconciler.reconcile();
+
+        //Then
+        then(groupRepository).should(never()).lockForUpdate(any());
+        then(groupMemberMajorCountRepository).should(never()).save(any());
+    }
+
+    private static User user(String major, LocalDate birth) {
+        return User.of("username", "socialEmail", "email", "단국대학교", major, Gender.WOMEN, birth);
+    }
+}
@@ -0,0 +1,143 @@
+package com.ting.ting.job;
+
+import com.ting.ting.cache.CaffeineMixedImageCacheStore;
+import com.ting.ting.cache.MixedImageCache;
+import com.ting.ting.domain.Group;
+import com.ting.ting.domain.IdealPhotoMixJob;
+import com.ting.ting.domain.constant.IdealPhotoMixJobStatus;
+import com.ting.ting.fixture.GroupFixture;
+import com.ting.ting.repository.GroupRepository;
+import com.ting.ting.repository.IdealPhotoMixJobRepository;
+import com.ting.ting.stub.MachineLearningServerStub;
+import com.ting.ting.util.IdealPhotoManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.*;
+
+@DisplayName("[팀 이상형 사진] 합성 작업 처리기 테스트")
+@ExtendWith(MockitoExtension.class)
+class IdealPhotoMixJobWorkerTest {
+
+    private static final LocalDateTime CLAIMED_AT = LocalDateTime.of(2023, 1, 1, 0, 0);
+
+    @Mock private IdealPhotoMixJobRepository idealPhotoMixJobRepository;
+    @Mock private GroupRepository groupRepository;
+
+    private MachineLearningServerStub machineLearningServer;
+    private IdealPhotoMixJobWorker worker;
+
+    @BeforeEach
+    void setUp() {
+        machineLearningServer = MachineLearningServerStub.start();
+
+        IdealPhotoManager idealPhotoManager = new IdealPhotoManager(new MixedImageCache(new CaffeineMixedImageCacheStore(100)));
+        ReflectionTestUtils.setField(idealPhotoManager, "mlServerUrl", machineLearningServer.getUrl());
+
+        worker = new IdealPhotoMixJobWorker(idealPhotoMixJobRepository, groupRepository, idealPhotoManager, TransactionOperations.withoutTransaction(),
+                1, 5, Duration.ofSeconds(2), Duration.ofMinutes(1));
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        worker.shutdown();
+        machineLearningServer.close();
+    }
+
+    @DisplayName("ML 서버가 응답하면 팀 이상형 사진을 합성된 사진으로 바꾸고 작업을 완료한다")
+    @Test
+    void Given_MachineLearningServerResponds_When_Process_Then_UpdatesGroupIdealPhotoAndCompletes() {
+        //Given
+        IdealPhotoMixJob job = createJob(1L, "https://test.ting/ideal-photo/group.png");
+        given(idealPhotoMixJobRepository.findWithGroupById(1L)).willReturn(Optional.of(job));
+
+        //When
+        worker.process(1L);
+
+        //Then
+        assertThat(job.getGroup().getIdealPhoto()).isEqualTo(MachineLearningServerStub.MIXED_IMAGE_URL);
+        assertThat(job.getStatus()).isEqualTo(IdealPhotoMixJobStatus.DONE);
+    }
+
+    @DisplayName("ML 서버가 실패하면 팀 이상형 사진은 그대로 두고 나중에 다시 시도하도록 남긴다")
+    @Test
+    void Given_MachineLearningServerFails_When_Process_Then_SchedulesRetry() {
+        //Given
+        machineLearningServer.respondWith(500);
+        IdealPhotoMixJob job = createJob(1L, "https://test.ting/ideal-photo/group.png");
+        given(idealPhotoMixJobRepository.findWithGroupById(1L)).willReturn(Optional.of(job));
+        given(idealPhotoMixJobRepository.findById(1L)).willReturn(Optional.of(job));
+
+        //When
+        worker.process(1L);
+
+        //Then
+        assertThat(job.getGroup().getIdealPhoto()).isEqualTo("https://test.ting/ideal-photo/group.png");
+        assertThat(job.getStatus()).isEqualTo(IdealPhotoMixJobStatus.PENDING);
+        assertThat(job.getAttempts()).isEqualTo(1);
+        assertThat(job.getNextAttemptAt()).isAfter(LocalDateTime.now());
+    }
+
+    @DisplayName("ML 서버 응답을 기다리는 사이 작업이 다시 대기 상태로 풀렸다면 팀 이상형 사진을 바꾸지 않는다")
+    @Test
+    void Given_JobReleasedWhileMixing_When_Process_Then_DiscardsResult() {
+        //Given
+        IdealPhotoMixJob job = createJob(1L, "https://test.ting/ideal-photo/group.png");
+        IdealPhotoMixJob released = createJob(1L, "https://test.ting/ideal-photo/group.png");
+        ReflectionTestUtils.setField(released, "status", IdealPhotoMixJobStatus.PENDING);
+        ReflectionTestUtils.setField(released, "lockedAt", null);
+        given(idealPhotoMixJobRepository.findWithGroupById(1L)).willReturn(Optional.of(job), Optional.of(released));
+
+        //When
+        worker.process(1L);
+
+        //Then
+        assertThat(released.getGroup().getIdealPhoto()).isEqualTo("https://test.ting/ideal-photo/group.png");
+        assertThat(released.getStatus()).isEqualTo(IdealPhotoMixJobStatus.PENDING);
+        then(groupRepository).shouldHaveNoInteractions();
+    }
+
+    @DisplayName("ML 서버 응답을 기다리는 사이 다른 처리기가 작업을 다시 선점했다면 결과를 버리고 그 처리기에 맡긴다")
+    @Test
+    void Given_JobReclaimedByOtherWorker_When_Process_Then_DiscardsResult() {
+        //Given
+        IdealPhotoMixJob job = createJob(1L, "https://test.ting/ideal-photo/group.png");
+        IdealPhotoMixJob reclaimed = createJob(1L, "https://test.ting/ideal-photo/group.png");
+        ReflectionTestUtils.setField(reclaimed, "lockedAt", CLAIMED_AT.plusMinutes(1));
+        given(idealPhotoMixJobRepository.findWithGroupById(1L)).willReturn(Optional.of(job), Optional.of(reclaimed));
+
+        //When
+        worker.process(1L);
+
+        //Then
+        assertThat(reclaimed.getGroup().getIdealPhoto()).isEqualTo("https://test.ting/ideal-photo/group.png");
+        assertThat(reclaimed.getStatus()).isEqualTo(IdealPhotoMixJobStatus.RUNNING);
+        then(groupRepository).shouldHaveNoInteractions();
+    }
+
+    /**
+     * CLAIMED_AT 에 선점되어 RUNNING 인 작업
+     */
+    private IdealPhotoMixJob createJob(Long id, String groupIdealPhoto) {
+        Group group = GroupFixture.createGroupById(1L);
+        group.setIdealPhoto(groupIdealPhoto);
+
+        IdealPhotoMixJob job = IdealPhotoMixJob.of(group, "https://test.ting/ideal-photo/user.png");
+        ReflectionTestUtils.setField(job, "id", id);
+        ReflectionTestUtils.setField(job, "status", IdealPhotoMixJobStatus.RUNNING);
+        ReflectionTestUtils.setField(job, "lockedAt", CLAIMED_AT);
+        return job;
+    }
+}
@@ -0,0 +1,77 @@
+package com.ting.ting.job;
+
+import com.ting.ting.repository.JobLockRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("[작업] 서버 간 작업 잠금 테스트")
+@SpringBootTest
+@TestPropertySource(locations = "classpath:test.properties")
+class JobLockManagerTest {
+
+    private static final Duration LEASE_TIME = Duration.ofMinutes(1);
+
+    @Autowired private JobLockRepository jobLockRepository;
+    @Autowired private TransactionTemplate transactionTemplate;
+
+    private JobLockManager server1;
+    private JobLockManager server2;
+
+    @BeforeEach
+    void setUp() {
+        server1 = new JobLockManager(jobLockRepository, transactionTemplate, "server1");
+        server2 = new JobLockManager(jobLockRepository, transactionTemplate, "server2");
+    }
+
+    @DisplayName("한 서버가 잡은 잠금은 풀기 전까지 다른 서버가 가져가지 못한다")
+    @Test
+    void Given_LockedByOtherServer_When_TryLock_Then_FailsUntilUnlocked() {
+        //Given
+        assertThat(server1.tryLock("held", LEASE_TIME)).isTrue();
+
+        //When & Then
+        assertThat(server2.tryLock("held", LEASE_TIME)).isFalse();
+        server2.unlock("held");
+        assertThat(server2.tryLock("held", LEASE_TIME)).isFalse();
+
+        server1.unlock("held");
+        assertThat(server2.tryLock("held", LEASE_TIME)).isTrue();
+    }
+
+    @DisplayName("잠금을 풀면서 남겨 둔 시간 동안은 다른 서버가 가져가지 못한다")
+    @Test
+    void Given_UnlockedWithHoldTime_When_TryLock_Then_FailsUntilHoldTimePasses() {
+        //Given
+        assertThat(server1.tryLock("held-after-unlock", LEASE_TIME)).isTrue();
+
+        //When
+        server1.unlock("held-after-unlock", LEASE_TIME);
+
+        //Then
+        assertThat(server2.tryLock("held-after-unlock", LEASE_TIME)).isFalse();
+        assertThat(server1.tryLock("held-after-unlock", LEASE_TIME)).isFalse();
+    }
+
+    @DisplayName("잠금을 잡은 서버가 풀지 않아도 lease time 이 지나면 다른 서버가 가져간다")
+    @Test
+    void Given_ExpiredLock_When_TryLock_Then_TakesOver() {
+        //Given
+        assertThat(server1.tryLock("expired", Duration.ZERO)).isTrue();
+
+        //When
+        boolean locked = server2.tryLock("expired", LEASE_TIME);
+
+        //Then
+        assertThat(locked).isTrue();
+        assertThat(jobLockRepository.findById("expired")).get().extracting("lockedBy").isEqualTo("server2");
+    }
+}
@@ -0,0 +1,102 @@
+package com.ting.ting.recommendation;
+
+import com.ting.ting.domain.BlindRecommendation;
+import com.ting.ting.domain.constant.Gender;
+import com.ting.ting.domain.constant.MBTI;
+import com.ting.ting.domain.custom.BlindUserFeatures;
+import com.ting.ting.domain.custom.UserIdPair;
+import com.ting.ting.fixture.UserFixture;
+import com.ting.ting.repository.BlindDateRepository;
+import com.ting.ting.repository.BlindLikeRepository;
+import com.ting.ting.repository.BlindRecommendationRepository;
+import com.ting.ting.repository.BlindRequestRepository;
+import com.ting.ting.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.BDDMockito.*;
+
+@DisplayName("[소개팅] 유저 추천 목록 계산기 테스트")
+@ExtendWith(MockitoExtension.class)
+class BlindRecommendationEngineTest {
+
+    private static final int TOP_K = 1;
+
+    @Mock private UserRepository userRepository;
+    @Mock private BlindLikeRepository blindLikeRepository;
+    @Mock private BlindRequestRepository blindRequestRepository;
+    @Mock private BlindDateRepository blindDateRepository;
+    @Mock private BlindRecommendationRepository blindRecommendationRepository;
+
+    private BlindRecommendationEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        engine = new BlindRecommendationEngine(userRepository, blindLikeRepository, blindRequestRepository, blindDateRepository, blindRecommendationRepository, TransactionOperations.withoutTransaction(), TOP_K);
+    }
+
+    @DisplayName("유저의 목록은 매칭된 상대를 빼고 자신을 찜한 상대를 앞에 두며, 다른 유저 목록에 있던 자신의 점수는 매칭된 유저를 빼고 다시 계산한다")
+    @Test
+    void Given_ChangedUser_When_Refresh_Then_ReplacesOwnListAndRescoresItsEntries() {
+        //Given
+        given(userRepository.findBlindFeaturesById(1L)).willReturn(Optional.of(features(1L, Gender.WOMEN, "단국대학교", "통계학과", MBTI.ENFP)));
+        given(userRepository.findAllBlindFeaturesByGender(Gender.MEN)).willReturn(List.of(
+                features(2L, Gender.MEN, "단국대학교", "통계학과", MBTI.ENFP),
+                features(3L, Gender.MEN, "경희대학교", "경영학과", null),
+                features(4L, Gender.MEN, "경희대학교", "경영학과", null)
+        ));
+        given(blindLikeRepository.findAllUserIdPairByFromUserIdIn(List.of(1L))).willReturn(List.of());
+        given(blindRequestRepository.findAllUserIdPairByFromUserIdIn(List.of(1L))).willReturn(List.of());
+        given(blindLikeRepository.findAllUserIdPairByToUserIdIn(List.of(1L))).willReturn(List.of(new UserIdPair(3L, 1L)));
+        given(blindRequestRepository.findAllUserIdPairByToUserIdIn(List.of(1L))).willReturn(List.of());
+        given(blindDateRepository.findAllUserIdPairByWomenUserIdIn(List.of(1L))).willReturn(List.of(new UserIdPair(1L, 2L)));
+
+        given(blindRecommendationRepository.findAllUserIdByCandidateUserId(1L)).willReturn(List.of(2L, 5L));
+        given(userRepository.findAllBlindFeaturesByIdIn(List.of(5L))).willReturn(List.of(features(5L, Gender.MEN, "경희대학교", "경영학과", MBTI.ISTJ)));
+        given(blindLikeRepository.findAllUserIdPairByFromUserIdIn(List.of(5L))).willReturn(List.of(new UserIdPair(5L, 1L)));
+        given(blindRequestRepository.findAllUserIdPairByFromUserIdIn(List.of(5L))).willReturn(List.of());
+        given(userRepository.getReferenceById(any())).willAnswer(invocation -> UserFixture.createUserById(invocation.getArgument(0)));
+
+        //When
+        engine.refresh(1L);
+
+        //Then
+        then(blindRecommendationRepository).should().deleteAllByCandidateUserId(1L);
+        then(blindRecommendationRepository).should().deleteAllByUserIdIn(Set.of(1L));
+        then(blindRecommendationRepository).should().saveAll(argThat((List<BlindRecommendation> recommendations) ->
+                recommendations.size() == TOP_K && recommendations.get(0).getUser().getId() == 1L && recommendations.get(0).getCandidateUser().getId() == 3L));
+        then(blindRecommendationRepository).should().saveAll(argThat((List<BlindRecommendation> recommendations) ->
+                recommendations.size() == 1 && recommendations.get(0).getUser().getId() == 5L && recommendations.get(0).getCandidateUser().getId() == 1L));
+    }
+
+    @DisplayName("탈퇴한 유저는 자기 목록과 다른 유저 목록에서 모두 지운다")
+    @Test
+    void Given_DeletedUser_When_Refresh_Then_DeletesItsListAndItsEntries() {
+        //Given
+        given(userRepository.findBlindFeaturesById(1L)).willReturn(Optional.empty());
+
+        //When
+        engine.refresh(1L);
+
+        //Then
+        then(blindRecommendationRepository).should().deleteAllByUserIdIn(List.of(1L));
+        then(blindRecommendationRepository).should().deleteAllByCandidateUserId(1L);
+        then(blindRecommendationRepository).shouldHaveNoMoreInteractions();
+    }
+
+    private static BlindUserFeatures features(Long id, Gender gender, String school, String major, MBTI mbti) {
+        return new BlindUserFeatures(id, gender, school, major, LocalDate.of(2000, 1, 1), mbti, null, null);
+    }
+}
@@ -0,0 +1,98 @@
+package com.ting.ting.recommendation;
+
+import com.ting.ting.domain.GroupRecommendation;
+import com.ting.ting.domain.constant.Gender;
+import com.ting.ting.domain.custom.GroupFeatures;
+import com.ting.ting.domain.custom.GroupRecommendationStat;
+import com.ting.ting.fixture.GroupFixture;
+import com.ting.ting.repository.GroupLikeToDateCountRepository;
+import com.ting.ting.repository.GroupMemberRepository;
+import com.ting.ting.repository.GroupRecommendationRepository;
+import com.ting.ting.repository.GroupRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.BDDMockito.*;
+
+@DisplayName("[과팅] 팀 추천 목록 계산기 테스트")
+@ExtendWith(MockitoExtension.class)
+class GroupRecommendationEngineTest {
+
+    private static final int TOP_K = 1;
+
+    @Mock private GroupRepository groupRepository;
+    @Mock private GroupMemberRepository groupMemberRepository;
+    @Mock private GroupLikeToDateCountRepository groupLikeToDateCountRepository;
+    @Mock private GroupRecommendationRepository groupRecommendationRepository;
+
+    private GroupRecommendationEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        engine = new GroupRecommendationEngine(groupRepository, groupMemberRepository, groupLikeToDateCountRepository, groupRecommendationRepository, TransactionOperations.withoutTransaction(), TOP_K);
+    }
+
+    @DisplayName("정원이 찬 팀은 자기 목록을 다시 계산하고, 목록이 짧거나 최저 점수가 더 낮은 다른 팀의 목록에 들어간다")
+    @Test
+    void Given_DateableGroup_When_Refresh_Then_ReplacesOwnListAndAddsItselfToOtherLists() {
+        //Given
+        given(groupRepository.findFeaturesById(1L)).willReturn(Optional.of(features(1L, Gender.WOMEN, "단국대학교", false)));
+        given(groupRepository.findAllUnmatchedFeaturesByGenderAndMemberSizeLimit(Gender.MEN, 3)).willReturn(List.of(
+                features(2L, Gender.MEN, "단국대학교", false),
+                features(3L, Gender.MEN, "경희대학교", false),
+                features(4L, Gender.MEN, "경희대학교", true)
+        ));
+        given(groupMemberRepository.findAllGroupIdAndMbtiByGroupIdIn(any())).willReturn(List.of());
+        given(groupLikeToDateCountRepository.findAllLikeCountByFromGroupIdIn(List.of(1L))).willReturn(List.of());
+        given(groupLikeToDateCountRepository.findAllLikeCountByFromGroupIdInAndToGroupId(any(), eq(1L))).willReturn(List.of());
+        given(groupRecommendationRepository.findAllStatByGroupIdIn(any())).willReturn(List.of(
+                new GroupRecommendationStat(2L, 1L, GroupCompatibilityScorer.MAX_SCORE),
+                new GroupRecommendationStat(3L, 1L, 0)
+        ));
+        given(groupRepository.getReferenceById(any())).willAnswer(invocation -> GroupFixture.createGroupById(invocation.getArgument(0)));
+
+        //When
+        engine.refresh(1L);
+
+        //Then
+        then(groupRecommendationRepository).should().deleteAllByCandidateGroupId(1L);
+        then(groupRecommendationRepository).should().deleteAllByGroupIdIn(Set.of(1L));
+        then(groupRecommendationRepository).should().saveAll(argThat((List<GroupRecommendation> recommendations) ->
+                recommendations.size() == TOP_K && recommendations.get(0).getGroup().getId() == 1L && recommendations.get(0).getCandidateGroup().getId() == 2L));
+        then(groupRecommendationRepository).should().saveAll(argThat((List<GroupRecommendation> recommendations) ->
+                recommendations.stream().map(recommendation -> recommendation.getGroup().getId()).collect(Collectors.toSet()).equals(Set.of(3L, 4L))));
+    }
+
+    @DisplayName("매칭된 팀은 자기 목록과 다른 팀 목록에서 모두 지운다")
+    @Test
+    void Given_MatchedGroup_When_Refresh_Then_DeletesItsListAndItsEntries() {
+        //Given
+        GroupFeatures matched = new GroupFeatures(1L, Gender.WOMEN, 3, "단국대학교", true, false, 3, 0L, LocalDateTime.now());
+        given(groupRepository.findFeaturesById(1L)).willReturn(Optional.of(matched));
+
+        //When
+        engine.refresh(1L);
+
+        //Then
+        then(groupRecommendationRepository).should().deleteAllByGroupIdIn(List.of(1L));
+        then(groupRecommendationRepository).should().deleteAllByCandidateGroupId(1L);
+        then(groupRecommendationRepository).shouldHaveNoMoreInteractions();
+    }
+
+    private static GroupFeatures features(Long id, Gender gender, String school, boolean isJoinable) {
+        return new GroupFeatures(id, gender, 3, school, false, isJoinable, 3, 3 * 11000L, LocalDateTime.now());
+    }
+}
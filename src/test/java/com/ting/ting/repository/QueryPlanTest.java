@@ -0,0 +1,207 @@
+package com.ting.ting.repository;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.DynamicTest;
+import org.junit.jupiter.api.TestFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.repository.core.RepositoryInformation;
+import org.springframework.data.repository.support.Repositories;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.Entity;
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Parameter;
+import java.lang.reflect.ParameterizedType;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * com.ting.ting.repository 의 모든 파생 쿼리와 @Query 메서드를 빈 H2 위에서 실행해 SQL 을 모으고,
+ * 모은 SQL 의 EXPLAIN 결과에 전체 스캔이 있으면 실패한다.
+ */
+@DisplayName("[리포지토리] 쿼리 실행 계획 테스트")
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.ting.ting.repository.StatementCapture")
+@TestPropertySource(locations = "classpath:test.properties")
+class QueryPlanTest {
+
+    private static final String REPOSITORY_PACKAGE = "com.ting.ting.repository";
+    private static final Pattern PLAN_COMMENT = Pattern.compile("/\\*\\s*(.+?)\\s*\\*/");
+    private static final String TABLE_SCAN = ".tableScan";
+    private static final String DIRECT_LOOKUP = "/* direct lookup */";
+
+    /**
+     * 전체 스캔을 허용하는 메서드와 테이블
+     * 서로 다른 컬럼의 OR 조건은 MySQL 에서는 두 인덱스의 index merge 로 처리되지만, H2 는 인덱스를 쓰지 못한다.
+     */
+    private static final Map<String, Set<String>> ALLOWED_FULL_SCANS = Map.of(
+            "BlindDateRepository#countByBlindDate", Set.of("blind_date"),
+            "BlindDateRepository#getByMyMatchedUsers", Set.of("blind_date"),
+            "BlindDateRepository#findAllMatchedUserIdByUserId", Set.of("blind_date"),
+            "GroupDateRepository#existsByMenGroupOrWomenGroup", Set.of("group_date"),
+            "GroupRepository#findAllWithMemberCount", Set.of("group")     // 조건 없는 전체 팀 목록
+    );
+
+    @Autowired private ApplicationContext applicationContext;
+    @Autowired private TransactionTemplate transactionTemplate;
+    @Autowired private DataSource dataSource;
+    @PersistenceContext private EntityManager entityManager;
+
+    @DisplayName("리포지토리 메서드가 실행하는 SQL 은 허용된 경우 외에는 전체 스캔을 하지 않는다")
+    @TestFactory
+    Stream<DynamicTest> Given_RepositoryMethod_When_Explain_Then_NoFullScan() {
+        Repositories repositories = new Repositories(applicationContext);
+
+        List<DynamicTest> tests = new ArrayList<>();
+        for (Class<?> domainType : repositories) {
+            RepositoryInformation information = repositories.getRepositoryInformationFor(domainType).orElseThrow();
+            Class<?> repositoryInterface = information.getRepositoryInterface();
+            if (!repositoryInterface.getPackageName().equals(REPOSITORY_PACKAGE)) {
+                continue;
+            }
+
+            Object repository = repositories.getRepositoryFor(domainType).orElseThrow();
+            Arrays.stream(repositoryInterface.getDeclaredMethods())
+                    .filter(method -> !method.isDefault() && !method.isSynthetic())
+                    .sorted(Comparator.comparing(Method::getName))
+                    .forEach(method -> {
+                        String name = repositoryInterface.getSimpleName() + "#" + method.getName();
+                        tests.add(DynamicTest.dynamicTest(name, () -> assertNoFullScan(name, repository, method)));
+                    });
+        }
+        return tests.stream();
+    }
+
+    private void assertNoFullScan(String name, Object repository, Method method) throws SQLException {
+        List<String> statements = capture(repository, method);
+        assertThat(statements).as("%s 가 실행한 SQL 이 없습니다", name).isNotEmpty();
+
+        Set<String> allowed = ALLOWED_FULL_SCANS.getOrDefault(name, Set.of());
+        for (String sql : statements) {
+            String plan = explain(sql);
+            assertThat(findFullScans(plan)).as("%s 의 전체 스캔%n%s", name, plan).isSubsetOf(allowed);
+        }
+    }
+
+    /**
+     * 메서드를 롤백되는 트랜잭션 안에서 실행하고, 그동안 실행된 SQL 을 반환한다.
+     */
+    private List<String> capture(Object repository, Method method) {
+        return transactionTemplate.execute(status -> {
+            status.setRollbackOnly();
+            StatementCapture.start();
+            try {
+                method.invoke(repository, arguments(method));
+            } catch (InvocationTargetException e) {
+                // 빈 테이블이라 결과 변환에 실패하더라도(예: int 반환) SQL 은 이미 실행되어 기록되어 있다.
+            } catch (IllegalAccessException e) {
+                throw new IllegalStateException(e);
+            }
+            return StatementCapture.stop();
+        });
+    }
+
+    private Object[] arguments(Method method) {
+        Parameter[] parameters = method.getParameters();
+        Object[] arguments = new Object[parameters.length];
+        for (int i = 0; i < parameters.length; i++) {
+            Class<?> type = parameters[i].getType();
+            if (Collection.class.isAssignableFrom(type)) {
+                Class<?> elementType = (Class<?>) ((ParameterizedType) parameters[i].getParameterizedType()).getActualTypeArguments()[0];
+                arguments[i] = List.of(argument(elementType, 1L), argument(elementType, 2L));
+            } else {
+                arguments[i] = argument(type, 1L);
+            }
+        }
+        return arguments;
+    }
+
+    private Object argument(Class<?> type, long id) {
+        if (type == Long.class || type == long.class) {
+            return id;
+        }
+        if (type == Integer.class || type == int.class) {
+            return (int) id;
+        }
+        if (type == Boolean.class || type == boolean.class) {
+            return false;
+        }
+        if (type == String.class) {
+            return "ting" + id;
+        }
+        if (type == LocalDateTime.class) {
+            return LocalDateTime.now();
+        }
+        if (type.isEnum()) {
+            return type.getEnumConstants()[0];
+        }
+        if (type == Pageable.class) {
+            return PageRequest.of(0, 20);
+        }
+        if (type.isAnnotationPresent(Entity.class)) {
+            return entityManager.getReference(type, id);
+        }
+        throw new IllegalArgumentException(String.format("No sample argument for %s", type.getName()));
+    }
+
+    /**
+     * 파라미터는 값과 관계없이 실행 계획만 보므로 모두 NULL 로 채운다.
+     */
+    private String explain(String sql) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement("EXPLAIN " + sql)) {
+            int parameterCount = statement.getParameterMetaData().getParameterCount();
+            for (int i = 1; i <= parameterCount; i++) {
+                statement.setNull(i, Types.NULL);
+            }
+
+            try (ResultSet resultSet = statement.executeQuery()) {
+                resultSet.next();
+                return resultSet.getString(1);
+            }
+        }
+    }
+
+    /**
+     * H2 실행 계획의 주석 중 조건 없이 테이블을 읽는 "PUBLIC.table.tableScan" 과
+     * 조건 없이 인덱스 전체를 읽는 "PUBLIC.INDEX_NAME" (MIN/MAX 의 direct lookup 제외) 을 찾는다.
+     */
+    static List<String> findFullScans(String plan) {
+        List<String> fullScans = new ArrayList<>();
+        Matcher matcher = PLAN_COMMENT.matcher(plan);
+        while (matcher.find()) {
+            String comment = matcher.group(1);
+            if (comment.endsWith(TABLE_SCAN)) {
+                String table = comment.substring(0, comment.length() - TABLE_SCAN.length());
+                fullScans.add(table.substring(table.lastIndexOf('.') + 1).replace("\"", ""));
+            } else if (comment.matches("[\\w\"$.]+") && !plan.substring(matcher.end()).stripLeading().startsWith(DIRECT_LOOKUP)) {
+                fullScans.add(comment);
+            }
+        }
+        return fullScans;
+    }
+}
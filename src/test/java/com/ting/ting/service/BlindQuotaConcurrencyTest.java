@@ -0,0 +1,83 @@
+package com.ting.ting.service;
+
+import com.ting.ting.domain.BlindQuota;
+import com.ting.ting.domain.User;
+import com.ting.ting.domain.constant.Gender;
+import com.ting.ting.domain.constant.RequestStatus;
+import com.ting.ting.exception.ErrorCode;
+import com.ting.ting.exception.TingApplicationException;
+import com.ting.ting.fixture.UserFixture;
+import com.ting.ting.repository.BlindQuotaRepository;
+import com.ting.ting.repository.BlindRequestRepository;
+import com.ting.ting.repository.UserRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.ting.ting.service.ConcurrentRequests.as;
+import static com.ting.ting.service.ConcurrentRequests.runConcurrently;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("[소개팅] 동시 요청 테스트")
+@SpringBootTest
+@TestPropertySource(locations = "classpath:test.properties")
+class BlindQuotaConcurrencyTest {
+
+    private static final int MAX_PENDING_REQUESTS = 5;
+    private static final int REQUESTS = 16;
+    private static final int THREADS = 16;
+
+    @Autowired @Qualifier("blindService") private BlindService blindService;
+    @Autowired private UserRepository userRepository;
+    @Autowired private BlindRequestRepository blindRequestRepository;
+    @Autowired private BlindQuotaRepository blindQuotaRepository;
+    @Autowired private TransactionTemplate transactionTemplate;
+
+    @DisplayName("카운터 행이 없는 유저가 여러 유저에게 동시에 요청해도 행은 하나만 만들어지고 요청 수 제한을 넘지 않는다")
+    @Test
+    void Given_UserWithoutQuota_When_CreateJoinRequestsConcurrently_Then_NeverExceedsPendingRequestLimit() throws Exception {
+        //Given
+        User fromUser = transactionTemplate.execute(status -> userRepository.save(UserFixture.createUser("quota-requester", Gender.WOMEN)));
+        List<Long> toUserIds = transactionTemplate.execute(status -> {
+            List<Long> ids = new ArrayList<>();
+            for (int i = 0; i < REQUESTS; i++) {
+                ids.add(userRepository.save(UserFixture.createUser("quota-candidate" + i, Gender.MEN)).getId());
+            }
+            return ids;
+        });
+
+        //When
+        AtomicInteger requested = new AtomicInteger();
+        AtomicInteger rejectedByLimit = new AtomicInteger();
+        List<Runnable> requests = new ArrayList<>();
+        for (Long toUserId : toUserIds) {
+            requests.add(as(fromUser.getId(), () -> {
+                try {
+                    blindService.createJoinRequest(toUserId);
+                    requested.incrementAndGet();
+                } catch (TingApplicationException e) {
+                    assertThat(e.getErrorCode()).isEqualTo(ErrorCode.LIMIT_NUMBER_OF_REQUEST);
+                    rejectedByLimit.incrementAndGet();
+                }
+            }));
+        }
+        runConcurrently(THREADS, requests);
+
+        //Then
+        assertThat(requested).hasValue(MAX_PENDING_REQUESTS);
+        assertThat(rejectedByLimit).hasValue(REQUESTS - MAX_PENDING_REQUESTS);
+        transactionTemplate.executeWithoutResult(status -> {
+            BlindQuota quota = blindQuotaRepository.findById(fromUser.getId()).orElseThrow();
+            assertThat(quota.getPendingRequestCount()).isEqualTo(MAX_PENDING_REQUESTS);
+            assertThat(blindRequestRepository.countByFromUserAndStatus(fromUser, RequestStatus.PENDING)).isEqualTo((long) MAX_PENDING_REQUESTS);
+        });
+    }
+}
@@ -0,0 +1,209 @@
+package com.ting.ting.service;
+
+import com.ting.ting.cache.RelationshipIndex;
+import com.ting.ting.domain.BlindQuota;
+import com.ting.ting.domain.BlindRequest;
+import com.ting.ting.domain.User;
+import com.ting.ting.domain.constant.Gender;
+import com.ting.ting.domain.constant.RequestStatus;
+import com.ting.ting.fixture.UserFixture;
+import com.ting.ting.repository.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+
+@DisplayName("[소개팅] 요청 수, 매칭 수 카운터 테스트")
+@ExtendWith(MockitoExtension.class)
+class BlindServiceTest {
+
+    @InjectMocks private BlindServiceImpl blindService;
+
+    @Mock private UserRepository userRepository;
+    @Mock private BlindRequestRepository blindRequestRepository;
+    @Mock private BlindDateRepository blindDateRepository;
+    @Mock private BlindLikeRepository blindLikeRepository;
+    @Mock private BlindQuotaRepository blindQuotaRepository;
+    @Mock private BlindRecommendationRepository blindRecommendationRepository;
+    @Mock private RelationshipIndex relationshipIndex;
+
+    private User user;
+    private User otherUser;
+
+    @BeforeEach
+    void setUpUser() {
+        user = UserFixture.createUserById(1L);
+        otherUser = UserFixture.createUserById(2L);
+        ReflectionTestUtils.setField(otherUser, "gender", Gender.MEN);
+
+        Authentication authentication = mock(Authentication.class);
+        SecurityContext securityContext = mock(SecurityContext.class);
+
+        SecurityContextHolder.setContext(securityContext);
+        given(securityContext.getAuthentication()).willReturn(authentication);
+        given(authentication.getName()).willReturn(user.getId().toString());
+    }
+
+    @DisplayName("받은 요청을 거절하면 보낸 유저의 요청 수를 줄인다")
+    @Test
+    void Given_PendingRequest_When_RejectRequest_Then_ReleasesPendingRequestOfFromUser() {
+        //Given
+        BlindRequest request = request(otherUser, user, RequestStatus.PENDING);
+        given(blindRequestRepository.findById(request.getId())).willReturn(Optional.of(request));
+        given(blindQuotaRepository.releasePendingRequest(otherUser.getId())).willReturn(1);
+
+        //When
+        blindService.rejectRequest(request.getId());
+
+        //Then
+        then(blindRequestRepository).should().delete(request);
+        then(blindQuotaRepository).should().releasePendingRequest(otherUser.getId());
+        then(blindQuotaRepository).should(never()).releasePendingRequest(user.getId());
+        then(userRepository).should(never()).findForUpdateById(any());
+    }
+
+    @DisplayName("이미 처리된 요청을 거절하면 요청 수를 바꾸지 않는다")
+    @Test
+    void Given_AcceptedRequest_When_RejectRequest_Then_DoesNotReleasePendingRequest() {
+        //Given
+        BlindRequest request = request(otherUser, user, RequestStatus.ACCEPTED);
+        given(blindRequestRepository.findById(request.getId())).willReturn(Optional.of(request));
+
+        //When
+        blindService.rejectRequest(request.getId());
+
+        //Then
+        then(blindRequestRepository).should().delete(request);
+        then(blindQuotaRepository).shouldHaveNoInteractions();
+    }
+
+    @DisplayName("보낸 요청을 삭제하면 내 요청 수를 줄인다")
+    @Test
+    void Given_PendingRequest_When_DeleteRequestById_Then_ReleasesPendingRequestOfMine() {
+        //Given
+        BlindRequest request = request(user, otherUser, RequestStatus.PENDING);
+        given(blindRequestRepository.findByFromUser_IdAndToUser_Id(user.getId(), otherUser.getId())).willReturn(Optional.of(request));
+        given(blindQuotaRepository.releasePendingRequest(user.getId())).willReturn(1);
+
+        //When
+        blindService.deleteRequestById(otherUser.getId());
+
+        //Then
+        then(blindRequestRepository).should().delete(request);
+        then(blindQuotaRepository).should().releasePendingRequest(user.getId());
+    }
+
+    @DisplayName("한쪽만 보낸 요청을 수락하면 보낸 유저의 요청 수만 줄이고, 두 유저의 매칭 수를 늘린다")
+    @Test
+    void Given_OneWayRequest_When_AcceptRequest_Then_ReleasesFromUserAndAddsBlindDateToBoth() {
+        //Given
+        BlindRequest request = request(otherUser, user, RequestStatus.PENDING);
+        given(blindRequestRepository.findById(request.getId())).willReturn(Optional.of(request));
+        given(blindRequestRepository.findByFromUserAndToUser(user, otherUser)).willReturn(Optional.empty());
+        given(blindQuotaRepository.releasePendingRequest(otherUser.getId())).willReturn(1);
+        given(blindQuotaRepository.addBlindDate(user.getId())).willReturn(1);
+        given(blindQuotaRepository.addBlindDate(otherUser.getId())).willReturn(1);
+
+        //When
+        blindService.acceptRequest(request.getId());
+
+        //Then
+        assertThat(request.getStatus()).isEqualTo(RequestStatus.ACCEPTED);
+        then(blindQuotaRepository).should().releasePendingRequest(otherUser.getId());
+        then(blindQuotaRepository).should(never()).releasePendingRequest(user.getId());
+        then(blindQuotaRepository).should().addBlindDate(user.getId());
+        then(blindQuotaRepository).should().addBlindDate(otherUser.getId());
+    }
+
+    @DisplayName("서로 보낸 요청을 수락하면 두 유저의 요청 수를 모두 줄이고, 두 유저의 매칭 수를 늘린다")
+    @Test
+    void Given_MutualRequests_When_AcceptRequest_Then_ReleasesBothAndAddsBlindDateToBoth() {
+        //Given
+        BlindRequest request = request(otherUser, user, RequestStatus.PENDING);
+        BlindRequest oppositeRequest = request(user, otherUser, RequestStatus.PENDING);
+        given(blindRequestRepository.findById(request.getId())).willReturn(Optional.of(request));
+        given(blindRequestRepository.findByFromUserAndToUser(user, otherUser)).willReturn(Optional.of(oppositeRequest));
+        given(blindQuotaRepository.releasePendingRequest(user.getId())).willReturn(1);
+        given(blindQuotaRepository.releasePendingRequest(otherUser.getId())).willReturn(1);
+        given(blindQuotaRepository.addBlindDate(user.getId())).willReturn(1);
+        given(blindQuotaRepository.addBlindDate(otherUser.getId())).willReturn(1);
+
+        //When
+        blindService.acceptRequest(request.getId());
+
+        //Then
+        assertThat(oppositeRequest.getStatus()).isEqualTo(RequestStatus.ACCEPTED);
+        then(blindQuotaRepository).should().releasePendingRequest(user.getId());
+        then(blindQuotaRepository).should().releasePendingRequest(otherUser.getId());
+        then(blindQuotaRepository).should().addBlindDate(user.getId());
+        then(blindQuotaRepository).should().addBlindDate(otherUser.getId());
+    }
+
+    @DisplayName("카운터 행이 없는 유저의 요청을 거절하면 유저 행을 잠그고 현재 기록으로 행을 만든다")
+    @Test
+    void Given_FromUserWithoutQuota_When_RejectRequest_Then_CreatesQuotaFromRecords() {
+        //Given
+        BlindRequest request = request(otherUser, user, RequestStatus.PENDING);
+        given(blindRequestRepository.findById(request.getId())).willReturn(Optional.of(request));
+        given(blindQuotaRepository.releasePendingRequest(otherUser.getId())).willReturn(0);
+        given(blindQuotaRepository.findForUpdateByUserId(otherUser.getId())).willReturn(Optional.empty());
+        given(blindRequestRepository.countByFromUserAndStatus(otherUser, RequestStatus.PENDING)).willReturn(2L);
+        given(blindDateRepository.countByBlindDate(otherUser)).willReturn(1L);
+
+        //When
+        blindService.rejectRequest(request.getId());
+
+        //Then
+        then(userRepository).should().findForUpdateById(otherUser.getId());
+        ArgumentCaptor<BlindQuota> created = ArgumentCaptor.forClass(BlindQuota.class);
+        then(blindQuotaRepository).should().save(created.capture());
+        assertThat(created.getValue().getUserId()).isEqualTo(otherUser.getId());
+        assertThat(created.getValue().getPendingRequestCount()).isEqualTo(2);
+        assertThat(created.getValue().getBlindDateCount()).isEqualTo(1);
+        then(blindQuotaRepository).should(times(1)).releasePendingRequest(otherUser.getId());
+    }
+
+    @DisplayName("카운터 행을 다른 요청이 먼저 만들었다면 새로 만들지 않고 그 행의 요청 수를 줄인다")
+    @Test
+    void Given_QuotaCreatedConcurrently_When_RejectRequest_Then_RetriesRelease() {
+        //Given
+        BlindRequest request = request(otherUser, user, RequestStatus.PENDING);
+        given(blindRequestRepository.findById(request.getId())).willReturn(Optional.of(request));
+        given(blindQuotaRepository.releasePendingRequest(otherUser.getId())).willReturn(0, 1);
+        given(blindQuotaRepository.findForUpdateByUserId(otherUser.getId())).willReturn(Optional.of(BlindQuota.of(otherUser.getId(), 1, 0)));
+
+        //When
+        blindService.rejectRequest(request.getId());
+
+        //Then
+        then(blindQuotaRepository).should(times(2)).releasePendingRequest(otherUser.getId());
+        then(blindQuotaRepository).should(never()).save(any());
+    }
+
+    private static BlindRequest request(User fromUser, User toUser, RequestStatus status) {
+        BlindRequest request = new BlindRequest();
+        request.setId(fromUser.getId() * 10 + toUser.getId());
+        request.setFromUser(fromUser);
+        request.setToUser(toUser);
+        request.setStatus(status);
+        return request;
+    }
+}
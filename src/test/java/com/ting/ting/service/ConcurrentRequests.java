@@ -0,0 +1,60 @@
+package com.ting.ting.service;
+
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 동시성 테스트에서 여러 유저의 요청을 한꺼번에 실행한다.
+ */
+final class ConcurrentRequests {
+
+    private static final long TIMEOUT_SECONDS = 30;
+
+    private ConcurrentRequests() {}
+
+    /**
+     * userId 로 로그인한 상태에서 request 를 실행하는 요청
+     */
+    static Runnable as(Long userId, Runnable request) {
+        return () -> {
+            SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(userId.toString(), null, List.of()));
+            try {
+                request.run();
+            } finally {
+                SecurityContextHolder.clearContext();
+            }
+        };
+    }
+
+    /**
+     * requests 를 threads 개의 스레드에서 동시에 시작하고 모두 끝날 때까지 기다린다. 요청에서 난 예외(실패한 검증 포함)는 그대로 던진다.
+     */
+    static void runConcurrently(int threads, List<Runnable> requests) throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (Runnable request : requests) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    request.run();
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.ting.ting.service;
 
+import com.ting.ting.cache.RelationshipIndex;
 import com.ting.ting.domain.*;
 import com.ting.ting.domain.constant.Gender;
 import com.ting.ting.domain.constant.MemberRole;
@@ -50,10 +51,11 @@ public class GroupDateServiceTest {
 
     @Mock private UserRepository userRepository;
     @Mock private GroupRepository groupRepository;
-    @Mock private GroupLikeToDateRepository groupLikeToDateRepository;
+    @Mock private GroupLikeToDateCountRepository groupLikeToDateCountRepository;
     @Mock private GroupMemberRepository groupMemberRepository;
     @Mock private GroupDateRepository groupDateRepository;
     @Mock private GroupDateRequestRepository groupDateRequestRepository;
+    @Mock private RelationshipIndex relationshipIndex;
 
     private User user;
 
@@ -79,7 +81,7 @@ public class GroupDateServiceTest {
         Group myGroup = GroupFixture.createGroupById(groupId);
         Group fromGroup = GroupFixture.createGroupById(groupId + 1);
         GroupMember memberRecordOfUser = GroupMember.of(myGroup, user, MemberRole.MEMBER);
-        ReflectionTestUtils.setField(fromGroup, "groupMembers", Set.of(GroupMember.of(fromGroup, UserFixture.createUserById(1L), MemberRole.LEADER)));
+        ReflectionTestUtils.setField(fromGroup, "memberMajorCounts", Set.of(GroupMemberMajorCount.of(fromGroup, UserFixture.createUserById(1L).getMajor())));
         GroupDateRequest dateRequest = GroupDateRequest.of(fromGroup, myGroup);
         ReflectionTestUtils.setField(dateRequest, "id", 1L);
         GroupIdWithLikeCount fromGroupIdWithLikeCount = new GroupIdWithLikeCount(fromGroup.getId(), 0L);
@@ -88,7 +90,7 @@ public class GroupDateServiceTest {
         given(userRepository.findById(any())).willReturn(Optional.of(user));
         given(groupMemberRepository.findByGroupAndMember(myGroup, user)).willReturn(Optional.of(memberRecordOfUser));
         given(groupDateRequestRepository.findAllByFromGroup_IsMatchedAndToGroup(false, myGroup, pageable)).willReturn(new PageImpl<>(List.of(dateRequest)));
-        given(groupLikeToDateRepository.findAllToGroupIdAndLikeCountByFromGroupMember_GroupAndToGroupIdsIn(myGroup, List.of(fromGroup))).willReturn(List.of(fromGroupIdWithLikeCount));
+        given(groupLikeToDateCountRepository.findAllToGroupIdAndLikeCountByFromGroupAndToGroupIn(myGroup, List.of(fromGroup))).willReturn(List.of(fromGroupIdWithLikeCount));
         given(groupRepository.findAllWithMembersInfoByIdIn(List.of(fromGroup.getId()))).willReturn(List.of(fromGroup));
 
         //When
@@ -237,7 +239,7 @@ public class GroupDateServiceTest {
         Long groupDateRequestId = 1L;
 
         given(userRepository.findById(any())).willReturn(Optional.of(mock(User.class)));
-        given(groupDateRequestRepository.findById(any())).willReturn(Optional.of(mock(GroupDateRequest.class)));
+        given(groupDateRequestRepository.findById(any())).willReturn(Optional.of(GroupDateRequest.of(GroupFixture.createGroupById(1L), GroupFixture.createGroupById(2L))));
         given(groupMemberRepository.existsByGroupAndMemberAndRole(any(), any(), any())).willReturn(true);
 
         //When & Then
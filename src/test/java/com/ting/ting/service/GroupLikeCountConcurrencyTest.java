@@ -0,0 +1,90 @@
+package com.ting.ting.service;
+
+import com.ting.ting.domain.Group;
+import com.ting.ting.domain.GroupMember;
+import com.ting.ting.domain.User;
+import com.ting.ting.domain.constant.Gender;
+import com.ting.ting.domain.constant.MemberRole;
+import com.ting.ting.domain.custom.GroupIdPairWithLikeCount;
+import com.ting.ting.fixture.UserFixture;
+import com.ting.ting.repository.GroupLikeToDateCountRepository;
+import com.ting.ting.repository.GroupMemberRepository;
+import com.ting.ting.repository.GroupRepository;
+import com.ting.ting.repository.UserRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.ting.ting.service.ConcurrentRequests.as;
+import static com.ting.ting.service.ConcurrentRequests.runConcurrently;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("[과팅] 동시 찜하기 테스트")
+@SpringBootTest
+@TestPropertySource(locations = "classpath:test.properties")
+class GroupLikeCountConcurrencyTest {
+
+    private static final int MEMBERS = 6;
+    private static final int TO_GROUPS = 8;
+    private static final int THREADS = 16;
+
+    @Autowired @Qualifier("groupLikeService") private GroupLikeService groupLikeService;
+    @Autowired private UserRepository userRepository;
+    @Autowired private GroupRepository groupRepository;
+    @Autowired private GroupMemberRepository groupMemberRepository;
+    @Autowired private GroupLikeToDateCountRepository groupLikeToDateCountRepository;
+    @Autowired private TransactionTemplate transactionTemplate;
+
+    @DisplayName("같은 팀의 멤버들이 같은 팀을 동시에 처음 찜해도 찜 수 행은 하나만 만들어지고 찜 수가 빠지지 않는다")
+    @Test
+    void Given_MembersOfOneGroup_When_LikeSameGroupsConcurrently_Then_CreatesOneLikeCountPerPair() throws Exception {
+        //Given
+        List<User> members = new ArrayList<>();
+        Group fromGroup = transactionTemplate.execute(status -> {
+            Group created = Group.of("동시찜", Gender.WOMEN, "단국대학교", MEMBERS, "");
+            for (int i = 0; i < MEMBERS; i++) {
+                User member = userRepository.save(UserFixture.createUser("like-member" + i, Gender.WOMEN));
+                created.addMember(member);
+                members.add(member);
+            }
+            Group saved = groupRepository.save(created);
+            for (int i = 0; i < MEMBERS; i++) {
+                groupMemberRepository.save(GroupMember.of(saved, members.get(i), i == 0 ? MemberRole.LEADER : MemberRole.MEMBER));
+            }
+            return saved;
+        });
+        List<Long> toGroupIds = transactionTemplate.execute(status -> {
+            List<Long> ids = new ArrayList<>();
+            for (int i = 0; i < TO_GROUPS; i++) {
+                User leader = userRepository.save(UserFixture.createUser("like-leader" + i, Gender.MEN));
+                Group created = Group.of("찜받을팀" + i, Gender.MEN, "단국대학교", MEMBERS, "");
+                created.addMember(leader);
+                Group saved = groupRepository.save(created);
+                groupMemberRepository.save(GroupMember.of(saved, leader, MemberRole.LEADER));
+                ids.add(saved.getId());
+            }
+            return ids;
+        });
+
+        //When
+        List<Runnable> requests = new ArrayList<>();
+        for (Long toGroupId : toGroupIds) {
+            for (User member : members) {
+                requests.add(as(member.getId(), () -> groupLikeService.createOppositeGenderGroupLike(fromGroup.getId(), toGroupId)));
+            }
+        }
+        runConcurrently(THREADS, requests);
+
+        //Then
+        List<GroupIdPairWithLikeCount> likeCounts = transactionTemplate.execute(status -> groupLikeToDateCountRepository.findAllLikeCountByFromGroupIdIn(List.of(fromGroup.getId())));
+        assertThat(likeCounts).extracting(GroupIdPairWithLikeCount::getToGroupId).containsExactlyInAnyOrderElementsOf(toGroupIds);
+        assertThat(likeCounts).extracting(GroupIdPairWithLikeCount::getLikeCount).containsOnly(MEMBERS);
+    }
+}
@@ -0,0 +1,96 @@
+package com.ting.ting.service;
+
+import com.ting.ting.domain.Group;
+import com.ting.ting.domain.GroupMember;
+import com.ting.ting.domain.GroupMemberRequest;
+import com.ting.ting.domain.User;
+import com.ting.ting.domain.constant.Gender;
+import com.ting.ting.domain.constant.MemberRole;
+import com.ting.ting.exception.ErrorCode;
+import com.ting.ting.exception.TingApplicationException;
+import com.ting.ting.fixture.UserFixture;
+import com.ting.ting.repository.GroupMemberRepository;
+import com.ting.ting.repository.GroupMemberRequestRepository;
+import com.ting.ting.repository.GroupRepository;
+import com.ting.ting.repository.UserRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.ting.ting.service.ConcurrentRequests.as;
+import static com.ting.ting.service.ConcurrentRequests.runConcurrently;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("[팀 멤버] 동시 가입 요청 수락 테스트")
+@SpringBootTest
+@TestPropertySource(locations = "classpath:test.properties")
+class GroupMemberCapacityConcurrencyTest {
+
+    private static final int MEMBER_SIZE_LIMIT = 4;
+    private static final int REQUESTS = 32;
+    private static final int THREADS = 16;
+
+    @Autowired @Qualifier("groupMemberService") private GroupMemberService groupMemberService;
+    @Autowired private UserRepository userRepository;
+    @Autowired private GroupRepository groupRepository;
+    @Autowired private GroupMemberRepository groupMemberRepository;
+    @Autowired private GroupMemberRequestRepository groupMemberRequestRepository;
+    @Autowired private TransactionTemplate transactionTemplate;
+
+    @DisplayName("여러 스레드가 한 팀의 가입 요청을 동시에 수락해도 정원을 넘지 않는다")
+    @Test
+    void Given_ManyJoinRequests_When_AcceptConcurrently_Then_NeverExceedsMemberSizeLimit() throws Exception {
+        //Given
+        User leader = transactionTemplate.execute(status -> userRepository.save(UserFixture.createUser("capacity-leader", Gender.WOMEN)));
+        Group group = transactionTemplate.execute(status -> {
+            Group created = Group.of("동시수락", Gender.WOMEN, "단국대학교", MEMBER_SIZE_LIMIT, "");
+            created.addMember(leader);
+            Group saved = groupRepository.save(created);
+            groupMemberRepository.save(GroupMember.of(saved, leader, MemberRole.LEADER));
+            return saved;
+        });
+        List<Long> requestIds = transactionTemplate.execute(status -> {
+            List<Long> ids = new ArrayList<>();
+            for (int i = 0; i < REQUESTS; i++) {
+                User user = userRepository.save(UserFixture.createUser("capacity-applicant" + i, Gender.WOMEN));
+                ids.add(groupMemberRequestRepository.save(GroupMemberRequest.of(group, user)).getId());
+            }
+            return ids;
+        });
+
+        //When
+        AtomicInteger accepted = new AtomicInteger();
+        AtomicInteger rejectedAsFull = new AtomicInteger();
+        List<Runnable> requests = new ArrayList<>();
+        for (Long requestId : requestIds) {
+            requests.add(as(leader.getId(), () -> {
+                try {
+                    groupMemberService.acceptMemberJoinRequest(requestId);
+                    accepted.incrementAndGet();
+                } catch (TingApplicationException e) {
+                    assertThat(e.getErrorCode()).isEqualTo(ErrorCode.REACHED_MEMBERS_SIZE_LIMIT);
+                    rejectedAsFull.incrementAndGet();
+                }
+            }));
+        }
+        runConcurrently(THREADS, requests);
+
+        //Then
+        assertThat(accepted).hasValue(MEMBER_SIZE_LIMIT - 1);
+        assertThat(rejectedAsFull).hasValue(REQUESTS - (MEMBER_SIZE_LIMIT - 1));
+        transactionTemplate.executeWithoutResult(status -> {
+            Group actual = groupRepository.findById(group.getId()).orElseThrow();
+            assertThat(actual.getMemberCount()).isEqualTo(MEMBER_SIZE_LIMIT);
+            assertThat(groupMemberRepository.findAllByGroup(actual)).hasSize(MEMBER_SIZE_LIMIT);
+            assertThat(actual.isJoinable()).isFalse();
+        });
+    }
+}
@@ -1,12 +1,14 @@
 package com.ting.ting.service;
 
+import com.ting.ting.cache.LongIdSet;
+import com.ting.ting.cache.Relation;
+import com.ting.ting.cache.RelationshipIndex;
 import com.ting.ting.domain.*;
 import com.ting.ting.domain.constant.Gender;
 import com.ting.ting.domain.constant.LikeStatus;
 import com.ting.ting.domain.constant.MemberRole;
 import com.ting.ting.domain.constant.RequestStatus;
 import com.ting.ting.domain.custom.GroupWithMemberCount;
-import com.ting.ting.dto.idealPhoto.MixedImageResponse;
 import com.ting.ting.dto.response.GroupMemberResponse;
 import com.ting.ting.dto.response.JoinableGroupResponse;
 import com.ting.ting.exception.ErrorCode;
@@ -14,13 +16,13 @@ import com.ting.ting.exception.TingApplicationException;
 import com.ting.ting.fixture.GroupFixture;
 import com.ting.ting.fixture.UserFixture;
 import com.ting.ting.repository.*;
-import com.ting.ting.util.IdealPhotoManager;
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
@@ -55,7 +57,10 @@ public class GroupMemberServiceTest {
     @Mock private GroupLikeToJoinRepository groupLikeToJoinRepository;
     @Mock private GroupMemberRepository groupMemberRepository;
     @Mock private GroupMemberRequestRepository groupMemberRequestRepository;
-    @Mock private IdealPhotoManager idealPhotoManager;
+    @Mock private GroupLikeToDateCountRepository groupLikeToDateCountRepository;
+    @Mock private GroupMemberMajorCountRepository groupMemberMajorCountRepository;
+    @Mock private IdealPhotoMixJobRepository idealPhotoMixJobRepository;
+    @Mock private RelationshipIndex relationshipIndex;
 
     private User user;
 
@@ -100,7 +105,8 @@ public class GroupMemberServiceTest {
         ReflectionTestUtils.setField(group, "gender", Gender.WOMEN);
         ReflectionTestUtils.setField(group, "isJoinable", true);
 
-        given(groupRepository.findById(any())).willReturn(Optional.of(group));
+        given(groupRepository.findSummaryById(any())).willReturn(Optional.of(GroupFixture.summaryOf(group)));
+        given(groupRepository.getReferenceById(any())).willReturn(group);
         given(userRepository.findById(any())).willReturn(Optional.of(user));
         given(groupMemberRequestRepository.findByGroupAndUser(any(), any())).willReturn(Optional.empty());
         given(groupMemberRepository.existsByGroupAndMember(any(), any())).willReturn(false);
@@ -120,7 +126,7 @@ public class GroupMemberServiceTest {
         ReflectionTestUtils.setField(group, "gender", Gender.MEN);
         ReflectionTestUtils.setField(user, "gender", Gender.WOMEN);
 
-        given(groupRepository.findById(any())).willReturn(Optional.of(group));
+        given(groupRepository.findSummaryById(any())).willReturn(Optional.of(GroupFixture.summaryOf(group)));
         given(userRepository.findById(any())).willReturn(Optional.of(user));
 
         //When
@@ -142,7 +148,8 @@ public class GroupMemberServiceTest {
         Group group = GroupFixture.createGroupById(groupId);
         ReflectionTestUtils.setField(group, "isJoinable", true);
 
-        given(groupRepository.findById(any())).willReturn(Optional.of(group));
+        given(groupRepository.findSummaryById(any())).willReturn(Optional.of(GroupFixture.summaryOf(group)));
+        given(groupRepository.getReferenceById(any())).willReturn(group);
         given(userRepository.findById(any())).willReturn(Optional.of(user));
         given(groupMemberRequestRepository.findByGroupAndUser(any(), any())).willReturn(Optional.of(mock(GroupMemberRequest.class)));
 
@@ -165,7 +172,8 @@ public class GroupMemberServiceTest {
         Group group = GroupFixture.createGroupById(groupId);
         ReflectionTestUtils.setField(group, "isJoinable", true);
 
-        given(groupRepository.findById(any())).willReturn(Optional.of(group));
+        given(groupRepository.findSummaryById(any())).willReturn(Optional.of(GroupFixture.summaryOf(group)));
+        given(groupRepository.getReferenceById(any())).willReturn(group);
         given(userRepository.findById(any())).willReturn(Optional.of(user));
         given(groupMemberRequestRepository.findByGroupAndUser(any(), any())).willReturn(Optional.empty());
         given(groupMemberRepository.existsByGroupAndMember(any(), any())).willReturn(true);
@@ -199,6 +207,8 @@ public class GroupMemberServiceTest {
         Long groupId = 1L;
 
         Group group = GroupFixture.createGroupById(groupId);
+        group.setJoinable(false);
+        ReflectionTestUtils.setField(group, "memberCount", group.getMemberSizeLimit());
         GroupMember memberRecordOfMember = GroupMember.of(group, user, MemberRole.MEMBER);
 
         given(groupRepository.findById(any())).willReturn(Optional.of(group));
@@ -210,6 +220,11 @@ public class GroupMemberServiceTest {
 
         //Then
         assertDoesNotThrow(() -> groupMemberRepository.delete(memberRecordOfMember));
+        InOrder lockOrder = inOrder(groupRepository, groupLikeToDateCountRepository);
+        then(groupRepository).should(lockOrder).lockForUpdate(group);
+        then(groupLikeToDateCountRepository).should(lockOrder).decreaseLikeCountByFromGroupMember(group, memberRecordOfMember);
+        Assertions.assertThat(group.getMemberCount()).isEqualTo(group.getMemberSizeLimit() - 1);
+        Assertions.assertThat(group.isJoinable()).isTrue();
     }
 
     @DisplayName("팀 나오기 기능 테스트 - 나오려는 유저가 팀의 리더인 경우, 팀장 가능한 멤버가 있는 경우")
@@ -292,12 +307,12 @@ public class GroupMemberServiceTest {
         Pageable pageable = Pageable.ofSize(20);
 
         Group requestedGroup = GroupFixture.createGroupById(1L);
-        GroupWithMemberCount requestedGroupWithMemberCount = new GroupWithMemberCount(requestedGroup.getId(), requestedGroup.getGroupName(), requestedGroup.getGender(), 2L, requestedGroup.getMemberSizeLimit(), requestedGroup.getSchool(), requestedGroup.isMatched(), true, requestedGroup.getMemo(), requestedGroup.getIdealPhoto(), requestedGroup.getCreatedAt());
+        GroupWithMemberCount requestedGroupWithMemberCount = new GroupWithMemberCount(requestedGroup.getId(), requestedGroup.getGroupName(), requestedGroup.getGender(), 2, requestedGroup.getMemberSizeLimit(), requestedGroup.getSchool(), requestedGroup.isMatched(), true, requestedGroup.getMemo(), requestedGroup.getIdealPhoto(), requestedGroup.getCreatedAt());
         GroupMemberRequest requests = GroupMemberRequest.of(requestedGroup, user);
 
         given(userRepository.findById(user.getId())).willReturn(Optional.of(user));
         given(groupMemberRequestRepository.findAllByUser(user, pageable)).willReturn(new PageImpl<>(List.of(requests)));
-        given(groupLikeToJoinRepository.findAllByFromUser(user)).willReturn(List.of(GroupLikeToJoin.of(user, requestedGroup)));
+        given(relationshipIndex.get(Relation.JOIN_LIKED_GROUP, user.getId())).willReturn(LongIdSet.of(List.of(requestedGroup.getId())));
         given(groupRepository.findAllWithMemberCountByIdIn(any())).willReturn(List.of(requestedGroupWithMemberCount));
 
         //When
@@ -338,6 +353,7 @@ public class GroupMemberServiceTest {
 
         Group group = GroupFixture.createGroupById(1L);
         group.setMemberSizeLimit(3);
+        ReflectionTestUtils.setField(group, "memberCount", 2);
         User requestingUser = UserFixture.createUserById(user.getId() + 1);
         ReflectionTestUtils.setField(requestingUser, "idealPhoto", "https://~");
         GroupMemberRequest request = GroupMemberRequest.of(group, requestingUser);
@@ -345,10 +361,13 @@ public class GroupMemberServiceTest {
         given(userRepository.findById(any())).willReturn(Optional.of(mock(User.class)));
         given(groupMemberRequestRepository.findById(any())).willReturn(Optional.of(request));
         given(groupMemberRepository.existsByGroupAndMember(any(), any())).willReturn(false);
-        given(groupMemberRepository.countByGroup(group)).willReturn(2L);
         given(groupMemberRepository.existsByGroupAndMemberAndRole(any(), any(), any())).willReturn(true);
         given(groupMemberRepository.save(any())).willReturn(GroupMember.of(group, request.getUser(), MemberRole.MEMBER));
-        given(idealPhotoManager.mixIdealPhotos(any(), any())).willReturn(mock(MixedImageResponse.class));
+        given(groupRepository.reserveMemberSlot(group.getId())).willReturn(1);
+        willAnswer(invocation -> {
+            ReflectionTestUtils.setField(group, "memberCount", 3);    // 조건부 update 뒤에 다시 읽은 값
+            return null;
+        }).given(groupRepository).lockForUpdate(group);
 
         //When
         GroupMemberResponse actual = groupMemberService.acceptMemberJoinRequest(groupMemberRequestId);
@@ -356,6 +375,12 @@ public class GroupMemberServiceTest {
         //Then
         Assertions.assertThat(actual.getMember().getUsername()).isSameAs(request.getUser().getUsername());
         then(groupMemberRepository).should().save(any(GroupMember.class));
+        then(groupRepository).should().reserveMemberSlot(group.getId());
+        then(groupRepository).should().lockForUpdate(group);
+        Assertions.assertThat(group.getMemberBirthSum()).isEqualTo(requestingUser.getBirth().toEpochDay());
+        Assertions.assertThat(group.getMemberCount()).isEqualTo(3);
+        Assertions.assertThat(group.isJoinable()).isFalse();
+        then(idealPhotoMixJobRepository).should().save(any(IdealPhotoMixJob.class));
         then(groupMemberRequestRepository).should().delete(any());
     }
 
@@ -390,12 +415,12 @@ public class GroupMemberServiceTest {
 
         Group group = GroupFixture.createGroupById(1L);
         group.setMemberSizeLimit(3);
+        ReflectionTestUtils.setField(group, "memberCount", 3);
         GroupMemberRequest request = GroupMemberRequest.of(group, UserFixture.createUserById(user.getId() + 1));
 
         given(userRepository.findById(any())).willReturn(Optional.of(mock(User.class)));
         given(groupMemberRequestRepository.findById(any())).willReturn(Optional.of(request));
         given(groupMemberRepository.existsByGroupAndMember(any(), any())).willReturn(false);
-        given(groupMemberRepository.countByGroup(group)).willReturn(3L);
 
         //When
         Throwable t = catchThrowable(() -> groupMemberService.acceptMemberJoinRequest(groupMemberRequestId));
@@ -408,6 +433,35 @@ public class GroupMemberServiceTest {
         then(groupMemberRepository).shouldHaveNoMoreInteractions();
     }
 
+    @DisplayName("[팀장] : 멤버 가입 요청 수락 기능 테스트 - 읽은 뒤 다른 수락으로 정원이 찬 경우")
+    @Test
+    void Given_GroupFilledByConcurrentAccept_When_AcceptMemberJoinRequest_Then_ThrowsException() {
+        //Given
+        Long groupMemberRequestId = 1L;
+
+        Group group = GroupFixture.createGroupById(1L);
+        group.setMemberSizeLimit(3);
+        ReflectionTestUtils.setField(group, "memberCount", 2);
+        GroupMemberRequest request = GroupMemberRequest.of(group, UserFixture.createUserById(user.getId() + 1));
+
+        given(userRepository.findById(any())).willReturn(Optional.of(mock(User.class)));
+        given(groupMemberRequestRepository.findById(any())).willReturn(Optional.of(request));
+        given(groupMemberRepository.existsByGroupAndMember(any(), any())).willReturn(false);
+        given(groupMemberRepository.existsByGroupAndMemberAndRole(any(), any(), any())).willReturn(true);
+        given(groupRepository.reserveMemberSlot(group.getId())).willReturn(0);
+
+        //When
+        Throwable t = catchThrowable(() -> groupMemberService.acceptMemberJoinRequest(groupMemberRequestId));
+
+        //Then
+        Assertions.assertThat(t)
+                .isInstanceOf(TingApplicationException.class)
+                .hasFieldOrPropertyWithValue("errorCode", ErrorCode.REACHED_MEMBERS_SIZE_LIMIT);
+        then(groupMemberRepository).should(never()).save(any());
+        then(groupRepository).should(never()).lockForUpdate(any());
+        then(groupMemberRequestRepository).shouldHaveNoMoreInteractions();
+    }
+
     @DisplayName("[팀장] : 멤버 가입 요청 거절 기능 테스트")
     @Test
     void Given_GroupMemberRequest_When_RejectMemberJoinRequest_Then_DeletesMemberJoinRequest() {
@@ -415,7 +469,7 @@ public class GroupMemberServiceTest {
         Long groupMemberRequestId = 1L;
 
         given(userRepository.findById(any())).willReturn(Optional.of(mock(User.class)));
-        given(groupMemberRequestRepository.findById(any())).willReturn(Optional.of(mock(GroupMemberRequest.class)));
+        given(groupMemberRequestRepository.findById(any())).willReturn(Optional.of(GroupMemberRequest.of(GroupFixture.createGroupById(1L), UserFixture.createUserById(user.getId() + 1))));
         given(groupMemberRepository.existsByGroupAndMemberAndRole(any(), any(), any())).willReturn(true);
 
         //When
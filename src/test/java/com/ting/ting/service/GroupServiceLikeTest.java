@@ -1,5 +1,8 @@
 package com.ting.ting.service;
 
+import com.ting.ting.cache.LongIdSet;
+import com.ting.ting.cache.Relation;
+import com.ting.ting.cache.RelationshipIndex;
 import com.ting.ting.domain.*;
 import com.ting.ting.domain.constant.Gender;
 import com.ting.ting.domain.constant.LikeStatus;
@@ -7,8 +10,10 @@ import com.ting.ting.domain.constant.MemberRole;
 import com.ting.ting.domain.constant.RequestStatus;
 import com.ting.ting.domain.custom.GroupIdWithLikeCount;
 import com.ting.ting.domain.custom.GroupWithMemberCount;
+import com.ting.ting.dto.response.BulkItemResponse;
 import com.ting.ting.dto.response.DateableGroupResponse;
 import com.ting.ting.dto.response.JoinableGroupResponse;
+import com.ting.ting.exception.ErrorCode;
 import com.ting.ting.fixture.GroupFixture;
 import com.ting.ting.fixture.UserFixture;
 import com.ting.ting.repository.*;
@@ -36,9 +41,12 @@ import java.util.stream.Collectors;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.BDDMockito.then;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 
 @DisplayName("[과팅] 찜하기 관련 비즈니스 로직 테스트")
 @ExtendWith(MockitoExtension.class)
@@ -53,6 +61,8 @@ class GroupLikeServiceTest {
     @Mock private GroupDateRequestRepository groupDateRequestRepository;
     @Mock private GroupLikeToJoinRepository groupLikeToJoinRepository;
     @Mock private GroupLikeToDateRepository groupLikeToDateRepository;
+    @Mock private GroupLikeToDateCountRepository groupLikeToDateCountRepository;
+    @Mock private RelationshipIndex relationshipIndex;
 
     private User user;
 
@@ -80,18 +90,19 @@ class GroupLikeServiceTest {
         User toGroupMember = UserFixture.createUserById(user.getId() + 1);
         ReflectionTestUtils.setField(toGroupMember, "birth", LocalDate.ofYearDay(LocalDate.now().getYear() - 10, LocalDate.now().getDayOfMonth()));
         GroupMember fromGroupMemberRecord = GroupMember.of(fromGroup, user, MemberRole.MEMBER);
-        GroupMember toGroupMemberRecord = GroupMember.of(toGroup, toGroupMember, MemberRole.LEADER);
-        ReflectionTestUtils.setField(toGroup, "groupMembers", Set.of(toGroupMemberRecord));
+        ReflectionTestUtils.setField(toGroup, "memberCount", 1);
+        ReflectionTestUtils.setField(toGroup, "memberBirthSum", toGroupMember.getBirth().toEpochDay());
+        ReflectionTestUtils.setField(toGroup, "memberMajorCounts", Set.of(GroupMemberMajorCount.of(toGroup, toGroupMember.getMajor())));
         ReflectionTestUtils.setField(toGroup, "isMatched", true);
         GroupLikeToDate groupLikeToDateRecord = GroupLikeToDate.of(fromGroupMemberRecord, toGroup);
 
         given(groupRepository.findById(groupId)).willReturn(Optional.of(fromGroup));
         given(userRepository.findById(user.getId())).willReturn(Optional.of(user));
         given(groupMemberRepository.findByGroupAndMember(fromGroup, user)).willReturn(Optional.of(fromGroupMemberRecord));
-        given(groupLikeToDateRepository.findAllToGroupIdAndLikeCountByFromGroupMember_Group(fromGroup, pageable)).willReturn(new PageImpl<>(List.of(new GroupIdWithLikeCount(toGroup.getId(), 2L))));
+        given(groupLikeToDateCountRepository.findAllToGroupIdAndLikeCountByFromGroup(fromGroup, pageable)).willReturn(new PageImpl<>(List.of(new GroupIdWithLikeCount(toGroup.getId(), 2L))));
         given(groupRepository.findAllWithMembersInfoByIdIn(List.of(groupLikeToDateRecord.getToGroup().getId()))).willReturn(List.of(toGroup));
-        given(groupDateRequestRepository.findAllByFromGroup(fromGroup)).willReturn(List.of());
-        given(groupLikeToDateRepository.findAllByFromGroupMember(fromGroupMemberRecord)).willReturn(List.of());
+        given(relationshipIndex.get(Relation.DATE_PENDING_GROUP, fromGroup.getId())).willReturn(LongIdSet.EMPTY);
+        given(relationshipIndex.get(Relation.DATE_LIKED_GROUP, fromGroupMemberRecord.getId())).willReturn(LongIdSet.EMPTY);
 
         //When
         Page<DateableGroupResponse> created = groupLikeService.findGroupLikeToDateList(groupId, pageable);
@@ -106,6 +117,36 @@ class GroupLikeServiceTest {
         assertThat(createdList.get(0).getGroup().getAverageAgeOfMembers()).isSameAs(10);
     }
 
+    @DisplayName("팀 기준 - 찜한 목록 조회 기능 테스트 - 팀을 읽은 순서와 관계없이 찜 수 순서를 유지한다")
+    @Test
+    void Given_GroupsLoadedInDifferentOrder_When_FindGroupLikeToDateList_Then_KeepsLikeCountOrder() {
+        //Given
+        Long groupId = 1L;
+        Pageable pageable = PageRequest.of(0, 20);
+
+        Group fromGroup = GroupFixture.createGroupById(groupId);
+        Group lessLikedGroup = GroupFixture.createGroupById(groupId + 1);
+        Group mostLikedGroup = GroupFixture.createGroupById(groupId + 2);
+        GroupMember fromGroupMemberRecord = GroupMember.of(fromGroup, user, MemberRole.MEMBER);
+
+        given(groupRepository.findById(groupId)).willReturn(Optional.of(fromGroup));
+        given(userRepository.findById(user.getId())).willReturn(Optional.of(user));
+        given(groupMemberRepository.findByGroupAndMember(fromGroup, user)).willReturn(Optional.of(fromGroupMemberRecord));
+        given(groupLikeToDateCountRepository.findAllToGroupIdAndLikeCountByFromGroup(fromGroup, pageable)).willReturn(new PageImpl<>(List.of(
+                new GroupIdWithLikeCount(mostLikedGroup.getId(), 5L),
+                new GroupIdWithLikeCount(lessLikedGroup.getId(), 2L)
+        )));
+        given(groupRepository.findAllWithMembersInfoByIdIn(List.of(mostLikedGroup.getId(), lessLikedGroup.getId()))).willReturn(List.of(lessLikedGroup, mostLikedGroup));
+        given(relationshipIndex.get(Relation.DATE_PENDING_GROUP, fromGroup.getId())).willReturn(LongIdSet.EMPTY);
+        given(relationshipIndex.get(Relation.DATE_LIKED_GROUP, fromGroupMemberRecord.getId())).willReturn(LongIdSet.EMPTY);
+
+        //When
+        Page<DateableGroupResponse> actual = groupLikeService.findGroupLikeToDateList(groupId, pageable);
+
+        //Then
+        assertThat(actual.getContent()).extracting("likeCount").containsExactly(5, 2);
+    }
+
     @DisplayName("유저 기준 - 같은 성별 팀 찜한 목록 조회 기능 테스트")
     @Test
     void Given_Nothing_WHen_FindGroupLikeToJoinList_Then_ReturnsJoinableGroupResponse() {
@@ -116,13 +157,13 @@ class GroupLikeServiceTest {
         Group toGroup2 = GroupFixture.createGroupById(2L);
         GroupLikeToJoin groupLikeToJoin1 = GroupLikeToJoin.of(user, toGroup1);
         GroupLikeToJoin groupLikeToJoin2 = GroupLikeToJoin.of(user, toGroup2);
-        GroupWithMemberCount joinableGroupWithMemberCount = new GroupWithMemberCount(toGroup1.getId(), toGroup1.getGroupName(), toGroup1.getGender(), 2L, toGroup1.getMemberSizeLimit(), toGroup1.getSchool(), toGroup1.isMatched(), true, toGroup1.getMemo(), toGroup1.getIdealPhoto(), toGroup1.getCreatedAt());
-        GroupWithMemberCount notJoinableGroupWithMemberCount = new GroupWithMemberCount(toGroup2.getId(), toGroup2.getGroupName(), toGroup2.getGender(), 2L, toGroup2.getMemberSizeLimit(), toGroup2.getSchool(), toGroup2.isMatched(), false, toGroup2.getMemo(), toGroup2.getIdealPhoto(), toGroup2.getCreatedAt());
+        GroupWithMemberCount joinableGroupWithMemberCount = new GroupWithMemberCount(toGroup1.getId(), toGroup1.getGroupName(), toGroup1.getGender(), 2, toGroup1.getMemberSizeLimit(), toGroup1.getSchool(), toGroup1.isMatched(), true, toGroup1.getMemo(), toGroup1.getIdealPhoto(), toGroup1.getCreatedAt());
+        GroupWithMemberCount notJoinableGroupWithMemberCount = new GroupWithMemberCount(toGroup2.getId(), toGroup2.getGroupName(), toGroup2.getGender(), 2, toGroup2.getMemberSizeLimit(), toGroup2.getSchool(), toGroup2.isMatched(), false, toGroup2.getMemo(), toGroup2.getIdealPhoto(), toGroup2.getCreatedAt());
 
         given(userRepository.findById(user.getId())).willReturn(Optional.of(user));
         given(groupLikeToJoinRepository.findAllByFromUser(user, pageable)).willReturn(new PageImpl<>(List.of(groupLikeToJoin1, groupLikeToJoin2)));
         given(groupRepository.findAllWithMemberCountByIdIn(any())).willReturn(List.of(joinableGroupWithMemberCount, notJoinableGroupWithMemberCount));
-        given(groupMemberRequestRepository.findAllByUser(user)).willReturn(List.of(GroupMemberRequest.of(toGroup1, user)));
+        given(relationshipIndex.get(Relation.JOIN_PENDING_GROUP, user.getId())).willReturn(LongIdSet.of(List.of(toGroup1.getId())));
 
         //When
         Page<JoinableGroupResponse> created = groupLikeService.findGroupLikeToJoinList(pageable);
@@ -146,7 +187,8 @@ class GroupLikeServiceTest {
         Group group = GroupFixture.createGroupById(groupId);
         ReflectionTestUtils.setField(group, "gender", Gender.WOMEN);
 
-        given(groupRepository.findById(any())).willReturn(Optional.of(group));
+        given(groupRepository.findSummaryById(any())).willReturn(Optional.of(GroupFixture.summaryOf(group)));
+        given(groupRepository.getReferenceById(any())).willReturn(group);
         given(userRepository.findById(any())).willReturn(Optional.of(user));
         given(groupLikeToJoinRepository.existsByFromUserAndToGroup(any(), any())).willReturn(false);
 
@@ -171,6 +213,30 @@ class GroupLikeServiceTest {
         then(groupLikeToJoinRepository).shouldHaveNoMoreInteractions();
     }
 
+    @DisplayName("같은 성별의 여러 팀 한 번에 찜하기 기능 테스트")
+    @Test
+    void Given_GroupIds_When_CreateSameGenderGroupLikes_Then_InsertsOnlyValidGroupsAndReturnsItemResults() {
+        //Given
+        Group sameGenderGroup = GroupFixture.createGroupById(2L);
+        Group oppositeGenderGroup = Group.of("팀", Gender.MEN, "단국대학교", 5, "");
+        ReflectionTestUtils.setField(oppositeGenderGroup, "id", 3L);
+        Group likedGroup = GroupFixture.createGroupById(4L);
+        List<Long> toGroupIds = List.of(2L, 3L, 4L, 2L, 99L);
+
+        given(userRepository.findById(user.getId())).willReturn(Optional.of(user));
+        given(groupRepository.findAllById(any())).willReturn(List.of(sameGenderGroup, oppositeGenderGroup, likedGroup));
+        given(groupLikeToJoinRepository.findAllToGroupIdByFromUserIdAndToGroupIdIn(any(), any())).willReturn(List.of(4L));
+
+        //When
+        List<BulkItemResponse> actual = groupLikeService.createSameGenderGroupLikes(toGroupIds);
+
+        //Then
+        assertThat(actual).extracting(BulkItemResponse::getErrorCode).containsExactly(
+                null, ErrorCode.GENDER_NOT_MATCH, ErrorCode.DUPLICATED_REQUEST, ErrorCode.DUPLICATED_REQUEST, ErrorCode.REQUEST_NOT_FOUND);
+        then(groupLikeToJoinRepository).should().saveAll(argThat((List<GroupLikeToJoin> likes) -> likes.size() == 1 && likes.get(0).getToGroup() == sameGenderGroup));
+        then(relationshipIndex).should().add(Relation.JOIN_LIKED_GROUP, user.getId(), 2L);
+    }
+
     @DisplayName("다른 성별의 팀 찜하기 기능 테스트")
     @Test
     void Given_FromGroupAndToGroup_When_CreateOppositeGenderGroupLike_Then_SavesGroupLikeToDate() {
@@ -183,7 +249,10 @@ class GroupLikeServiceTest {
         Group toGroup = GroupFixture.createGroupById(toGroupId);
         ReflectionTestUtils.setField(toGroup, "gender", Gender.MEN);
 
-        given(groupRepository.findById(any())).willReturn(Optional.of(fromGroup)).willReturn(Optional.of(toGroup));
+        given(groupRepository.findSummaryById(fromGroupId)).willReturn(Optional.of(GroupFixture.summaryOf(fromGroup)));
+        given(groupRepository.findSummaryById(toGroupId)).willReturn(Optional.of(GroupFixture.summaryOf(toGroup)));
+        given(groupRepository.getReferenceById(fromGroupId)).willReturn(fromGroup);
+        given(groupRepository.getReferenceById(toGroupId)).willReturn(toGroup);
         given(userRepository.findById(any())).willReturn(Optional.of(user));
         given(groupMemberRepository.findByGroupAndMember(any(), any())).willReturn(Optional.of(mock(GroupMember.class)));
         given(groupLikeToDateRepository.existsByFromGroupMemberAndToGroup(any(), any())).willReturn(false);
@@ -193,6 +262,38 @@ class GroupLikeServiceTest {
 
         //Then
         then(groupLikeToDateRepository).should().save(any());
+        then(groupRepository).should().lockForUpdate(fromGroup);
+        then(groupLikeToDateCountRepository).should(times(2)).increaseLikeCount(fromGroupId, toGroupId);
+        then(groupLikeToDateCountRepository).should().save(any(GroupLikeToDateCount.class));
+    }
+
+    @DisplayName("다른 성별의 팀 찜하기 기능 테스트 - 같은 팀의 다른 멤버가 이미 찜한 경우")
+    @Test
+    void Given_LikeCountAlreadyExists_When_CreateOppositeGenderGroupLike_Then_IncreasesLikeCountWithoutLock() {
+        //Given
+        Long fromGroupId = 1L;
+        Long toGroupId = 2L;
+
+        Group fromGroup = GroupFixture.createGroupById(fromGroupId);
+        ReflectionTestUtils.setField(fromGroup, "gender", Gender.WOMEN);
+        Group toGroup = GroupFixture.createGroupById(toGroupId);
+        ReflectionTestUtils.setField(toGroup, "gender", Gender.MEN);
+
+        given(groupRepository.findSummaryById(fromGroupId)).willReturn(Optional.of(GroupFixture.summaryOf(fromGroup)));
+        given(groupRepository.findSummaryById(toGroupId)).willReturn(Optional.of(GroupFixture.summaryOf(toGroup)));
+        given(groupRepository.getReferenceById(fromGroupId)).willReturn(fromGroup);
+        given(groupRepository.getReferenceById(toGroupId)).willReturn(toGroup);
+        given(userRepository.findById(any())).willReturn(Optional.of(user));
+        given(groupMemberRepository.findByGroupAndMember(any(), any())).willReturn(Optional.of(mock(GroupMember.class)));
+        given(groupLikeToDateRepository.existsByFromGroupMemberAndToGroup(any(), any())).willReturn(false);
+        given(groupLikeToDateCountRepository.increaseLikeCount(fromGroupId, toGroupId)).willReturn(1);
+
+        //When
+        groupLikeService.createOppositeGenderGroupLike(fromGroupId, toGroupId);
+
+        //Then
+        then(groupRepository).should(never()).lockForUpdate(any());
+        then(groupLikeToDateCountRepository).should(never()).save(any());
     }
 
     @DisplayName("다른 성별의 팀 찜하기 취소 기능 테스트")
@@ -205,12 +306,14 @@ class GroupLikeServiceTest {
         given(groupRepository.findById(any())).willReturn(Optional.of(mock(Group.class))).willReturn(Optional.of(mock(Group.class)));
         given(userRepository.findById(any())).willReturn(Optional.of(mock(User.class)));
         given(groupMemberRepository.findByGroupAndMember(any(), any())).willReturn(Optional.of(mock(GroupMember.class)));
+        given(groupLikeToDateRepository.deleteByFromGroupMemberAndToGroup(any(), any())).willReturn(1L);
 
         //When
         groupLikeService.deleteOppositeGenderGroupLike(fromGroupId, toGroupId);
 
         //Then
         then(groupLikeToDateRepository).should().deleteByFromGroupMemberAndToGroup(any(), any());
+        then(groupLikeToDateCountRepository).should().decreaseLikeCount(any(), any());
     }
 
 }
\ No newline at end of file
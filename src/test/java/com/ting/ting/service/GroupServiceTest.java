@@ -1,11 +1,19 @@
 package com.ting.ting.service;
 
+import com.ting.ting.cache.LongIdSet;
+import com.ting.ting.cache.Relation;
+import com.ting.ting.cache.RelationshipIndex;
 import com.ting.ting.domain.Group;
 import com.ting.ting.domain.GroupMember;
+import com.ting.ting.domain.GroupMemberMajorCount;
 import com.ting.ting.domain.User;
 import com.ting.ting.domain.constant.LikeStatus;
 import com.ting.ting.domain.constant.MemberRole;
+import com.ting.ting.domain.custom.DateableGroupWithLikeStatus;
+import com.ting.ting.domain.custom.GroupIdWithMajor;
+import com.ting.ting.domain.custom.RankedDateableGroupWithLikeStatus;
 import com.ting.ting.dto.request.GroupCreateRequest;
+import com.ting.ting.dto.response.CursorResponse;
 import com.ting.ting.dto.response.DateableGroupResponse;
 import com.ting.ting.dto.response.GroupDetailResponse;
 import com.ting.ting.dto.response.GroupResponse;
@@ -14,6 +22,7 @@ import com.ting.ting.exception.TingApplicationException;
 import com.ting.ting.fixture.GroupFixture;
 import com.ting.ting.fixture.UserFixture;
 import com.ting.ting.repository.*;
+import com.ting.ting.util.CursorCodec;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.DisplayName;
@@ -24,12 +33,15 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.test.util.ReflectionTestUtils;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
@@ -52,6 +64,9 @@ class GroupServiceTest {
     @Mock private GroupMemberRequestRepository groupMemberRequestRepository;
     @Mock private GroupLikeToDateRepository groupLikeToDateRepository;
     @Mock private GroupLikeToJoinRepository groupLikeToJoinRepository;
+    @Mock private GroupMemberMajorCountRepository groupMemberMajorCountRepository;
+    @Mock private GroupRecommendationRepository groupRecommendationRepository;
+    @Mock private RelationshipIndex relationshipIndex;
 
     private User user;
 
@@ -89,7 +104,7 @@ class GroupServiceTest {
         GroupMember memberRecordOfUser = GroupMember.of(group, user, MemberRole.MEMBER);
         ReflectionTestUtils.setField(group, "groupMembers", Set.of(memberRecordOfUser));
 
-        given(groupRepository.findById(any())).willReturn(Optional.of(group));
+        given(groupRepository.findWithMembersById(any())).willReturn(Optional.of(group));
 
         //When
         GroupDetailResponse response = groupService.findGroupDetail(groupId);
@@ -109,8 +124,8 @@ class GroupServiceTest {
 
         given(userRepository.findById(any())).willReturn(Optional.of(user));
         given(groupRepository.findAllJoinableGroupWithMemberCountByGenderAndIsJoinableAndNotGroupMembers_Member(any(), anyBoolean(), any(), any())).willReturn(Page.empty());
-        given(groupMemberRequestRepository.findAllByUser(user)).willReturn(List.of());
-        given(groupLikeToJoinRepository.findAllByFromUser(user)).willReturn(List.of());
+        given(relationshipIndex.get(Relation.JOIN_PENDING_GROUP, user.getId())).willReturn(LongIdSet.EMPTY);
+        given(relationshipIndex.get(Relation.JOIN_LIKED_GROUP, user.getId())).willReturn(LongIdSet.EMPTY);
 
         //When
         assertThat(groupService.findJoinableSameGenderGroupList(pageable)).isEmpty();
@@ -126,8 +141,7 @@ class GroupServiceTest {
         Group myGroup = GroupFixture.createGroupById(groupId);
         Group oppositeGenderGroup = GroupFixture.createGroupById(groupId + 1);
         User oppositeGenderGroupMember = UserFixture.createUserById(user.getId() + 1);
-        GroupMember oppositeGenderGroupMemberRecord = GroupMember.of(oppositeGenderGroup, oppositeGenderGroupMember, MemberRole.LEADER);
-        ReflectionTestUtils.setField(oppositeGenderGroup, "groupMembers", Set.of(oppositeGenderGroupMemberRecord));
+        ReflectionTestUtils.setField(oppositeGenderGroup, "memberMajorCounts", Set.of(GroupMemberMajorCount.of(oppositeGenderGroup, oppositeGenderGroupMember.getMajor())));
 
         given(groupRepository.findById(any())).willReturn(Optional.of(myGroup));
         given(userRepository.findById(any())).willReturn(Optional.of(user));
@@ -135,7 +149,7 @@ class GroupServiceTest {
         given(groupRepository.findAllByGenderAndIsJoinableAndIsMatchedAndMemberSizeLimit(myGroup.getGender().getOpposite(), false, false, myGroup.getMemberSizeLimit(), pageable))
                 .willReturn(new PageImpl<>(List.of(oppositeGenderGroup)));
         given(groupRepository.findAllWithMembersInfoByIdIn(List.of(oppositeGenderGroup.getId()))).willReturn(List.of(oppositeGenderGroup));
-        given(groupLikeToDateRepository.findAllByFromGroupMember(any())).willReturn(List.of());
+        given(relationshipIndex.get(eq(Relation.DATE_LIKED_GROUP), any())).willReturn(LongIdSet.EMPTY);
 
         //When
         Page<DateableGroupResponse> created = groupService.findDateableOppositeGenderGroupList(groupId, pageable);
@@ -148,6 +162,66 @@ class GroupServiceTest {
         assertThat(createdList.get(0).getGroup().getMajorsOfMembers()).hasSize(1);
     }
 
+    @DisplayName("다른 성별 팀 커서 조회 기능 테스트")
+    @Test
+    void Given_Group_When_FindDateableOppositeGenderGroupsByCursor_Then_ReturnsRowsInOrderWithNextCursor() {
+        //Given
+        Long groupId = 1L;
+        Group myGroup = GroupFixture.createGroupById(groupId);
+        GroupMember memberRecordOfUser = GroupMember.of(myGroup, user, MemberRole.MEMBER);
+        ReflectionTestUtils.setField(memberRecordOfUser, "id", 10L);
+        LocalDateTime now = LocalDateTime.now();
+        DateableGroupWithLikeStatus liked = new DateableGroupWithLikeStatus(3L, "팀3", myGroup.getGender().getOpposite(), 5, "단국대학교", false, false, "", null, 0, 0L, now, 100L);
+        DateableGroupWithLikeStatus notLiked = new DateableGroupWithLikeStatus(7L, "팀7", myGroup.getGender().getOpposite(), 5, "단국대학교", false, false, "", null, 0, 0L, now, null);
+
+        given(groupRepository.findById(groupId)).willReturn(Optional.of(myGroup));
+        given(userRepository.findById(any())).willReturn(Optional.of(user));
+        given(groupMemberRepository.findByGroupAndMember(myGroup, user)).willReturn(Optional.of(memberRecordOfUser));
+        given(groupRepository.findAllDateableAfter(eq(10L), eq(myGroup.getGender().getOpposite()), eq(myGroup.getMemberSizeLimit()), eq(0L), any()))
+                .willReturn(new SliceImpl<>(List.of(liked, notLiked), PageRequest.of(0, 2), true));
+        given(groupMemberMajorCountRepository.findAllMajorsByGroupIdIn(List.of(3L, 7L))).willReturn(List.of(new GroupIdWithMajor(3L, "통계학과")));
+
+        //When
+        CursorResponse<DateableGroupResponse> actual = groupService.findDateableOppositeGenderGroups(groupId, null, 2);
+
+        //Then
+        assertThat(actual.getContent()).extracting(response -> response.getGroup().getId()).containsExactly(3L, 7L);
+        assertThat(actual.getContent()).extracting(DateableGroupResponse::getLikeStatus).containsExactly(LikeStatus.LIKED, LikeStatus.NOT_LIKED);
+        assertThat(actual.getContent().get(0).getGroup().getMajorsOfMembers()).containsExactly("통계학과");
+        assertThat(actual.getContent().get(1).getGroup().getMajorsOfMembers()).isEmpty();
+        assertThat(actual.isHasNext()).isTrue();
+        assertThat(CursorCodec.decode(actual.getNextCursor(), 0L)).isEqualTo(7L);
+    }
+
+    @DisplayName("추천 순 다른 성별 팀 커서 조회 기능 테스트")
+    @Test
+    void Given_GroupWithRecommendations_When_FindRecommendedOppositeGenderGroups_Then_ReturnsRowsInScoreOrderWithNextCursor() {
+        //Given
+        Long groupId = 1L;
+        Group myGroup = GroupFixture.createGroupById(groupId);
+        GroupMember memberRecordOfUser = GroupMember.of(myGroup, user, MemberRole.MEMBER);
+        ReflectionTestUtils.setField(memberRecordOfUser, "id", 10L);
+        LocalDateTime now = LocalDateTime.now();
+        RankedDateableGroupWithLikeStatus best = new RankedDateableGroupWithLikeStatus(9000, 7L, "팀7", myGroup.getGender().getOpposite(), 5, "단국대학교", false, false, "", null, 0, 0L, now, null);
+        RankedDateableGroupWithLikeStatus second = new RankedDateableGroupWithLikeStatus(8000, 3L, "팀3", myGroup.getGender().getOpposite(), 5, "단국대학교", false, false, "", null, 0, 0L, now, 100L);
+
+        given(groupRepository.findById(groupId)).willReturn(Optional.of(myGroup));
+        given(userRepository.findById(any())).willReturn(Optional.of(user));
+        given(groupMemberRepository.findByGroupAndMember(myGroup, user)).willReturn(Optional.of(memberRecordOfUser));
+        given(groupRecommendationRepository.findAllRankedAfter(eq(groupId), eq(10L), eq(Integer.MAX_VALUE), eq(0L), any()))
+                .willReturn(new SliceImpl<>(List.of(best, second), PageRequest.of(0, 2), true));
+        given(groupMemberMajorCountRepository.findAllMajorsByGroupIdIn(List.of(7L, 3L))).willReturn(List.of());
+
+        //When
+        CursorResponse<DateableGroupResponse> actual = groupService.findRecommendedOppositeGenderGroups(groupId, null, 2);
+
+        //Then
+        assertThat(actual.getContent()).extracting(response -> response.getGroup().getId()).containsExactly(7L, 3L);
+        assertThat(actual.getContent()).extracting(DateableGroupResponse::getLikeStatus).containsExactly(LikeStatus.NOT_LIKED, LikeStatus.LIKED);
+        assertThat(actual.isHasNext()).isTrue();
+        assertThat(CursorCodec.decode(actual.getNextCursor(), Integer.MAX_VALUE, 0L)).containsExactly(8000L, 3L);
+    }
+
     @DisplayName("내가 속한 팀 조회 기능 테스트")
     @Test
     void Given_Nothing_When_FindMyGroupList_Then_ReturnsGroupSet() {
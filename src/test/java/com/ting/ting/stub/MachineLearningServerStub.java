@@ -0,0 +1,64 @@
+package com.ting.ting.stub;
+
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * IdealPhotoManager 가 호출하는 ML 서버(/mixTwoImages) 대역
+ * 응답 상태 코드를 바꿔 가며 성공/실패 상황을 재현한다.
+ */
+public class MachineLearningServerStub implements AutoCloseable {
+
+    public static final String MIXED_IMAGE_URL = "https://test.ting/ideal-photo/mixed.png";
+
+    private static final byte[] MIXED_IMAGE_RESPONSE =
+            ("{\"imageID\":\"mixed\",\"imageURL\":\"" + MIXED_IMAGE_URL + "\"}").getBytes(StandardCharsets.UTF_8);
+
+    private final HttpServer server;
+    private volatile int status = 200;
+
+    private MachineLearningServerStub(HttpServer server) {
+        this.server = server;
+    }
+
+    public static MachineLearningServerStub start() {
+        try {
+            HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+            MachineLearningServerStub stub = new MachineLearningServerStub(server);
+            server.createContext("/mixTwoImages", exchange -> {
+                if (stub.status != 200) {
+                    exchange.sendResponseHeaders(stub.status, -1);
+                    exchange.close();
+                    return;
+                }
+                exchange.getResponseHeaders().add("Content-Type", "application/json");
+                exchange.sendResponseHeaders(200, MIXED_IMAGE_RESPONSE.length);
+                try (OutputStream body = exchange.getResponseBody()) {
+                    body.write(MIXED_IMAGE_RESPONSE);
+                }
+            });
+            server.start();
+            return stub;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public void respondWith(int status) {
+        this.status = status;
+    }
+
+    public String getUrl() {
+        return "http://localhost:" + server.getAddress().getPort();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+}
@@ -0,0 +1,125 @@
+package com.ting.ting.util;
+
+import com.ting.ting.exception.ErrorCode;
+import com.ting.ting.exception.TingApplicationException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.AssertionsForClassTypes.catchThrowable;
+
+@DisplayName("[인증] JWT 검증 캐시 테스트")
+class JwtTokenUtilTest {
+
+    private static final String SECRET = "test-secret-which-is-long-enough-for-hs256";
+    private static final Instant NOW = Instant.parse("2026-01-01T00:00:00Z");
+
+    private final MutableClock clock = new MutableClock(NOW);
+
+    @DisplayName("같은 토큰을 다시 검증하면 캐시에 있는 검증 결과를 반환한다")
+    @Test
+    void Given_VerifiedToken_When_VerifyAgain_Then_ReturnsCachedResult() {
+        //Given
+        JwtTokenUtil jwtTokenUtil = new JwtTokenUtil(SECRET, 100, clock);
+        String token = jwtTokenUtil.createTokenById(1L);
+        VerifiedToken first = jwtTokenUtil.verifyToken(token);
+
+        //When
+        VerifiedToken actual = jwtTokenUtil.verifyToken(token);
+
+        //Then
+        assertThat(actual).isSameAs(first);
+        assertThat(actual.getUserId()).isEqualTo(1L);
+        assertThat(actual.getExpiresAtMillis()).isEqualTo(NOW.plus(Duration.ofDays(1)).toEpochMilli());
+    }
+
+    @DisplayName("캐시된 토큰도 exp 가 지나면 캐시에서 빠지고 만료 토큰으로 거부한다")
+    @Test
+    void Given_CachedToken_When_VerifyAfterExpiration_Then_ThrowsException() {
+        //Given
+        JwtTokenUtil jwtTokenUtil = new JwtTokenUtil(SECRET, 100, clock);
+        String token = jwtTokenUtil.createTokenById(1L);
+        VerifiedToken cached = jwtTokenUtil.verifyToken(token);
+
+        clock.set(NOW.plus(Duration.ofDays(1)).minusSeconds(1));
+        assertThat(jwtTokenUtil.verifyToken(token)).isSameAs(cached);
+
+        //When
+        clock.set(NOW.plus(Duration.ofDays(1)).plusSeconds(1));
+        Throwable t = catchThrowable(() -> jwtTokenUtil.verifyToken(token));
+
+        //Then
+        assertThat(t)
+                .isInstanceOf(TingApplicationException.class)
+                .hasFieldOrPropertyWithValue("errorCode", ErrorCode.TOKEN_ERROR);
+    }
+
+    @DisplayName("캐시된 토큰의 payload 를 바꾼 토큰은 캐시에 걸리지 않고 서명 검증에서 거부한다")
+    @Test
+    void Given_CachedToken_When_VerifyTamperedToken_Then_ThrowsException() {
+        //Given
+        JwtTokenUtil jwtTokenUtil = new JwtTokenUtil(SECRET, 100, clock);
+        String[] token = jwtTokenUtil.createTokenById(1L).split("\\.");
+        String[] otherToken = jwtTokenUtil.createTokenById(2L).split("\\.");
+        jwtTokenUtil.verifyToken(String.join(".", token));
+        String tampered = String.join(".", token[0], otherToken[1], token[2]);
+
+        //When
+        Throwable t = catchThrowable(() -> jwtTokenUtil.verifyToken(tampered));
+
+        //Then
+        assertThat(t)
+                .isInstanceOf(TingApplicationException.class)
+                .hasFieldOrPropertyWithValue("errorCode", ErrorCode.TOKEN_ERROR);
+    }
+
+    @DisplayName("maximum-size 가 0 이면 캐시 없이 매번 토큰을 검증한다")
+    @Test
+    void Given_ZeroMaximumSize_When_VerifyTwice_Then_ParsesEachTime() {
+        //Given
+        JwtTokenUtil jwtTokenUtil = new JwtTokenUtil(SECRET, 0, clock);
+        String token = jwtTokenUtil.createTokenById(1L);
+        VerifiedToken first = jwtTokenUtil.verifyToken(token);
+
+        //When
+        VerifiedToken actual = jwtTokenUtil.verifyToken(token);
+
+        //Then
+        assertThat(actual).isNotSameAs(first);
+        assertThat(actual.getUserId()).isEqualTo(first.getUserId());
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant instant;
+
+        private MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        void set(Instant instant) {
+            this.instant = instant;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}